@@ -0,0 +1,87 @@
+/*
+ * Source++, the continuous feedback platform for developers.
+ * Copyright (C) 2022-2024 CodeBrig, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package spp.jetbrains
+
+import io.vertx.core.Handler
+import io.vertx.core.Vertx
+import io.vertx.core.buffer.Buffer
+import io.vertx.core.eventbus.DeliveryOptions
+import io.vertx.core.eventbus.Message
+import io.vertx.core.eventbus.MessageCodec
+import io.vertx.core.eventbus.MessageConsumer
+import java.util.concurrent.ConcurrentHashMap
+import java.util.concurrent.atomic.AtomicBoolean
+
+/**
+ * Passes protocol objects by reference over the local event bus. Objects decoded once at the bridge are published
+ * with [DELIVERY_OPTIONS] so that consumers receive the same instance instead of re-decoding JSON. Unlike a default
+ * codec, this codec is selected by name and therefore also covers every subclass of a polymorphic type, such as
+ * the live instrument events.
+ *
+ * Subscription addresses keep carrying JSON for existing consumers, such as live plugins; the decoded objects are
+ * published to their [localAddress] instead, and only while a consumer registered via [localConsumer] is listening.
+ *
+ * @since 0.7.10
+ * @author [Brandon Fergerson](mailto:bfergerson@apache.org)
+ */
+class LocalReferenceCodec : MessageCodec<Any, Any> {
+
+    companion object {
+        const val NAME = "spp-local-reference"
+        val DELIVERY_OPTIONS: DeliveryOptions
+            get() = DeliveryOptions().setCodecName(NAME)
+
+        /**
+         * @return the address carrying the decoded objects of the events published as JSON to the given address
+         */
+        @JvmStatic
+        fun localAddress(address: String): String = "$address.local"
+
+        private val localConsumerCounts = ConcurrentHashMap<String, Int>()
+
+        /**
+         * Registers a consumer of the decoded objects published to the [localAddress] of the given address.
+         */
+        @JvmStatic
+        fun <T> localConsumer(vertx: Vertx, address: String, handler: Handler<Message<T>>): MessageConsumer<T> {
+            val localAddress = localAddress(address)
+            localConsumerCounts.merge(localAddress, 1, Int::plus)
+            val consumer = vertx.eventBus().localConsumer(localAddress, handler)
+            val registered = AtomicBoolean(true)
+            consumer.endHandler {
+                if (registered.compareAndSet(true, false)) {
+                    localConsumerCounts.computeIfPresent(localAddress) { _, count ->
+                        if (count > 1) count - 1 else null
+                    }
+                }
+            }
+            return consumer
+        }
+
+        /**
+         * @return true if a consumer of the decoded objects of the given address is registered
+         */
+        @JvmStatic
+        fun hasLocalConsumers(address: String): Boolean = localConsumerCounts.containsKey(localAddress(address))
+    }
+
+    override fun encodeToWire(buffer: Buffer, o: Any) = throw UnsupportedOperationException("Local only")
+    override fun decodeFromWire(pos: Int, buffer: Buffer): Any = throw UnsupportedOperationException("Local only")
+    override fun transform(o: Any): Any = o
+    override fun name(): String = NAME
+    override fun systemCodecID(): Byte = -1
+}
@@ -0,0 +1,122 @@
+/*
+ * Source++, the continuous feedback platform for developers.
+ * Copyright (C) 2022-2024 CodeBrig, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package spp.jetbrains.instrument
+
+import io.vertx.core.Future
+import io.vertx.core.Promise
+import spp.protocol.instrument.LiveInstrument
+import spp.protocol.service.LiveInstrumentService
+import java.util.concurrent.atomic.AtomicInteger
+import java.util.concurrent.atomic.AtomicReferenceArray
+
+/**
+ * Applies live instrument operations in bulk. Rather than waiting for each request's round trip before sending the
+ * next, up to [DEFAULT_MAX_IN_FLIGHT] requests are kept in flight at once and the results are aggregated into a
+ * single [Result] once every request has completed.
+ *
+ * @since 0.7.10
+ * @author [Brandon Fergerson](mailto:bfergerson@apache.org)
+ */
+object LiveInstrumentBatch {
+
+    const val DEFAULT_MAX_IN_FLIGHT = 16
+
+    fun removeLiveInstruments(
+        instrumentService: LiveInstrumentService,
+        instrumentIds: List<String>,
+        maxInFlight: Int = DEFAULT_MAX_IN_FLIGHT
+    ): Future<Result<String, LiveInstrument?>> {
+        return pipeline(instrumentIds, maxInFlight) { instrumentService.removeLiveInstrument(it) }
+    }
+
+    /**
+     * Invokes [request] for each of the given items, keeping at most [maxInFlight] requests outstanding. The
+     * returned future always succeeds; individual failures are reported in [Result.failed].
+     */
+    fun <T, R> pipeline(items: List<T>, maxInFlight: Int, request: (T) -> Future<R>): Future<Result<T, R>> {
+        require(maxInFlight > 0) { "Max in-flight requests must be positive" }
+        if (items.isEmpty()) return Future.succeededFuture(Result(emptyList(), emptyList()))
+
+        return Pipeline(items, request).start(maxInFlight)
+    }
+
+    private class Pipeline<T, R>(private val items: List<T>, private val request: (T) -> Future<R>) {
+
+        private val promise = Promise.promise<Result<T, R>>()
+        private val outcomes = AtomicReferenceArray<Outcome<R>>(items.size)
+        private val nextIndex = AtomicInteger()
+        private val remaining = AtomicInteger(items.size)
+        private val pendingSends = AtomicInteger()
+
+        fun start(maxInFlight: Int): Future<Result<T, R>> {
+            repeat(minOf(maxInFlight, items.size)) { requestSend() }
+            return promise.future()
+        }
+
+        //requests completing synchronously are sent from this loop rather than recursively
+        private fun requestSend() {
+            if (pendingSends.getAndIncrement() > 0) return
+            do {
+                sendNext()
+            } while (pendingSends.decrementAndGet() > 0)
+        }
+
+        private fun sendNext() {
+            val index = nextIndex.getAndIncrement()
+            if (index >= items.size) return
+
+            val future = try {
+                request(items[index])
+            } catch (e: Exception) {
+                Future.failedFuture(e)
+            }
+            future.onComplete {
+                outcomes.set(index, Outcome(it.result(), it.cause()))
+                if (remaining.decrementAndGet() == 0) {
+                    promise.complete(toResult())
+                } else {
+                    requestSend()
+                }
+            }
+        }
+
+        private fun toResult(): Result<T, R> {
+            val succeeded = mutableListOf<Pair<T, R>>()
+            val failed = mutableListOf<Pair<T, Throwable>>()
+            items.forEachIndexed { index, item ->
+                val outcome = outcomes.get(index)
+                if (outcome.error != null) {
+                    failed.add(item to outcome.error)
+                } else {
+                    @Suppress("UNCHECKED_CAST")
+                    succeeded.add(item to outcome.value as R)
+                }
+            }
+            return Result(succeeded, failed)
+        }
+    }
+
+    private class Outcome<R>(val value: R?, val error: Throwable?)
+
+    /**
+     * Aggregated outcome of a batch, in the order the items were given.
+     */
+    data class Result<T, R>(
+        val succeeded: List<Pair<T, R>>,
+        val failed: List<Pair<T, Throwable>>
+    )
+}
@@ -23,6 +23,7 @@ import spp.jetbrains.instrument.renderer.InstrumentOverviewStatusTableCellRender
 import spp.jetbrains.instrument.renderer.InstrumentTypeTableCellRenderer
 import spp.protocol.utils.toPrettyDuration
 import java.time.Instant
+import kotlin.math.roundToLong
 
 /**
  * todo: description.
@@ -52,7 +53,7 @@ class InstrumentOverviewColumnInfo(name: String) : ColumnInfo<InstrumentOverview
             }
 
             "Event Count" -> Comparator { o1, o2 ->
-                o1.events.size.compareTo(o2.events.size)
+                o1.eventCount.compareTo(o2.eventCount)
             }
 
             "Created By" -> Comparator { o1, o2 ->
@@ -79,7 +80,7 @@ class InstrumentOverviewColumnInfo(name: String) : ColumnInfo<InstrumentOverview
         return when (name) {
             "First Event" -> toPrettyElapsed(item.firstEvent)
             "Last Event" -> toPrettyElapsed(item.lastEvent)
-            "Event Count" -> item.events.size.toString()
+            "Event Count" -> toPrettyCount(item)
             "Source" -> item.source
             "Status" -> item.status
             "Created By" -> item.createdBy
@@ -88,6 +89,13 @@ class InstrumentOverviewColumnInfo(name: String) : ColumnInfo<InstrumentOverview
         }
     }
 
+    private fun toPrettyCount(item: InstrumentOverview): String {
+        if (item.hitsPerSecond < 1) {
+            return item.eventCount.toString()
+        }
+        return "${item.eventCount} (${item.hitsPerSecond.roundToLong()}/s)"
+    }
+
     private fun toPrettyElapsed(item: Instant): String {
         val elapsedTime = System.currentTimeMillis() - item.toEpochMilli()
         if (elapsedTime < 2000) {
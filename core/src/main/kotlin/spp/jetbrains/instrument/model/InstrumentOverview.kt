@@ -16,29 +16,47 @@
  */
 package spp.jetbrains.instrument.model
 
+import spp.protocol.instrument.LiveInstrument
 import spp.protocol.instrument.LiveInstrumentType
 import spp.protocol.instrument.event.LiveInstrumentApplied
 import spp.protocol.instrument.event.LiveInstrumentEvent
+import spp.protocol.instrument.event.LiveInstrumentHit
 import spp.protocol.instrument.event.LiveInstrumentRemoved
 import java.time.Instant
 
 /**
- * todo: description.
+ * Summary of the events received for a single live instrument. Counts, timestamps, and status are maintained as
+ * events are added; the events themselves are kept by the instrument registry and event history.
  *
  * @since 0.7.7
  * @author [Brandon Fergerson](mailto:bfergerson@apache.org)
  */
-data class InstrumentOverview(
-    val events: MutableList<LiveInstrumentEvent> = mutableListOf()
-) {
-    val firstEvent: Instant
-        get() = events.minOf { it.occurredAt }
+class InstrumentOverview(initialEvent: LiveInstrumentEvent) {
 
-    val lastEvent: Instant
-        get() = events.maxOf { it.occurredAt }
+    private var otherEventCount = 0L
+    private var applied = false
+    private var removedWithoutCause = false
+    private var removedWithCause = false
+
+    val instrument: LiveInstrument = initialEvent.instrument
+
+    var firstEvent: Instant = initialEvent.occurredAt
+        private set
+
+    var lastEvent: Instant = initialEvent.occurredAt
+        private set
+
+    /**
+     * Total hits received for this instrument, including hits that were not sampled.
+     */
+    var hitCount: Long = 0
+    var hitsPerSecond: Double = 0.0
+
+    val eventCount: Long
+        get() = otherEventCount + hitCount
 
     val source: String
-        get() = events.first().instrument.location.let {
+        get() = instrument.location.let {
             var sourceStr = it.source.substringBefore("(").substringAfterLast(".")
             if (it.line != -1) {
                 sourceStr += ":" + it.line
@@ -47,31 +65,49 @@ data class InstrumentOverview(
         }
 
     val status: String
-        get() = if (events.any { it is LiveInstrumentRemoved && it.cause == null }) {
+        get() = if (removedWithoutCause) {
             "Complete"
-        } else if (events.any { it is LiveInstrumentRemoved && it.cause != null }) {
+        } else if (removedWithCause) {
             "Error"
-        } else if (events.any { it is LiveInstrumentApplied }) {
+        } else if (applied) {
             "Active"
         } else {
             "Pending"
         }
 
     val createdBy: String
-        get() = events.first().instrument.meta["created_by"].toString()
+        get() = instrument.meta["created_by"].toString()
 
     val instrumentType: LiveInstrumentType
-        get() = events.first().instrument.type
+        get() = instrument.type
 
     val instrumentTypeFormatted: String
         get() = instrumentType.name.lowercase().replaceFirstChar { it.titlecase() }
 
     val instrumentId: String?
-        get() = events.first().instrument.id
+        get() = instrument.id
 
     val isFinished: Boolean
-        get() = events.any { it is LiveInstrumentRemoved }
+        get() = removedWithoutCause || removedWithCause
+
+    init {
+        addEvent(initialEvent)
+    }
+
+    fun addEvent(event: LiveInstrumentEvent) {
+        if (event.occurredAt < firstEvent) firstEvent = event.occurredAt
+        if (event.occurredAt > lastEvent) lastEvent = event.occurredAt
+        if (event is LiveInstrumentHit) {
+            hitCount++
+        } else {
+            otherEventCount++
+        }
+        if (event is LiveInstrumentApplied) {
+            applied = true
+        } else if (event is LiveInstrumentRemoved) {
+            if (event.cause == null) removedWithoutCause = true else removedWithCause = true
+        }
+    }
 
-    fun isRemovable(selfId: String): Boolean =
-        events.none { it is LiveInstrumentRemoved } && events.first().instrument.meta["created_by"] == selfId
+    fun isRemovable(selfId: String): Boolean = !isFinished && instrument.meta["created_by"] == selfId
 }
@@ -0,0 +1,136 @@
+/*
+ * Source++, the continuous feedback platform for developers.
+ * Copyright (C) 2022-2024 CodeBrig, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package spp.jetbrains.instrument.presentation
+
+import com.intellij.util.containers.CollectionFactory
+import io.vertx.core.json.JsonArray
+import io.vertx.core.json.JsonObject
+import org.apache.commons.lang3.EnumUtils
+import spp.protocol.instrument.variable.LiveVariable
+import spp.protocol.instrument.variable.LiveVariableScope
+
+/**
+ * Decodes the children of [LiveVariable]s on demand. Breakpoint hits keep their variables in the raw JSON form
+ * received from the platform, and a child is only decoded the first time it is requested. Decoded children are
+ * cached per variable instance, so the variable tree and the inline editor values share the same decoded subtrees.
+ *
+ * @since 0.7.10
+ * @author [Brandon Fergerson](mailto:bfergerson@apache.org)
+ */
+object LiveVariableDecoder {
+
+    /**
+     * Children beyond this count are grouped into pages of this size.
+     */
+    const val PAGE_SIZE = 100
+
+    private const val MAX_INLINE_CHILDREN = 3
+    private const val MAX_INLINE_LENGTH = 120
+
+    private val decodedChildren = CollectionFactory.createConcurrentWeakIdentityMap<LiveVariable, DecodedChildren>()
+
+    /**
+     * @return the number of children of the given variable, without decoding them
+     */
+    fun getChildCount(variable: LiveVariable): Int {
+        return when (val value = variable.value) {
+            is JsonArray -> value.size()
+            is LiveVariable -> 1
+            else -> 0
+        }
+    }
+
+    /**
+     * @return the child at the given index; either a [LiveVariable] or, for values skipped by the probe, the raw
+     * skip data
+     */
+    fun getChild(variable: LiveVariable, index: Int): Any {
+        val value = variable.value
+        if (value is LiveVariable) return value
+        return decodedChildren.computeIfAbsent(variable) { DecodedChildren(value as JsonArray) }.get(index)
+    }
+
+    /**
+     * @return a short, single line presentation of the given variable's value
+     */
+    fun toInlineText(variable: LiveVariable): String {
+        val value = variable.value
+        val text = when {
+            value is LiveVariable -> toInlineText(value)
+            value is JsonArray && variable.liveClazz != null -> {
+                val simpleClassName = variable.liveClazz!!.substringAfterLast(".")
+                val identity = variable.liveIdentity?.let { "@$it" } ?: ""
+                val preview = variable.presentation?.let { "\"$it\"" } ?: toInlineChildren(variable)
+                "{ $simpleClassName$identity } $preview"
+            }
+
+            value is JsonArray -> toInlineChildren(variable)
+            else -> value.toString()
+        }
+        return if (text.length > MAX_INLINE_LENGTH) text.take(MAX_INLINE_LENGTH) + "…" else text
+    }
+
+    private fun toInlineChildren(variable: LiveVariable): String {
+        val childCount = getChildCount(variable)
+        val children = (0 until minOf(childCount, MAX_INLINE_CHILDREN)).map {
+            when (val child = getChild(variable, it)) {
+                is LiveVariable -> child.name + "=" + inlineValue(child)
+                else -> "…"
+            }
+        }
+        val more = if (childCount > MAX_INLINE_CHILDREN) ", …" else ""
+        return children.joinToString(", ", "[", "$more]")
+    }
+
+    private fun inlineValue(variable: LiveVariable): String {
+        return when (val value = variable.value) {
+            is JsonArray -> variable.liveClazz?.substringAfterLast(".")?.let { "{ $it }" } ?: "[${value.size()}]"
+            is LiveVariable -> inlineValue(value)
+            is String -> "\"$value\""
+            else -> value.toString()
+        }
+    }
+
+    private fun toLiveVariable(json: JsonObject): LiveVariable {
+        var varValue = json.getValue("value")
+        if (varValue is JsonArray && varValue.size() == 1 && varValue.getJsonObject(0).containsKey("liveClazz")) {
+            varValue = toLiveVariable(varValue.getJsonObject(0))
+        }
+        return LiveVariable(
+            name = json.getString("name"),
+            value = varValue,
+            lineNumber = json.getInteger("lineNumber") ?: -1,
+            scope = EnumUtils.getEnum(LiveVariableScope::class.java, json.getString("scope")),
+            liveClazz = json.getString("liveClazz"),
+            liveIdentity = json.getString("liveIdentity")
+        )
+    }
+
+    private class DecodedChildren(private val raw: JsonArray) {
+
+        private val decoded = arrayOfNulls<Any>(raw.size())
+
+        fun get(index: Int): Any {
+            decoded[index]?.let { return it }
+
+            val json = raw.getJsonObject(index)
+            val child: Any = if (json.getString("@skip") != null) json.map else toLiveVariable(json)
+            decoded[index] = child
+            return child
+        }
+    }
+}
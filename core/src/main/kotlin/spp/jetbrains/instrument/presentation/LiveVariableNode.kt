@@ -18,11 +18,7 @@ package spp.jetbrains.instrument.presentation
 
 import com.intellij.ui.treeStructure.SimpleNode
 import com.intellij.xdebugger.impl.ui.DebuggerUIUtil
-import io.vertx.core.json.JsonArray
-import io.vertx.core.json.JsonObject
-import org.apache.commons.lang3.EnumUtils
 import spp.protocol.instrument.variable.LiveVariable
-import spp.protocol.instrument.variable.LiveVariableScope
 
 /**
  * todo: description.
@@ -42,48 +38,53 @@ abstract class LiveVariableNode(
         nodeMap: MutableMap<String, Array<SimpleNode>>
     ): SimpleNode
 
+    private var cachedChildren: Array<SimpleNode>? = null
+
+    /**
+     * The number of children of this variable, available without decoding them.
+     */
+    val childVariableCount: Int
+        get() = LiveVariableDecoder.getChildCount(variable)
+
     override fun getChildren(): Array<SimpleNode> {
+        cachedChildren?.let { return it }
         if (variable.liveIdentity != null && nodeMap.containsKey(variable.liveIdentity)) {
             //found reference, use children of referenced node
             return nodeMap[variable.liveIdentity!!] ?: arrayOf()
         }
 
-        val children = if (variable.value is JsonArray) {
-            (variable.value as JsonArray).map { JsonObject.mapFrom(it) }.map {
-                if (it.getString("@skip") != null) {
-                    ErrorVariableSimpleNode(JsonObject.mapFrom(it).map)
-                } else {
-                    createVariableNode(toLiveVariable(it), nodeMap)
-                }
-            }.toList().toTypedArray()
-        } else if (variable.value is LiveVariable) {
-            arrayOf(createVariableNode(variable.value as LiveVariable, nodeMap))
-        } else {
-            emptyArray()
-        }
+        val children = toPagedNodes(childVariableCount) { createChildNode(it) }
 
         //add children to nodeMap for reference lookup
         if (variable.liveIdentity != null && children.isNotEmpty()) {
             nodeMap[variable.liveIdentity!!] = children
         }
+        cachedChildren = children
         return children
     }
 
-    private fun toLiveVariable(it: JsonObject): LiveVariable {
-        var varValue = it.getValue("value")
-        if (varValue is JsonArray && varValue.size() == 1 &&
-            (varValue.first() as JsonObject).containsKey("liveClazz")
-        ) {
-            varValue = toLiveVariable(varValue.first() as JsonObject)
+    /**
+     * Creates nodes for the given number of children, grouping them into [LiveVariablePageNode]s when there are
+     * more than [LiveVariableDecoder.PAGE_SIZE].
+     */
+    protected fun toPagedNodes(count: Int, createNode: (Int) -> SimpleNode): Array<SimpleNode> {
+        val pageSize = LiveVariableDecoder.PAGE_SIZE
+        if (count <= pageSize) {
+            return Array(count) { createNode(it) }
+        }
+        return Array((count + pageSize - 1) / pageSize) {
+            LiveVariablePageNode(it * pageSize, minOf(count, (it + 1) * pageSize), createNode)
+        }
+    }
+
+    @Suppress("UNCHECKED_CAST")
+    private fun createChildNode(index: Int): SimpleNode {
+        val child = LiveVariableDecoder.getChild(variable, index)
+        return if (child is LiveVariable) {
+            createVariableNode(child, nodeMap)
+        } else {
+            ErrorVariableSimpleNode(child as Map<String, *>)
         }
-        return LiveVariable(
-            name = it.getString("name"),
-            value = varValue,
-            lineNumber = it.getInteger("lineNumber") ?: -1,
-            scope = EnumUtils.getEnum(LiveVariableScope::class.java, it.getString("scope")),
-            liveClazz = it.getString("liveClazz"),
-            liveIdentity = it.getString("liveIdentity")
-        )
     }
 
     override fun getEqualityObjects(): Array<Any> = arrayOf(variable)
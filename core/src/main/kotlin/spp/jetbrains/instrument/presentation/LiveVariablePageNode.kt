@@ -0,0 +1,44 @@
+/*
+ * Source++, the continuous feedback platform for developers.
+ * Copyright (C) 2022-2024 CodeBrig, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package spp.jetbrains.instrument.presentation
+
+import com.intellij.icons.AllIcons
+import com.intellij.ide.projectView.PresentationData
+import com.intellij.ui.SimpleTextAttributes
+import com.intellij.ui.treeStructure.SimpleNode
+
+/**
+ * Groups the children of a large array or map variable so that only the expanded page is decoded.
+ *
+ * @since 0.7.10
+ * @author [Brandon Fergerson](mailto:bfergerson@apache.org)
+ */
+class LiveVariablePageNode(
+    private val fromIndex: Int,
+    private val toIndex: Int,
+    private val createNode: (Int) -> SimpleNode
+) : SimpleNode() {
+
+    private val pageChildren by lazy { Array(toIndex - fromIndex) { createNode(fromIndex + it) } }
+
+    override fun getChildren(): Array<SimpleNode> = pageChildren
+
+    override fun update(presentation: PresentationData) {
+        presentation.addText("[$fromIndex … ${toIndex - 1}]", SimpleTextAttributes.GRAYED_ATTRIBUTES)
+        presentation.setIcon(AllIcons.Debugger.Db_array)
+    }
+}
@@ -0,0 +1,186 @@
+/*
+ * Source++, the continuous feedback platform for developers.
+ * Copyright (C) 2022-2024 CodeBrig, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package spp.jetbrains.view
+
+import com.intellij.openapi.project.Project
+import com.intellij.openapi.util.Key
+import io.vertx.core.Future
+import io.vertx.core.json.JsonArray
+import io.vertx.core.json.JsonObject
+import spp.protocol.artifact.metrics.MetricStep
+import spp.protocol.service.LiveViewService
+import java.time.Instant
+import java.util.*
+import java.util.concurrent.ConcurrentHashMap
+
+/**
+ * Project-level cache of historical metrics keyed by entity, metric, and step. Requests only fetch the step
+ * buckets which are not already cached, and concurrent identical fetches share a single in-flight request.
+ * Buckets are only cached once they are complete (i.e. older than the current step).
+ *
+ * @since 0.7.10
+ * @author [Brandon Fergerson](mailto:bfergerson@apache.org)
+ */
+class HistoricalMetricsCache(private val maxSeries: Int = 64) {
+
+    companion object {
+        private val KEY = Key.create<HistoricalMetricsCache>("SPP_HISTORICAL_METRICS_CACHE")
+
+        @JvmStatic
+        @Synchronized
+        fun getInstance(project: Project): HistoricalMetricsCache {
+            if (project.getUserData(KEY) == null) {
+                project.putUserData(KEY, HistoricalMetricsCache())
+            }
+            return project.getUserData(KEY)!!
+        }
+    }
+
+    private val series = object : LinkedHashMap<SeriesKey, Series>(16, 0.75f, true) {
+        override fun removeEldestEntry(eldest: MutableMap.MutableEntry<SeriesKey, Series>): Boolean {
+            return size > maxSeries
+        }
+    }
+    private val inFlight = ConcurrentHashMap<FetchKey, Future<JsonArray>>()
+
+    /**
+     * Gets the historical metrics between [start] and [stop], one entry per step bucket in ascending order.
+     */
+    fun getHistoricalMetrics(
+        viewService: LiveViewService,
+        entityIds: List<String>,
+        metricIds: List<String>,
+        step: MetricStep,
+        start: Instant,
+        stop: Instant,
+        labels: List<String> = emptyList()
+    ): Future<List<HistoricalMetric>> {
+        val seriesKey = SeriesKey(entityIds.toSet(), metricIds, step, labels)
+        val stepMillis = step.milliseconds.toLong()
+        val from = align(start.toEpochMilli(), stepMillis)
+        val to = align(stop.toEpochMilli(), stepMillis)
+        val series = synchronized(series) { series.getOrPut(seriesKey) { Series() } }
+
+        val fetches = series.getMissingRanges(from, to, stepMillis).map { (missingFrom, missingTo) ->
+            fetch(viewService, seriesKey, missingFrom, missingTo).map {
+                val completeUntil = align(System.currentTimeMillis(), stepMillis) - stepMillis
+                series.put(it, missingFrom, missingTo, completeUntil, stepMillis)
+            }
+        }
+        return Future.all(fetches).map { series.get(from, to) }
+    }
+
+    fun clear() {
+        synchronized(series) { series.clear() }
+    }
+
+    private fun fetch(
+        viewService: LiveViewService,
+        seriesKey: SeriesKey,
+        from: Long,
+        to: Long
+    ): Future<JsonArray> {
+        val fetchKey = FetchKey(seriesKey, from, to)
+        var created = false
+        val future = inFlight.computeIfAbsent(fetchKey) {
+            created = true
+            viewService.getHistoricalMetrics(
+                seriesKey.entityIds.toList(),
+                seriesKey.metricIds,
+                seriesKey.step,
+                Instant.ofEpochMilli(from),
+                Instant.ofEpochMilli(to),
+                seriesKey.labels
+            ).map { it.data }
+        }
+        if (created) {
+            future.onComplete { inFlight.remove(fetchKey) }
+        }
+        return future
+    }
+
+    private fun align(epochMillis: Long, stepMillis: Long): Long = epochMillis - (epochMillis % stepMillis)
+
+    /**
+     * A cached metric value for a single step bucket.
+     */
+    data class HistoricalMetric(val timeBucket: Instant, val data: JsonObject)
+
+    private data class SeriesKey(
+        val entityIds: Set<String>,
+        val metricIds: List<String>,
+        val step: MetricStep,
+        val labels: List<String>
+    )
+
+    private data class FetchKey(val seriesKey: SeriesKey, val from: Long, val to: Long)
+
+    private class Series {
+        private val buckets = TreeMap<Long, JsonObject>()
+        private val covered = TreeMap<Long, Long>() //merged [start, end] ranges of complete buckets
+
+        @Synchronized
+        fun getMissingRanges(from: Long, to: Long, stepMillis: Long): List<Pair<Long, Long>> {
+            val missing = mutableListOf<Pair<Long, Long>>()
+            var cursor = from
+            val floor = covered.floorEntry(from)
+            if (floor != null && floor.value >= from) {
+                cursor = floor.value + stepMillis
+            }
+            for ((coveredFrom, coveredTo) in covered.subMap(from, false, to, true)) {
+                if (coveredFrom > cursor) {
+                    missing.add(cursor to coveredFrom - stepMillis)
+                }
+                cursor = maxOf(cursor, coveredTo + stepMillis)
+            }
+            if (cursor <= to) {
+                missing.add(cursor to to)
+            }
+            return missing
+        }
+
+        @Synchronized
+        fun put(data: JsonArray, from: Long, to: Long, completeUntil: Long, stepMillis: Long) {
+            for (i in 0 until data.size()) {
+                buckets[from + stepMillis * i] = data.getJsonObject(i)
+            }
+            if (from <= completeUntil) {
+                addCovered(from, minOf(to, completeUntil), stepMillis)
+            }
+        }
+
+        @Synchronized
+        fun get(from: Long, to: Long): List<HistoricalMetric> {
+            return buckets.subMap(from, true, to, true).map {
+                HistoricalMetric(Instant.ofEpochMilli(it.key), it.value.copy())
+            }
+        }
+
+        private fun addCovered(from: Long, to: Long, stepMillis: Long) {
+            var mergedFrom = from
+            var mergedTo = to
+            covered.floorEntry(from)?.takeIf { it.value + stepMillis >= from }?.let {
+                mergedFrom = it.key
+                mergedTo = maxOf(mergedTo, it.value)
+            }
+            val overlapping = covered.subMap(mergedFrom, true, mergedTo + stepMillis, true)
+            overlapping.values.maxOrNull()?.let { mergedTo = maxOf(mergedTo, it) }
+            overlapping.clear()
+            covered[mergedFrom] = mergedTo
+        }
+    }
+}
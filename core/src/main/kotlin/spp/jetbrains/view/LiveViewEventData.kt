@@ -0,0 +1,49 @@
+/*
+ * Source++, the continuous feedback platform for developers.
+ * Copyright (C) 2022-2024 CodeBrig, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package spp.jetbrains.view
+
+import com.intellij.util.containers.CollectionFactory
+import io.vertx.core.json.Json
+import io.vertx.core.json.JsonArray
+import io.vertx.core.json.JsonObject
+import spp.protocol.artifact.trace.Trace
+import spp.protocol.view.LiveViewEvent
+
+/**
+ * Decodes the metrics data of [LiveViewEvent]s once per event. Events are shared by reference between every view
+ * subscribed to them, so the decoded values are cached by event identity and must be treated as read-only.
+ *
+ * @since 0.7.10
+ * @author [Brandon Fergerson](mailto:bfergerson@apache.org)
+ */
+object LiveViewEventData {
+
+    private val decodedMetrics = CollectionFactory.createConcurrentWeakIdentityMap<LiveViewEvent, Any>()
+    private val decodedTraces = CollectionFactory.createConcurrentWeakIdentityMap<LiveViewEvent, Trace>()
+
+    fun metricsObject(event: LiveViewEvent): JsonObject {
+        return decodedMetrics.computeIfAbsent(event) { Json.decodeValue(it.metricsData) } as JsonObject
+    }
+
+    fun metricsArray(event: LiveViewEvent): JsonArray {
+        return decodedMetrics.computeIfAbsent(event) { Json.decodeValue(it.metricsData) } as JsonArray
+    }
+
+    fun trace(event: LiveViewEvent): Trace {
+        return decodedTraces.computeIfAbsent(event) { Trace(metricsObject(it).getJsonObject("trace")) }
+    }
+}
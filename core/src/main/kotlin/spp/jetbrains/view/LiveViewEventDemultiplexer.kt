@@ -0,0 +1,133 @@
+/*
+ * Source++, the continuous feedback platform for developers.
+ * Copyright (C) 2022-2024 CodeBrig, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package spp.jetbrains.view
+
+import com.intellij.openapi.diagnostic.logger
+import com.intellij.openapi.project.Project
+import com.intellij.openapi.util.Key
+import spp.protocol.view.LiveViewEvent
+import java.util.concurrent.ConcurrentHashMap
+import java.util.concurrent.CopyOnWriteArrayList
+import java.util.concurrent.atomic.AtomicLong
+
+/**
+ * Routes [LiveViewEvent]s to the handlers registered for their subscription. Events are decoded once by the
+ * developer subscriber and dispatched here, so the cost of an event is independent of the number of open views.
+ *
+ * @since 0.7.10
+ * @author [Brandon Fergerson](mailto:bfergerson@apache.org)
+ */
+class LiveViewEventDemultiplexer {
+
+    companion object {
+        private val log = logger<LiveViewEventDemultiplexer>()
+        private val KEY = Key.create<LiveViewEventDemultiplexer>("SPP_LIVE_VIEW_EVENT_DEMULTIPLEXER")
+
+        @JvmStatic
+        @Synchronized
+        fun getInstance(project: Project): LiveViewEventDemultiplexer {
+            if (project.getUserData(KEY) == null) {
+                project.putUserData(KEY, LiveViewEventDemultiplexer())
+            }
+            return project.getUserData(KEY)!!
+        }
+    }
+
+    private val subscriptions = ConcurrentHashMap<String, Subscription>()
+    private val unroutedCount = AtomicLong()
+
+    /**
+     * Registers [handler] to receive the events of the given subscription.
+     */
+    fun register(subscriptionId: String, handler: (LiveViewEvent) -> Unit): Registration {
+        val registration = Registration(subscriptionId, handler)
+        subscriptions.computeIfAbsent(subscriptionId) { Subscription() }.handlers.add(registration)
+        return registration
+    }
+
+    /**
+     * Removes every handler registered for the given subscription.
+     */
+    fun unregister(subscriptionId: String) {
+        subscriptions.remove(subscriptionId)
+    }
+
+    /**
+     * Delivers [event] to the handlers of its subscription.
+     *
+     * @return the number of handlers the event was delivered to
+     */
+    fun dispatch(event: LiveViewEvent): Int {
+        val subscription = subscriptions[event.subscriptionId]
+        if (subscription == null || subscription.handlers.isEmpty()) {
+            unroutedCount.incrementAndGet()
+            return 0
+        }
+
+        subscription.deliveredCount.incrementAndGet()
+        subscription.handlers.forEach {
+            try {
+                it.handler.invoke(event)
+            } catch (e: Exception) {
+                log.warn("Failed to handle live view event for subscription: ${event.subscriptionId}", e)
+            }
+        }
+        return subscription.handlers.size
+    }
+
+    fun isRegistered(subscriptionId: String): Boolean {
+        return subscriptions[subscriptionId]?.handlers?.isNotEmpty() == true
+    }
+
+    fun getSubscriptionIds(): Set<String> {
+        return subscriptions.keys.toSet()
+    }
+
+    /**
+     * @return the number of events delivered for the given subscription
+     */
+    fun getDeliveredCount(subscriptionId: String): Long {
+        return subscriptions[subscriptionId]?.deliveredCount?.get() ?: 0
+    }
+
+    /**
+     * @return the number of events received for subscriptions without any registered handlers
+     */
+    fun getUnroutedCount(): Long {
+        return unroutedCount.get()
+    }
+
+    private class Subscription {
+        val handlers = CopyOnWriteArrayList<Registration>()
+        val deliveredCount = AtomicLong()
+    }
+
+    /**
+     * A handler registered for a single subscription.
+     */
+    inner class Registration(
+        val subscriptionId: String,
+        internal val handler: (LiveViewEvent) -> Unit
+    ) {
+        fun unregister() {
+            subscriptions.computeIfPresent(subscriptionId) { _, subscription ->
+                subscription.handlers.remove(this)
+                subscription.takeIf { it.handlers.isNotEmpty() }
+            }
+        }
+    }
+}
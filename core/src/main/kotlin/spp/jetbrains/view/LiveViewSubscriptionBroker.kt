@@ -0,0 +1,345 @@
+/*
+ * Source++, the continuous feedback platform for developers.
+ * Copyright (C) 2022-2024 CodeBrig, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package spp.jetbrains.view
+
+import com.intellij.openapi.Disposable
+import com.intellij.openapi.diagnostic.logger
+import com.intellij.openapi.project.Project
+import com.intellij.openapi.util.Disposer
+import com.intellij.openapi.util.Key
+import com.intellij.util.concurrency.AppExecutorUtil
+import io.vertx.core.Future
+import spp.jetbrains.UserData
+import spp.protocol.view.LiveView
+import spp.protocol.view.LiveViewEvent
+import java.util.concurrent.CopyOnWriteArrayList
+import java.util.concurrent.ScheduledFuture
+import java.util.concurrent.TimeUnit
+
+/**
+ * Shares server-side [LiveView]s between every consumer requesting an equivalent view. Views are equivalent when
+ * they observe the same entities, metrics and location at the same refresh rate; the view name is only a label.
+ * Each consumer holds a reference counted [Handle]; delivery to a handle is skipped while it is paused or its
+ * visibility check fails, and the server-side view is only removed once the last handle has been released for
+ * [gracePeriodMs].
+ *
+ * @since 0.7.10
+ * @author [Brandon Fergerson](mailto:bfergerson@apache.org)
+ */
+class LiveViewSubscriptionBroker(
+    private val project: Project,
+    private val gracePeriodMs: Long = 30_000
+) {
+
+    companion object {
+        private val log = logger<LiveViewSubscriptionBroker>()
+        private val KEY = Key.create<LiveViewSubscriptionBroker>("SPP_LIVE_VIEW_SUBSCRIPTION_BROKER")
+        const val SHARED_VIEW_NAME = "SHARED_LIVE_VIEW"
+
+        @JvmStatic
+        @Synchronized
+        fun getInstance(project: Project): LiveViewSubscriptionBroker {
+            if (project.getUserData(KEY) == null) {
+                project.putUserData(KEY, LiveViewSubscriptionBroker(project))
+            }
+            return project.getUserData(KEY)!!
+        }
+
+        /**
+         * Normalizes the given view into the key shared by every equivalent view, which is also the view added on
+         * the server. The refresh rate limit is kept as requested, so realtime (-1) views only share with each other.
+         */
+        @JvmStatic
+        fun sharedKey(liveView: LiveView): LiveView {
+            val viewConfig = liveView.viewConfig
+            return liveView.copy(
+                subscriptionId = null,
+                viewConfig = viewConfig.copy(
+                    viewName = SHARED_VIEW_NAME,
+                    viewMetrics = viewConfig.viewMetrics.distinct().sorted(),
+                )
+            )
+        }
+    }
+
+    private val subscriptions = HashMap<LiveView, SharedSubscription>()
+    private val restartHandlers = CopyOnWriteArrayList<() -> Unit>()
+
+    /**
+     * Subscribes [handler] to the given view, sharing the server-side view with any identical subscription.
+     *
+     * @param isVisible checked before each delivery; events are skipped while it returns false
+     */
+    @Synchronized
+    fun subscribe(
+        liveView: LiveView,
+        isVisible: () -> Boolean = { true },
+        handler: (LiveViewEvent) -> Unit
+    ): Handle {
+        val subscription = getOrCreate(sharedKey(liveView))
+        val handle = Handle(subscription, isVisible, handler)
+        subscription.addHandle(handle)
+        return handle
+    }
+
+    /**
+     * @return the number of distinct server-side views currently held
+     */
+    @Synchronized
+    fun getSubscriptionCount(): Int = subscriptions.size
+
+    /**
+     * @return the number of handles sharing the server-side view of the given view
+     */
+    @Synchronized
+    fun getReferenceCount(liveView: LiveView): Int {
+        return subscriptions[sharedKey(liveView)]?.handles?.size ?: 0
+    }
+
+    /**
+     * Registers a handler which re-adds a view held outside the broker whenever [resubscribeAll] is called, until
+     * [parentDisposable] is disposed.
+     */
+    fun addRestartHandler(parentDisposable: Disposable, handler: () -> Unit) {
+        restartHandlers.add(handler)
+        Disposer.register(parentDisposable) { restartHandlers.remove(handler) }
+    }
+
+    /**
+     * Re-adds every held view on the server, e.g. once the platform connection has been re-established. Handles
+     * keep their references and receive the events of the re-added views. Views held outside the broker are
+     * re-added by their restart handlers.
+     *
+     * @return the number of views held by the broker successfully re-added
+     */
+    @Synchronized
+    fun resubscribeAll(): Future<Int> {
+        restartHandlers.forEach {
+            try {
+                it.invoke()
+            } catch (e: Exception) {
+                log.warn("Failed to restart live view", e)
+            }
+        }
+        val restarts = subscriptions.values.toList().map { it.restart() }
+        return Future.join(restarts).transform {
+            Future.succeededFuture(restarts.count { it.succeeded() })
+        }
+    }
+
+    private fun getOrCreate(key: LiveView): SharedSubscription {
+        val existing = subscriptions[key]
+        if (existing != null && !existing.liveView.failed()) return existing
+        return SharedSubscription(key).also { subscriptions[key] = it }
+    }
+
+    internal inner class SharedSubscription(var key: LiveView) {
+
+        val handles = CopyOnWriteArrayList<Handle>()
+        private var registration: LiveViewEventDemultiplexer.Registration? = null
+        private var teardown: ScheduledFuture<*>? = null
+        @Volatile
+        private var detached = false
+        @Volatile
+        private var lastEvent: LiveViewEvent? = null
+
+        //started last, as the view may be added synchronously
+        var liveView: Future<LiveView> = start()
+
+        private fun start(): Future<LiveView> {
+            val viewService = UserData.liveViewService(project)
+                ?: return Future.failedFuture(IllegalStateException("LiveViewService not available"))
+            return viewService.addLiveView(key).onSuccess {
+                synchronized(this@LiveViewSubscriptionBroker) {
+                    //released before the view was added; detach() removes the view once added
+                    if (detached) return@onSuccess
+                    registration = LiveViewEventDemultiplexer.getInstance(project).register(it.subscriptionId!!) {
+                        dispatch(it)
+                    }
+                }
+            }.onFailure {
+                log.warn("Failed to add shared live view", it)
+                synchronized(this@LiveViewSubscriptionBroker) {
+                    if (subscriptions[key] === this) subscriptions.remove(key)
+                }
+            }
+        }
+
+        fun restart(): Future<LiveView> {
+            val previous = liveView
+            registration?.unregister()
+            registration = null
+            liveView = start()
+
+            //remove the previous view in case the server still holds it
+            previous.onSuccess {
+                UserData.liveViewService(project)?.removeLiveView(it.subscriptionId!!)?.onFailure {
+                    log.debug("Previous shared live view already removed", it)
+                }
+            }
+            return liveView
+        }
+
+        private fun dispatch(event: LiveViewEvent) {
+            lastEvent = event
+            handles.forEach { it.deliver(event) }
+        }
+
+        fun addHandle(handle: Handle) {
+            teardown?.cancel(false)
+            teardown = null
+            handles.add(handle)
+
+            //late joiners immediately receive the latest value
+            lastEvent?.let { handle.deliver(it) }
+        }
+
+        fun removeHandle(handle: Handle) {
+            handles.remove(handle)
+            if (handles.isEmpty()) {
+                teardown = AppExecutorUtil.getAppScheduledExecutorService().schedule({
+                    stop()
+                }, gracePeriodMs, TimeUnit.MILLISECONDS)
+            }
+        }
+
+        fun stop() {
+            synchronized(this@LiveViewSubscriptionBroker) {
+                if (handles.isNotEmpty() || subscriptions[key] !== this) return
+                subscriptions.remove(key)
+            }
+            detach()
+        }
+
+        /**
+         * Stops receiving events and removes the server-side view, regardless of the remaining handles.
+         */
+        fun detach() {
+            synchronized(this@LiveViewSubscriptionBroker) {
+                detached = true
+                teardown?.cancel(false)
+                teardown = null
+                registration?.unregister()
+                registration = null
+            }
+            liveView.onSuccess {
+                if (project.isDisposed) return@onSuccess //no need to remove view
+                UserData.liveViewService(project)?.removeLiveView(it.subscriptionId!!)?.onFailure {
+                    log.warn("Failed to remove shared live view", it)
+                }
+            }
+        }
+    }
+
+    /**
+     * A single consumer's reference to a shared server-side view.
+     */
+    inner class Handle internal constructor(
+        private var subscription: SharedSubscription,
+        private val isVisible: () -> Boolean,
+        private val handler: (LiveViewEvent) -> Unit
+    ) {
+
+        @Volatile
+        var paused = false
+        @Volatile
+        var released = false
+            private set
+
+        /**
+         * The server-side view backing this handle.
+         */
+        val liveView: Future<LiveView>
+            get() = subscription.liveView
+
+        internal fun deliver(event: LiveViewEvent) {
+            if (paused || released || !isVisible()) return
+            try {
+                handler.invoke(event)
+            } catch (e: Exception) {
+                log.warn("Failed to handle shared live view event", e)
+            }
+        }
+
+        /**
+         * Moves this handle to the given view. When this handle is the only reference and no identical view
+         * exists, the server-side view is updated in place instead of being removed and re-added.
+         */
+        fun update(liveView: LiveView) {
+            val newKey = sharedKey(liveView)
+            synchronized(this@LiveViewSubscriptionBroker) {
+                if (released || subscription.key == newKey) return
+                val current = subscription
+                val viewService = UserData.liveViewService(project)
+                if (viewService != null && current.handles.size == 1 && !subscriptions.containsKey(newKey)) {
+                    val previousKey = current.key
+                    val previousView = current.liveView
+                    subscriptions.remove(previousKey)
+                    current.key = newKey
+                    subscriptions[newKey] = current
+                    current.liveView = previousView.compose {
+                        viewService.updateLiveView(it.subscriptionId!!, newKey.copy(subscriptionId = it.subscriptionId))
+                    }.recover {
+                        log.warn("Failed to update shared live view", it)
+                        rollback(current, previousKey)
+                        previousView
+                    }
+                    return
+                }
+
+                current.removeHandle(this)
+                subscription = getOrCreate(newKey)
+                subscription.addHandle(this)
+            }
+        }
+
+        /**
+         * Restores the key of a subscription whose in-place update failed, as the server still holds the previous
+         * view. If an equivalent view was added in the meantime, the handles join it instead.
+         */
+        private fun rollback(current: SharedSubscription, previousKey: LiveView) {
+            synchronized(this@LiveViewSubscriptionBroker) {
+                if (subscriptions[current.key] === current) subscriptions.remove(current.key)
+                current.key = previousKey
+                val existing = subscriptions[previousKey]
+                if (existing == null) {
+                    subscriptions[previousKey] = current
+                    return
+                }
+
+                current.handles.forEach {
+                    it.subscription = existing
+                    existing.addHandle(it)
+                }
+                current.handles.clear()
+                current.detach()
+            }
+        }
+
+        /**
+         * Releases this reference. The server-side view is removed after the grace period if no other
+         * references remain.
+         */
+        fun release() {
+            synchronized(this@LiveViewSubscriptionBroker) {
+                if (released) return
+                released = true
+                subscription.removeHandle(this)
+            }
+        }
+    }
+}
@@ -49,7 +49,6 @@ abstract class ResumableViewCollection : ResumableView {
     }
 
     override fun setRefreshInterval(interval: Int) {
-        pause()
         views.forEach { it.setRefreshInterval(interval) }
         resume()
     }
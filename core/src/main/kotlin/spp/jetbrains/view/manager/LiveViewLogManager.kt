@@ -18,11 +18,10 @@ package spp.jetbrains.view.manager
 
 import com.intellij.openapi.project.Project
 import com.intellij.openapi.util.Key
-import io.vertx.core.eventbus.MessageConsumer
-import io.vertx.core.json.JsonObject
 import spp.jetbrains.view.ResumableViewManager
 import spp.jetbrains.view.window.LiveLogWindow
 import spp.protocol.view.LiveView
+import spp.protocol.view.LiveViewEvent
 
 /**
  * todo: description.
@@ -41,7 +40,7 @@ interface LiveViewLogManager : ResumableViewManager {
 
     fun getOrCreateLogWindow(
         liveView: LiveView,
-        consumer: (LiveLogWindow) -> MessageConsumer<JsonObject>,
+        eventHandler: (LiveLogWindow, LiveViewEvent) -> Unit,
         title: String
     ): LiveLogWindow
 }
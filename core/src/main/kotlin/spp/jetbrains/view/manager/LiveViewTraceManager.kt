@@ -18,12 +18,11 @@ package spp.jetbrains.view.manager
 
 import com.intellij.openapi.project.Project
 import com.intellij.openapi.util.Key
-import io.vertx.core.eventbus.MessageConsumer
-import io.vertx.core.json.JsonObject
 import spp.jetbrains.view.ResumableViewManager
 import spp.jetbrains.view.window.LiveTraceWindow
 import spp.protocol.artifact.trace.Trace
 import spp.protocol.view.LiveView
+import spp.protocol.view.LiveViewEvent
 
 /**
  * todo: description.
@@ -43,7 +42,7 @@ interface LiveViewTraceManager : ResumableViewManager {
     fun showEndpointTraces(
         liveView: LiveView,
         endpointName: String,
-        consumer: (LiveTraceWindow) -> MessageConsumer<JsonObject>
+        eventHandler: (LiveTraceWindow, LiveViewEvent) -> Unit
     )
 
     fun showTraceSpans(trace: Trace)
@@ -0,0 +1,113 @@
+/*
+ * Source++, the continuous feedback platform for developers.
+ * Copyright (C) 2022-2024 CodeBrig, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package spp.jetbrains.view.model
+
+import java.util.concurrent.ConcurrentLinkedQueue
+import java.util.concurrent.atomic.AtomicInteger
+import java.util.concurrent.atomic.AtomicLong
+
+/**
+ * Bounded buffer for live view events. Events may be offered from any thread and are moved into the retained
+ * ring by [drain], which is expected to be called from a single (UI) thread at a fixed frame rate. Events offered
+ * while a full frame is already pending are dropped; retained events beyond [capacity] are evicted oldest first.
+ *
+ * @since 0.7.10
+ * @author [Brandon Fergerson](mailto:bfergerson@apache.org)
+ */
+class BoundedEventBuffer<T>(capacity: Int) {
+
+    @Volatile
+    var capacity: Int = capacity
+        set(value) {
+            require(value > 0) { "Capacity must be positive" }
+            field = value
+        }
+
+    private val pending = ConcurrentLinkedQueue<T>()
+    private val pendingSize = AtomicInteger()
+    private val retained = ArrayDeque<T>()
+    private val droppedCount = AtomicLong()
+    private val evictedCount = AtomicLong()
+
+    init {
+        require(capacity > 0) { "Capacity must be positive" }
+    }
+
+    /**
+     * @return false if the event was dropped because too many events are already pending
+     */
+    fun offer(event: T): Boolean {
+        if (pendingSize.incrementAndGet() > capacity) {
+            pendingSize.decrementAndGet()
+            droppedCount.incrementAndGet()
+            return false
+        }
+        pending.add(event)
+        return true
+    }
+
+    fun hasPending(): Boolean = pendingSize.get() > 0
+
+    /**
+     * Moves all pending events into the retained ring.
+     */
+    fun drain(): Batch<T> {
+        val previouslyRetained = retained.size
+        val added = mutableListOf<T>()
+        while (true) {
+            val event = pending.poll() ?: break
+            pendingSize.decrementAndGet()
+            added.add(event)
+            retained.addLast(event)
+        }
+
+        val evicted = mutableListOf<T>()
+        while (retained.size > capacity) {
+            evicted.add(retained.removeFirst())
+        }
+        if (evicted.isNotEmpty()) {
+            evictedCount.addAndGet(evicted.size.toLong())
+        }
+
+        //events added and evicted within the same frame were never visible
+        val evictedAdded = (evicted.size - previouslyRetained).coerceAtLeast(0)
+        return Batch(added.drop(evictedAdded), evicted.dropLast(evictedAdded))
+    }
+
+    /**
+     * @return the retained events, oldest first
+     */
+    fun getRetained(): List<T> = retained.toList()
+
+    val retainedSize: Int
+        get() = retained.size
+
+    fun getDroppedCount(): Long = droppedCount.get()
+
+    fun getEvictedCount(): Long = evictedCount.get()
+
+    fun clear() {
+        pending.clear()
+        pendingSize.set(0)
+        retained.clear()
+    }
+
+    /**
+     * The events added to and evicted from the retained ring by a single [drain].
+     */
+    data class Batch<T>(val added: List<T>, val evicted: List<T>)
+}
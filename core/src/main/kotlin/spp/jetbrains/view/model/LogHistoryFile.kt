@@ -0,0 +1,181 @@
+/*
+ * Source++, the continuous feedback platform for developers.
+ * Copyright (C) 2022-2024 CodeBrig, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package spp.jetbrains.view.model
+
+import com.intellij.openapi.Disposable
+import com.intellij.openapi.util.io.FileUtil
+import java.io.ByteArrayOutputStream
+import java.io.File
+import java.io.FileInputStream
+import java.io.RandomAccessFile
+import java.nio.charset.StandardCharsets
+import java.time.Instant
+
+/**
+ * File-backed append log holding the full history of a live log console. Only a sparse index of
+ * (timestamp, file offset) pairs is held in memory, one entry every [INDEX_INTERVAL] lines, which is
+ * enough to seek to a point in time without reading the whole file.
+ *
+ * @since 0.7.10
+ * @author [Brandon Fergerson](mailto:bfergerson@apache.org)
+ */
+class LogHistoryFile(private val file: File = FileUtil.createTempFile("spp-live-log", ".log", true)) : Disposable {
+
+    companion object {
+        const val INDEX_INTERVAL = 64
+    }
+
+    private val raf = RandomAccessFile(file, "rw")
+    private var indexTimes = LongArray(64)
+    private var indexOffsets = LongArray(64)
+    private var indexSize = 0
+    private var maxTimestamp = Long.MIN_VALUE
+
+    var lineCount = 0L
+        private set
+
+    /**
+     * Appends the given lines. Each line is stored alongside its timestamp and content type.
+     */
+    @Synchronized
+    fun append(lines: List<LogLine>) {
+        if (lines.isEmpty()) return
+        val offset = raf.length()
+        val out = ByteArrayOutputStream()
+        for (line in lines) {
+            //timestamps are indexed by their running max so out-of-order lines can't break the binary search
+            maxTimestamp = maxOf(maxTimestamp, line.timestamp)
+            if (lineCount % INDEX_INTERVAL == 0L) {
+                addIndex(maxTimestamp, offset + out.size())
+            }
+            val record = "${line.contentType}\t${line.timestamp}\t${escape(line.text.trimEnd('\n'))}\n"
+            out.write(record.toByteArray(StandardCharsets.UTF_8))
+            lineCount++
+        }
+        raf.seek(offset)
+        raf.write(out.toByteArray())
+    }
+
+    /**
+     * Reads up to [limit] lines starting with the first indexed block that may contain [time].
+     */
+    @Synchronized
+    fun readFrom(time: Instant, limit: Int): List<LogLine> {
+        if (indexSize == 0) return emptyList()
+        val millis = time.toEpochMilli()
+        var low = 0
+        var high = indexSize - 1
+        while (low < high) {
+            val mid = (low + high + 1) ushr 1
+            if (indexTimes[mid] <= millis) low = mid else high = mid - 1
+        }
+        return readLines(indexOffsets[low], limit) { it.timestamp >= millis }
+    }
+
+    /**
+     * Reads the last [limit] lines.
+     */
+    @Synchronized
+    fun readLast(limit: Int): List<LogLine> {
+        if (indexSize == 0 || limit <= 0) return emptyList()
+        val blocks = (limit + INDEX_INTERVAL - 1) / INDEX_INTERVAL + 1
+        val startBlock = maxOf(0, indexSize - blocks)
+        return readLines(indexOffsets[startBlock], Int.MAX_VALUE) { true }.takeLast(limit)
+    }
+
+    /**
+     * Finds up to [limit] lines containing [query], oldest first.
+     */
+    @Synchronized
+    fun search(query: String, limit: Int, ignoreCase: Boolean = true): List<LogLine> {
+        if (indexSize == 0) return emptyList()
+        return readLines(indexOffsets[0], limit) { it.text.contains(query, ignoreCase) }
+    }
+
+    private fun readLines(offset: Long, limit: Int, filter: (LogLine) -> Boolean): List<LogLine> {
+        val result = mutableListOf<LogLine>()
+        FileInputStream(file).use { input ->
+            input.channel.position(offset)
+            val reader = input.bufferedReader(StandardCharsets.UTF_8)
+            while (result.size < limit) {
+                val record = reader.readLine() ?: break
+                if (record.isEmpty()) continue
+                val line = parse(record)
+                if (filter(line)) result.add(line)
+            }
+        }
+        return result
+    }
+
+    private fun parse(record: String): LogLine {
+        val typeEnd = record.indexOf('\t')
+        val timeEnd = record.indexOf('\t', typeEnd + 1)
+        return LogLine(
+            unescape(record.substring(timeEnd + 1)),
+            record.substring(typeEnd + 1, timeEnd).toLong(),
+            record.substring(0, typeEnd)
+        )
+    }
+
+    private fun escape(text: String): String {
+        return text.replace("\\", "\\\\").replace("\n", "\\n").replace("\r", "\\r")
+    }
+
+    private fun unescape(text: String): String {
+        if (!text.contains('\\')) return text
+        val sb = StringBuilder(text.length)
+        var i = 0
+        while (i < text.length) {
+            val c = text[i]
+            if (c == '\\' && i + 1 < text.length) {
+                sb.append(
+                    when (text[i + 1]) {
+                        'n' -> '\n'
+                        'r' -> '\r'
+                        else -> text[i + 1]
+                    }
+                )
+                i += 2
+            } else {
+                sb.append(c)
+                i++
+            }
+        }
+        return sb.toString()
+    }
+
+    private fun addIndex(time: Long, offset: Long) {
+        if (indexSize == indexTimes.size) {
+            indexTimes = indexTimes.copyOf(indexSize * 2)
+            indexOffsets = indexOffsets.copyOf(indexSize * 2)
+        }
+        indexTimes[indexSize] = time
+        indexOffsets[indexSize] = offset
+        indexSize++
+    }
+
+    @Synchronized
+    override fun dispose() {
+        raf.close()
+        FileUtil.delete(file)
+    }
+
+    /**
+     * A single console line along with its timestamp (epoch millis) and console content type name.
+     */
+    data class LogLine(val text: String, val timestamp: Long, val contentType: String)
+}
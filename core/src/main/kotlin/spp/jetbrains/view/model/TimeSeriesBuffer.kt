@@ -0,0 +1,187 @@
+/*
+ * Source++, the continuous feedback platform for developers.
+ * Copyright (C) 2022-2024 CodeBrig, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package spp.jetbrains.view.model
+
+import kotlin.math.abs
+
+/**
+ * Bounded, columnar time-series store kept in ascending time order. Appending a point newer than the latest point
+ * is O(1); out-of-order points are located via binary search. Once [capacity] is reached the oldest point is evicted.
+ * Not thread-safe.
+ *
+ * @since 0.7.10
+ * @author [Brandon Fergerson](mailto:bfergerson@apache.org)
+ */
+class TimeSeriesBuffer(val capacity: Int) {
+
+    private val times = LongArray(capacity)
+    private val values = DoubleArray(capacity)
+    private var head = 0
+    var size = 0
+        private set
+
+    init {
+        require(capacity > 1) { "Capacity must be greater than 1" }
+    }
+
+    fun isEmpty(): Boolean = size == 0
+
+    fun timeAt(index: Int): Long = times[physical(index)]
+
+    fun valueAt(index: Int): Double = values[physical(index)]
+
+    fun firstTime(): Long? = if (size == 0) null else timeAt(0)
+
+    fun lastTime(): Long? = if (size == 0) null else timeAt(size - 1)
+
+    /**
+     * Adds the given point, replacing any existing point with the same time.
+     *
+     * @return false if the point is older than every retained point and the buffer is full
+     */
+    fun put(time: Long, value: Double): Boolean {
+        if (size == 0 || time > timeAt(size - 1)) {
+            append(time, value)
+            return true
+        }
+
+        var index = search(time)
+        if (index >= 0) {
+            values[physical(index)] = value
+            return true
+        }
+
+        index = -(index + 1)
+        if (size == capacity) {
+            if (index == 0) return false
+            evictFirst()
+            index--
+        }
+
+        //shift newer points right by one to make room
+        for (i in size downTo index + 1) {
+            times[physical(i)] = times[physical(i - 1)]
+            values[physical(i)] = values[physical(i - 1)]
+        }
+        times[physical(index)] = time
+        values[physical(index)] = value
+        size++
+        return true
+    }
+
+    /**
+     * Removes every point older than the given time.
+     */
+    fun trimBefore(time: Long) {
+        while (size > 0 && timeAt(0) < time) {
+            evictFirst()
+        }
+    }
+
+    fun clear() {
+        head = 0
+        size = 0
+    }
+
+    fun maxValue(): Double? {
+        if (size == 0) return null
+        var max = valueAt(0)
+        for (i in 1 until size) {
+            max = maxOf(max, valueAt(i))
+        }
+        return max
+    }
+
+    /**
+     * Selects at most [threshold] point indexes using Largest-Triangle-Three-Buckets, which preserves the visual
+     * shape of the series. Returns every index when the series is already small enough.
+     */
+    fun downsample(threshold: Int): IntArray {
+        if (threshold >= size || threshold < 3) {
+            return IntArray(size) { it }
+        }
+
+        val sampled = IntArray(threshold)
+        val bucketSize = (size - 2).toDouble() / (threshold - 2)
+        var a = 0
+        sampled[0] = 0
+        for (bucket in 0 until threshold - 2) {
+            //average point of the next bucket
+            val nextStart = ((bucket + 1) * bucketSize).toInt() + 1
+            val nextEnd = minOf(((bucket + 2) * bucketSize).toInt() + 1, size)
+            var avgTime = 0.0
+            var avgValue = 0.0
+            for (i in nextStart until nextEnd) {
+                avgTime += timeAt(i)
+                avgValue += valueAt(i)
+            }
+            val nextCount = nextEnd - nextStart
+            avgTime /= nextCount
+            avgValue /= nextCount
+
+            //point in the current bucket forming the largest triangle with a and the next bucket's average
+            val start = (bucket * bucketSize).toInt() + 1
+            val end = ((bucket + 1) * bucketSize).toInt() + 1
+            val aTime = timeAt(a).toDouble()
+            val aValue = valueAt(a)
+            var maxArea = -1.0
+            var selected = start
+            for (i in start until end) {
+                val area = abs(
+                    (aTime - avgTime) * (valueAt(i) - aValue) - (aTime - timeAt(i)) * (avgValue - aValue)
+                )
+                if (area > maxArea) {
+                    maxArea = area
+                    selected = i
+                }
+            }
+            sampled[bucket + 1] = selected
+            a = selected
+        }
+        sampled[threshold - 1] = size - 1
+        return sampled
+    }
+
+    private fun append(time: Long, value: Double) {
+        if (size == capacity) evictFirst()
+        times[physical(size)] = time
+        values[physical(size)] = value
+        size++
+    }
+
+    private fun evictFirst() {
+        head = (head + 1) % capacity
+        size--
+    }
+
+    private fun search(time: Long): Int {
+        var low = 0
+        var high = size - 1
+        while (low <= high) {
+            val mid = (low + high) ushr 1
+            val midTime = timeAt(mid)
+            when {
+                midTime < time -> low = mid + 1
+                midTime > time -> high = mid - 1
+                else -> return mid
+            }
+        }
+        return -(low + 1)
+    }
+
+    private fun physical(index: Int): Int = (head + index) % capacity
+}
@@ -0,0 +1,131 @@
+/*
+ * Source++, the continuous feedback platform for developers.
+ * Copyright (C) 2022-2024 CodeBrig, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package spp.jetbrains.view.trace
+
+import spp.protocol.artifact.trace.TraceSpan
+
+/**
+ * Parent/child index over the spans of a single trace, built once so that expanding any node of the trace tree
+ * is a map lookup instead of a scan of the whole trace stack. Also holds each span's depth and critical-path
+ * duration, computed in the same pass. Children are only sorted the first time they are requested.
+ *
+ * @since 0.7.10
+ * @author [Brandon Fergerson](mailto:bfergerson@apache.org)
+ */
+class TraceSpanIndex(val spans: List<TraceSpan>) {
+
+    private val children = HashMap<SpanKey, MutableList<TraceSpan>>()
+    private val sortedChildren = HashMap<SpanKey, List<TraceSpan>>()
+    private val depths = HashMap<SpanKey, Int>()
+    private val subtreeEnds = HashMap<SpanKey, Long>()
+    val rootSpans: List<TraceSpan>
+    val traceStart: Long = spans.minOfOrNull { it.startTime.toEpochMilli() } ?: 0
+    val traceEnd: Long = spans.maxOfOrNull { it.endTime.toEpochMilli() } ?: 0
+    val traceDuration: Long
+        get() = traceEnd - traceStart
+
+    init {
+        val segmentIds = HashSet<String>()
+        spans.forEach { span ->
+            if (span.parentSpanId == -1) {
+                segmentIds.add(span.segmentId)
+            } else {
+                children.getOrPut(SpanKey(span.segmentId, span.parentSpanId)) { mutableListOf() }.add(span)
+            }
+
+            //cross-process refs are children of the span they reference
+            span.refs.find { it.type == "CROSS_PROCESS" }?.let {
+                children.getOrPut(SpanKey(it.parentSegmentId, it.parentSpanId)) { mutableListOf() }.add(span)
+            }
+        }
+
+        //remove root spans when cross-process refs parented to root span
+        rootSpans = spans.filter { span ->
+            if (span.parentSpanId != -1) return@filter false
+            val ref = span.refs.find { it.type == "CROSS_PROCESS" } ?: return@filter true
+            ref.parentSegmentId !in segmentIds
+        }
+
+        computeDepthsAndSubtreeEnds()
+    }
+
+    /**
+     * @return the children of the given span, ordered by start time
+     */
+    @Synchronized
+    fun getChildren(span: TraceSpan): List<TraceSpan> {
+        val key = SpanKey(span.segmentId, span.spanId)
+        return sortedChildren.getOrPut(key) {
+            children[key]?.sortedBy { it.startTime } ?: emptyList()
+        }
+    }
+
+    fun hasChildren(span: TraceSpan): Boolean {
+        return children[SpanKey(span.segmentId, span.spanId)]?.isNotEmpty() == true
+    }
+
+    /**
+     * @return the distance of the span from its root span, or -1 if it is unreachable from any root
+     */
+    fun getDepth(span: TraceSpan): Int {
+        return depths[SpanKey(span.segmentId, span.spanId)] ?: -1
+    }
+
+    /**
+     * @return the time (ms) from the start of the span until it and every span beneath it has ended
+     */
+    fun getCriticalPathDuration(span: TraceSpan): Long {
+        val subtreeEnd = subtreeEnds[SpanKey(span.segmentId, span.spanId)] ?: span.endTime.toEpochMilli()
+        return subtreeEnd - span.startTime.toEpochMilli()
+    }
+
+    private fun computeDepthsAndSubtreeEnds() {
+        //iterative breadth-first walk; deep traces would overflow a recursive walk
+        val order = ArrayList<TraceSpan>(spans.size)
+        val queue = ArrayDeque<TraceSpan>()
+        rootSpans.forEach {
+            depths[SpanKey(it.segmentId, it.spanId)] = 0
+            queue.add(it)
+        }
+        while (queue.isNotEmpty()) {
+            val span = queue.removeFirst()
+            order.add(span)
+            val depth = depths[SpanKey(span.segmentId, span.spanId)]!!
+            children[SpanKey(span.segmentId, span.spanId)]?.forEach {
+                val childKey = SpanKey(it.segmentId, it.spanId)
+                if (childKey !in depths) {
+                    depths[childKey] = depth + 1
+                    queue.add(it)
+                }
+            }
+        }
+
+        //children are always visited after their parents, so walk backwards to roll up subtree ends
+        for (i in order.indices.reversed()) {
+            val span = order[i]
+            val key = SpanKey(span.segmentId, span.spanId)
+            var subtreeEnd = span.endTime.toEpochMilli()
+            children[key]?.forEach {
+                val childEnd = subtreeEnds[SpanKey(it.segmentId, it.spanId)] ?: it.endTime.toEpochMilli()
+                subtreeEnd = maxOf(subtreeEnd, childEnd)
+            }
+            subtreeEnds[key] = subtreeEnd
+        }
+    }
+
+    private data class SpanKey(val segmentId: String, val spanId: Int)
+}
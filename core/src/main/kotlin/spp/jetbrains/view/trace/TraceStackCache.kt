@@ -0,0 +1,154 @@
+/*
+ * Source++, the continuous feedback platform for developers.
+ * Copyright (C) 2022-2024 CodeBrig, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package spp.jetbrains.view.trace
+
+import com.intellij.openapi.diagnostic.logger
+import com.intellij.openapi.project.Project
+import com.intellij.openapi.util.Key
+import io.vertx.core.Future
+import spp.jetbrains.UserData
+import java.util.concurrent.ConcurrentHashMap
+import java.util.concurrent.atomic.AtomicInteger
+
+/**
+ * Per-project LRU cache of trace stacks, keyed by trace id and held as [TraceSpanIndex] so each stack is only
+ * indexed once. Concurrent requests for the same trace share one fetch, and [prefetch] loads traces in the
+ * background with at most [maxConcurrentPrefetches] requests in flight.
+ *
+ * @since 0.7.10
+ * @author [Brandon Fergerson](mailto:bfergerson@apache.org)
+ */
+class TraceStackCache(
+    private val project: Project,
+    private val maxSize: Int = 200,
+    private val maxConcurrentPrefetches: Int = 4
+) {
+
+    companion object {
+        private val log = logger<TraceStackCache>()
+        private val KEY = Key.create<TraceStackCache>("SPP_TRACE_STACK_CACHE")
+        private const val MAX_PENDING_PREFETCHES = 64
+
+        @JvmStatic
+        @Synchronized
+        fun getInstance(project: Project): TraceStackCache {
+            if (project.getUserData(KEY) == null) {
+                project.putUserData(KEY, TraceStackCache(project))
+            }
+            return project.getUserData(KEY)!!
+        }
+    }
+
+    private val cache = object : LinkedHashMap<String, TraceSpanIndex>(16, 0.75f, true) {
+        override fun removeEldestEntry(eldest: MutableMap.MutableEntry<String, TraceSpanIndex>): Boolean {
+            return size > maxSize
+        }
+    }
+    private val inFlight = ConcurrentHashMap<String, Future<TraceSpanIndex?>>()
+    private val pendingPrefetches = LinkedHashSet<String>()
+    private val activePrefetches = AtomicInteger()
+
+    /**
+     * Gets the indexed trace stack of the given trace, fetching it if it is not already cached.
+     *
+     * @return null when the trace stack is not available
+     */
+    fun getTraceSpanIndex(traceId: String): Future<TraceSpanIndex?> {
+        synchronized(cache) { cache[traceId] }?.let { return Future.succeededFuture(it) }
+        return fetch(traceId)
+    }
+
+    fun isCached(traceId: String): Boolean = synchronized(cache) { cache.containsKey(traceId) }
+
+    /**
+     * Fetches the given traces in the background, replacing any prefetches which have not yet started.
+     * Traces should be ordered by priority (e.g. the selected row first).
+     */
+    fun prefetch(traceIds: List<String>) {
+        synchronized(pendingPrefetches) {
+            pendingPrefetches.clear()
+            traceIds.asSequence()
+                .filter { !isCached(it) && !inFlight.containsKey(it) }
+                .take(MAX_PENDING_PREFETCHES)
+                .forEach { pendingPrefetches.add(it) }
+        }
+        startPrefetches()
+    }
+
+    /**
+     * Removes the given trace from the cache, e.g. because it was still in progress when it was fetched. A fetch
+     * of the trace which is already in flight will not be cached once it completes.
+     */
+    fun invalidate(traceId: String) = invalidate(listOf(traceId))
+
+    fun invalidate(traceIds: Collection<String>) {
+        synchronized(cache) { traceIds.forEach { cache.remove(it) } }
+        synchronized(pendingPrefetches) { pendingPrefetches.removeAll(traceIds.toSet()) }
+        traceIds.forEach { inFlight.remove(it) }
+    }
+
+    fun invalidateAll() {
+        synchronized(cache) { cache.clear() }
+        synchronized(pendingPrefetches) { pendingPrefetches.clear() }
+        inFlight.clear()
+    }
+
+    private fun startPrefetches() {
+        while (true) {
+            if (activePrefetches.incrementAndGet() > maxConcurrentPrefetches) {
+                activePrefetches.decrementAndGet()
+                return
+            }
+            val traceId = synchronized(pendingPrefetches) {
+                pendingPrefetches.firstOrNull()?.also { pendingPrefetches.remove(it) }
+            }
+            if (traceId == null) {
+                activePrefetches.decrementAndGet()
+                return
+            }
+
+            fetch(traceId).onComplete {
+                activePrefetches.decrementAndGet()
+                startPrefetches()
+            }
+        }
+    }
+
+    private fun fetch(traceId: String): Future<TraceSpanIndex?> {
+        val viewService = UserData.liveViewService(project)
+            ?: return Future.failedFuture(IllegalStateException("LiveViewService not available"))
+
+        var created = false
+        val future = inFlight.computeIfAbsent(traceId) {
+            created = true
+            viewService.getTraceStack(traceId).map { traceStack ->
+                traceStack?.traceSpans?.takeIf { it.isNotEmpty() }?.let { TraceSpanIndex(it) }
+            }
+        }
+        if (created) {
+            future.onComplete {
+                //only cache the result if the trace wasn't invalidated while it was being fetched
+                if (inFlight.remove(traceId, future) && it.succeeded() && it.result() != null) {
+                    synchronized(cache) { cache[traceId] = it.result()!! }
+                } else if (it.failed()) {
+                    log.warn("Failed to fetch trace stack: $traceId", it.cause())
+                }
+            }
+        }
+        return future
+    }
+}
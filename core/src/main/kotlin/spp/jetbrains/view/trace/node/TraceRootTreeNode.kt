@@ -19,7 +19,7 @@ package spp.jetbrains.view.trace.node
 import com.intellij.ide.projectView.PresentationData
 import com.intellij.ide.util.treeView.AbstractTreeNode
 import com.intellij.openapi.project.Project
-import spp.protocol.artifact.trace.TraceSpan
+import spp.jetbrains.view.trace.TraceSpanIndex
 
 /**
  * todo: description.
@@ -29,20 +29,12 @@ import spp.protocol.artifact.trace.TraceSpan
  */
 class TraceRootTreeNode(
     project: Project,
-    traceStack: List<TraceSpan>
-) : AbstractTreeNode<List<TraceSpan>>(project, traceStack) {
+    spanIndex: TraceSpanIndex
+) : AbstractTreeNode<TraceSpanIndex>(project, spanIndex) {
 
     override fun update(presentation: PresentationData) = Unit
 
     override fun getChildren(): Collection<TraceSpanTreeNode> {
-        val rootSpans = value.filter { it.parentSpanId == -1 }.toMutableList()
-
-        //remove root spans when cross-process refs parented to root span
-        rootSpans.removeAll {
-            val ref = it.refs.find { it.type == "CROSS_PROCESS" } ?: return@removeAll false
-            rootSpans.any { it.segmentId == ref.parentSegmentId }
-        }
-
-        return rootSpans.map { TraceSpanTreeNode(project, value, it) }
+        return value.rootSpans.map { TraceSpanTreeNode(project, value, it) }
     }
 }
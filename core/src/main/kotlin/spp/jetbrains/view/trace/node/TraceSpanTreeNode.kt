@@ -19,6 +19,7 @@ package spp.jetbrains.view.trace.node
 import com.intellij.ide.projectView.PresentationData
 import com.intellij.ide.util.treeView.AbstractTreeNode
 import com.intellij.openapi.project.Project
+import spp.jetbrains.view.trace.TraceSpanIndex
 import spp.protocol.artifact.trace.TraceSpan
 
 /**
@@ -29,7 +30,7 @@ import spp.protocol.artifact.trace.TraceSpan
  */
 class TraceSpanTreeNode(
     project: Project,
-    val traceStack: List<TraceSpan>,
+    val spanIndex: TraceSpanIndex,
     span: TraceSpan
 ) : AbstractTreeNode<TraceSpan>(project, span) {
 
@@ -37,18 +38,9 @@ class TraceSpanTreeNode(
         presentation.presentableText = value.endpointName
     }
 
-    override fun getChildren(): Collection<TraceSpanTreeNode> {
-        //todo: move logic to TraceStack.getChildren()
-        val childSpans = traceStack.filter {
-            it.parentSpanId == value.spanId && it.segmentId == value.segmentId
-        }.toMutableList()
-
-        //add cross-process refs as children
-        childSpans.addAll(traceStack.filter {
-            val ref = it.refs.find { it.type == "CROSS_PROCESS" } ?: return@filter false
-            ref.parentSegmentId == value.segmentId && ref.parentSpanId == value.spanId
-        })
+    override fun isAlwaysLeaf(): Boolean = !spanIndex.hasChildren(value)
 
-        return childSpans.map { TraceSpanTreeNode(project, traceStack, it) }
+    override fun getChildren(): Collection<TraceSpanTreeNode> {
+        return spanIndex.getChildren(value).map { TraceSpanTreeNode(project, spanIndex, it) }
     }
 }
@@ -20,13 +20,14 @@ import com.intellij.codeInsight.lookup.impl.LookupCellRenderer
 import com.intellij.execution.ui.ConsoleView
 import com.intellij.execution.ui.ConsoleViewContentType
 import com.intellij.openapi.editor.markup.TextAttributes
-import io.vertx.core.json.JsonObject
+import spp.jetbrains.view.LiveViewEventData
 import spp.jetbrains.view.ResumableView
 import spp.protocol.artifact.ArtifactNameUtils
 import spp.protocol.artifact.log.Log
 import spp.protocol.view.LiveView
 import spp.protocol.view.LiveViewEvent
 import java.awt.Font
+import java.time.Instant
 import java.time.LocalTime
 import java.time.ZoneId
 
@@ -49,7 +50,7 @@ interface LiveLogWindow : ResumableView {
     val console: ConsoleView
 
     fun handleEvent(viewEvent: LiveViewEvent) {
-        val rawLog = Log(JsonObject(viewEvent.metricsData).getJsonObject("log"))
+        val rawLog = Log(LiveViewEventData.metricsObject(viewEvent).getJsonObject("log"))
         val localTime = LocalTime.ofInstant(rawLog.timestamp, ZoneId.systemDefault())
         val logLine = buildString {
             append(localTime)
@@ -60,10 +61,15 @@ interface LiveLogWindow : ResumableView {
             appendLine()
         }
 
-        when (rawLog.level.uppercase()) {
-            "LIVE" -> console.print(logLine, LIVE_OUTPUT_TYPE)
-            "WARN", "ERROR" -> console.print(logLine, ConsoleViewContentType.ERROR_OUTPUT)
-            else -> console.print(logLine, ConsoleViewContentType.NORMAL_OUTPUT)
+        val contentType = when (rawLog.level.uppercase()) {
+            "LIVE" -> LIVE_OUTPUT_TYPE
+            "WARN", "ERROR" -> ConsoleViewContentType.ERROR_OUTPUT
+            else -> ConsoleViewContentType.NORMAL_OUTPUT
         }
+        printLog(rawLog.timestamp, logLine, contentType)
+    }
+
+    fun printLog(timestamp: Instant, logLine: String, contentType: ConsoleViewContentType) {
+        console.print(logLine, contentType)
     }
 }
@@ -0,0 +1,193 @@
+/*
+ * Source++, the continuous feedback platform for developers.
+ * Copyright (C) 2022-2024 CodeBrig, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package spp.jetbrains.view.window.util
+
+import com.intellij.openapi.diagnostic.logger
+import com.intellij.openapi.project.Project
+import com.intellij.util.Alarm
+import com.intellij.util.ui.ListTableModel
+import spp.jetbrains.view.LiveViewEventData
+import spp.jetbrains.view.LiveViewSubscriptionBroker
+import spp.jetbrains.view.ResumableView
+import spp.jetbrains.view.model.ServiceEndpointRow
+import spp.protocol.artifact.metrics.MetricStep
+import spp.protocol.artifact.metrics.MetricType
+import spp.protocol.service.LiveViewService
+import spp.protocol.view.LiveView
+import spp.protocol.view.LiveViewEvent
+import java.time.Instant
+import java.time.temporal.ChronoUnit
+import java.util.concurrent.ConcurrentHashMap
+import java.util.concurrent.atomic.AtomicBoolean
+
+/**
+ * Backs an entire endpoints table with a single multi-entity [LiveView] held through the [LiveViewSubscriptionBroker].
+ * Incoming metrics are applied to their rows immediately, but table notifications are buffered and flushed on the EDT
+ * at a fixed frame rate, only firing row updates for the rows that actually changed.
+ *
+ * @since 0.7.10
+ * @author [Brandon Fergerson](mailto:bfergerson@apache.org)
+ */
+class EndpointTableView(
+    val project: Project,
+    private val viewService: LiveViewService,
+    var liveView: LiveView,
+    private val model: ListTableModel<ServiceEndpointRow>
+) : ResumableView {
+
+    companion object {
+        const val FRAME_INTERVAL_MS = 100
+    }
+
+    private val log = logger<EndpointTableView>()
+    private val rows = ConcurrentHashMap<String, ServiceEndpointRow>()
+    private val rowIndexes = ConcurrentHashMap<String, Int>()
+    private val dirtyRows = ConcurrentHashMap.newKeySet<String>()
+    private val flushScheduled = AtomicBoolean(false)
+    private val flushAlarm = Alarm(Alarm.ThreadToUse.SWING_THREAD, this)
+    private var subscription: LiveViewSubscriptionBroker.Handle? = null
+
+    override var isRunning = false
+        private set
+    override val refreshInterval: Int
+        get() = liveView.viewConfig.refreshRateLimit
+
+    /**
+     * Sets the rows this view tracks. Must be called before [resume] and from the EDT, as it populates [model].
+     */
+    fun setRows(endpointRows: List<ServiceEndpointRow>) {
+        rows.clear()
+        rowIndexes.clear()
+        endpointRows.forEachIndexed { index, row ->
+            rows[row.endpoint.name] = row
+            rowIndexes[row.endpoint.name] = index
+        }
+        liveView = liveView.copy(entityIds = rows.keys.toMutableSet())
+        model.items = ArrayList(endpointRows)
+    }
+
+    override fun resume() {
+        if (isRunning || rows.isEmpty()) return
+        isRunning = true
+        subscription = LiveViewSubscriptionBroker.getInstance(project).subscribe(liveView) { handleEvent(it) }.apply {
+            this.liveView.onSuccess {
+                liveView = it
+            }.onFailure {
+                log.error("Failed to resume live view", it)
+            }
+        }
+
+        getHistoricalData()
+    }
+
+    private fun handleEvent(viewEvent: LiveViewEvent) {
+        val metricArr = LiveViewEventData.metricsArray(viewEvent)
+        for (i in 0 until metricArr.size()) {
+            val metric = metricArr.getJsonObject(i)
+            val meta = metric.getJsonObject("meta")
+            val entityName = meta.getString("entityName") ?: viewEvent.entityId
+            val endpoint = rows[entityName] ?: continue
+            if (applyMetric(endpoint, meta.getString("metricsName"), metric.getInteger("value"))) {
+                markDirty(endpoint)
+            }
+        }
+    }
+
+    private fun getHistoricalData() {
+        val stop = Instant.now().truncatedTo(ChronoUnit.MINUTES).minusSeconds(60L)
+        val start = stop.minusSeconds(60L)
+        val endpointsById = rows.values.associateBy { it.endpoint.id }
+        viewService.getHistoricalMetrics(
+            endpointsById.keys.toList(),
+            liveView.viewConfig.viewMetrics,
+            MetricStep.MINUTE, start, stop
+        ).onSuccess {
+            for (i in 0 until it.data.size()) {
+                val metric = it.data.getJsonObject(i)
+                val endpoint = endpointsById[metric.getString("entityId")]
+                    ?: endpointsById.values.singleOrNull() ?: continue
+                if (applyMetric(endpoint, metric.getString("metricId"), metric.getInteger("value") ?: 0)) {
+                    markDirty(endpoint)
+                }
+            }
+        }.onFailure {
+            log.error("Failed to get historical metrics", it)
+        }
+    }
+
+    private fun applyMetric(endpoint: ServiceEndpointRow, metricId: String?, value: Int?): Boolean {
+        if (metricId == null || value == null) return false
+        when {
+            MetricType.Endpoint_CPM.equalsIgnoringRealtime(metricId) -> {
+                if (endpoint.cpm == value) return false
+                endpoint.cpm = value
+            }
+
+            MetricType.Endpoint_RespTime_AVG.equalsIgnoringRealtime(metricId) -> {
+                if (endpoint.respTimeAvg == value) return false
+                endpoint.respTimeAvg = value
+            }
+
+            MetricType.Endpoint_SLA.equalsIgnoringRealtime(metricId) -> {
+                val sla = value / 100.0
+                if (endpoint.sla == sla) return false
+                endpoint.sla = sla
+            }
+
+            else -> return false
+        }
+        return true
+    }
+
+    private fun markDirty(endpoint: ServiceEndpointRow) {
+        dirtyRows.add(endpoint.endpoint.name)
+        if (flushScheduled.compareAndSet(false, true) && !flushAlarm.isDisposed) {
+            flushAlarm.addRequest({ flush() }, FRAME_INTERVAL_MS)
+        }
+    }
+
+    private fun flush() {
+        flushScheduled.set(false)
+        val changed = dirtyRows.toList()
+        dirtyRows.removeAll(changed.toSet())
+        changed.mapNotNull { rowIndexes[it] }.sorted().forEach {
+            model.fireTableRowsUpdated(it, it)
+        }
+    }
+
+    override fun pause() {
+        if (!isRunning) return
+        isRunning = false
+        subscription?.release()
+        subscription = null
+    }
+
+    override fun setRefreshInterval(interval: Int) {
+        liveView = liveView.copy(viewConfig = liveView.viewConfig.copy(refreshRateLimit = interval))
+        val subscription = subscription ?: return
+
+        //updated in place when this view is the only subscriber
+        subscription.update(liveView)
+        subscription.liveView.onSuccess {
+            liveView = it
+        }.onFailure {
+            log.error("Failed to update live view", it)
+        }
+    }
+
+    override fun dispose() = pause()
+}
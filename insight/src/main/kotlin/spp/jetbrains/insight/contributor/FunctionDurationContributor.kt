@@ -17,11 +17,11 @@
 package spp.jetbrains.insight.contributor
 
 import com.intellij.openapi.diagnostic.logger
+import com.intellij.openapi.fileEditor.FileEditorManager
 import com.intellij.psi.PsiInvalidElementAccessException
 import com.intellij.psi.PsiNameIdentifierOwner
 import com.intellij.util.ui.update.MergingUpdateQueue
 import com.intellij.util.ui.update.Update
-import io.vertx.core.json.JsonObject
 import spp.jetbrains.UserData
 import spp.jetbrains.artifact.service.ArtifactScopeService
 import spp.jetbrains.artifact.service.toArtifact
@@ -41,14 +41,14 @@ import spp.jetbrains.marker.source.mark.guide.MethodGuideMark
 import spp.jetbrains.safeExecuteBlocking
 import spp.jetbrains.safeLaunch
 import spp.jetbrains.status.SourceStatusService
+import spp.jetbrains.view.LiveViewEventData
+import spp.jetbrains.view.LiveViewSubscriptionBroker
 import spp.protocol.artifact.metrics.MetricType.Companion.Endpoint_RespTime_AVG
 import spp.protocol.insight.InsightType
 import spp.protocol.insight.InsightValue
 import spp.protocol.instrument.location.LiveSourceLocation
-import spp.protocol.service.SourceServices.Subscribe.toLiveViewSubscription
 import spp.protocol.view.LiveView
 import spp.protocol.view.LiveViewConfig
-import spp.protocol.view.LiveViewEvent
 
 /**
  * Contributes the [FUNCTION_DURATION_PREDICTION] insight. This insight is only calculated for
@@ -88,7 +88,7 @@ class FunctionDurationContributor(private val remoteInsightsAvailable: Boolean)
     }
 
     private fun subscribeToResponseTime(guideMark: GuideMark) {
-        val viewService = UserData.liveViewService(guideMark.project) ?: return
+        if (UserData.liveViewService(guideMark.project) == null) return
         val service = SourceStatusService.getCurrentService(guideMark.project)
         if (service == null) {
             log.warn("No service selected, skipping response time subscription")
@@ -97,47 +97,50 @@ class FunctionDurationContributor(private val remoteInsightsAvailable: Boolean)
 
         val listenMetrics = listOf(Endpoint_RespTime_AVG.asRealtime().metricId)
         val vertx = UserData.vertx(guideMark.project)
-        viewService.addLiveView(
-            LiveView(
-                mutableSetOf(guideMark.getUserData(EndpointDetector.DETECTED_ENDPOINTS)!!.firstNotNullOf { it.name }),
-                LiveViewConfig(FUNCTION_DURATION.name, listenMetrics, 1000),
-                location = service
-            )
-        ).onSuccess {
-            val subscriptionId = it.subscriptionId!!
-            vertx.eventBus().consumer<JsonObject>(toLiveViewSubscription(subscriptionId)) {
-                val viewEvent = LiveViewEvent(it.body())
-                val metricsData = JsonObject(viewEvent.metricsData)
-                val responseTime = metricsData.getLong("value")
-                val currentDuration = guideMark.getUserData(FUNCTION_DURATION)?.value
-                if (currentDuration != responseTime) {
-                    guideMark.putUserData(
-                        FUNCTION_DURATION,
-                        InsightValue.of(InsightType.FUNCTION_DURATION, responseTime)
-                    )
-                    log.trace(
-                        "Set method duration from $currentDuration to $responseTime. "
-                                + "Artifact: ${guideMark.artifactQualifiedName}"
-                    )
-
-                    //propagate to callers
-                    vertx.safeExecuteBlocking {
-                        ArtifactScopeService.getCallerFunctions(guideMark.getPsiElement())
-                            .mapNotNull { it.nameIdentifier?.getUserData(GuideMark.KEY) }
-                            .filterIsInstance<MethodGuideMark>().forEach {
-                                queueForInsights(it)
-                            }
-                    }
-                }
-            }
-            guideMark.addEventListener {
-                if (it.eventCode == SourceMarkEventCode.MARK_REMOVED) {
-                    viewService.removeLiveView(subscriptionId)
+        val liveView = LiveView(
+            mutableSetOf(guideMark.getUserData(EndpointDetector.DETECTED_ENDPOINTS)!!.firstNotNullOf { it.name }),
+            LiveViewConfig(FUNCTION_DURATION.name, listenMetrics, 1000),
+            location = service
+        )
+        val subscription = LiveViewSubscriptionBroker.getInstance(guideMark.project).subscribe(
+            liveView, { isFileOpen(guideMark) }
+        ) { viewEvent ->
+            val metricsData = LiveViewEventData.metricsObject(viewEvent)
+            val responseTime = metricsData.getLong("value")
+            val currentDuration = guideMark.getUserData(FUNCTION_DURATION)?.value
+            if (currentDuration != responseTime) {
+                guideMark.putUserData(
+                    FUNCTION_DURATION,
+                    InsightValue.of(InsightType.FUNCTION_DURATION, responseTime)
+                )
+                log.trace(
+                    "Set method duration from $currentDuration to $responseTime. "
+                            + "Artifact: ${guideMark.artifactQualifiedName}"
+                )
+
+                //propagate to callers
+                vertx.safeExecuteBlocking {
+                    ArtifactScopeService.getCallerFunctions(guideMark.getPsiElement())
+                        .mapNotNull { it.nameIdentifier?.getUserData(GuideMark.KEY) }
+                        .filterIsInstance<MethodGuideMark>().forEach {
+                            queueForInsights(it)
+                        }
                 }
             }
-        }.onFailure {
+        }
+        subscription.liveView.onFailure {
             log.warn("Failed to subscribe to response time", it)
         }
+        guideMark.addEventListener {
+            if (it.eventCode == SourceMarkEventCode.MARK_REMOVED) {
+                subscription.release()
+            }
+        }
+    }
+
+    private fun isFileOpen(guideMark: GuideMark): Boolean {
+        val virtualFile = guideMark.sourceFileMarker.psiFile.virtualFile ?: return false
+        return FileEditorManager.getInstance(guideMark.project).isFileOpen(virtualFile)
     }
 
     /**
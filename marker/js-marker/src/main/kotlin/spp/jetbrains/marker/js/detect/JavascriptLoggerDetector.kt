@@ -16,13 +16,146 @@
  */
 package spp.jetbrains.marker.js.detect
 
+import com.intellij.lang.ecmascript6.psi.ES6ImportDeclaration
+import com.intellij.lang.javascript.psi.*
 import com.intellij.openapi.project.Project
-import spp.jetbrains.marker.source.info.LoggerDetector
-import spp.jetbrains.marker.source.mark.guide.MethodGuideMark
+import com.intellij.openapi.util.Key
+import com.intellij.openapi.util.text.StringUtil
+import com.intellij.psi.PsiFile
+import com.intellij.psi.util.CachedValue
+import spp.jetbrains.marker.SourceMarkerUtils
+import spp.jetbrains.marker.source.info.IndexedLoggerDetector
+import spp.jetbrains.marker.source.info.LoggerCallSiteIndex
+import spp.jetbrains.marker.source.info.LoggerCallSiteIndex.LoggerCallSite
 
-class JavascriptLoggerDetector(val project: Project) : LoggerDetector {
+/**
+ * Detects the presence of `console`, `winston`, and `pino` log statements within JavaScript functions.
+ *
+ * @since 0.7.0
+ * @author [Brandon Fergerson](mailto:bfergerson@apache.org)
+ */
+class JavascriptLoggerDetector(project: Project) : IndexedLoggerDetector(project) {
+
+    companion object {
+        private val INDEX_KEY = Key.create<CachedValue<LoggerCallSiteIndex>>("SPP_JAVASCRIPT_LOGGER_INDEX")
+
+        private const val CONSOLE = "console"
+        private const val WINSTON = "winston"
+        private const val PINO = "pino"
+        private val LOGGER_MODULES = setOf(WINSTON, PINO)
+        private val LOGGER_METHODS = mapOf(
+            "trace" to "trace",
+            "silly" to "trace",
+            "debug" to "debug",
+            "verbose" to "debug",
+            "http" to "debug",
+            "log" to "info",
+            "info" to "info",
+            "warn" to "warn",
+            "error" to "error",
+            "fatal" to "error"
+        )
+    }
+
+    override val indexKey = INDEX_KEY
+
+    override fun buildIndex(psiFile: PsiFile): LoggerCallSiteIndex {
+        if (psiFile !is JSFile) return LoggerCallSiteIndex.EMPTY
+
+        val moduleAliases = mutableMapOf<String, String>()
+        val loggers = mutableSetOf<String>()
+        val candidates = mutableListOf<Pair<String, LoggerCallSite>>()
+        psiFile.accept(object : JSRecursiveWalkingElementVisitor() {
+            override fun visitES6ImportDeclaration(importDeclaration: ES6ImportDeclaration) {
+                super.visitES6ImportDeclaration(importDeclaration)
+                val module = importDeclaration.fromClause?.referenceText?.let { StringUtil.unquoteString(it) }
+                if (module in LOGGER_MODULES) {
+                    importDeclaration.importedBindings.mapNotNull { it.name }.forEach {
+                        moduleAliases[it] = module!!
+                    }
+                }
+            }
+
+            override fun visitJSVariable(node: JSVariable) {
+                super.visitJSVariable(node)
+                val name = node.name ?: return
+                onAssignment(name, node.initializer)
+            }
+
+            override fun visitJSAssignmentExpression(node: JSAssignmentExpression) {
+                super.visitJSAssignmentExpression(node)
+                val name = node.lOperand?.text ?: return
+                onAssignment(name, node.rOperand)
+            }
+
+            override fun visitJSCallExpression(node: JSCallExpression) {
+                super.visitJSCallExpression(node)
+                val method = node.methodExpression as? JSReferenceExpression ?: return
+                val qualifier = method.qualifier ?: return
+                val callSite = toCallSite(node, method.referenceName ?: return) ?: return
+                candidates.add(qualifier.text to callSite)
+            }
+
+            private fun onAssignment(name: String, value: JSExpression?) {
+                val call = value as? JSCallExpression ?: return
+                val requiredModule = getRequiredModule(call)
+                if (requiredModule != null) {
+                    moduleAliases[name] = requiredModule
+                } else if (isLoggerCreation(call)) {
+                    loggers.add(name)
+                }
+            }
+
+            private fun isLoggerCreation(call: JSCallExpression): Boolean {
+                val method = call.methodExpression
+                if (method is JSCallExpression) {
+                    //require('pino')()
+                    return getRequiredModule(method) == PINO
+                }
+
+                val reference = method as? JSReferenceExpression ?: return false
+                val qualifier = reference.qualifier
+                return when {
+                    qualifier == null -> moduleAliases[reference.referenceName] == PINO
+                    reference.referenceName == "createLogger" -> {
+                        moduleAliases[qualifier.text] == WINSTON ||
+                                (qualifier as? JSCallExpression)?.let { getRequiredModule(it) } == WINSTON
+                    }
+
+                    reference.referenceName == "child" -> qualifier.text in loggers
+                    else -> false
+                }
+            }
+        })
+
+        return LoggerCallSiteIndex(candidates.mapNotNull { (qualifier, callSite) ->
+            callSite.takeIf { qualifier == CONSOLE || qualifier in loggers || moduleAliases[qualifier] == WINSTON }
+        })
+    }
+
+    private fun getRequiredModule(call: JSCallExpression): String? {
+        if (!call.isRequireCall) return null
+        val module = (call.arguments.firstOrNull() as? JSLiteralExpression)?.value as? String
+        return module?.takeIf { it in LOGGER_MODULES }
+    }
+
+    private fun toCallSite(call: JSCallExpression, methodName: String): LoggerCallSite? {
+        var level = LOGGER_METHODS[methodName] ?: return null
+        var arguments = call.arguments.toList()
+        if (methodName == "log" && arguments.size > 1) {
+            //logger.log('info', 'message')
+            val explicitLevel = (arguments[0] as? JSLiteralExpression)?.value as? String
+            if (explicitLevel != null && LOGGER_METHODS.containsKey(explicitLevel)) {
+                level = LOGGER_METHODS[explicitLevel]!!
+                arguments = arguments.drop(1)
+            }
+        }
+        if (arguments.firstOrNull() is JSObjectLiteralExpression) {
+            //logger.info({ context }, 'message')
+            arguments = arguments.drop(1)
+        }
 
-    override suspend fun determineLoggerStatements(guideMark: MethodGuideMark): List<LoggerDetector.DetectedLogger> {
-        return emptyList()
+        val logPattern = (arguments.firstOrNull() as? JSLiteralExpression)?.value as? String ?: return null
+        return LoggerCallSite(call.textRange.startOffset, SourceMarkerUtils.getLineNumber(call), logPattern, level)
     }
 }
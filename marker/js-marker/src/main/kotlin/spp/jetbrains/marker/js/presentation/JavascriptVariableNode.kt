@@ -52,7 +52,7 @@ class JavascriptVariableNode(
             presentation.addText(variable.name + " = ", XDebuggerUIConstants.VALUE_NAME_ATTRIBUTES)
         }
 
-        if (childCount > 0) {
+        if (childVariableCount > 0) {
             presentation.setIcon(AllIcons.Nodes.Variable)
             presentation.addText("todo", SimpleTextAttributes.REGULAR_ATTRIBUTES)
         } else {
@@ -0,0 +1,124 @@
+/*
+ * Source++, the continuous feedback platform for developers.
+ * Copyright (C) 2022-2024 CodeBrig, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package spp.jetbrains.marker.js.detect
+
+import com.intellij.lang.javascript.psi.JSFile
+import com.intellij.lang.javascript.psi.JSFunction
+import com.intellij.openapi.application.ApplicationManager
+import com.intellij.openapi.util.Computable
+import com.intellij.psi.util.descendantsOfType
+import com.intellij.testFramework.TestDataPath
+import com.intellij.testFramework.fixtures.BasePlatformTestCase
+import io.vertx.core.Vertx
+import kotlinx.coroutines.runBlocking
+import spp.jetbrains.UserData
+import spp.jetbrains.marker.SourceMarker
+import spp.jetbrains.marker.js.JavascriptLanguageProvider
+import spp.jetbrains.marker.source.SourceFileMarker
+import spp.jetbrains.marker.source.info.LoggerDetector.DetectedLogger
+
+@TestDataPath("\$CONTENT_ROOT/testData/logger/")
+class JavascriptLoggerDetectorTest : BasePlatformTestCase() {
+
+    private lateinit var psiFile: JSFile
+    private lateinit var fileMarker: SourceFileMarker
+
+    override fun setUp() {
+        super.setUp()
+        ApplicationManager.getApplication().runReadAction(Computable {
+            runBlocking {
+                SourceMarker.getInstance(myFixture.project).clearAvailableSourceFileMarkers()
+            }
+        })
+
+        UserData.vertx(project, Vertx.vertx())
+        JavascriptLanguageProvider().setup(project, false)
+        SourceFileMarker.SUPPORTED_FILE_TYPES.add(JSFile::class.java)
+
+        psiFile = myFixture.configureByFile("JavascriptLoggers.js") as JSFile
+        fileMarker = SourceMarker.getSourceFileMarker(psiFile)!!
+    }
+
+    override fun getTestDataPath(): String {
+        return "src/test/testData/logger/"
+    }
+
+    fun testIndexSize() {
+        val index = ApplicationManager.getApplication().runReadAction(Computable {
+            JavascriptLoggerDetector(project).getIndex(psiFile)
+        })
+        assertEquals(20 + 250 * 3, index.size)
+    }
+
+    fun testConsoleLevels() {
+        val result = determineLoggerStatements("consoleLevels")
+        assertEquals(
+            listOf("console log", "console trace", "console debug", "console info", "console warn", "console error"),
+            result.map { it.logPattern }
+        )
+        assertEquals(listOf("info", "trace", "debug", "info", "warn", "error"), result.map { it.level })
+        assertEquals((11..16).toList(), result.map { it.lineLocation })
+    }
+
+    fun testWinstonLevels() {
+        val result = determineLoggerStatements("winstonLevels")
+        assertEquals(
+            listOf(
+                "winston silly", "winston verbose", "winston info", "winston warn",
+                "winston error", "winston explicit warn", "winston default info"
+            ),
+            result.map { it.logPattern }
+        )
+        assertEquals(listOf("trace", "debug", "info", "warn", "error", "warn", "info"), result.map { it.level })
+    }
+
+    fun testPinoLevels() {
+        val result = determineLoggerStatements("pinoLevels")
+        assertEquals(
+            listOf("pino info", "pino merged info", "pino fatal", "inline pino debug", "child warn"),
+            result.map { it.logPattern }
+        )
+        assertEquals(listOf("info", "info", "error", "debug", "warn"), result.map { it.level })
+    }
+
+    fun testIgnoredCalls() {
+        assertEmpty(determineLoggerStatements("ignoredCalls"))
+    }
+
+    fun testInstanceLogger() {
+        assertEmpty(determineLoggerStatements("constructor"))
+
+        val result = determineLoggerStatements("handle")
+        assertEquals(listOf("handling request", "handled request"), result.map { it.logPattern })
+    }
+
+    fun testGeneratedFunctions() {
+        listOf(0, 125, 249).forEach { i ->
+            val result = determineLoggerStatements("generatedFunction$i")
+            assertEquals(
+                listOf("generated info $i", "generated warning $i", "generated error $i"),
+                result.map { it.logPattern }
+            )
+        }
+    }
+
+    private fun determineLoggerStatements(functionName: String): List<DetectedLogger> = runBlocking {
+        val function = psiFile.descendantsOfType<JSFunction>().find { it.name == functionName }
+        assertNotNull(function)
+        JavascriptLoggerDetector(project).determineLoggerStatements(function!!, fileMarker)
+    }
+}
@@ -0,0 +1,2555 @@
+const winston = require('winston');
+const pino = require('pino');
+
+const logger = winston.createLogger({ level: 'info' });
+const pinoLogger = pino({ level: 'debug' });
+const inlinePino = require('pino')();
+const childLogger = pinoLogger.child({ module: 'child' });
+const notALogger = {};
+
+function consoleLevels() {
+    console.log('console log');
+    console.trace('console trace');
+    console.debug('console debug');
+    console.info('console info');
+    console.warn('console warn');
+    console.error('console error');
+}
+
+function winstonLevels() {
+    logger.silly('winston silly');
+    logger.verbose('winston verbose');
+    logger.info('winston info');
+    logger.warn('winston warn');
+    logger.error('winston error');
+    logger.log('warn', 'winston explicit warn');
+    winston.info('winston default info');
+}
+
+function pinoLevels() {
+    pinoLogger.info('pino info');
+    pinoLogger.info({ userId: 1 }, 'pino merged info');
+    pinoLogger.fatal('pino fatal');
+    inlinePino.debug('inline pino debug');
+    childLogger.warn('child warn');
+}
+
+function ignoredCalls(message) {
+    notALogger.info('not a log');
+    logger.info(message);
+    logger.configure({ level: 'debug' });
+    alert('alert call');
+}
+
+class Service {
+    constructor() {
+        this.logger = pino();
+    }
+
+    handle() {
+        this.logger.info('handling request');
+        this.logger.debug('handled request');
+    }
+}
+
+function generatedFunction0(value) {
+    logger.info('generated info 0', { value });
+    if (value > 0) {
+        pinoLogger.warn('generated warning 0');
+    } else {
+        console.error('generated error 0');
+    }
+    return value + 0;
+}
+
+function generatedFunction1(value) {
+    logger.info('generated info 1', { value });
+    if (value > 1) {
+        pinoLogger.warn('generated warning 1');
+    } else {
+        console.error('generated error 1');
+    }
+    return value + 1;
+}
+
+function generatedFunction2(value) {
+    logger.info('generated info 2', { value });
+    if (value > 2) {
+        pinoLogger.warn('generated warning 2');
+    } else {
+        console.error('generated error 2');
+    }
+    return value + 2;
+}
+
+function generatedFunction3(value) {
+    logger.info('generated info 3', { value });
+    if (value > 3) {
+        pinoLogger.warn('generated warning 3');
+    } else {
+        console.error('generated error 3');
+    }
+    return value + 3;
+}
+
+function generatedFunction4(value) {
+    logger.info('generated info 4', { value });
+    if (value > 4) {
+        pinoLogger.warn('generated warning 4');
+    } else {
+        console.error('generated error 4');
+    }
+    return value + 4;
+}
+
+function generatedFunction5(value) {
+    logger.info('generated info 5', { value });
+    if (value > 5) {
+        pinoLogger.warn('generated warning 5');
+    } else {
+        console.error('generated error 5');
+    }
+    return value + 5;
+}
+
+function generatedFunction6(value) {
+    logger.info('generated info 6', { value });
+    if (value > 6) {
+        pinoLogger.warn('generated warning 6');
+    } else {
+        console.error('generated error 6');
+    }
+    return value + 6;
+}
+
+function generatedFunction7(value) {
+    logger.info('generated info 7', { value });
+    if (value > 7) {
+        pinoLogger.warn('generated warning 7');
+    } else {
+        console.error('generated error 7');
+    }
+    return value + 7;
+}
+
+function generatedFunction8(value) {
+    logger.info('generated info 8', { value });
+    if (value > 8) {
+        pinoLogger.warn('generated warning 8');
+    } else {
+        console.error('generated error 8');
+    }
+    return value + 8;
+}
+
+function generatedFunction9(value) {
+    logger.info('generated info 9', { value });
+    if (value > 9) {
+        pinoLogger.warn('generated warning 9');
+    } else {
+        console.error('generated error 9');
+    }
+    return value + 9;
+}
+
+function generatedFunction10(value) {
+    logger.info('generated info 10', { value });
+    if (value > 10) {
+        pinoLogger.warn('generated warning 10');
+    } else {
+        console.error('generated error 10');
+    }
+    return value + 10;
+}
+
+function generatedFunction11(value) {
+    logger.info('generated info 11', { value });
+    if (value > 11) {
+        pinoLogger.warn('generated warning 11');
+    } else {
+        console.error('generated error 11');
+    }
+    return value + 11;
+}
+
+function generatedFunction12(value) {
+    logger.info('generated info 12', { value });
+    if (value > 12) {
+        pinoLogger.warn('generated warning 12');
+    } else {
+        console.error('generated error 12');
+    }
+    return value + 12;
+}
+
+function generatedFunction13(value) {
+    logger.info('generated info 13', { value });
+    if (value > 13) {
+        pinoLogger.warn('generated warning 13');
+    } else {
+        console.error('generated error 13');
+    }
+    return value + 13;
+}
+
+function generatedFunction14(value) {
+    logger.info('generated info 14', { value });
+    if (value > 14) {
+        pinoLogger.warn('generated warning 14');
+    } else {
+        console.error('generated error 14');
+    }
+    return value + 14;
+}
+
+function generatedFunction15(value) {
+    logger.info('generated info 15', { value });
+    if (value > 15) {
+        pinoLogger.warn('generated warning 15');
+    } else {
+        console.error('generated error 15');
+    }
+    return value + 15;
+}
+
+function generatedFunction16(value) {
+    logger.info('generated info 16', { value });
+    if (value > 16) {
+        pinoLogger.warn('generated warning 16');
+    } else {
+        console.error('generated error 16');
+    }
+    return value + 16;
+}
+
+function generatedFunction17(value) {
+    logger.info('generated info 17', { value });
+    if (value > 17) {
+        pinoLogger.warn('generated warning 17');
+    } else {
+        console.error('generated error 17');
+    }
+    return value + 17;
+}
+
+function generatedFunction18(value) {
+    logger.info('generated info 18', { value });
+    if (value > 18) {
+        pinoLogger.warn('generated warning 18');
+    } else {
+        console.error('generated error 18');
+    }
+    return value + 18;
+}
+
+function generatedFunction19(value) {
+    logger.info('generated info 19', { value });
+    if (value > 19) {
+        pinoLogger.warn('generated warning 19');
+    } else {
+        console.error('generated error 19');
+    }
+    return value + 19;
+}
+
+function generatedFunction20(value) {
+    logger.info('generated info 20', { value });
+    if (value > 20) {
+        pinoLogger.warn('generated warning 20');
+    } else {
+        console.error('generated error 20');
+    }
+    return value + 20;
+}
+
+function generatedFunction21(value) {
+    logger.info('generated info 21', { value });
+    if (value > 21) {
+        pinoLogger.warn('generated warning 21');
+    } else {
+        console.error('generated error 21');
+    }
+    return value + 21;
+}
+
+function generatedFunction22(value) {
+    logger.info('generated info 22', { value });
+    if (value > 22) {
+        pinoLogger.warn('generated warning 22');
+    } else {
+        console.error('generated error 22');
+    }
+    return value + 22;
+}
+
+function generatedFunction23(value) {
+    logger.info('generated info 23', { value });
+    if (value > 23) {
+        pinoLogger.warn('generated warning 23');
+    } else {
+        console.error('generated error 23');
+    }
+    return value + 23;
+}
+
+function generatedFunction24(value) {
+    logger.info('generated info 24', { value });
+    if (value > 24) {
+        pinoLogger.warn('generated warning 24');
+    } else {
+        console.error('generated error 24');
+    }
+    return value + 24;
+}
+
+function generatedFunction25(value) {
+    logger.info('generated info 25', { value });
+    if (value > 25) {
+        pinoLogger.warn('generated warning 25');
+    } else {
+        console.error('generated error 25');
+    }
+    return value + 25;
+}
+
+function generatedFunction26(value) {
+    logger.info('generated info 26', { value });
+    if (value > 26) {
+        pinoLogger.warn('generated warning 26');
+    } else {
+        console.error('generated error 26');
+    }
+    return value + 26;
+}
+
+function generatedFunction27(value) {
+    logger.info('generated info 27', { value });
+    if (value > 27) {
+        pinoLogger.warn('generated warning 27');
+    } else {
+        console.error('generated error 27');
+    }
+    return value + 27;
+}
+
+function generatedFunction28(value) {
+    logger.info('generated info 28', { value });
+    if (value > 28) {
+        pinoLogger.warn('generated warning 28');
+    } else {
+        console.error('generated error 28');
+    }
+    return value + 28;
+}
+
+function generatedFunction29(value) {
+    logger.info('generated info 29', { value });
+    if (value > 29) {
+        pinoLogger.warn('generated warning 29');
+    } else {
+        console.error('generated error 29');
+    }
+    return value + 29;
+}
+
+function generatedFunction30(value) {
+    logger.info('generated info 30', { value });
+    if (value > 30) {
+        pinoLogger.warn('generated warning 30');
+    } else {
+        console.error('generated error 30');
+    }
+    return value + 30;
+}
+
+function generatedFunction31(value) {
+    logger.info('generated info 31', { value });
+    if (value > 31) {
+        pinoLogger.warn('generated warning 31');
+    } else {
+        console.error('generated error 31');
+    }
+    return value + 31;
+}
+
+function generatedFunction32(value) {
+    logger.info('generated info 32', { value });
+    if (value > 32) {
+        pinoLogger.warn('generated warning 32');
+    } else {
+        console.error('generated error 32');
+    }
+    return value + 32;
+}
+
+function generatedFunction33(value) {
+    logger.info('generated info 33', { value });
+    if (value > 33) {
+        pinoLogger.warn('generated warning 33');
+    } else {
+        console.error('generated error 33');
+    }
+    return value + 33;
+}
+
+function generatedFunction34(value) {
+    logger.info('generated info 34', { value });
+    if (value > 34) {
+        pinoLogger.warn('generated warning 34');
+    } else {
+        console.error('generated error 34');
+    }
+    return value + 34;
+}
+
+function generatedFunction35(value) {
+    logger.info('generated info 35', { value });
+    if (value > 35) {
+        pinoLogger.warn('generated warning 35');
+    } else {
+        console.error('generated error 35');
+    }
+    return value + 35;
+}
+
+function generatedFunction36(value) {
+    logger.info('generated info 36', { value });
+    if (value > 36) {
+        pinoLogger.warn('generated warning 36');
+    } else {
+        console.error('generated error 36');
+    }
+    return value + 36;
+}
+
+function generatedFunction37(value) {
+    logger.info('generated info 37', { value });
+    if (value > 37) {
+        pinoLogger.warn('generated warning 37');
+    } else {
+        console.error('generated error 37');
+    }
+    return value + 37;
+}
+
+function generatedFunction38(value) {
+    logger.info('generated info 38', { value });
+    if (value > 38) {
+        pinoLogger.warn('generated warning 38');
+    } else {
+        console.error('generated error 38');
+    }
+    return value + 38;
+}
+
+function generatedFunction39(value) {
+    logger.info('generated info 39', { value });
+    if (value > 39) {
+        pinoLogger.warn('generated warning 39');
+    } else {
+        console.error('generated error 39');
+    }
+    return value + 39;
+}
+
+function generatedFunction40(value) {
+    logger.info('generated info 40', { value });
+    if (value > 40) {
+        pinoLogger.warn('generated warning 40');
+    } else {
+        console.error('generated error 40');
+    }
+    return value + 40;
+}
+
+function generatedFunction41(value) {
+    logger.info('generated info 41', { value });
+    if (value > 41) {
+        pinoLogger.warn('generated warning 41');
+    } else {
+        console.error('generated error 41');
+    }
+    return value + 41;
+}
+
+function generatedFunction42(value) {
+    logger.info('generated info 42', { value });
+    if (value > 42) {
+        pinoLogger.warn('generated warning 42');
+    } else {
+        console.error('generated error 42');
+    }
+    return value + 42;
+}
+
+function generatedFunction43(value) {
+    logger.info('generated info 43', { value });
+    if (value > 43) {
+        pinoLogger.warn('generated warning 43');
+    } else {
+        console.error('generated error 43');
+    }
+    return value + 43;
+}
+
+function generatedFunction44(value) {
+    logger.info('generated info 44', { value });
+    if (value > 44) {
+        pinoLogger.warn('generated warning 44');
+    } else {
+        console.error('generated error 44');
+    }
+    return value + 44;
+}
+
+function generatedFunction45(value) {
+    logger.info('generated info 45', { value });
+    if (value > 45) {
+        pinoLogger.warn('generated warning 45');
+    } else {
+        console.error('generated error 45');
+    }
+    return value + 45;
+}
+
+function generatedFunction46(value) {
+    logger.info('generated info 46', { value });
+    if (value > 46) {
+        pinoLogger.warn('generated warning 46');
+    } else {
+        console.error('generated error 46');
+    }
+    return value + 46;
+}
+
+function generatedFunction47(value) {
+    logger.info('generated info 47', { value });
+    if (value > 47) {
+        pinoLogger.warn('generated warning 47');
+    } else {
+        console.error('generated error 47');
+    }
+    return value + 47;
+}
+
+function generatedFunction48(value) {
+    logger.info('generated info 48', { value });
+    if (value > 48) {
+        pinoLogger.warn('generated warning 48');
+    } else {
+        console.error('generated error 48');
+    }
+    return value + 48;
+}
+
+function generatedFunction49(value) {
+    logger.info('generated info 49', { value });
+    if (value > 49) {
+        pinoLogger.warn('generated warning 49');
+    } else {
+        console.error('generated error 49');
+    }
+    return value + 49;
+}
+
+function generatedFunction50(value) {
+    logger.info('generated info 50', { value });
+    if (value > 50) {
+        pinoLogger.warn('generated warning 50');
+    } else {
+        console.error('generated error 50');
+    }
+    return value + 50;
+}
+
+function generatedFunction51(value) {
+    logger.info('generated info 51', { value });
+    if (value > 51) {
+        pinoLogger.warn('generated warning 51');
+    } else {
+        console.error('generated error 51');
+    }
+    return value + 51;
+}
+
+function generatedFunction52(value) {
+    logger.info('generated info 52', { value });
+    if (value > 52) {
+        pinoLogger.warn('generated warning 52');
+    } else {
+        console.error('generated error 52');
+    }
+    return value + 52;
+}
+
+function generatedFunction53(value) {
+    logger.info('generated info 53', { value });
+    if (value > 53) {
+        pinoLogger.warn('generated warning 53');
+    } else {
+        console.error('generated error 53');
+    }
+    return value + 53;
+}
+
+function generatedFunction54(value) {
+    logger.info('generated info 54', { value });
+    if (value > 54) {
+        pinoLogger.warn('generated warning 54');
+    } else {
+        console.error('generated error 54');
+    }
+    return value + 54;
+}
+
+function generatedFunction55(value) {
+    logger.info('generated info 55', { value });
+    if (value > 55) {
+        pinoLogger.warn('generated warning 55');
+    } else {
+        console.error('generated error 55');
+    }
+    return value + 55;
+}
+
+function generatedFunction56(value) {
+    logger.info('generated info 56', { value });
+    if (value > 56) {
+        pinoLogger.warn('generated warning 56');
+    } else {
+        console.error('generated error 56');
+    }
+    return value + 56;
+}
+
+function generatedFunction57(value) {
+    logger.info('generated info 57', { value });
+    if (value > 57) {
+        pinoLogger.warn('generated warning 57');
+    } else {
+        console.error('generated error 57');
+    }
+    return value + 57;
+}
+
+function generatedFunction58(value) {
+    logger.info('generated info 58', { value });
+    if (value > 58) {
+        pinoLogger.warn('generated warning 58');
+    } else {
+        console.error('generated error 58');
+    }
+    return value + 58;
+}
+
+function generatedFunction59(value) {
+    logger.info('generated info 59', { value });
+    if (value > 59) {
+        pinoLogger.warn('generated warning 59');
+    } else {
+        console.error('generated error 59');
+    }
+    return value + 59;
+}
+
+function generatedFunction60(value) {
+    logger.info('generated info 60', { value });
+    if (value > 60) {
+        pinoLogger.warn('generated warning 60');
+    } else {
+        console.error('generated error 60');
+    }
+    return value + 60;
+}
+
+function generatedFunction61(value) {
+    logger.info('generated info 61', { value });
+    if (value > 61) {
+        pinoLogger.warn('generated warning 61');
+    } else {
+        console.error('generated error 61');
+    }
+    return value + 61;
+}
+
+function generatedFunction62(value) {
+    logger.info('generated info 62', { value });
+    if (value > 62) {
+        pinoLogger.warn('generated warning 62');
+    } else {
+        console.error('generated error 62');
+    }
+    return value + 62;
+}
+
+function generatedFunction63(value) {
+    logger.info('generated info 63', { value });
+    if (value > 63) {
+        pinoLogger.warn('generated warning 63');
+    } else {
+        console.error('generated error 63');
+    }
+    return value + 63;
+}
+
+function generatedFunction64(value) {
+    logger.info('generated info 64', { value });
+    if (value > 64) {
+        pinoLogger.warn('generated warning 64');
+    } else {
+        console.error('generated error 64');
+    }
+    return value + 64;
+}
+
+function generatedFunction65(value) {
+    logger.info('generated info 65', { value });
+    if (value > 65) {
+        pinoLogger.warn('generated warning 65');
+    } else {
+        console.error('generated error 65');
+    }
+    return value + 65;
+}
+
+function generatedFunction66(value) {
+    logger.info('generated info 66', { value });
+    if (value > 66) {
+        pinoLogger.warn('generated warning 66');
+    } else {
+        console.error('generated error 66');
+    }
+    return value + 66;
+}
+
+function generatedFunction67(value) {
+    logger.info('generated info 67', { value });
+    if (value > 67) {
+        pinoLogger.warn('generated warning 67');
+    } else {
+        console.error('generated error 67');
+    }
+    return value + 67;
+}
+
+function generatedFunction68(value) {
+    logger.info('generated info 68', { value });
+    if (value > 68) {
+        pinoLogger.warn('generated warning 68');
+    } else {
+        console.error('generated error 68');
+    }
+    return value + 68;
+}
+
+function generatedFunction69(value) {
+    logger.info('generated info 69', { value });
+    if (value > 69) {
+        pinoLogger.warn('generated warning 69');
+    } else {
+        console.error('generated error 69');
+    }
+    return value + 69;
+}
+
+function generatedFunction70(value) {
+    logger.info('generated info 70', { value });
+    if (value > 70) {
+        pinoLogger.warn('generated warning 70');
+    } else {
+        console.error('generated error 70');
+    }
+    return value + 70;
+}
+
+function generatedFunction71(value) {
+    logger.info('generated info 71', { value });
+    if (value > 71) {
+        pinoLogger.warn('generated warning 71');
+    } else {
+        console.error('generated error 71');
+    }
+    return value + 71;
+}
+
+function generatedFunction72(value) {
+    logger.info('generated info 72', { value });
+    if (value > 72) {
+        pinoLogger.warn('generated warning 72');
+    } else {
+        console.error('generated error 72');
+    }
+    return value + 72;
+}
+
+function generatedFunction73(value) {
+    logger.info('generated info 73', { value });
+    if (value > 73) {
+        pinoLogger.warn('generated warning 73');
+    } else {
+        console.error('generated error 73');
+    }
+    return value + 73;
+}
+
+function generatedFunction74(value) {
+    logger.info('generated info 74', { value });
+    if (value > 74) {
+        pinoLogger.warn('generated warning 74');
+    } else {
+        console.error('generated error 74');
+    }
+    return value + 74;
+}
+
+function generatedFunction75(value) {
+    logger.info('generated info 75', { value });
+    if (value > 75) {
+        pinoLogger.warn('generated warning 75');
+    } else {
+        console.error('generated error 75');
+    }
+    return value + 75;
+}
+
+function generatedFunction76(value) {
+    logger.info('generated info 76', { value });
+    if (value > 76) {
+        pinoLogger.warn('generated warning 76');
+    } else {
+        console.error('generated error 76');
+    }
+    return value + 76;
+}
+
+function generatedFunction77(value) {
+    logger.info('generated info 77', { value });
+    if (value > 77) {
+        pinoLogger.warn('generated warning 77');
+    } else {
+        console.error('generated error 77');
+    }
+    return value + 77;
+}
+
+function generatedFunction78(value) {
+    logger.info('generated info 78', { value });
+    if (value > 78) {
+        pinoLogger.warn('generated warning 78');
+    } else {
+        console.error('generated error 78');
+    }
+    return value + 78;
+}
+
+function generatedFunction79(value) {
+    logger.info('generated info 79', { value });
+    if (value > 79) {
+        pinoLogger.warn('generated warning 79');
+    } else {
+        console.error('generated error 79');
+    }
+    return value + 79;
+}
+
+function generatedFunction80(value) {
+    logger.info('generated info 80', { value });
+    if (value > 80) {
+        pinoLogger.warn('generated warning 80');
+    } else {
+        console.error('generated error 80');
+    }
+    return value + 80;
+}
+
+function generatedFunction81(value) {
+    logger.info('generated info 81', { value });
+    if (value > 81) {
+        pinoLogger.warn('generated warning 81');
+    } else {
+        console.error('generated error 81');
+    }
+    return value + 81;
+}
+
+function generatedFunction82(value) {
+    logger.info('generated info 82', { value });
+    if (value > 82) {
+        pinoLogger.warn('generated warning 82');
+    } else {
+        console.error('generated error 82');
+    }
+    return value + 82;
+}
+
+function generatedFunction83(value) {
+    logger.info('generated info 83', { value });
+    if (value > 83) {
+        pinoLogger.warn('generated warning 83');
+    } else {
+        console.error('generated error 83');
+    }
+    return value + 83;
+}
+
+function generatedFunction84(value) {
+    logger.info('generated info 84', { value });
+    if (value > 84) {
+        pinoLogger.warn('generated warning 84');
+    } else {
+        console.error('generated error 84');
+    }
+    return value + 84;
+}
+
+function generatedFunction85(value) {
+    logger.info('generated info 85', { value });
+    if (value > 85) {
+        pinoLogger.warn('generated warning 85');
+    } else {
+        console.error('generated error 85');
+    }
+    return value + 85;
+}
+
+function generatedFunction86(value) {
+    logger.info('generated info 86', { value });
+    if (value > 86) {
+        pinoLogger.warn('generated warning 86');
+    } else {
+        console.error('generated error 86');
+    }
+    return value + 86;
+}
+
+function generatedFunction87(value) {
+    logger.info('generated info 87', { value });
+    if (value > 87) {
+        pinoLogger.warn('generated warning 87');
+    } else {
+        console.error('generated error 87');
+    }
+    return value + 87;
+}
+
+function generatedFunction88(value) {
+    logger.info('generated info 88', { value });
+    if (value > 88) {
+        pinoLogger.warn('generated warning 88');
+    } else {
+        console.error('generated error 88');
+    }
+    return value + 88;
+}
+
+function generatedFunction89(value) {
+    logger.info('generated info 89', { value });
+    if (value > 89) {
+        pinoLogger.warn('generated warning 89');
+    } else {
+        console.error('generated error 89');
+    }
+    return value + 89;
+}
+
+function generatedFunction90(value) {
+    logger.info('generated info 90', { value });
+    if (value > 90) {
+        pinoLogger.warn('generated warning 90');
+    } else {
+        console.error('generated error 90');
+    }
+    return value + 90;
+}
+
+function generatedFunction91(value) {
+    logger.info('generated info 91', { value });
+    if (value > 91) {
+        pinoLogger.warn('generated warning 91');
+    } else {
+        console.error('generated error 91');
+    }
+    return value + 91;
+}
+
+function generatedFunction92(value) {
+    logger.info('generated info 92', { value });
+    if (value > 92) {
+        pinoLogger.warn('generated warning 92');
+    } else {
+        console.error('generated error 92');
+    }
+    return value + 92;
+}
+
+function generatedFunction93(value) {
+    logger.info('generated info 93', { value });
+    if (value > 93) {
+        pinoLogger.warn('generated warning 93');
+    } else {
+        console.error('generated error 93');
+    }
+    return value + 93;
+}
+
+function generatedFunction94(value) {
+    logger.info('generated info 94', { value });
+    if (value > 94) {
+        pinoLogger.warn('generated warning 94');
+    } else {
+        console.error('generated error 94');
+    }
+    return value + 94;
+}
+
+function generatedFunction95(value) {
+    logger.info('generated info 95', { value });
+    if (value > 95) {
+        pinoLogger.warn('generated warning 95');
+    } else {
+        console.error('generated error 95');
+    }
+    return value + 95;
+}
+
+function generatedFunction96(value) {
+    logger.info('generated info 96', { value });
+    if (value > 96) {
+        pinoLogger.warn('generated warning 96');
+    } else {
+        console.error('generated error 96');
+    }
+    return value + 96;
+}
+
+function generatedFunction97(value) {
+    logger.info('generated info 97', { value });
+    if (value > 97) {
+        pinoLogger.warn('generated warning 97');
+    } else {
+        console.error('generated error 97');
+    }
+    return value + 97;
+}
+
+function generatedFunction98(value) {
+    logger.info('generated info 98', { value });
+    if (value > 98) {
+        pinoLogger.warn('generated warning 98');
+    } else {
+        console.error('generated error 98');
+    }
+    return value + 98;
+}
+
+function generatedFunction99(value) {
+    logger.info('generated info 99', { value });
+    if (value > 99) {
+        pinoLogger.warn('generated warning 99');
+    } else {
+        console.error('generated error 99');
+    }
+    return value + 99;
+}
+
+function generatedFunction100(value) {
+    logger.info('generated info 100', { value });
+    if (value > 100) {
+        pinoLogger.warn('generated warning 100');
+    } else {
+        console.error('generated error 100');
+    }
+    return value + 100;
+}
+
+function generatedFunction101(value) {
+    logger.info('generated info 101', { value });
+    if (value > 101) {
+        pinoLogger.warn('generated warning 101');
+    } else {
+        console.error('generated error 101');
+    }
+    return value + 101;
+}
+
+function generatedFunction102(value) {
+    logger.info('generated info 102', { value });
+    if (value > 102) {
+        pinoLogger.warn('generated warning 102');
+    } else {
+        console.error('generated error 102');
+    }
+    return value + 102;
+}
+
+function generatedFunction103(value) {
+    logger.info('generated info 103', { value });
+    if (value > 103) {
+        pinoLogger.warn('generated warning 103');
+    } else {
+        console.error('generated error 103');
+    }
+    return value + 103;
+}
+
+function generatedFunction104(value) {
+    logger.info('generated info 104', { value });
+    if (value > 104) {
+        pinoLogger.warn('generated warning 104');
+    } else {
+        console.error('generated error 104');
+    }
+    return value + 104;
+}
+
+function generatedFunction105(value) {
+    logger.info('generated info 105', { value });
+    if (value > 105) {
+        pinoLogger.warn('generated warning 105');
+    } else {
+        console.error('generated error 105');
+    }
+    return value + 105;
+}
+
+function generatedFunction106(value) {
+    logger.info('generated info 106', { value });
+    if (value > 106) {
+        pinoLogger.warn('generated warning 106');
+    } else {
+        console.error('generated error 106');
+    }
+    return value + 106;
+}
+
+function generatedFunction107(value) {
+    logger.info('generated info 107', { value });
+    if (value > 107) {
+        pinoLogger.warn('generated warning 107');
+    } else {
+        console.error('generated error 107');
+    }
+    return value + 107;
+}
+
+function generatedFunction108(value) {
+    logger.info('generated info 108', { value });
+    if (value > 108) {
+        pinoLogger.warn('generated warning 108');
+    } else {
+        console.error('generated error 108');
+    }
+    return value + 108;
+}
+
+function generatedFunction109(value) {
+    logger.info('generated info 109', { value });
+    if (value > 109) {
+        pinoLogger.warn('generated warning 109');
+    } else {
+        console.error('generated error 109');
+    }
+    return value + 109;
+}
+
+function generatedFunction110(value) {
+    logger.info('generated info 110', { value });
+    if (value > 110) {
+        pinoLogger.warn('generated warning 110');
+    } else {
+        console.error('generated error 110');
+    }
+    return value + 110;
+}
+
+function generatedFunction111(value) {
+    logger.info('generated info 111', { value });
+    if (value > 111) {
+        pinoLogger.warn('generated warning 111');
+    } else {
+        console.error('generated error 111');
+    }
+    return value + 111;
+}
+
+function generatedFunction112(value) {
+    logger.info('generated info 112', { value });
+    if (value > 112) {
+        pinoLogger.warn('generated warning 112');
+    } else {
+        console.error('generated error 112');
+    }
+    return value + 112;
+}
+
+function generatedFunction113(value) {
+    logger.info('generated info 113', { value });
+    if (value > 113) {
+        pinoLogger.warn('generated warning 113');
+    } else {
+        console.error('generated error 113');
+    }
+    return value + 113;
+}
+
+function generatedFunction114(value) {
+    logger.info('generated info 114', { value });
+    if (value > 114) {
+        pinoLogger.warn('generated warning 114');
+    } else {
+        console.error('generated error 114');
+    }
+    return value + 114;
+}
+
+function generatedFunction115(value) {
+    logger.info('generated info 115', { value });
+    if (value > 115) {
+        pinoLogger.warn('generated warning 115');
+    } else {
+        console.error('generated error 115');
+    }
+    return value + 115;
+}
+
+function generatedFunction116(value) {
+    logger.info('generated info 116', { value });
+    if (value > 116) {
+        pinoLogger.warn('generated warning 116');
+    } else {
+        console.error('generated error 116');
+    }
+    return value + 116;
+}
+
+function generatedFunction117(value) {
+    logger.info('generated info 117', { value });
+    if (value > 117) {
+        pinoLogger.warn('generated warning 117');
+    } else {
+        console.error('generated error 117');
+    }
+    return value + 117;
+}
+
+function generatedFunction118(value) {
+    logger.info('generated info 118', { value });
+    if (value > 118) {
+        pinoLogger.warn('generated warning 118');
+    } else {
+        console.error('generated error 118');
+    }
+    return value + 118;
+}
+
+function generatedFunction119(value) {
+    logger.info('generated info 119', { value });
+    if (value > 119) {
+        pinoLogger.warn('generated warning 119');
+    } else {
+        console.error('generated error 119');
+    }
+    return value + 119;
+}
+
+function generatedFunction120(value) {
+    logger.info('generated info 120', { value });
+    if (value > 120) {
+        pinoLogger.warn('generated warning 120');
+    } else {
+        console.error('generated error 120');
+    }
+    return value + 120;
+}
+
+function generatedFunction121(value) {
+    logger.info('generated info 121', { value });
+    if (value > 121) {
+        pinoLogger.warn('generated warning 121');
+    } else {
+        console.error('generated error 121');
+    }
+    return value + 121;
+}
+
+function generatedFunction122(value) {
+    logger.info('generated info 122', { value });
+    if (value > 122) {
+        pinoLogger.warn('generated warning 122');
+    } else {
+        console.error('generated error 122');
+    }
+    return value + 122;
+}
+
+function generatedFunction123(value) {
+    logger.info('generated info 123', { value });
+    if (value > 123) {
+        pinoLogger.warn('generated warning 123');
+    } else {
+        console.error('generated error 123');
+    }
+    return value + 123;
+}
+
+function generatedFunction124(value) {
+    logger.info('generated info 124', { value });
+    if (value > 124) {
+        pinoLogger.warn('generated warning 124');
+    } else {
+        console.error('generated error 124');
+    }
+    return value + 124;
+}
+
+function generatedFunction125(value) {
+    logger.info('generated info 125', { value });
+    if (value > 125) {
+        pinoLogger.warn('generated warning 125');
+    } else {
+        console.error('generated error 125');
+    }
+    return value + 125;
+}
+
+function generatedFunction126(value) {
+    logger.info('generated info 126', { value });
+    if (value > 126) {
+        pinoLogger.warn('generated warning 126');
+    } else {
+        console.error('generated error 126');
+    }
+    return value + 126;
+}
+
+function generatedFunction127(value) {
+    logger.info('generated info 127', { value });
+    if (value > 127) {
+        pinoLogger.warn('generated warning 127');
+    } else {
+        console.error('generated error 127');
+    }
+    return value + 127;
+}
+
+function generatedFunction128(value) {
+    logger.info('generated info 128', { value });
+    if (value > 128) {
+        pinoLogger.warn('generated warning 128');
+    } else {
+        console.error('generated error 128');
+    }
+    return value + 128;
+}
+
+function generatedFunction129(value) {
+    logger.info('generated info 129', { value });
+    if (value > 129) {
+        pinoLogger.warn('generated warning 129');
+    } else {
+        console.error('generated error 129');
+    }
+    return value + 129;
+}
+
+function generatedFunction130(value) {
+    logger.info('generated info 130', { value });
+    if (value > 130) {
+        pinoLogger.warn('generated warning 130');
+    } else {
+        console.error('generated error 130');
+    }
+    return value + 130;
+}
+
+function generatedFunction131(value) {
+    logger.info('generated info 131', { value });
+    if (value > 131) {
+        pinoLogger.warn('generated warning 131');
+    } else {
+        console.error('generated error 131');
+    }
+    return value + 131;
+}
+
+function generatedFunction132(value) {
+    logger.info('generated info 132', { value });
+    if (value > 132) {
+        pinoLogger.warn('generated warning 132');
+    } else {
+        console.error('generated error 132');
+    }
+    return value + 132;
+}
+
+function generatedFunction133(value) {
+    logger.info('generated info 133', { value });
+    if (value > 133) {
+        pinoLogger.warn('generated warning 133');
+    } else {
+        console.error('generated error 133');
+    }
+    return value + 133;
+}
+
+function generatedFunction134(value) {
+    logger.info('generated info 134', { value });
+    if (value > 134) {
+        pinoLogger.warn('generated warning 134');
+    } else {
+        console.error('generated error 134');
+    }
+    return value + 134;
+}
+
+function generatedFunction135(value) {
+    logger.info('generated info 135', { value });
+    if (value > 135) {
+        pinoLogger.warn('generated warning 135');
+    } else {
+        console.error('generated error 135');
+    }
+    return value + 135;
+}
+
+function generatedFunction136(value) {
+    logger.info('generated info 136', { value });
+    if (value > 136) {
+        pinoLogger.warn('generated warning 136');
+    } else {
+        console.error('generated error 136');
+    }
+    return value + 136;
+}
+
+function generatedFunction137(value) {
+    logger.info('generated info 137', { value });
+    if (value > 137) {
+        pinoLogger.warn('generated warning 137');
+    } else {
+        console.error('generated error 137');
+    }
+    return value + 137;
+}
+
+function generatedFunction138(value) {
+    logger.info('generated info 138', { value });
+    if (value > 138) {
+        pinoLogger.warn('generated warning 138');
+    } else {
+        console.error('generated error 138');
+    }
+    return value + 138;
+}
+
+function generatedFunction139(value) {
+    logger.info('generated info 139', { value });
+    if (value > 139) {
+        pinoLogger.warn('generated warning 139');
+    } else {
+        console.error('generated error 139');
+    }
+    return value + 139;
+}
+
+function generatedFunction140(value) {
+    logger.info('generated info 140', { value });
+    if (value > 140) {
+        pinoLogger.warn('generated warning 140');
+    } else {
+        console.error('generated error 140');
+    }
+    return value + 140;
+}
+
+function generatedFunction141(value) {
+    logger.info('generated info 141', { value });
+    if (value > 141) {
+        pinoLogger.warn('generated warning 141');
+    } else {
+        console.error('generated error 141');
+    }
+    return value + 141;
+}
+
+function generatedFunction142(value) {
+    logger.info('generated info 142', { value });
+    if (value > 142) {
+        pinoLogger.warn('generated warning 142');
+    } else {
+        console.error('generated error 142');
+    }
+    return value + 142;
+}
+
+function generatedFunction143(value) {
+    logger.info('generated info 143', { value });
+    if (value > 143) {
+        pinoLogger.warn('generated warning 143');
+    } else {
+        console.error('generated error 143');
+    }
+    return value + 143;
+}
+
+function generatedFunction144(value) {
+    logger.info('generated info 144', { value });
+    if (value > 144) {
+        pinoLogger.warn('generated warning 144');
+    } else {
+        console.error('generated error 144');
+    }
+    return value + 144;
+}
+
+function generatedFunction145(value) {
+    logger.info('generated info 145', { value });
+    if (value > 145) {
+        pinoLogger.warn('generated warning 145');
+    } else {
+        console.error('generated error 145');
+    }
+    return value + 145;
+}
+
+function generatedFunction146(value) {
+    logger.info('generated info 146', { value });
+    if (value > 146) {
+        pinoLogger.warn('generated warning 146');
+    } else {
+        console.error('generated error 146');
+    }
+    return value + 146;
+}
+
+function generatedFunction147(value) {
+    logger.info('generated info 147', { value });
+    if (value > 147) {
+        pinoLogger.warn('generated warning 147');
+    } else {
+        console.error('generated error 147');
+    }
+    return value + 147;
+}
+
+function generatedFunction148(value) {
+    logger.info('generated info 148', { value });
+    if (value > 148) {
+        pinoLogger.warn('generated warning 148');
+    } else {
+        console.error('generated error 148');
+    }
+    return value + 148;
+}
+
+function generatedFunction149(value) {
+    logger.info('generated info 149', { value });
+    if (value > 149) {
+        pinoLogger.warn('generated warning 149');
+    } else {
+        console.error('generated error 149');
+    }
+    return value + 149;
+}
+
+function generatedFunction150(value) {
+    logger.info('generated info 150', { value });
+    if (value > 150) {
+        pinoLogger.warn('generated warning 150');
+    } else {
+        console.error('generated error 150');
+    }
+    return value + 150;
+}
+
+function generatedFunction151(value) {
+    logger.info('generated info 151', { value });
+    if (value > 151) {
+        pinoLogger.warn('generated warning 151');
+    } else {
+        console.error('generated error 151');
+    }
+    return value + 151;
+}
+
+function generatedFunction152(value) {
+    logger.info('generated info 152', { value });
+    if (value > 152) {
+        pinoLogger.warn('generated warning 152');
+    } else {
+        console.error('generated error 152');
+    }
+    return value + 152;
+}
+
+function generatedFunction153(value) {
+    logger.info('generated info 153', { value });
+    if (value > 153) {
+        pinoLogger.warn('generated warning 153');
+    } else {
+        console.error('generated error 153');
+    }
+    return value + 153;
+}
+
+function generatedFunction154(value) {
+    logger.info('generated info 154', { value });
+    if (value > 154) {
+        pinoLogger.warn('generated warning 154');
+    } else {
+        console.error('generated error 154');
+    }
+    return value + 154;
+}
+
+function generatedFunction155(value) {
+    logger.info('generated info 155', { value });
+    if (value > 155) {
+        pinoLogger.warn('generated warning 155');
+    } else {
+        console.error('generated error 155');
+    }
+    return value + 155;
+}
+
+function generatedFunction156(value) {
+    logger.info('generated info 156', { value });
+    if (value > 156) {
+        pinoLogger.warn('generated warning 156');
+    } else {
+        console.error('generated error 156');
+    }
+    return value + 156;
+}
+
+function generatedFunction157(value) {
+    logger.info('generated info 157', { value });
+    if (value > 157) {
+        pinoLogger.warn('generated warning 157');
+    } else {
+        console.error('generated error 157');
+    }
+    return value + 157;
+}
+
+function generatedFunction158(value) {
+    logger.info('generated info 158', { value });
+    if (value > 158) {
+        pinoLogger.warn('generated warning 158');
+    } else {
+        console.error('generated error 158');
+    }
+    return value + 158;
+}
+
+function generatedFunction159(value) {
+    logger.info('generated info 159', { value });
+    if (value > 159) {
+        pinoLogger.warn('generated warning 159');
+    } else {
+        console.error('generated error 159');
+    }
+    return value + 159;
+}
+
+function generatedFunction160(value) {
+    logger.info('generated info 160', { value });
+    if (value > 160) {
+        pinoLogger.warn('generated warning 160');
+    } else {
+        console.error('generated error 160');
+    }
+    return value + 160;
+}
+
+function generatedFunction161(value) {
+    logger.info('generated info 161', { value });
+    if (value > 161) {
+        pinoLogger.warn('generated warning 161');
+    } else {
+        console.error('generated error 161');
+    }
+    return value + 161;
+}
+
+function generatedFunction162(value) {
+    logger.info('generated info 162', { value });
+    if (value > 162) {
+        pinoLogger.warn('generated warning 162');
+    } else {
+        console.error('generated error 162');
+    }
+    return value + 162;
+}
+
+function generatedFunction163(value) {
+    logger.info('generated info 163', { value });
+    if (value > 163) {
+        pinoLogger.warn('generated warning 163');
+    } else {
+        console.error('generated error 163');
+    }
+    return value + 163;
+}
+
+function generatedFunction164(value) {
+    logger.info('generated info 164', { value });
+    if (value > 164) {
+        pinoLogger.warn('generated warning 164');
+    } else {
+        console.error('generated error 164');
+    }
+    return value + 164;
+}
+
+function generatedFunction165(value) {
+    logger.info('generated info 165', { value });
+    if (value > 165) {
+        pinoLogger.warn('generated warning 165');
+    } else {
+        console.error('generated error 165');
+    }
+    return value + 165;
+}
+
+function generatedFunction166(value) {
+    logger.info('generated info 166', { value });
+    if (value > 166) {
+        pinoLogger.warn('generated warning 166');
+    } else {
+        console.error('generated error 166');
+    }
+    return value + 166;
+}
+
+function generatedFunction167(value) {
+    logger.info('generated info 167', { value });
+    if (value > 167) {
+        pinoLogger.warn('generated warning 167');
+    } else {
+        console.error('generated error 167');
+    }
+    return value + 167;
+}
+
+function generatedFunction168(value) {
+    logger.info('generated info 168', { value });
+    if (value > 168) {
+        pinoLogger.warn('generated warning 168');
+    } else {
+        console.error('generated error 168');
+    }
+    return value + 168;
+}
+
+function generatedFunction169(value) {
+    logger.info('generated info 169', { value });
+    if (value > 169) {
+        pinoLogger.warn('generated warning 169');
+    } else {
+        console.error('generated error 169');
+    }
+    return value + 169;
+}
+
+function generatedFunction170(value) {
+    logger.info('generated info 170', { value });
+    if (value > 170) {
+        pinoLogger.warn('generated warning 170');
+    } else {
+        console.error('generated error 170');
+    }
+    return value + 170;
+}
+
+function generatedFunction171(value) {
+    logger.info('generated info 171', { value });
+    if (value > 171) {
+        pinoLogger.warn('generated warning 171');
+    } else {
+        console.error('generated error 171');
+    }
+    return value + 171;
+}
+
+function generatedFunction172(value) {
+    logger.info('generated info 172', { value });
+    if (value > 172) {
+        pinoLogger.warn('generated warning 172');
+    } else {
+        console.error('generated error 172');
+    }
+    return value + 172;
+}
+
+function generatedFunction173(value) {
+    logger.info('generated info 173', { value });
+    if (value > 173) {
+        pinoLogger.warn('generated warning 173');
+    } else {
+        console.error('generated error 173');
+    }
+    return value + 173;
+}
+
+function generatedFunction174(value) {
+    logger.info('generated info 174', { value });
+    if (value > 174) {
+        pinoLogger.warn('generated warning 174');
+    } else {
+        console.error('generated error 174');
+    }
+    return value + 174;
+}
+
+function generatedFunction175(value) {
+    logger.info('generated info 175', { value });
+    if (value > 175) {
+        pinoLogger.warn('generated warning 175');
+    } else {
+        console.error('generated error 175');
+    }
+    return value + 175;
+}
+
+function generatedFunction176(value) {
+    logger.info('generated info 176', { value });
+    if (value > 176) {
+        pinoLogger.warn('generated warning 176');
+    } else {
+        console.error('generated error 176');
+    }
+    return value + 176;
+}
+
+function generatedFunction177(value) {
+    logger.info('generated info 177', { value });
+    if (value > 177) {
+        pinoLogger.warn('generated warning 177');
+    } else {
+        console.error('generated error 177');
+    }
+    return value + 177;
+}
+
+function generatedFunction178(value) {
+    logger.info('generated info 178', { value });
+    if (value > 178) {
+        pinoLogger.warn('generated warning 178');
+    } else {
+        console.error('generated error 178');
+    }
+    return value + 178;
+}
+
+function generatedFunction179(value) {
+    logger.info('generated info 179', { value });
+    if (value > 179) {
+        pinoLogger.warn('generated warning 179');
+    } else {
+        console.error('generated error 179');
+    }
+    return value + 179;
+}
+
+function generatedFunction180(value) {
+    logger.info('generated info 180', { value });
+    if (value > 180) {
+        pinoLogger.warn('generated warning 180');
+    } else {
+        console.error('generated error 180');
+    }
+    return value + 180;
+}
+
+function generatedFunction181(value) {
+    logger.info('generated info 181', { value });
+    if (value > 181) {
+        pinoLogger.warn('generated warning 181');
+    } else {
+        console.error('generated error 181');
+    }
+    return value + 181;
+}
+
+function generatedFunction182(value) {
+    logger.info('generated info 182', { value });
+    if (value > 182) {
+        pinoLogger.warn('generated warning 182');
+    } else {
+        console.error('generated error 182');
+    }
+    return value + 182;
+}
+
+function generatedFunction183(value) {
+    logger.info('generated info 183', { value });
+    if (value > 183) {
+        pinoLogger.warn('generated warning 183');
+    } else {
+        console.error('generated error 183');
+    }
+    return value + 183;
+}
+
+function generatedFunction184(value) {
+    logger.info('generated info 184', { value });
+    if (value > 184) {
+        pinoLogger.warn('generated warning 184');
+    } else {
+        console.error('generated error 184');
+    }
+    return value + 184;
+}
+
+function generatedFunction185(value) {
+    logger.info('generated info 185', { value });
+    if (value > 185) {
+        pinoLogger.warn('generated warning 185');
+    } else {
+        console.error('generated error 185');
+    }
+    return value + 185;
+}
+
+function generatedFunction186(value) {
+    logger.info('generated info 186', { value });
+    if (value > 186) {
+        pinoLogger.warn('generated warning 186');
+    } else {
+        console.error('generated error 186');
+    }
+    return value + 186;
+}
+
+function generatedFunction187(value) {
+    logger.info('generated info 187', { value });
+    if (value > 187) {
+        pinoLogger.warn('generated warning 187');
+    } else {
+        console.error('generated error 187');
+    }
+    return value + 187;
+}
+
+function generatedFunction188(value) {
+    logger.info('generated info 188', { value });
+    if (value > 188) {
+        pinoLogger.warn('generated warning 188');
+    } else {
+        console.error('generated error 188');
+    }
+    return value + 188;
+}
+
+function generatedFunction189(value) {
+    logger.info('generated info 189', { value });
+    if (value > 189) {
+        pinoLogger.warn('generated warning 189');
+    } else {
+        console.error('generated error 189');
+    }
+    return value + 189;
+}
+
+function generatedFunction190(value) {
+    logger.info('generated info 190', { value });
+    if (value > 190) {
+        pinoLogger.warn('generated warning 190');
+    } else {
+        console.error('generated error 190');
+    }
+    return value + 190;
+}
+
+function generatedFunction191(value) {
+    logger.info('generated info 191', { value });
+    if (value > 191) {
+        pinoLogger.warn('generated warning 191');
+    } else {
+        console.error('generated error 191');
+    }
+    return value + 191;
+}
+
+function generatedFunction192(value) {
+    logger.info('generated info 192', { value });
+    if (value > 192) {
+        pinoLogger.warn('generated warning 192');
+    } else {
+        console.error('generated error 192');
+    }
+    return value + 192;
+}
+
+function generatedFunction193(value) {
+    logger.info('generated info 193', { value });
+    if (value > 193) {
+        pinoLogger.warn('generated warning 193');
+    } else {
+        console.error('generated error 193');
+    }
+    return value + 193;
+}
+
+function generatedFunction194(value) {
+    logger.info('generated info 194', { value });
+    if (value > 194) {
+        pinoLogger.warn('generated warning 194');
+    } else {
+        console.error('generated error 194');
+    }
+    return value + 194;
+}
+
+function generatedFunction195(value) {
+    logger.info('generated info 195', { value });
+    if (value > 195) {
+        pinoLogger.warn('generated warning 195');
+    } else {
+        console.error('generated error 195');
+    }
+    return value + 195;
+}
+
+function generatedFunction196(value) {
+    logger.info('generated info 196', { value });
+    if (value > 196) {
+        pinoLogger.warn('generated warning 196');
+    } else {
+        console.error('generated error 196');
+    }
+    return value + 196;
+}
+
+function generatedFunction197(value) {
+    logger.info('generated info 197', { value });
+    if (value > 197) {
+        pinoLogger.warn('generated warning 197');
+    } else {
+        console.error('generated error 197');
+    }
+    return value + 197;
+}
+
+function generatedFunction198(value) {
+    logger.info('generated info 198', { value });
+    if (value > 198) {
+        pinoLogger.warn('generated warning 198');
+    } else {
+        console.error('generated error 198');
+    }
+    return value + 198;
+}
+
+function generatedFunction199(value) {
+    logger.info('generated info 199', { value });
+    if (value > 199) {
+        pinoLogger.warn('generated warning 199');
+    } else {
+        console.error('generated error 199');
+    }
+    return value + 199;
+}
+
+function generatedFunction200(value) {
+    logger.info('generated info 200', { value });
+    if (value > 200) {
+        pinoLogger.warn('generated warning 200');
+    } else {
+        console.error('generated error 200');
+    }
+    return value + 200;
+}
+
+function generatedFunction201(value) {
+    logger.info('generated info 201', { value });
+    if (value > 201) {
+        pinoLogger.warn('generated warning 201');
+    } else {
+        console.error('generated error 201');
+    }
+    return value + 201;
+}
+
+function generatedFunction202(value) {
+    logger.info('generated info 202', { value });
+    if (value > 202) {
+        pinoLogger.warn('generated warning 202');
+    } else {
+        console.error('generated error 202');
+    }
+    return value + 202;
+}
+
+function generatedFunction203(value) {
+    logger.info('generated info 203', { value });
+    if (value > 203) {
+        pinoLogger.warn('generated warning 203');
+    } else {
+        console.error('generated error 203');
+    }
+    return value + 203;
+}
+
+function generatedFunction204(value) {
+    logger.info('generated info 204', { value });
+    if (value > 204) {
+        pinoLogger.warn('generated warning 204');
+    } else {
+        console.error('generated error 204');
+    }
+    return value + 204;
+}
+
+function generatedFunction205(value) {
+    logger.info('generated info 205', { value });
+    if (value > 205) {
+        pinoLogger.warn('generated warning 205');
+    } else {
+        console.error('generated error 205');
+    }
+    return value + 205;
+}
+
+function generatedFunction206(value) {
+    logger.info('generated info 206', { value });
+    if (value > 206) {
+        pinoLogger.warn('generated warning 206');
+    } else {
+        console.error('generated error 206');
+    }
+    return value + 206;
+}
+
+function generatedFunction207(value) {
+    logger.info('generated info 207', { value });
+    if (value > 207) {
+        pinoLogger.warn('generated warning 207');
+    } else {
+        console.error('generated error 207');
+    }
+    return value + 207;
+}
+
+function generatedFunction208(value) {
+    logger.info('generated info 208', { value });
+    if (value > 208) {
+        pinoLogger.warn('generated warning 208');
+    } else {
+        console.error('generated error 208');
+    }
+    return value + 208;
+}
+
+function generatedFunction209(value) {
+    logger.info('generated info 209', { value });
+    if (value > 209) {
+        pinoLogger.warn('generated warning 209');
+    } else {
+        console.error('generated error 209');
+    }
+    return value + 209;
+}
+
+function generatedFunction210(value) {
+    logger.info('generated info 210', { value });
+    if (value > 210) {
+        pinoLogger.warn('generated warning 210');
+    } else {
+        console.error('generated error 210');
+    }
+    return value + 210;
+}
+
+function generatedFunction211(value) {
+    logger.info('generated info 211', { value });
+    if (value > 211) {
+        pinoLogger.warn('generated warning 211');
+    } else {
+        console.error('generated error 211');
+    }
+    return value + 211;
+}
+
+function generatedFunction212(value) {
+    logger.info('generated info 212', { value });
+    if (value > 212) {
+        pinoLogger.warn('generated warning 212');
+    } else {
+        console.error('generated error 212');
+    }
+    return value + 212;
+}
+
+function generatedFunction213(value) {
+    logger.info('generated info 213', { value });
+    if (value > 213) {
+        pinoLogger.warn('generated warning 213');
+    } else {
+        console.error('generated error 213');
+    }
+    return value + 213;
+}
+
+function generatedFunction214(value) {
+    logger.info('generated info 214', { value });
+    if (value > 214) {
+        pinoLogger.warn('generated warning 214');
+    } else {
+        console.error('generated error 214');
+    }
+    return value + 214;
+}
+
+function generatedFunction215(value) {
+    logger.info('generated info 215', { value });
+    if (value > 215) {
+        pinoLogger.warn('generated warning 215');
+    } else {
+        console.error('generated error 215');
+    }
+    return value + 215;
+}
+
+function generatedFunction216(value) {
+    logger.info('generated info 216', { value });
+    if (value > 216) {
+        pinoLogger.warn('generated warning 216');
+    } else {
+        console.error('generated error 216');
+    }
+    return value + 216;
+}
+
+function generatedFunction217(value) {
+    logger.info('generated info 217', { value });
+    if (value > 217) {
+        pinoLogger.warn('generated warning 217');
+    } else {
+        console.error('generated error 217');
+    }
+    return value + 217;
+}
+
+function generatedFunction218(value) {
+    logger.info('generated info 218', { value });
+    if (value > 218) {
+        pinoLogger.warn('generated warning 218');
+    } else {
+        console.error('generated error 218');
+    }
+    return value + 218;
+}
+
+function generatedFunction219(value) {
+    logger.info('generated info 219', { value });
+    if (value > 219) {
+        pinoLogger.warn('generated warning 219');
+    } else {
+        console.error('generated error 219');
+    }
+    return value + 219;
+}
+
+function generatedFunction220(value) {
+    logger.info('generated info 220', { value });
+    if (value > 220) {
+        pinoLogger.warn('generated warning 220');
+    } else {
+        console.error('generated error 220');
+    }
+    return value + 220;
+}
+
+function generatedFunction221(value) {
+    logger.info('generated info 221', { value });
+    if (value > 221) {
+        pinoLogger.warn('generated warning 221');
+    } else {
+        console.error('generated error 221');
+    }
+    return value + 221;
+}
+
+function generatedFunction222(value) {
+    logger.info('generated info 222', { value });
+    if (value > 222) {
+        pinoLogger.warn('generated warning 222');
+    } else {
+        console.error('generated error 222');
+    }
+    return value + 222;
+}
+
+function generatedFunction223(value) {
+    logger.info('generated info 223', { value });
+    if (value > 223) {
+        pinoLogger.warn('generated warning 223');
+    } else {
+        console.error('generated error 223');
+    }
+    return value + 223;
+}
+
+function generatedFunction224(value) {
+    logger.info('generated info 224', { value });
+    if (value > 224) {
+        pinoLogger.warn('generated warning 224');
+    } else {
+        console.error('generated error 224');
+    }
+    return value + 224;
+}
+
+function generatedFunction225(value) {
+    logger.info('generated info 225', { value });
+    if (value > 225) {
+        pinoLogger.warn('generated warning 225');
+    } else {
+        console.error('generated error 225');
+    }
+    return value + 225;
+}
+
+function generatedFunction226(value) {
+    logger.info('generated info 226', { value });
+    if (value > 226) {
+        pinoLogger.warn('generated warning 226');
+    } else {
+        console.error('generated error 226');
+    }
+    return value + 226;
+}
+
+function generatedFunction227(value) {
+    logger.info('generated info 227', { value });
+    if (value > 227) {
+        pinoLogger.warn('generated warning 227');
+    } else {
+        console.error('generated error 227');
+    }
+    return value + 227;
+}
+
+function generatedFunction228(value) {
+    logger.info('generated info 228', { value });
+    if (value > 228) {
+        pinoLogger.warn('generated warning 228');
+    } else {
+        console.error('generated error 228');
+    }
+    return value + 228;
+}
+
+function generatedFunction229(value) {
+    logger.info('generated info 229', { value });
+    if (value > 229) {
+        pinoLogger.warn('generated warning 229');
+    } else {
+        console.error('generated error 229');
+    }
+    return value + 229;
+}
+
+function generatedFunction230(value) {
+    logger.info('generated info 230', { value });
+    if (value > 230) {
+        pinoLogger.warn('generated warning 230');
+    } else {
+        console.error('generated error 230');
+    }
+    return value + 230;
+}
+
+function generatedFunction231(value) {
+    logger.info('generated info 231', { value });
+    if (value > 231) {
+        pinoLogger.warn('generated warning 231');
+    } else {
+        console.error('generated error 231');
+    }
+    return value + 231;
+}
+
+function generatedFunction232(value) {
+    logger.info('generated info 232', { value });
+    if (value > 232) {
+        pinoLogger.warn('generated warning 232');
+    } else {
+        console.error('generated error 232');
+    }
+    return value + 232;
+}
+
+function generatedFunction233(value) {
+    logger.info('generated info 233', { value });
+    if (value > 233) {
+        pinoLogger.warn('generated warning 233');
+    } else {
+        console.error('generated error 233');
+    }
+    return value + 233;
+}
+
+function generatedFunction234(value) {
+    logger.info('generated info 234', { value });
+    if (value > 234) {
+        pinoLogger.warn('generated warning 234');
+    } else {
+        console.error('generated error 234');
+    }
+    return value + 234;
+}
+
+function generatedFunction235(value) {
+    logger.info('generated info 235', { value });
+    if (value > 235) {
+        pinoLogger.warn('generated warning 235');
+    } else {
+        console.error('generated error 235');
+    }
+    return value + 235;
+}
+
+function generatedFunction236(value) {
+    logger.info('generated info 236', { value });
+    if (value > 236) {
+        pinoLogger.warn('generated warning 236');
+    } else {
+        console.error('generated error 236');
+    }
+    return value + 236;
+}
+
+function generatedFunction237(value) {
+    logger.info('generated info 237', { value });
+    if (value > 237) {
+        pinoLogger.warn('generated warning 237');
+    } else {
+        console.error('generated error 237');
+    }
+    return value + 237;
+}
+
+function generatedFunction238(value) {
+    logger.info('generated info 238', { value });
+    if (value > 238) {
+        pinoLogger.warn('generated warning 238');
+    } else {
+        console.error('generated error 238');
+    }
+    return value + 238;
+}
+
+function generatedFunction239(value) {
+    logger.info('generated info 239', { value });
+    if (value > 239) {
+        pinoLogger.warn('generated warning 239');
+    } else {
+        console.error('generated error 239');
+    }
+    return value + 239;
+}
+
+function generatedFunction240(value) {
+    logger.info('generated info 240', { value });
+    if (value > 240) {
+        pinoLogger.warn('generated warning 240');
+    } else {
+        console.error('generated error 240');
+    }
+    return value + 240;
+}
+
+function generatedFunction241(value) {
+    logger.info('generated info 241', { value });
+    if (value > 241) {
+        pinoLogger.warn('generated warning 241');
+    } else {
+        console.error('generated error 241');
+    }
+    return value + 241;
+}
+
+function generatedFunction242(value) {
+    logger.info('generated info 242', { value });
+    if (value > 242) {
+        pinoLogger.warn('generated warning 242');
+    } else {
+        console.error('generated error 242');
+    }
+    return value + 242;
+}
+
+function generatedFunction243(value) {
+    logger.info('generated info 243', { value });
+    if (value > 243) {
+        pinoLogger.warn('generated warning 243');
+    } else {
+        console.error('generated error 243');
+    }
+    return value + 243;
+}
+
+function generatedFunction244(value) {
+    logger.info('generated info 244', { value });
+    if (value > 244) {
+        pinoLogger.warn('generated warning 244');
+    } else {
+        console.error('generated error 244');
+    }
+    return value + 244;
+}
+
+function generatedFunction245(value) {
+    logger.info('generated info 245', { value });
+    if (value > 245) {
+        pinoLogger.warn('generated warning 245');
+    } else {
+        console.error('generated error 245');
+    }
+    return value + 245;
+}
+
+function generatedFunction246(value) {
+    logger.info('generated info 246', { value });
+    if (value > 246) {
+        pinoLogger.warn('generated warning 246');
+    } else {
+        console.error('generated error 246');
+    }
+    return value + 246;
+}
+
+function generatedFunction247(value) {
+    logger.info('generated info 247', { value });
+    if (value > 247) {
+        pinoLogger.warn('generated warning 247');
+    } else {
+        console.error('generated error 247');
+    }
+    return value + 247;
+}
+
+function generatedFunction248(value) {
+    logger.info('generated info 248', { value });
+    if (value > 248) {
+        pinoLogger.warn('generated warning 248');
+    } else {
+        console.error('generated error 248');
+    }
+    return value + 248;
+}
+
+function generatedFunction249(value) {
+    logger.info('generated info 249', { value });
+    if (value > 249) {
+        pinoLogger.warn('generated warning 249');
+    } else {
+        console.error('generated error 249');
+    }
+    return value + 249;
+}
+
+module.exports = { consoleLevels, winstonLevels, pinoLevels, ignoredCalls, Service };
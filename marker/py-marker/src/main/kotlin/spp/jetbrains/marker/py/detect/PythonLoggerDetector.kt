@@ -17,18 +17,117 @@
 package spp.jetbrains.marker.py.detect
 
 import com.intellij.openapi.project.Project
-import spp.jetbrains.marker.source.info.LoggerDetector
-import spp.jetbrains.marker.source.mark.guide.MethodGuideMark
+import com.intellij.openapi.util.Key
+import com.intellij.psi.PsiFile
+import com.intellij.psi.util.CachedValue
+import com.jetbrains.python.psi.*
+import spp.jetbrains.marker.SourceMarkerUtils
+import spp.jetbrains.marker.source.info.IndexedLoggerDetector
+import spp.jetbrains.marker.source.info.LoggerCallSiteIndex
+import spp.jetbrains.marker.source.info.LoggerCallSiteIndex.LoggerCallSite
 
 /**
- * todo: description.
+ * Detects the presence of `logging` and `structlog` log statements within Python functions.
  *
  * @since 0.7.0
  * @author [Brandon Fergerson](mailto:bfergerson@apache.org)
  */
-class PythonLoggerDetector(project: Project) : LoggerDetector {
+class PythonLoggerDetector(project: Project) : IndexedLoggerDetector(project) {
 
-    override suspend fun determineLoggerStatements(guideMark: MethodGuideMark): List<LoggerDetector.DetectedLogger> {
-        return emptyList()
+    companion object {
+        private val INDEX_KEY = Key.create<CachedValue<LoggerCallSiteIndex>>("SPP_PYTHON_LOGGER_INDEX")
+
+        private val LOGGER_MODULES = setOf("logging", "structlog")
+        private val LOGGER_FACTORIES = setOf("getLogger", "get_logger")
+        private val CHILD_LOGGER_METHODS = setOf("getChild", "bind", "new")
+        private val LOGGER_METHODS = mapOf(
+            "debug" to "debug",
+            "info" to "info",
+            "msg" to "info",
+            "warn" to "warn",
+            "warning" to "warn",
+            "error" to "error",
+            "exception" to "error",
+            "critical" to "error",
+            "fatal" to "error"
+        )
+    }
+
+    override val indexKey = INDEX_KEY
+
+    override fun buildIndex(psiFile: PsiFile): LoggerCallSiteIndex {
+        if (psiFile !is PyFile) return LoggerCallSiteIndex.EMPTY
+
+        val moduleAliases = mutableSetOf<String>()
+        val factories = mutableSetOf<String>()
+        val loggers = mutableSetOf<String>()
+        val candidates = mutableListOf<Pair<String, LoggerCallSite>>()
+        psiFile.accept(object : PyRecursiveElementVisitor() {
+            override fun visitPyImportStatement(node: PyImportStatement) {
+                node.importElements.forEach {
+                    if (it.importedQName?.toString() in LOGGER_MODULES) {
+                        it.visibleName?.let { moduleAliases.add(it) }
+                    }
+                }
+            }
+
+            override fun visitPyFromImportStatement(node: PyFromImportStatement) {
+                if (node.importSourceQName?.toString() in LOGGER_MODULES) {
+                    node.importElements.forEach {
+                        if (it.importedQName?.toString() in LOGGER_FACTORIES) {
+                            it.visibleName?.let { factories.add(it) }
+                        }
+                    }
+                }
+            }
+
+            override fun visitPyAssignmentStatement(node: PyAssignmentStatement) {
+                super.visitPyAssignmentStatement(node)
+                val value = node.assignedValue as? PyCallExpression ?: return
+                if (isLoggerCreation(value)) {
+                    node.targets.forEach { loggers.add(it.text) }
+                }
+            }
+
+            override fun visitPyCallExpression(node: PyCallExpression) {
+                super.visitPyCallExpression(node)
+                val callee = node.callee as? PyReferenceExpression ?: return
+                val qualifier = callee.qualifier ?: return
+                val callSite = toCallSite(node, callee.referencedName ?: return) ?: return
+                candidates.add(qualifier.text to callSite)
+            }
+
+            private fun isLoggerCreation(call: PyCallExpression): Boolean {
+                val callee = call.callee as? PyReferenceExpression ?: return false
+                val qualifier = callee.qualifier?.text
+                return when {
+                    qualifier == null -> callee.referencedName in factories
+                    callee.referencedName in LOGGER_FACTORIES -> qualifier in moduleAliases
+                    callee.referencedName in CHILD_LOGGER_METHODS -> qualifier in loggers
+                    else -> false
+                }
+            }
+        })
+
+        return LoggerCallSiteIndex(candidates.mapNotNull { (qualifier, callSite) ->
+            callSite.takeIf { qualifier in loggers || qualifier in moduleAliases }
+        })
+    }
+
+    private fun toCallSite(call: PyCallExpression, methodName: String): LoggerCallSite? {
+        val level: String
+        val message: PyExpression?
+        if (methodName == "log") {
+            //logger.log(logging.INFO, "message")
+            val levelName = call.arguments.getOrNull(0)?.text?.substringAfterLast('.')?.lowercase()
+            level = LOGGER_METHODS[levelName] ?: return null
+            message = call.arguments.getOrNull(1)
+        } else {
+            level = LOGGER_METHODS[methodName] ?: return null
+            message = call.arguments.firstOrNull()
+        }
+
+        val logPattern = (message as? PyStringLiteralExpression)?.stringValue ?: return null
+        return LoggerCallSite(call.textRange.startOffset, SourceMarkerUtils.getLineNumber(call), logPattern, level)
     }
 }
@@ -21,7 +21,6 @@ import com.intellij.openapi.editor.DefaultLanguageHighlighterColors
 import com.intellij.ui.SimpleTextAttributes
 import com.intellij.ui.treeStructure.SimpleNode
 import com.intellij.xdebugger.impl.ui.XDebuggerUIConstants
-import io.vertx.core.json.JsonObject
 import spp.jetbrains.instrument.presentation.LiveVariableNode
 import spp.protocol.instrument.variable.LiveVariable
 
@@ -43,14 +42,16 @@ class PythonVariableNode(
         return PythonVariableNode(variable)
     }
 
+    private val dictChildren: Array<SimpleNode> by lazy {
+        val entries = parseDict(variable.value as String).entries.toList()
+        toPagedNodes(entries.size) {
+            PythonVariableNode(LiveVariable("'" + entries[it].key + "'", entries[it].value))
+        }
+    }
+
     override fun getChildren(): Array<SimpleNode> {
         if (variable.liveClazz == "<class 'dict'>") {
-            val dict = JsonObject(parseDict(variable.value as String))
-            val children = mutableListOf<SimpleNode>()
-            dict.map.forEach {
-                children.add(PythonVariableNode(LiveVariable("'" + it.key + "'", it.value)))
-            }
-            return children.toTypedArray()
+            return dictChildren
         }
         return emptyArray()
     }
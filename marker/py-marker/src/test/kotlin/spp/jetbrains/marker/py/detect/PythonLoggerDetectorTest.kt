@@ -0,0 +1,133 @@
+/*
+ * Source++, the continuous feedback platform for developers.
+ * Copyright (C) 2022-2024 CodeBrig, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package spp.jetbrains.marker.py.detect
+
+import com.intellij.openapi.application.ApplicationManager
+import com.intellij.openapi.util.Computable
+import com.intellij.testFramework.TestDataPath
+import com.intellij.testFramework.fixtures.BasePlatformTestCase
+import com.jetbrains.python.psi.PyFile
+import com.jetbrains.python.psi.PyFunction
+import io.vertx.core.Vertx
+import kotlinx.coroutines.runBlocking
+import spp.jetbrains.UserData
+import spp.jetbrains.marker.SourceMarker
+import spp.jetbrains.marker.py.PythonLanguageProvider
+import spp.jetbrains.marker.source.SourceFileMarker
+import spp.jetbrains.marker.source.info.LoggerDetector.DetectedLogger
+
+@TestDataPath("\$CONTENT_ROOT/testData/logger/")
+class PythonLoggerDetectorTest : BasePlatformTestCase() {
+
+    private lateinit var psiFile: PyFile
+    private lateinit var fileMarker: SourceFileMarker
+
+    override fun setUp() {
+        super.setUp()
+        ApplicationManager.getApplication().runReadAction(Computable {
+            runBlocking {
+                SourceMarker.getInstance(myFixture.project).clearAvailableSourceFileMarkers()
+            }
+        })
+
+        UserData.vertx(project, Vertx.vertx())
+        PythonLanguageProvider().setup(project, false)
+        SourceFileMarker.SUPPORTED_FILE_TYPES.add(PyFile::class.java)
+
+        psiFile = myFixture.configureByFile("PythonLoggers.py") as PyFile
+        fileMarker = SourceMarker.getSourceFileMarker(psiFile)!!
+    }
+
+    override fun getTestDataPath(): String {
+        return "src/test/testData/logger/"
+    }
+
+    fun testIndexSize() {
+        val index = ApplicationManager.getApplication().runReadAction(Computable {
+            PythonLoggerDetector(project).getIndex(psiFile)
+        })
+        assertEquals(17 + 250 * 3, index.size)
+    }
+
+    fun testIndexIsCached() {
+        val detector = PythonLoggerDetector(project)
+        val index = ApplicationManager.getApplication().runReadAction(Computable { detector.getIndex(psiFile) })
+        val cachedIndex = ApplicationManager.getApplication().runReadAction(Computable { detector.getIndex(psiFile) })
+        assertSame(index, cachedIndex)
+    }
+
+    fun testStandardLevels() {
+        val result = determineLoggerStatements(psiFile.findTopLevelFunction("std_levels")!!)
+        assertEquals(
+            listOf("debug message", "info message", "warning message", "error message", "exception message", "critical message"),
+            result.map { it.logPattern }
+        )
+        assertEquals(listOf("debug", "info", "warn", "error", "error", "error"), result.map { it.level })
+        assertEquals((17..22).toList(), result.map { it.lineLocation })
+    }
+
+    fun testExplicitLevel() {
+        val result = determineLoggerStatements(psiFile.findTopLevelFunction("explicit_level")!!)
+        assertEquals(listOf("explicit info %s", "explicit error"), result.map { it.logPattern })
+        assertEquals(listOf("info", "error"), result.map { it.level })
+    }
+
+    fun testModuleLevelLogging() {
+        val result = determineLoggerStatements(psiFile.findTopLevelFunction("module_level_logging")!!)
+        assertEquals(listOf("module info", "module warning"), result.map { it.logPattern })
+    }
+
+    fun testAliasedLoggers() {
+        val result = determineLoggerStatements(psiFile.findTopLevelFunction("aliased_loggers")!!)
+        assertEquals(listOf("alias info", "imported info"), result.map { it.logPattern })
+    }
+
+    fun testStructlogLoggers() {
+        val result = determineLoggerStatements(psiFile.findTopLevelFunction("structlog_loggers")!!)
+        assertEquals(listOf("struct event", "bound event", "imported struct event"), result.map { it.logPattern })
+        assertEquals(listOf("info", "warn", "error"), result.map { it.level })
+    }
+
+    fun testIgnoredCalls() {
+        val result = determineLoggerStatements(psiFile.findTopLevelFunction("ignored_calls")!!)
+        assertEmpty(result)
+    }
+
+    fun testInstanceLogger() {
+        val service = psiFile.findTopLevelClass("Service")!!
+        assertEmpty(determineLoggerStatements(service.findMethodByName("__init__", false, null)!!))
+
+        val result = determineLoggerStatements(service.findMethodByName("handle", false, null)!!)
+        assertEquals(listOf("handling request", "handled request"), result.map { it.logPattern })
+    }
+
+    fun testGeneratedFunctions() {
+        val detector = PythonLoggerDetector(project)
+        listOf(0, 125, 249).forEach { i ->
+            val function = psiFile.findTopLevelFunction("generated_function_$i")!!
+            val result = runBlocking { detector.determineLoggerStatements(function, fileMarker) }
+            assertEquals(
+                listOf("generated info $i: %s", "generated warning $i", "generated error $i"),
+                result.map { it.logPattern }
+            )
+        }
+    }
+
+    private fun determineLoggerStatements(function: PyFunction): List<DetectedLogger> = runBlocking {
+        PythonLoggerDetector(project).determineLoggerStatements(function, fileMarker)
+    }
+}
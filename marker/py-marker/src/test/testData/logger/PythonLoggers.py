@@ -0,0 +1,2309 @@
+import logging
+import logging as pylog
+import structlog
+from logging import getLogger
+from structlog import get_logger
+
+log = logging.getLogger(__name__)
+alias_log = pylog.getLogger("alias")
+imported_log = getLogger("imported")
+struct_log = structlog.get_logger()
+bound_log = struct_log.bind(request_id="abc")
+imported_struct_log = get_logger()
+not_a_logger = object()
+
+
+def std_levels():
+    log.debug("debug message")
+    log.info("info message")
+    log.warning("warning message")
+    log.error("error message")
+    log.exception("exception message")
+    log.critical("critical message")
+
+
+def explicit_level():
+    log.log(logging.INFO, "explicit info %s", 1)
+    log.log(logging.ERROR, "explicit error")
+
+
+def module_level_logging():
+    logging.info("module info")
+    pylog.warning("module warning")
+
+
+def aliased_loggers():
+    alias_log.info("alias info")
+    imported_log.info("imported info")
+
+
+def structlog_loggers():
+    struct_log.info("struct event", user="abc")
+    bound_log.warning("bound event")
+    imported_struct_log.error("imported struct event")
+
+
+def ignored_calls(some_variable):
+    not_a_logger.info("not a log")
+    log.info(some_variable)
+    log.setLevel(logging.DEBUG)
+    print("print statement")
+
+
+class Service:
+    def __init__(self):
+        self.logger = logging.getLogger("service")
+
+    def handle(self):
+        self.logger.info("handling request")
+        self.logger.debug("handled request")
+
+
+def generated_function_0(value):
+    log.info("generated info 0: %s", value)
+    if value > 0:
+        struct_log.warning("generated warning 0", value=value)
+    else:
+        log.error("generated error 0")
+    return value + 0
+
+
+def generated_function_1(value):
+    log.info("generated info 1: %s", value)
+    if value > 1:
+        struct_log.warning("generated warning 1", value=value)
+    else:
+        log.error("generated error 1")
+    return value + 1
+
+
+def generated_function_2(value):
+    log.info("generated info 2: %s", value)
+    if value > 2:
+        struct_log.warning("generated warning 2", value=value)
+    else:
+        log.error("generated error 2")
+    return value + 2
+
+
+def generated_function_3(value):
+    log.info("generated info 3: %s", value)
+    if value > 3:
+        struct_log.warning("generated warning 3", value=value)
+    else:
+        log.error("generated error 3")
+    return value + 3
+
+
+def generated_function_4(value):
+    log.info("generated info 4: %s", value)
+    if value > 4:
+        struct_log.warning("generated warning 4", value=value)
+    else:
+        log.error("generated error 4")
+    return value + 4
+
+
+def generated_function_5(value):
+    log.info("generated info 5: %s", value)
+    if value > 5:
+        struct_log.warning("generated warning 5", value=value)
+    else:
+        log.error("generated error 5")
+    return value + 5
+
+
+def generated_function_6(value):
+    log.info("generated info 6: %s", value)
+    if value > 6:
+        struct_log.warning("generated warning 6", value=value)
+    else:
+        log.error("generated error 6")
+    return value + 6
+
+
+def generated_function_7(value):
+    log.info("generated info 7: %s", value)
+    if value > 7:
+        struct_log.warning("generated warning 7", value=value)
+    else:
+        log.error("generated error 7")
+    return value + 7
+
+
+def generated_function_8(value):
+    log.info("generated info 8: %s", value)
+    if value > 8:
+        struct_log.warning("generated warning 8", value=value)
+    else:
+        log.error("generated error 8")
+    return value + 8
+
+
+def generated_function_9(value):
+    log.info("generated info 9: %s", value)
+    if value > 9:
+        struct_log.warning("generated warning 9", value=value)
+    else:
+        log.error("generated error 9")
+    return value + 9
+
+
+def generated_function_10(value):
+    log.info("generated info 10: %s", value)
+    if value > 10:
+        struct_log.warning("generated warning 10", value=value)
+    else:
+        log.error("generated error 10")
+    return value + 10
+
+
+def generated_function_11(value):
+    log.info("generated info 11: %s", value)
+    if value > 11:
+        struct_log.warning("generated warning 11", value=value)
+    else:
+        log.error("generated error 11")
+    return value + 11
+
+
+def generated_function_12(value):
+    log.info("generated info 12: %s", value)
+    if value > 12:
+        struct_log.warning("generated warning 12", value=value)
+    else:
+        log.error("generated error 12")
+    return value + 12
+
+
+def generated_function_13(value):
+    log.info("generated info 13: %s", value)
+    if value > 13:
+        struct_log.warning("generated warning 13", value=value)
+    else:
+        log.error("generated error 13")
+    return value + 13
+
+
+def generated_function_14(value):
+    log.info("generated info 14: %s", value)
+    if value > 14:
+        struct_log.warning("generated warning 14", value=value)
+    else:
+        log.error("generated error 14")
+    return value + 14
+
+
+def generated_function_15(value):
+    log.info("generated info 15: %s", value)
+    if value > 15:
+        struct_log.warning("generated warning 15", value=value)
+    else:
+        log.error("generated error 15")
+    return value + 15
+
+
+def generated_function_16(value):
+    log.info("generated info 16: %s", value)
+    if value > 16:
+        struct_log.warning("generated warning 16", value=value)
+    else:
+        log.error("generated error 16")
+    return value + 16
+
+
+def generated_function_17(value):
+    log.info("generated info 17: %s", value)
+    if value > 17:
+        struct_log.warning("generated warning 17", value=value)
+    else:
+        log.error("generated error 17")
+    return value + 17
+
+
+def generated_function_18(value):
+    log.info("generated info 18: %s", value)
+    if value > 18:
+        struct_log.warning("generated warning 18", value=value)
+    else:
+        log.error("generated error 18")
+    return value + 18
+
+
+def generated_function_19(value):
+    log.info("generated info 19: %s", value)
+    if value > 19:
+        struct_log.warning("generated warning 19", value=value)
+    else:
+        log.error("generated error 19")
+    return value + 19
+
+
+def generated_function_20(value):
+    log.info("generated info 20: %s", value)
+    if value > 20:
+        struct_log.warning("generated warning 20", value=value)
+    else:
+        log.error("generated error 20")
+    return value + 20
+
+
+def generated_function_21(value):
+    log.info("generated info 21: %s", value)
+    if value > 21:
+        struct_log.warning("generated warning 21", value=value)
+    else:
+        log.error("generated error 21")
+    return value + 21
+
+
+def generated_function_22(value):
+    log.info("generated info 22: %s", value)
+    if value > 22:
+        struct_log.warning("generated warning 22", value=value)
+    else:
+        log.error("generated error 22")
+    return value + 22
+
+
+def generated_function_23(value):
+    log.info("generated info 23: %s", value)
+    if value > 23:
+        struct_log.warning("generated warning 23", value=value)
+    else:
+        log.error("generated error 23")
+    return value + 23
+
+
+def generated_function_24(value):
+    log.info("generated info 24: %s", value)
+    if value > 24:
+        struct_log.warning("generated warning 24", value=value)
+    else:
+        log.error("generated error 24")
+    return value + 24
+
+
+def generated_function_25(value):
+    log.info("generated info 25: %s", value)
+    if value > 25:
+        struct_log.warning("generated warning 25", value=value)
+    else:
+        log.error("generated error 25")
+    return value + 25
+
+
+def generated_function_26(value):
+    log.info("generated info 26: %s", value)
+    if value > 26:
+        struct_log.warning("generated warning 26", value=value)
+    else:
+        log.error("generated error 26")
+    return value + 26
+
+
+def generated_function_27(value):
+    log.info("generated info 27: %s", value)
+    if value > 27:
+        struct_log.warning("generated warning 27", value=value)
+    else:
+        log.error("generated error 27")
+    return value + 27
+
+
+def generated_function_28(value):
+    log.info("generated info 28: %s", value)
+    if value > 28:
+        struct_log.warning("generated warning 28", value=value)
+    else:
+        log.error("generated error 28")
+    return value + 28
+
+
+def generated_function_29(value):
+    log.info("generated info 29: %s", value)
+    if value > 29:
+        struct_log.warning("generated warning 29", value=value)
+    else:
+        log.error("generated error 29")
+    return value + 29
+
+
+def generated_function_30(value):
+    log.info("generated info 30: %s", value)
+    if value > 30:
+        struct_log.warning("generated warning 30", value=value)
+    else:
+        log.error("generated error 30")
+    return value + 30
+
+
+def generated_function_31(value):
+    log.info("generated info 31: %s", value)
+    if value > 31:
+        struct_log.warning("generated warning 31", value=value)
+    else:
+        log.error("generated error 31")
+    return value + 31
+
+
+def generated_function_32(value):
+    log.info("generated info 32: %s", value)
+    if value > 32:
+        struct_log.warning("generated warning 32", value=value)
+    else:
+        log.error("generated error 32")
+    return value + 32
+
+
+def generated_function_33(value):
+    log.info("generated info 33: %s", value)
+    if value > 33:
+        struct_log.warning("generated warning 33", value=value)
+    else:
+        log.error("generated error 33")
+    return value + 33
+
+
+def generated_function_34(value):
+    log.info("generated info 34: %s", value)
+    if value > 34:
+        struct_log.warning("generated warning 34", value=value)
+    else:
+        log.error("generated error 34")
+    return value + 34
+
+
+def generated_function_35(value):
+    log.info("generated info 35: %s", value)
+    if value > 35:
+        struct_log.warning("generated warning 35", value=value)
+    else:
+        log.error("generated error 35")
+    return value + 35
+
+
+def generated_function_36(value):
+    log.info("generated info 36: %s", value)
+    if value > 36:
+        struct_log.warning("generated warning 36", value=value)
+    else:
+        log.error("generated error 36")
+    return value + 36
+
+
+def generated_function_37(value):
+    log.info("generated info 37: %s", value)
+    if value > 37:
+        struct_log.warning("generated warning 37", value=value)
+    else:
+        log.error("generated error 37")
+    return value + 37
+
+
+def generated_function_38(value):
+    log.info("generated info 38: %s", value)
+    if value > 38:
+        struct_log.warning("generated warning 38", value=value)
+    else:
+        log.error("generated error 38")
+    return value + 38
+
+
+def generated_function_39(value):
+    log.info("generated info 39: %s", value)
+    if value > 39:
+        struct_log.warning("generated warning 39", value=value)
+    else:
+        log.error("generated error 39")
+    return value + 39
+
+
+def generated_function_40(value):
+    log.info("generated info 40: %s", value)
+    if value > 40:
+        struct_log.warning("generated warning 40", value=value)
+    else:
+        log.error("generated error 40")
+    return value + 40
+
+
+def generated_function_41(value):
+    log.info("generated info 41: %s", value)
+    if value > 41:
+        struct_log.warning("generated warning 41", value=value)
+    else:
+        log.error("generated error 41")
+    return value + 41
+
+
+def generated_function_42(value):
+    log.info("generated info 42: %s", value)
+    if value > 42:
+        struct_log.warning("generated warning 42", value=value)
+    else:
+        log.error("generated error 42")
+    return value + 42
+
+
+def generated_function_43(value):
+    log.info("generated info 43: %s", value)
+    if value > 43:
+        struct_log.warning("generated warning 43", value=value)
+    else:
+        log.error("generated error 43")
+    return value + 43
+
+
+def generated_function_44(value):
+    log.info("generated info 44: %s", value)
+    if value > 44:
+        struct_log.warning("generated warning 44", value=value)
+    else:
+        log.error("generated error 44")
+    return value + 44
+
+
+def generated_function_45(value):
+    log.info("generated info 45: %s", value)
+    if value > 45:
+        struct_log.warning("generated warning 45", value=value)
+    else:
+        log.error("generated error 45")
+    return value + 45
+
+
+def generated_function_46(value):
+    log.info("generated info 46: %s", value)
+    if value > 46:
+        struct_log.warning("generated warning 46", value=value)
+    else:
+        log.error("generated error 46")
+    return value + 46
+
+
+def generated_function_47(value):
+    log.info("generated info 47: %s", value)
+    if value > 47:
+        struct_log.warning("generated warning 47", value=value)
+    else:
+        log.error("generated error 47")
+    return value + 47
+
+
+def generated_function_48(value):
+    log.info("generated info 48: %s", value)
+    if value > 48:
+        struct_log.warning("generated warning 48", value=value)
+    else:
+        log.error("generated error 48")
+    return value + 48
+
+
+def generated_function_49(value):
+    log.info("generated info 49: %s", value)
+    if value > 49:
+        struct_log.warning("generated warning 49", value=value)
+    else:
+        log.error("generated error 49")
+    return value + 49
+
+
+def generated_function_50(value):
+    log.info("generated info 50: %s", value)
+    if value > 50:
+        struct_log.warning("generated warning 50", value=value)
+    else:
+        log.error("generated error 50")
+    return value + 50
+
+
+def generated_function_51(value):
+    log.info("generated info 51: %s", value)
+    if value > 51:
+        struct_log.warning("generated warning 51", value=value)
+    else:
+        log.error("generated error 51")
+    return value + 51
+
+
+def generated_function_52(value):
+    log.info("generated info 52: %s", value)
+    if value > 52:
+        struct_log.warning("generated warning 52", value=value)
+    else:
+        log.error("generated error 52")
+    return value + 52
+
+
+def generated_function_53(value):
+    log.info("generated info 53: %s", value)
+    if value > 53:
+        struct_log.warning("generated warning 53", value=value)
+    else:
+        log.error("generated error 53")
+    return value + 53
+
+
+def generated_function_54(value):
+    log.info("generated info 54: %s", value)
+    if value > 54:
+        struct_log.warning("generated warning 54", value=value)
+    else:
+        log.error("generated error 54")
+    return value + 54
+
+
+def generated_function_55(value):
+    log.info("generated info 55: %s", value)
+    if value > 55:
+        struct_log.warning("generated warning 55", value=value)
+    else:
+        log.error("generated error 55")
+    return value + 55
+
+
+def generated_function_56(value):
+    log.info("generated info 56: %s", value)
+    if value > 56:
+        struct_log.warning("generated warning 56", value=value)
+    else:
+        log.error("generated error 56")
+    return value + 56
+
+
+def generated_function_57(value):
+    log.info("generated info 57: %s", value)
+    if value > 57:
+        struct_log.warning("generated warning 57", value=value)
+    else:
+        log.error("generated error 57")
+    return value + 57
+
+
+def generated_function_58(value):
+    log.info("generated info 58: %s", value)
+    if value > 58:
+        struct_log.warning("generated warning 58", value=value)
+    else:
+        log.error("generated error 58")
+    return value + 58
+
+
+def generated_function_59(value):
+    log.info("generated info 59: %s", value)
+    if value > 59:
+        struct_log.warning("generated warning 59", value=value)
+    else:
+        log.error("generated error 59")
+    return value + 59
+
+
+def generated_function_60(value):
+    log.info("generated info 60: %s", value)
+    if value > 60:
+        struct_log.warning("generated warning 60", value=value)
+    else:
+        log.error("generated error 60")
+    return value + 60
+
+
+def generated_function_61(value):
+    log.info("generated info 61: %s", value)
+    if value > 61:
+        struct_log.warning("generated warning 61", value=value)
+    else:
+        log.error("generated error 61")
+    return value + 61
+
+
+def generated_function_62(value):
+    log.info("generated info 62: %s", value)
+    if value > 62:
+        struct_log.warning("generated warning 62", value=value)
+    else:
+        log.error("generated error 62")
+    return value + 62
+
+
+def generated_function_63(value):
+    log.info("generated info 63: %s", value)
+    if value > 63:
+        struct_log.warning("generated warning 63", value=value)
+    else:
+        log.error("generated error 63")
+    return value + 63
+
+
+def generated_function_64(value):
+    log.info("generated info 64: %s", value)
+    if value > 64:
+        struct_log.warning("generated warning 64", value=value)
+    else:
+        log.error("generated error 64")
+    return value + 64
+
+
+def generated_function_65(value):
+    log.info("generated info 65: %s", value)
+    if value > 65:
+        struct_log.warning("generated warning 65", value=value)
+    else:
+        log.error("generated error 65")
+    return value + 65
+
+
+def generated_function_66(value):
+    log.info("generated info 66: %s", value)
+    if value > 66:
+        struct_log.warning("generated warning 66", value=value)
+    else:
+        log.error("generated error 66")
+    return value + 66
+
+
+def generated_function_67(value):
+    log.info("generated info 67: %s", value)
+    if value > 67:
+        struct_log.warning("generated warning 67", value=value)
+    else:
+        log.error("generated error 67")
+    return value + 67
+
+
+def generated_function_68(value):
+    log.info("generated info 68: %s", value)
+    if value > 68:
+        struct_log.warning("generated warning 68", value=value)
+    else:
+        log.error("generated error 68")
+    return value + 68
+
+
+def generated_function_69(value):
+    log.info("generated info 69: %s", value)
+    if value > 69:
+        struct_log.warning("generated warning 69", value=value)
+    else:
+        log.error("generated error 69")
+    return value + 69
+
+
+def generated_function_70(value):
+    log.info("generated info 70: %s", value)
+    if value > 70:
+        struct_log.warning("generated warning 70", value=value)
+    else:
+        log.error("generated error 70")
+    return value + 70
+
+
+def generated_function_71(value):
+    log.info("generated info 71: %s", value)
+    if value > 71:
+        struct_log.warning("generated warning 71", value=value)
+    else:
+        log.error("generated error 71")
+    return value + 71
+
+
+def generated_function_72(value):
+    log.info("generated info 72: %s", value)
+    if value > 72:
+        struct_log.warning("generated warning 72", value=value)
+    else:
+        log.error("generated error 72")
+    return value + 72
+
+
+def generated_function_73(value):
+    log.info("generated info 73: %s", value)
+    if value > 73:
+        struct_log.warning("generated warning 73", value=value)
+    else:
+        log.error("generated error 73")
+    return value + 73
+
+
+def generated_function_74(value):
+    log.info("generated info 74: %s", value)
+    if value > 74:
+        struct_log.warning("generated warning 74", value=value)
+    else:
+        log.error("generated error 74")
+    return value + 74
+
+
+def generated_function_75(value):
+    log.info("generated info 75: %s", value)
+    if value > 75:
+        struct_log.warning("generated warning 75", value=value)
+    else:
+        log.error("generated error 75")
+    return value + 75
+
+
+def generated_function_76(value):
+    log.info("generated info 76: %s", value)
+    if value > 76:
+        struct_log.warning("generated warning 76", value=value)
+    else:
+        log.error("generated error 76")
+    return value + 76
+
+
+def generated_function_77(value):
+    log.info("generated info 77: %s", value)
+    if value > 77:
+        struct_log.warning("generated warning 77", value=value)
+    else:
+        log.error("generated error 77")
+    return value + 77
+
+
+def generated_function_78(value):
+    log.info("generated info 78: %s", value)
+    if value > 78:
+        struct_log.warning("generated warning 78", value=value)
+    else:
+        log.error("generated error 78")
+    return value + 78
+
+
+def generated_function_79(value):
+    log.info("generated info 79: %s", value)
+    if value > 79:
+        struct_log.warning("generated warning 79", value=value)
+    else:
+        log.error("generated error 79")
+    return value + 79
+
+
+def generated_function_80(value):
+    log.info("generated info 80: %s", value)
+    if value > 80:
+        struct_log.warning("generated warning 80", value=value)
+    else:
+        log.error("generated error 80")
+    return value + 80
+
+
+def generated_function_81(value):
+    log.info("generated info 81: %s", value)
+    if value > 81:
+        struct_log.warning("generated warning 81", value=value)
+    else:
+        log.error("generated error 81")
+    return value + 81
+
+
+def generated_function_82(value):
+    log.info("generated info 82: %s", value)
+    if value > 82:
+        struct_log.warning("generated warning 82", value=value)
+    else:
+        log.error("generated error 82")
+    return value + 82
+
+
+def generated_function_83(value):
+    log.info("generated info 83: %s", value)
+    if value > 83:
+        struct_log.warning("generated warning 83", value=value)
+    else:
+        log.error("generated error 83")
+    return value + 83
+
+
+def generated_function_84(value):
+    log.info("generated info 84: %s", value)
+    if value > 84:
+        struct_log.warning("generated warning 84", value=value)
+    else:
+        log.error("generated error 84")
+    return value + 84
+
+
+def generated_function_85(value):
+    log.info("generated info 85: %s", value)
+    if value > 85:
+        struct_log.warning("generated warning 85", value=value)
+    else:
+        log.error("generated error 85")
+    return value + 85
+
+
+def generated_function_86(value):
+    log.info("generated info 86: %s", value)
+    if value > 86:
+        struct_log.warning("generated warning 86", value=value)
+    else:
+        log.error("generated error 86")
+    return value + 86
+
+
+def generated_function_87(value):
+    log.info("generated info 87: %s", value)
+    if value > 87:
+        struct_log.warning("generated warning 87", value=value)
+    else:
+        log.error("generated error 87")
+    return value + 87
+
+
+def generated_function_88(value):
+    log.info("generated info 88: %s", value)
+    if value > 88:
+        struct_log.warning("generated warning 88", value=value)
+    else:
+        log.error("generated error 88")
+    return value + 88
+
+
+def generated_function_89(value):
+    log.info("generated info 89: %s", value)
+    if value > 89:
+        struct_log.warning("generated warning 89", value=value)
+    else:
+        log.error("generated error 89")
+    return value + 89
+
+
+def generated_function_90(value):
+    log.info("generated info 90: %s", value)
+    if value > 90:
+        struct_log.warning("generated warning 90", value=value)
+    else:
+        log.error("generated error 90")
+    return value + 90
+
+
+def generated_function_91(value):
+    log.info("generated info 91: %s", value)
+    if value > 91:
+        struct_log.warning("generated warning 91", value=value)
+    else:
+        log.error("generated error 91")
+    return value + 91
+
+
+def generated_function_92(value):
+    log.info("generated info 92: %s", value)
+    if value > 92:
+        struct_log.warning("generated warning 92", value=value)
+    else:
+        log.error("generated error 92")
+    return value + 92
+
+
+def generated_function_93(value):
+    log.info("generated info 93: %s", value)
+    if value > 93:
+        struct_log.warning("generated warning 93", value=value)
+    else:
+        log.error("generated error 93")
+    return value + 93
+
+
+def generated_function_94(value):
+    log.info("generated info 94: %s", value)
+    if value > 94:
+        struct_log.warning("generated warning 94", value=value)
+    else:
+        log.error("generated error 94")
+    return value + 94
+
+
+def generated_function_95(value):
+    log.info("generated info 95: %s", value)
+    if value > 95:
+        struct_log.warning("generated warning 95", value=value)
+    else:
+        log.error("generated error 95")
+    return value + 95
+
+
+def generated_function_96(value):
+    log.info("generated info 96: %s", value)
+    if value > 96:
+        struct_log.warning("generated warning 96", value=value)
+    else:
+        log.error("generated error 96")
+    return value + 96
+
+
+def generated_function_97(value):
+    log.info("generated info 97: %s", value)
+    if value > 97:
+        struct_log.warning("generated warning 97", value=value)
+    else:
+        log.error("generated error 97")
+    return value + 97
+
+
+def generated_function_98(value):
+    log.info("generated info 98: %s", value)
+    if value > 98:
+        struct_log.warning("generated warning 98", value=value)
+    else:
+        log.error("generated error 98")
+    return value + 98
+
+
+def generated_function_99(value):
+    log.info("generated info 99: %s", value)
+    if value > 99:
+        struct_log.warning("generated warning 99", value=value)
+    else:
+        log.error("generated error 99")
+    return value + 99
+
+
+def generated_function_100(value):
+    log.info("generated info 100: %s", value)
+    if value > 100:
+        struct_log.warning("generated warning 100", value=value)
+    else:
+        log.error("generated error 100")
+    return value + 100
+
+
+def generated_function_101(value):
+    log.info("generated info 101: %s", value)
+    if value > 101:
+        struct_log.warning("generated warning 101", value=value)
+    else:
+        log.error("generated error 101")
+    return value + 101
+
+
+def generated_function_102(value):
+    log.info("generated info 102: %s", value)
+    if value > 102:
+        struct_log.warning("generated warning 102", value=value)
+    else:
+        log.error("generated error 102")
+    return value + 102
+
+
+def generated_function_103(value):
+    log.info("generated info 103: %s", value)
+    if value > 103:
+        struct_log.warning("generated warning 103", value=value)
+    else:
+        log.error("generated error 103")
+    return value + 103
+
+
+def generated_function_104(value):
+    log.info("generated info 104: %s", value)
+    if value > 104:
+        struct_log.warning("generated warning 104", value=value)
+    else:
+        log.error("generated error 104")
+    return value + 104
+
+
+def generated_function_105(value):
+    log.info("generated info 105: %s", value)
+    if value > 105:
+        struct_log.warning("generated warning 105", value=value)
+    else:
+        log.error("generated error 105")
+    return value + 105
+
+
+def generated_function_106(value):
+    log.info("generated info 106: %s", value)
+    if value > 106:
+        struct_log.warning("generated warning 106", value=value)
+    else:
+        log.error("generated error 106")
+    return value + 106
+
+
+def generated_function_107(value):
+    log.info("generated info 107: %s", value)
+    if value > 107:
+        struct_log.warning("generated warning 107", value=value)
+    else:
+        log.error("generated error 107")
+    return value + 107
+
+
+def generated_function_108(value):
+    log.info("generated info 108: %s", value)
+    if value > 108:
+        struct_log.warning("generated warning 108", value=value)
+    else:
+        log.error("generated error 108")
+    return value + 108
+
+
+def generated_function_109(value):
+    log.info("generated info 109: %s", value)
+    if value > 109:
+        struct_log.warning("generated warning 109", value=value)
+    else:
+        log.error("generated error 109")
+    return value + 109
+
+
+def generated_function_110(value):
+    log.info("generated info 110: %s", value)
+    if value > 110:
+        struct_log.warning("generated warning 110", value=value)
+    else:
+        log.error("generated error 110")
+    return value + 110
+
+
+def generated_function_111(value):
+    log.info("generated info 111: %s", value)
+    if value > 111:
+        struct_log.warning("generated warning 111", value=value)
+    else:
+        log.error("generated error 111")
+    return value + 111
+
+
+def generated_function_112(value):
+    log.info("generated info 112: %s", value)
+    if value > 112:
+        struct_log.warning("generated warning 112", value=value)
+    else:
+        log.error("generated error 112")
+    return value + 112
+
+
+def generated_function_113(value):
+    log.info("generated info 113: %s", value)
+    if value > 113:
+        struct_log.warning("generated warning 113", value=value)
+    else:
+        log.error("generated error 113")
+    return value + 113
+
+
+def generated_function_114(value):
+    log.info("generated info 114: %s", value)
+    if value > 114:
+        struct_log.warning("generated warning 114", value=value)
+    else:
+        log.error("generated error 114")
+    return value + 114
+
+
+def generated_function_115(value):
+    log.info("generated info 115: %s", value)
+    if value > 115:
+        struct_log.warning("generated warning 115", value=value)
+    else:
+        log.error("generated error 115")
+    return value + 115
+
+
+def generated_function_116(value):
+    log.info("generated info 116: %s", value)
+    if value > 116:
+        struct_log.warning("generated warning 116", value=value)
+    else:
+        log.error("generated error 116")
+    return value + 116
+
+
+def generated_function_117(value):
+    log.info("generated info 117: %s", value)
+    if value > 117:
+        struct_log.warning("generated warning 117", value=value)
+    else:
+        log.error("generated error 117")
+    return value + 117
+
+
+def generated_function_118(value):
+    log.info("generated info 118: %s", value)
+    if value > 118:
+        struct_log.warning("generated warning 118", value=value)
+    else:
+        log.error("generated error 118")
+    return value + 118
+
+
+def generated_function_119(value):
+    log.info("generated info 119: %s", value)
+    if value > 119:
+        struct_log.warning("generated warning 119", value=value)
+    else:
+        log.error("generated error 119")
+    return value + 119
+
+
+def generated_function_120(value):
+    log.info("generated info 120: %s", value)
+    if value > 120:
+        struct_log.warning("generated warning 120", value=value)
+    else:
+        log.error("generated error 120")
+    return value + 120
+
+
+def generated_function_121(value):
+    log.info("generated info 121: %s", value)
+    if value > 121:
+        struct_log.warning("generated warning 121", value=value)
+    else:
+        log.error("generated error 121")
+    return value + 121
+
+
+def generated_function_122(value):
+    log.info("generated info 122: %s", value)
+    if value > 122:
+        struct_log.warning("generated warning 122", value=value)
+    else:
+        log.error("generated error 122")
+    return value + 122
+
+
+def generated_function_123(value):
+    log.info("generated info 123: %s", value)
+    if value > 123:
+        struct_log.warning("generated warning 123", value=value)
+    else:
+        log.error("generated error 123")
+    return value + 123
+
+
+def generated_function_124(value):
+    log.info("generated info 124: %s", value)
+    if value > 124:
+        struct_log.warning("generated warning 124", value=value)
+    else:
+        log.error("generated error 124")
+    return value + 124
+
+
+def generated_function_125(value):
+    log.info("generated info 125: %s", value)
+    if value > 125:
+        struct_log.warning("generated warning 125", value=value)
+    else:
+        log.error("generated error 125")
+    return value + 125
+
+
+def generated_function_126(value):
+    log.info("generated info 126: %s", value)
+    if value > 126:
+        struct_log.warning("generated warning 126", value=value)
+    else:
+        log.error("generated error 126")
+    return value + 126
+
+
+def generated_function_127(value):
+    log.info("generated info 127: %s", value)
+    if value > 127:
+        struct_log.warning("generated warning 127", value=value)
+    else:
+        log.error("generated error 127")
+    return value + 127
+
+
+def generated_function_128(value):
+    log.info("generated info 128: %s", value)
+    if value > 128:
+        struct_log.warning("generated warning 128", value=value)
+    else:
+        log.error("generated error 128")
+    return value + 128
+
+
+def generated_function_129(value):
+    log.info("generated info 129: %s", value)
+    if value > 129:
+        struct_log.warning("generated warning 129", value=value)
+    else:
+        log.error("generated error 129")
+    return value + 129
+
+
+def generated_function_130(value):
+    log.info("generated info 130: %s", value)
+    if value > 130:
+        struct_log.warning("generated warning 130", value=value)
+    else:
+        log.error("generated error 130")
+    return value + 130
+
+
+def generated_function_131(value):
+    log.info("generated info 131: %s", value)
+    if value > 131:
+        struct_log.warning("generated warning 131", value=value)
+    else:
+        log.error("generated error 131")
+    return value + 131
+
+
+def generated_function_132(value):
+    log.info("generated info 132: %s", value)
+    if value > 132:
+        struct_log.warning("generated warning 132", value=value)
+    else:
+        log.error("generated error 132")
+    return value + 132
+
+
+def generated_function_133(value):
+    log.info("generated info 133: %s", value)
+    if value > 133:
+        struct_log.warning("generated warning 133", value=value)
+    else:
+        log.error("generated error 133")
+    return value + 133
+
+
+def generated_function_134(value):
+    log.info("generated info 134: %s", value)
+    if value > 134:
+        struct_log.warning("generated warning 134", value=value)
+    else:
+        log.error("generated error 134")
+    return value + 134
+
+
+def generated_function_135(value):
+    log.info("generated info 135: %s", value)
+    if value > 135:
+        struct_log.warning("generated warning 135", value=value)
+    else:
+        log.error("generated error 135")
+    return value + 135
+
+
+def generated_function_136(value):
+    log.info("generated info 136: %s", value)
+    if value > 136:
+        struct_log.warning("generated warning 136", value=value)
+    else:
+        log.error("generated error 136")
+    return value + 136
+
+
+def generated_function_137(value):
+    log.info("generated info 137: %s", value)
+    if value > 137:
+        struct_log.warning("generated warning 137", value=value)
+    else:
+        log.error("generated error 137")
+    return value + 137
+
+
+def generated_function_138(value):
+    log.info("generated info 138: %s", value)
+    if value > 138:
+        struct_log.warning("generated warning 138", value=value)
+    else:
+        log.error("generated error 138")
+    return value + 138
+
+
+def generated_function_139(value):
+    log.info("generated info 139: %s", value)
+    if value > 139:
+        struct_log.warning("generated warning 139", value=value)
+    else:
+        log.error("generated error 139")
+    return value + 139
+
+
+def generated_function_140(value):
+    log.info("generated info 140: %s", value)
+    if value > 140:
+        struct_log.warning("generated warning 140", value=value)
+    else:
+        log.error("generated error 140")
+    return value + 140
+
+
+def generated_function_141(value):
+    log.info("generated info 141: %s", value)
+    if value > 141:
+        struct_log.warning("generated warning 141", value=value)
+    else:
+        log.error("generated error 141")
+    return value + 141
+
+
+def generated_function_142(value):
+    log.info("generated info 142: %s", value)
+    if value > 142:
+        struct_log.warning("generated warning 142", value=value)
+    else:
+        log.error("generated error 142")
+    return value + 142
+
+
+def generated_function_143(value):
+    log.info("generated info 143: %s", value)
+    if value > 143:
+        struct_log.warning("generated warning 143", value=value)
+    else:
+        log.error("generated error 143")
+    return value + 143
+
+
+def generated_function_144(value):
+    log.info("generated info 144: %s", value)
+    if value > 144:
+        struct_log.warning("generated warning 144", value=value)
+    else:
+        log.error("generated error 144")
+    return value + 144
+
+
+def generated_function_145(value):
+    log.info("generated info 145: %s", value)
+    if value > 145:
+        struct_log.warning("generated warning 145", value=value)
+    else:
+        log.error("generated error 145")
+    return value + 145
+
+
+def generated_function_146(value):
+    log.info("generated info 146: %s", value)
+    if value > 146:
+        struct_log.warning("generated warning 146", value=value)
+    else:
+        log.error("generated error 146")
+    return value + 146
+
+
+def generated_function_147(value):
+    log.info("generated info 147: %s", value)
+    if value > 147:
+        struct_log.warning("generated warning 147", value=value)
+    else:
+        log.error("generated error 147")
+    return value + 147
+
+
+def generated_function_148(value):
+    log.info("generated info 148: %s", value)
+    if value > 148:
+        struct_log.warning("generated warning 148", value=value)
+    else:
+        log.error("generated error 148")
+    return value + 148
+
+
+def generated_function_149(value):
+    log.info("generated info 149: %s", value)
+    if value > 149:
+        struct_log.warning("generated warning 149", value=value)
+    else:
+        log.error("generated error 149")
+    return value + 149
+
+
+def generated_function_150(value):
+    log.info("generated info 150: %s", value)
+    if value > 150:
+        struct_log.warning("generated warning 150", value=value)
+    else:
+        log.error("generated error 150")
+    return value + 150
+
+
+def generated_function_151(value):
+    log.info("generated info 151: %s", value)
+    if value > 151:
+        struct_log.warning("generated warning 151", value=value)
+    else:
+        log.error("generated error 151")
+    return value + 151
+
+
+def generated_function_152(value):
+    log.info("generated info 152: %s", value)
+    if value > 152:
+        struct_log.warning("generated warning 152", value=value)
+    else:
+        log.error("generated error 152")
+    return value + 152
+
+
+def generated_function_153(value):
+    log.info("generated info 153: %s", value)
+    if value > 153:
+        struct_log.warning("generated warning 153", value=value)
+    else:
+        log.error("generated error 153")
+    return value + 153
+
+
+def generated_function_154(value):
+    log.info("generated info 154: %s", value)
+    if value > 154:
+        struct_log.warning("generated warning 154", value=value)
+    else:
+        log.error("generated error 154")
+    return value + 154
+
+
+def generated_function_155(value):
+    log.info("generated info 155: %s", value)
+    if value > 155:
+        struct_log.warning("generated warning 155", value=value)
+    else:
+        log.error("generated error 155")
+    return value + 155
+
+
+def generated_function_156(value):
+    log.info("generated info 156: %s", value)
+    if value > 156:
+        struct_log.warning("generated warning 156", value=value)
+    else:
+        log.error("generated error 156")
+    return value + 156
+
+
+def generated_function_157(value):
+    log.info("generated info 157: %s", value)
+    if value > 157:
+        struct_log.warning("generated warning 157", value=value)
+    else:
+        log.error("generated error 157")
+    return value + 157
+
+
+def generated_function_158(value):
+    log.info("generated info 158: %s", value)
+    if value > 158:
+        struct_log.warning("generated warning 158", value=value)
+    else:
+        log.error("generated error 158")
+    return value + 158
+
+
+def generated_function_159(value):
+    log.info("generated info 159: %s", value)
+    if value > 159:
+        struct_log.warning("generated warning 159", value=value)
+    else:
+        log.error("generated error 159")
+    return value + 159
+
+
+def generated_function_160(value):
+    log.info("generated info 160: %s", value)
+    if value > 160:
+        struct_log.warning("generated warning 160", value=value)
+    else:
+        log.error("generated error 160")
+    return value + 160
+
+
+def generated_function_161(value):
+    log.info("generated info 161: %s", value)
+    if value > 161:
+        struct_log.warning("generated warning 161", value=value)
+    else:
+        log.error("generated error 161")
+    return value + 161
+
+
+def generated_function_162(value):
+    log.info("generated info 162: %s", value)
+    if value > 162:
+        struct_log.warning("generated warning 162", value=value)
+    else:
+        log.error("generated error 162")
+    return value + 162
+
+
+def generated_function_163(value):
+    log.info("generated info 163: %s", value)
+    if value > 163:
+        struct_log.warning("generated warning 163", value=value)
+    else:
+        log.error("generated error 163")
+    return value + 163
+
+
+def generated_function_164(value):
+    log.info("generated info 164: %s", value)
+    if value > 164:
+        struct_log.warning("generated warning 164", value=value)
+    else:
+        log.error("generated error 164")
+    return value + 164
+
+
+def generated_function_165(value):
+    log.info("generated info 165: %s", value)
+    if value > 165:
+        struct_log.warning("generated warning 165", value=value)
+    else:
+        log.error("generated error 165")
+    return value + 165
+
+
+def generated_function_166(value):
+    log.info("generated info 166: %s", value)
+    if value > 166:
+        struct_log.warning("generated warning 166", value=value)
+    else:
+        log.error("generated error 166")
+    return value + 166
+
+
+def generated_function_167(value):
+    log.info("generated info 167: %s", value)
+    if value > 167:
+        struct_log.warning("generated warning 167", value=value)
+    else:
+        log.error("generated error 167")
+    return value + 167
+
+
+def generated_function_168(value):
+    log.info("generated info 168: %s", value)
+    if value > 168:
+        struct_log.warning("generated warning 168", value=value)
+    else:
+        log.error("generated error 168")
+    return value + 168
+
+
+def generated_function_169(value):
+    log.info("generated info 169: %s", value)
+    if value > 169:
+        struct_log.warning("generated warning 169", value=value)
+    else:
+        log.error("generated error 169")
+    return value + 169
+
+
+def generated_function_170(value):
+    log.info("generated info 170: %s", value)
+    if value > 170:
+        struct_log.warning("generated warning 170", value=value)
+    else:
+        log.error("generated error 170")
+    return value + 170
+
+
+def generated_function_171(value):
+    log.info("generated info 171: %s", value)
+    if value > 171:
+        struct_log.warning("generated warning 171", value=value)
+    else:
+        log.error("generated error 171")
+    return value + 171
+
+
+def generated_function_172(value):
+    log.info("generated info 172: %s", value)
+    if value > 172:
+        struct_log.warning("generated warning 172", value=value)
+    else:
+        log.error("generated error 172")
+    return value + 172
+
+
+def generated_function_173(value):
+    log.info("generated info 173: %s", value)
+    if value > 173:
+        struct_log.warning("generated warning 173", value=value)
+    else:
+        log.error("generated error 173")
+    return value + 173
+
+
+def generated_function_174(value):
+    log.info("generated info 174: %s", value)
+    if value > 174:
+        struct_log.warning("generated warning 174", value=value)
+    else:
+        log.error("generated error 174")
+    return value + 174
+
+
+def generated_function_175(value):
+    log.info("generated info 175: %s", value)
+    if value > 175:
+        struct_log.warning("generated warning 175", value=value)
+    else:
+        log.error("generated error 175")
+    return value + 175
+
+
+def generated_function_176(value):
+    log.info("generated info 176: %s", value)
+    if value > 176:
+        struct_log.warning("generated warning 176", value=value)
+    else:
+        log.error("generated error 176")
+    return value + 176
+
+
+def generated_function_177(value):
+    log.info("generated info 177: %s", value)
+    if value > 177:
+        struct_log.warning("generated warning 177", value=value)
+    else:
+        log.error("generated error 177")
+    return value + 177
+
+
+def generated_function_178(value):
+    log.info("generated info 178: %s", value)
+    if value > 178:
+        struct_log.warning("generated warning 178", value=value)
+    else:
+        log.error("generated error 178")
+    return value + 178
+
+
+def generated_function_179(value):
+    log.info("generated info 179: %s", value)
+    if value > 179:
+        struct_log.warning("generated warning 179", value=value)
+    else:
+        log.error("generated error 179")
+    return value + 179
+
+
+def generated_function_180(value):
+    log.info("generated info 180: %s", value)
+    if value > 180:
+        struct_log.warning("generated warning 180", value=value)
+    else:
+        log.error("generated error 180")
+    return value + 180
+
+
+def generated_function_181(value):
+    log.info("generated info 181: %s", value)
+    if value > 181:
+        struct_log.warning("generated warning 181", value=value)
+    else:
+        log.error("generated error 181")
+    return value + 181
+
+
+def generated_function_182(value):
+    log.info("generated info 182: %s", value)
+    if value > 182:
+        struct_log.warning("generated warning 182", value=value)
+    else:
+        log.error("generated error 182")
+    return value + 182
+
+
+def generated_function_183(value):
+    log.info("generated info 183: %s", value)
+    if value > 183:
+        struct_log.warning("generated warning 183", value=value)
+    else:
+        log.error("generated error 183")
+    return value + 183
+
+
+def generated_function_184(value):
+    log.info("generated info 184: %s", value)
+    if value > 184:
+        struct_log.warning("generated warning 184", value=value)
+    else:
+        log.error("generated error 184")
+    return value + 184
+
+
+def generated_function_185(value):
+    log.info("generated info 185: %s", value)
+    if value > 185:
+        struct_log.warning("generated warning 185", value=value)
+    else:
+        log.error("generated error 185")
+    return value + 185
+
+
+def generated_function_186(value):
+    log.info("generated info 186: %s", value)
+    if value > 186:
+        struct_log.warning("generated warning 186", value=value)
+    else:
+        log.error("generated error 186")
+    return value + 186
+
+
+def generated_function_187(value):
+    log.info("generated info 187: %s", value)
+    if value > 187:
+        struct_log.warning("generated warning 187", value=value)
+    else:
+        log.error("generated error 187")
+    return value + 187
+
+
+def generated_function_188(value):
+    log.info("generated info 188: %s", value)
+    if value > 188:
+        struct_log.warning("generated warning 188", value=value)
+    else:
+        log.error("generated error 188")
+    return value + 188
+
+
+def generated_function_189(value):
+    log.info("generated info 189: %s", value)
+    if value > 189:
+        struct_log.warning("generated warning 189", value=value)
+    else:
+        log.error("generated error 189")
+    return value + 189
+
+
+def generated_function_190(value):
+    log.info("generated info 190: %s", value)
+    if value > 190:
+        struct_log.warning("generated warning 190", value=value)
+    else:
+        log.error("generated error 190")
+    return value + 190
+
+
+def generated_function_191(value):
+    log.info("generated info 191: %s", value)
+    if value > 191:
+        struct_log.warning("generated warning 191", value=value)
+    else:
+        log.error("generated error 191")
+    return value + 191
+
+
+def generated_function_192(value):
+    log.info("generated info 192: %s", value)
+    if value > 192:
+        struct_log.warning("generated warning 192", value=value)
+    else:
+        log.error("generated error 192")
+    return value + 192
+
+
+def generated_function_193(value):
+    log.info("generated info 193: %s", value)
+    if value > 193:
+        struct_log.warning("generated warning 193", value=value)
+    else:
+        log.error("generated error 193")
+    return value + 193
+
+
+def generated_function_194(value):
+    log.info("generated info 194: %s", value)
+    if value > 194:
+        struct_log.warning("generated warning 194", value=value)
+    else:
+        log.error("generated error 194")
+    return value + 194
+
+
+def generated_function_195(value):
+    log.info("generated info 195: %s", value)
+    if value > 195:
+        struct_log.warning("generated warning 195", value=value)
+    else:
+        log.error("generated error 195")
+    return value + 195
+
+
+def generated_function_196(value):
+    log.info("generated info 196: %s", value)
+    if value > 196:
+        struct_log.warning("generated warning 196", value=value)
+    else:
+        log.error("generated error 196")
+    return value + 196
+
+
+def generated_function_197(value):
+    log.info("generated info 197: %s", value)
+    if value > 197:
+        struct_log.warning("generated warning 197", value=value)
+    else:
+        log.error("generated error 197")
+    return value + 197
+
+
+def generated_function_198(value):
+    log.info("generated info 198: %s", value)
+    if value > 198:
+        struct_log.warning("generated warning 198", value=value)
+    else:
+        log.error("generated error 198")
+    return value + 198
+
+
+def generated_function_199(value):
+    log.info("generated info 199: %s", value)
+    if value > 199:
+        struct_log.warning("generated warning 199", value=value)
+    else:
+        log.error("generated error 199")
+    return value + 199
+
+
+def generated_function_200(value):
+    log.info("generated info 200: %s", value)
+    if value > 200:
+        struct_log.warning("generated warning 200", value=value)
+    else:
+        log.error("generated error 200")
+    return value + 200
+
+
+def generated_function_201(value):
+    log.info("generated info 201: %s", value)
+    if value > 201:
+        struct_log.warning("generated warning 201", value=value)
+    else:
+        log.error("generated error 201")
+    return value + 201
+
+
+def generated_function_202(value):
+    log.info("generated info 202: %s", value)
+    if value > 202:
+        struct_log.warning("generated warning 202", value=value)
+    else:
+        log.error("generated error 202")
+    return value + 202
+
+
+def generated_function_203(value):
+    log.info("generated info 203: %s", value)
+    if value > 203:
+        struct_log.warning("generated warning 203", value=value)
+    else:
+        log.error("generated error 203")
+    return value + 203
+
+
+def generated_function_204(value):
+    log.info("generated info 204: %s", value)
+    if value > 204:
+        struct_log.warning("generated warning 204", value=value)
+    else:
+        log.error("generated error 204")
+    return value + 204
+
+
+def generated_function_205(value):
+    log.info("generated info 205: %s", value)
+    if value > 205:
+        struct_log.warning("generated warning 205", value=value)
+    else:
+        log.error("generated error 205")
+    return value + 205
+
+
+def generated_function_206(value):
+    log.info("generated info 206: %s", value)
+    if value > 206:
+        struct_log.warning("generated warning 206", value=value)
+    else:
+        log.error("generated error 206")
+    return value + 206
+
+
+def generated_function_207(value):
+    log.info("generated info 207: %s", value)
+    if value > 207:
+        struct_log.warning("generated warning 207", value=value)
+    else:
+        log.error("generated error 207")
+    return value + 207
+
+
+def generated_function_208(value):
+    log.info("generated info 208: %s", value)
+    if value > 208:
+        struct_log.warning("generated warning 208", value=value)
+    else:
+        log.error("generated error 208")
+    return value + 208
+
+
+def generated_function_209(value):
+    log.info("generated info 209: %s", value)
+    if value > 209:
+        struct_log.warning("generated warning 209", value=value)
+    else:
+        log.error("generated error 209")
+    return value + 209
+
+
+def generated_function_210(value):
+    log.info("generated info 210: %s", value)
+    if value > 210:
+        struct_log.warning("generated warning 210", value=value)
+    else:
+        log.error("generated error 210")
+    return value + 210
+
+
+def generated_function_211(value):
+    log.info("generated info 211: %s", value)
+    if value > 211:
+        struct_log.warning("generated warning 211", value=value)
+    else:
+        log.error("generated error 211")
+    return value + 211
+
+
+def generated_function_212(value):
+    log.info("generated info 212: %s", value)
+    if value > 212:
+        struct_log.warning("generated warning 212", value=value)
+    else:
+        log.error("generated error 212")
+    return value + 212
+
+
+def generated_function_213(value):
+    log.info("generated info 213: %s", value)
+    if value > 213:
+        struct_log.warning("generated warning 213", value=value)
+    else:
+        log.error("generated error 213")
+    return value + 213
+
+
+def generated_function_214(value):
+    log.info("generated info 214: %s", value)
+    if value > 214:
+        struct_log.warning("generated warning 214", value=value)
+    else:
+        log.error("generated error 214")
+    return value + 214
+
+
+def generated_function_215(value):
+    log.info("generated info 215: %s", value)
+    if value > 215:
+        struct_log.warning("generated warning 215", value=value)
+    else:
+        log.error("generated error 215")
+    return value + 215
+
+
+def generated_function_216(value):
+    log.info("generated info 216: %s", value)
+    if value > 216:
+        struct_log.warning("generated warning 216", value=value)
+    else:
+        log.error("generated error 216")
+    return value + 216
+
+
+def generated_function_217(value):
+    log.info("generated info 217: %s", value)
+    if value > 217:
+        struct_log.warning("generated warning 217", value=value)
+    else:
+        log.error("generated error 217")
+    return value + 217
+
+
+def generated_function_218(value):
+    log.info("generated info 218: %s", value)
+    if value > 218:
+        struct_log.warning("generated warning 218", value=value)
+    else:
+        log.error("generated error 218")
+    return value + 218
+
+
+def generated_function_219(value):
+    log.info("generated info 219: %s", value)
+    if value > 219:
+        struct_log.warning("generated warning 219", value=value)
+    else:
+        log.error("generated error 219")
+    return value + 219
+
+
+def generated_function_220(value):
+    log.info("generated info 220: %s", value)
+    if value > 220:
+        struct_log.warning("generated warning 220", value=value)
+    else:
+        log.error("generated error 220")
+    return value + 220
+
+
+def generated_function_221(value):
+    log.info("generated info 221: %s", value)
+    if value > 221:
+        struct_log.warning("generated warning 221", value=value)
+    else:
+        log.error("generated error 221")
+    return value + 221
+
+
+def generated_function_222(value):
+    log.info("generated info 222: %s", value)
+    if value > 222:
+        struct_log.warning("generated warning 222", value=value)
+    else:
+        log.error("generated error 222")
+    return value + 222
+
+
+def generated_function_223(value):
+    log.info("generated info 223: %s", value)
+    if value > 223:
+        struct_log.warning("generated warning 223", value=value)
+    else:
+        log.error("generated error 223")
+    return value + 223
+
+
+def generated_function_224(value):
+    log.info("generated info 224: %s", value)
+    if value > 224:
+        struct_log.warning("generated warning 224", value=value)
+    else:
+        log.error("generated error 224")
+    return value + 224
+
+
+def generated_function_225(value):
+    log.info("generated info 225: %s", value)
+    if value > 225:
+        struct_log.warning("generated warning 225", value=value)
+    else:
+        log.error("generated error 225")
+    return value + 225
+
+
+def generated_function_226(value):
+    log.info("generated info 226: %s", value)
+    if value > 226:
+        struct_log.warning("generated warning 226", value=value)
+    else:
+        log.error("generated error 226")
+    return value + 226
+
+
+def generated_function_227(value):
+    log.info("generated info 227: %s", value)
+    if value > 227:
+        struct_log.warning("generated warning 227", value=value)
+    else:
+        log.error("generated error 227")
+    return value + 227
+
+
+def generated_function_228(value):
+    log.info("generated info 228: %s", value)
+    if value > 228:
+        struct_log.warning("generated warning 228", value=value)
+    else:
+        log.error("generated error 228")
+    return value + 228
+
+
+def generated_function_229(value):
+    log.info("generated info 229: %s", value)
+    if value > 229:
+        struct_log.warning("generated warning 229", value=value)
+    else:
+        log.error("generated error 229")
+    return value + 229
+
+
+def generated_function_230(value):
+    log.info("generated info 230: %s", value)
+    if value > 230:
+        struct_log.warning("generated warning 230", value=value)
+    else:
+        log.error("generated error 230")
+    return value + 230
+
+
+def generated_function_231(value):
+    log.info("generated info 231: %s", value)
+    if value > 231:
+        struct_log.warning("generated warning 231", value=value)
+    else:
+        log.error("generated error 231")
+    return value + 231
+
+
+def generated_function_232(value):
+    log.info("generated info 232: %s", value)
+    if value > 232:
+        struct_log.warning("generated warning 232", value=value)
+    else:
+        log.error("generated error 232")
+    return value + 232
+
+
+def generated_function_233(value):
+    log.info("generated info 233: %s", value)
+    if value > 233:
+        struct_log.warning("generated warning 233", value=value)
+    else:
+        log.error("generated error 233")
+    return value + 233
+
+
+def generated_function_234(value):
+    log.info("generated info 234: %s", value)
+    if value > 234:
+        struct_log.warning("generated warning 234", value=value)
+    else:
+        log.error("generated error 234")
+    return value + 234
+
+
+def generated_function_235(value):
+    log.info("generated info 235: %s", value)
+    if value > 235:
+        struct_log.warning("generated warning 235", value=value)
+    else:
+        log.error("generated error 235")
+    return value + 235
+
+
+def generated_function_236(value):
+    log.info("generated info 236: %s", value)
+    if value > 236:
+        struct_log.warning("generated warning 236", value=value)
+    else:
+        log.error("generated error 236")
+    return value + 236
+
+
+def generated_function_237(value):
+    log.info("generated info 237: %s", value)
+    if value > 237:
+        struct_log.warning("generated warning 237", value=value)
+    else:
+        log.error("generated error 237")
+    return value + 237
+
+
+def generated_function_238(value):
+    log.info("generated info 238: %s", value)
+    if value > 238:
+        struct_log.warning("generated warning 238", value=value)
+    else:
+        log.error("generated error 238")
+    return value + 238
+
+
+def generated_function_239(value):
+    log.info("generated info 239: %s", value)
+    if value > 239:
+        struct_log.warning("generated warning 239", value=value)
+    else:
+        log.error("generated error 239")
+    return value + 239
+
+
+def generated_function_240(value):
+    log.info("generated info 240: %s", value)
+    if value > 240:
+        struct_log.warning("generated warning 240", value=value)
+    else:
+        log.error("generated error 240")
+    return value + 240
+
+
+def generated_function_241(value):
+    log.info("generated info 241: %s", value)
+    if value > 241:
+        struct_log.warning("generated warning 241", value=value)
+    else:
+        log.error("generated error 241")
+    return value + 241
+
+
+def generated_function_242(value):
+    log.info("generated info 242: %s", value)
+    if value > 242:
+        struct_log.warning("generated warning 242", value=value)
+    else:
+        log.error("generated error 242")
+    return value + 242
+
+
+def generated_function_243(value):
+    log.info("generated info 243: %s", value)
+    if value > 243:
+        struct_log.warning("generated warning 243", value=value)
+    else:
+        log.error("generated error 243")
+    return value + 243
+
+
+def generated_function_244(value):
+    log.info("generated info 244: %s", value)
+    if value > 244:
+        struct_log.warning("generated warning 244", value=value)
+    else:
+        log.error("generated error 244")
+    return value + 244
+
+
+def generated_function_245(value):
+    log.info("generated info 245: %s", value)
+    if value > 245:
+        struct_log.warning("generated warning 245", value=value)
+    else:
+        log.error("generated error 245")
+    return value + 245
+
+
+def generated_function_246(value):
+    log.info("generated info 246: %s", value)
+    if value > 246:
+        struct_log.warning("generated warning 246", value=value)
+    else:
+        log.error("generated error 246")
+    return value + 246
+
+
+def generated_function_247(value):
+    log.info("generated info 247: %s", value)
+    if value > 247:
+        struct_log.warning("generated warning 247", value=value)
+    else:
+        log.error("generated error 247")
+    return value + 247
+
+
+def generated_function_248(value):
+    log.info("generated info 248: %s", value)
+    if value > 248:
+        struct_log.warning("generated warning 248", value=value)
+    else:
+        log.error("generated error 248")
+    return value + 248
+
+
+def generated_function_249(value):
+    log.info("generated info 249: %s", value)
+    if value > 249:
+        struct_log.warning("generated warning 249", value=value)
+    else:
+        log.error("generated error 249")
+    return value + 249
@@ -34,6 +34,7 @@ import spp.jetbrains.marker.source.mark.gutter.GutterMark
 import spp.jetbrains.marker.source.mark.inlay.InlayMark
 import spp.jetbrains.status.SourceStatusService
 import spp.protocol.artifact.ArtifactQualifiedName
+import java.util.concurrent.ConcurrentHashMap
 
 /**
  * Holds a collection of [SourceFileMarker]s for a given [Project].
@@ -67,6 +68,7 @@ class SourceMarker(private val project: Project) {
     val configuration: SourceMarkerConfiguration = SourceMarkerConfiguration()
     private val availableSourceFileMarkers = Maps.newConcurrentMap<Int, SourceFileMarker>()
     private val globalSourceMarkEventListeners = Lists.newArrayList<SourceMarkEventListener>()
+    private val marksByInstrumentId = ConcurrentHashMap<String, MutableSet<SourceMark>>()
 
     fun getSourceFileMarkers(): List<SourceFileMarker> {
         return availableSourceFileMarkers.values.toList()
@@ -187,8 +189,27 @@ class SourceMarker(private val project: Project) {
     }
 
     fun findByInstrumentId(instrumentId: String): List<SourceMark> {
-        return getSourceMarks().filter {
+        val sourceMarks = marksByInstrumentId[instrumentId] ?: return emptyList()
+        return sourceMarks.filter {
             it.getUserData(SourceMarkerKeys.INSTRUMENT_ID) == instrumentId
+                    && availableSourceFileMarkers[it.sourceFileMarker.hashCode()] === it.sourceFileMarker
+                    && it.sourceFileMarker.containsSourceMark(it)
+        }
+    }
+
+    /**
+     * Keeps [findByInstrumentId] from having to scan every source mark. Called whenever a source mark's
+     * [SourceMarkerKeys.INSTRUMENT_ID] changes or the source mark is disposed.
+     */
+    internal fun updateInstrumentIdIndex(sourceMark: SourceMark, oldInstrumentId: String?, newInstrumentId: String?) {
+        oldInstrumentId?.let { id ->
+            marksByInstrumentId.computeIfPresent(id) { _, marks ->
+                marks.remove(sourceMark)
+                if (marks.isEmpty()) null else marks
+            }
+        }
+        newInstrumentId?.let {
+            marksByInstrumentId.computeIfAbsent(it) { ConcurrentHashMap.newKeySet() }.add(sourceMark)
         }
     }
 
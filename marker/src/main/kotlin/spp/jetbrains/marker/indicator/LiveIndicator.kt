@@ -22,6 +22,7 @@ import com.intellij.openapi.project.DumbService
 import com.intellij.openapi.project.Project
 import io.vertx.core.eventbus.MessageConsumer
 import io.vertx.core.json.JsonObject
+import spp.jetbrains.LocalReferenceCodec
 import spp.jetbrains.UserData
 import spp.jetbrains.marker.SourceMarker
 import spp.jetbrains.marker.plugin.LiveStatusBarManager
@@ -36,6 +37,7 @@ import spp.protocol.instrument.event.LiveInstrumentEvent
 import spp.protocol.instrument.event.LiveInstrumentEventType
 import spp.protocol.platform.developer.SelfInfo
 import spp.protocol.service.SourceServices.Subscribe.toLiveInstrumentSubscriberAddress
+import spp.protocol.service.SourceServices.Subscribe.toLiveInstrumentSubscription
 
 @Suppress("unused")
 abstract class LiveIndicator(val project: Project) : Disposable {
@@ -77,6 +79,7 @@ abstract class LiveIndicator(val project: Project) : Disposable {
         vertx.cancelTimer(periodicTimerId)
     }
 
+    @Deprecated("Decodes every event of the developer", ReplaceWith("addBreakpointHitConsumer(id, listener)"))
     fun addBreakpointHitListener(id: String, listener: (LiveBreakpointHit) -> Unit): MessageConsumer<JsonObject> {
         val consumer = vertx.eventBus().consumer<JsonObject>(toLiveInstrumentSubscriberAddress(selfInfo.developer.id))
         consumer.handler {
@@ -88,6 +91,22 @@ abstract class LiveIndicator(val project: Project) : Disposable {
         return consumer
     }
 
+    /**
+     * Listens for the hits of the given breakpoint, which are received already decoded.
+     */
+    fun addBreakpointHitConsumer(
+        id: String,
+        listener: (LiveBreakpointHit) -> Unit
+    ): MessageConsumer<LiveInstrumentEvent> {
+        val address = toLiveInstrumentSubscription(id)
+        return LocalReferenceCodec.localConsumer<LiveInstrumentEvent>(vertx, address) {
+            val event = it.body()
+            if (event.eventType == LiveInstrumentEventType.BREAKPOINT_HIT) {
+                listener.invoke(event as LiveBreakpointHit)
+            }
+        }
+    }
+
     fun findByEndpointName(endpointName: String): GuideMark? {
         return SourceMarker.getInstance(project).getSourceMarks().filterIsInstance<GuideMark>().firstOrNull {
             it.getUserData(EndpointDetector.DETECTED_ENDPOINTS)?.any { it.name == endpointName } == true
@@ -21,9 +21,7 @@ import com.intellij.openapi.project.Project
 import com.intellij.openapi.util.Key
 import spp.jetbrains.marker.source.SourceFileMarker
 import spp.jetbrains.marker.source.mark.api.SourceMark
-import spp.jetbrains.marker.source.mark.inlay.InlayMark
 import spp.protocol.instrument.LiveBreakpoint
-import spp.protocol.instrument.LiveInstrument
 import spp.protocol.instrument.LiveLog
 import spp.protocol.instrument.LiveMeter
 import spp.protocol.service.listen.LiveInstrumentListener
@@ -43,11 +41,6 @@ interface LiveStatusBarManager {
     @Deprecated("Subscribe to view id instead")
     fun addViewEventListener(sourceMark: SourceMark, listener: LiveViewEventListener)
 
-    fun addActiveLiveInstrument(instrument: LiveInstrument)
-    fun removeActiveLiveInstrument(instrument: LiveInstrument)
-    fun getLogData(inlayMark: InlayMark): List<*>
-    fun removeLogData(inlayMark: InlayMark)
-
     companion object {
         val KEY = Key.create<LiveStatusBarManager>("SPP_LIVE_STATUS_BAR_MANAGER")
 
@@ -0,0 +1,92 @@
+/*
+ * Source++, the continuous feedback platform for developers.
+ * Copyright (C) 2022-2024 CodeBrig, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package spp.jetbrains.marker.source.info
+
+import com.intellij.openapi.diagnostic.logger
+import com.intellij.openapi.project.Project
+import com.intellij.openapi.util.Key
+import com.intellij.psi.PsiFile
+import com.intellij.psi.PsiNameIdentifierOwner
+import com.intellij.psi.util.CachedValue
+import io.vertx.kotlin.coroutines.await
+import spp.jetbrains.UserData
+import spp.jetbrains.executeBlockingReadActionWhenSmart
+import spp.jetbrains.marker.service.ArtifactCreationService
+import spp.jetbrains.marker.source.SourceFileMarker
+import spp.jetbrains.marker.source.info.LoggerCallSiteIndex.LoggerCallSite
+import spp.jetbrains.marker.source.info.LoggerDetector.Companion.DETECTED_LOGGER
+import spp.jetbrains.marker.source.info.LoggerDetector.DetectedLogger
+import spp.jetbrains.marker.source.mark.api.SourceMark
+import spp.jetbrains.marker.source.mark.guide.MethodGuideMark
+
+/**
+ * Base class for logger detectors which locate log statements via a [LoggerCallSiteIndex]. Concrete detectors are
+ * only responsible for building the index of a file; the index is cached on the file and shared by every function
+ * within it.
+ *
+ * @since 0.7.10
+ * @author [Brandon Fergerson](mailto:bfergerson@apache.org)
+ */
+abstract class IndexedLoggerDetector(val project: Project) : LoggerDetector {
+
+    companion object {
+        private val log = logger<IndexedLoggerDetector>()
+    }
+
+    abstract val indexKey: Key<CachedValue<LoggerCallSiteIndex>>
+
+    /**
+     * Scans the given file for log statement call sites. Invoked at most once per file modification.
+     */
+    abstract fun buildIndex(psiFile: PsiFile): LoggerCallSiteIndex
+
+    fun getIndex(psiFile: PsiFile): LoggerCallSiteIndex {
+        return LoggerCallSiteIndex.getIndex(psiFile, indexKey) { buildIndex(it) }
+    }
+
+    override suspend fun determineLoggerStatements(guideMark: MethodGuideMark): List<DetectedLogger> {
+        return determineLoggerStatements(guideMark.getPsiMethod(), guideMark.sourceFileMarker)
+    }
+
+    suspend fun determineLoggerStatements(
+        function: PsiNameIdentifierOwner,
+        fileMarker: SourceFileMarker
+    ): List<DetectedLogger> {
+        return UserData.vertx(project).executeBlockingReadActionWhenSmart(project) {
+            if (!function.isValid) return@executeBlockingReadActionWhenSmart emptyList()
+
+            val callSites = getIndex(function.containingFile).getCallSites(function.textRange)
+            callSites.map { markLoggerStatement(it, fileMarker) }
+        }.await()
+    }
+
+    private fun markLoggerStatement(callSite: LoggerCallSite, fileMarker: SourceFileMarker): DetectedLogger {
+        log.debug("Found log statement: ${callSite.logPattern}")
+        val detectedLogger = DetectedLogger(callSite.logPattern, callSite.level, callSite.lineNumber)
+
+        //create expression guide mark for the log statement
+        val guideMark = ArtifactCreationService.createExpressionGuideMark(fileMarker, detectedLogger.lineLocation)
+        if (!fileMarker.containsSourceMark(guideMark)) {
+            guideMark.putUserData(DETECTED_LOGGER, detectedLogger)
+            guideMark.apply(true)
+        } else {
+            fileMarker.getSourceMark(guideMark.artifactQualifiedName, SourceMark.Type.GUIDE)
+                ?.putUserData(DETECTED_LOGGER, detectedLogger)
+        }
+        return detectedLogger
+    }
+}
@@ -0,0 +1,96 @@
+/*
+ * Source++, the continuous feedback platform for developers.
+ * Copyright (C) 2022-2024 CodeBrig, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package spp.jetbrains.marker.source.info
+
+import com.intellij.openapi.util.Key
+import com.intellij.openapi.util.TextRange
+import com.intellij.psi.PsiFile
+import com.intellij.psi.util.CachedValue
+import com.intellij.psi.util.CachedValueProvider
+import com.intellij.psi.util.CachedValuesManager
+
+/**
+ * Per-file index of candidate log statement call sites. Built once per file modification by a language specific
+ * [LoggerDetector] and then queried per function by text range, so determining the log statements of a function
+ * is a binary search rather than a PSI walk.
+ *
+ * @since 0.7.10
+ * @author [Brandon Fergerson](mailto:bfergerson@apache.org)
+ */
+class LoggerCallSiteIndex(callSites: List<LoggerCallSite>) {
+
+    companion object {
+        @JvmStatic
+        val EMPTY = LoggerCallSiteIndex(emptyList())
+
+        /**
+         * Returns the cached [LoggerCallSiteIndex] for the given file, building it with [builder] if the file
+         * has been modified since the index was last built. Must be called from within a read action.
+         */
+        @JvmStatic
+        fun getIndex(
+            psiFile: PsiFile,
+            key: Key<CachedValue<LoggerCallSiteIndex>>,
+            builder: (PsiFile) -> LoggerCallSiteIndex
+        ): LoggerCallSiteIndex {
+            return CachedValuesManager.getCachedValue(psiFile, key) {
+                CachedValueProvider.Result.create(builder(psiFile), psiFile)
+            }
+        }
+    }
+
+    private val callSites = callSites.sortedBy { it.offset }
+
+    val size: Int
+        get() = callSites.size
+
+    /**
+     * Returns the call sites which start within the given text range, in document order.
+     */
+    fun getCallSites(range: TextRange): List<LoggerCallSite> {
+        if (callSites.isEmpty()) return emptyList()
+
+        var low = 0
+        var high = callSites.size
+        while (low < high) {
+            val mid = (low + high) ushr 1
+            if (callSites[mid].offset < range.startOffset) low = mid + 1 else high = mid
+        }
+
+        val result = mutableListOf<LoggerCallSite>()
+        var i = low
+        while (i < callSites.size && callSites[i].offset < range.endOffset) {
+            result.add(callSites[i++])
+        }
+        return result
+    }
+
+    /**
+     * Represents a potential log statement within a file.
+     *
+     * @param offset the start offset of the call expression
+     * @param lineNumber the (1-based) line number of the call expression
+     * @param logPattern the log message/template passed to the logger
+     * @param level the normalized log level (i.e. trace, debug, info, warn, error)
+     */
+    data class LoggerCallSite(
+        val offset: Int,
+        val lineNumber: Int,
+        val logPattern: String,
+        val level: String
+    )
+}
@@ -44,6 +44,7 @@ import spp.jetbrains.ScopeExtensions.safeRunBlocking
 import spp.jetbrains.SourceKey
 import spp.jetbrains.invokeLater
 import spp.jetbrains.marker.SourceMarker
+import spp.jetbrains.marker.SourceMarkerKeys
 import spp.jetbrains.marker.SourceMarkerUtils.doOnDispatchThread
 import spp.jetbrains.marker.plugin.SourceInlayComponentProvider
 import spp.jetbrains.marker.plugin.SourceInlayHintProvider
@@ -252,6 +253,9 @@ interface SourceMark : JBPopupListener, MouseMotionListener, VisibleAreaListener
 
     private fun doDispose(removeFromMarker: Boolean, assertRemoval: Boolean) {
         removeMarkFromUserData()
+        getUserData(SourceMarkerKeys.INSTRUMENT_ID)?.let {
+            SourceMarker.getInstance(project).updateInstrumentIdIndex(this, it, null)
+        }
 
         if (this is InlayMark) {
             configuration.inlayRef?.get()?.let { doOnDispatchThread { Disposer.dispose(it) } }
@@ -312,6 +316,11 @@ interface SourceMark : JBPopupListener, MouseMotionListener, VisibleAreaListener
     val userData: HashMap<Any, Any>
     fun <T> getUserData(key: SourceKey<T>): T? = userData[key] as T?
     fun <T> putUserData(key: SourceKey<T>, value: T?) {
+        if (key === SourceMarkerKeys.INSTRUMENT_ID) {
+            SourceMarker.getInstance(project).updateInstrumentIdIndex(
+                this, userData[key] as String?, value as String?
+            )
+        }
         if (value != null) {
             userData.put(key, value)
         } else {
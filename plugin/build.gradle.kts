@@ -200,6 +200,18 @@ tasks {
 
     test {
         useJUnitPlatform()
+
+        //load tests run for several seconds against a fake platform, so they have their own task
+        exclude("**/*HarnessTest*")
+    }
+
+    register<Test>("harnessTest") {
+        description = "Runs the live platform load tests."
+        group = "verification"
+        testClassesDirs = sourceSets["test"].output.classesDirs
+        classpath = sourceSets["test"].runtimeClasspath
+        useJUnitPlatform()
+        include("**/*HarnessTest*")
     }
 }
 
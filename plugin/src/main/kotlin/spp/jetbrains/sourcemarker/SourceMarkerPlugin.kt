@@ -42,20 +42,33 @@ import eu.geekplace.javapinning.JavaPinning
 import eu.geekplace.javapinning.pin.Pin
 import io.vertx.core.*
 import io.vertx.core.http.HttpClientOptions
+import io.vertx.core.http.HttpClientResponse
 import io.vertx.core.http.RequestOptions
 import io.vertx.core.json.DecodeException
 import io.vertx.core.json.Json
 import io.vertx.core.json.JsonObject
 import io.vertx.core.net.TrustOptions
 import io.vertx.kotlin.coroutines.await
+import io.vertx.kotlin.coroutines.dispatcher
 import io.vertx.servicediscovery.ServiceDiscovery
 import io.vertx.servicediscovery.ServiceDiscoveryOptions
 import io.vertx.servicediscovery.impl.DiscoveryImpl
 import io.vertx.serviceproxy.ServiceProxyBuilder
 import kotlinx.coroutines.CancellationException
+import kotlinx.coroutines.CoroutineScope
+import kotlinx.coroutines.Dispatchers
 import kotlinx.coroutines.Job
+import kotlinx.coroutines.SupervisorJob
+import kotlinx.coroutines.async
+import kotlinx.coroutines.cancel
+import kotlinx.coroutines.cancelAndJoin
+import kotlinx.coroutines.coroutineScope
+import kotlinx.coroutines.delay
+import kotlinx.coroutines.isActive
+import kotlinx.coroutines.launch
 import liveplugin.implementation.LivePluginProjectLoader
 import org.apache.commons.text.CaseUtils
+import spp.jetbrains.LocalReferenceCodec
 import spp.jetbrains.PluginBundle.message
 import spp.jetbrains.ScopeExtensions.safeRunBlocking
 import spp.jetbrains.UserData
@@ -67,12 +80,17 @@ import spp.jetbrains.marker.plugin.LivePluginService
 import spp.jetbrains.marker.plugin.LiveStatusBarManager
 import spp.jetbrains.marker.plugin.SourceInlayHintProvider
 import spp.jetbrains.marker.plugin.SourceMarkerStartupActivity
-import spp.jetbrains.safeLaunch
+import spp.jetbrains.marker.source.mark.api.event.SourceMarkEvent
+import spp.jetbrains.marker.source.mark.api.event.SourceMarkEventCode
+import spp.jetbrains.marker.source.mark.api.event.SourceMarkEventListener
 import spp.jetbrains.sourcemarker.command.status.LiveStatusBarManagerImpl
 import spp.jetbrains.sourcemarker.config.SourceMarkerConfig
 import spp.jetbrains.sourcemarker.config.getServicePortNormalized
 import spp.jetbrains.sourcemarker.config.isSsl
 import spp.jetbrains.sourcemarker.config.serviceHostNormalized
+import spp.jetbrains.sourcemarker.diagnostics.PluginMetrics
+import spp.jetbrains.sourcemarker.diagnostics.StartupReport
+import spp.jetbrains.sourcemarker.discover.ReconnectBackoff
 import spp.jetbrains.sourcemarker.discover.TCPServiceDiscoveryBackend
 import spp.jetbrains.sourcemarker.instrument.InstrumentEventWindowService
 import spp.jetbrains.sourcemarker.instrument.LiveInstrumentEventListener
@@ -90,6 +108,7 @@ import spp.protocol.service.LiveInstrumentService
 import spp.protocol.service.LiveManagementService
 import spp.protocol.service.LiveViewService
 import spp.protocol.service.SourceServices
+import spp.protocol.view.LiveViewEvent
 import java.io.File
 import java.net.ConnectException
 import java.util.*
@@ -114,6 +133,8 @@ class SourceMarkerPlugin : SourceMarkerStartupActivity() {
             if (project.getUserData(KEY) == null) {
                 val plugin = SourceMarkerPlugin()
                 plugin.project = project
+                plugin.projectScope = CoroutineScope(SupervisorJob() + Dispatchers.Default)
+                Disposer.register(project) { plugin.projectScope.cancel() }
                 project.putUserData(SourceStatusService.KEY, SourceStatusServiceImpl(project))
                 project.putUserData(KEY, plugin)
             }
@@ -122,7 +143,9 @@ class SourceMarkerPlugin : SourceMarkerStartupActivity() {
     }
 
     private lateinit var project: Project
+    private lateinit var projectScope: CoroutineScope
     private var loadLivePluginsLock = ReentrantLock()
+    private var initJob: Job? = null
     private var connectionJob: Job? = null
     private var discovery: ServiceDiscovery? = null
     private var addedConfigListener = false
@@ -132,17 +155,52 @@ class SourceMarkerPlugin : SourceMarkerStartupActivity() {
             return //tests manually set up necessary components
         }
 
-        //setup plugin
-        safeRunBlocking { getInstance(project).init() }
-
-        //make sure live view managers are initialized
-        LiveViewChartManagerImpl.init(project)
-        LiveViewTraceManagerImpl.init(project)
-        LiveViewLogManagerImpl.init(project)
+        //setup plugin in the background so opening the project doesn't wait on the live platform
+        val plugin = getInstance(project)
+        SourceStatusService.getInstance(project).update(Pending, "Connecting to Live Platform")
+        plugin.launchInit {
+            //make sure live view managers are initialized
+            LiveViewChartManagerImpl.init(project)
+            LiveViewTraceManagerImpl.init(project)
+            LiveViewLogManagerImpl.init(project)
+        }
 
         super.runActivity(project)
     }
 
+    /**
+     * Runs [init] on the project's coroutine scope, which is cancelled when the project closes. Any previously
+     * launched init is cancelled and joined first, so only one init runs at a time. Failures are surfaced as
+     * [ConnectionError] through the [SourceStatusService].
+     */
+    @Synchronized
+    fun launchInit(configInput: SourceMarkerConfig? = null, onInitialized: () -> Unit = {}): Job {
+        val previousInit = initJob
+        return projectScope.launch {
+            previousInit?.cancelAndJoin()
+            try {
+                init(configInput)
+                onInitialized()
+            } catch (cancelled: CancellationException) {
+                throw cancelled
+            } catch (throwable: Throwable) {
+                log.warn("Failed to initialize plugin", throwable)
+                SourceStatusService.getInstance(project).update(ConnectionError, throwable.message)
+            }
+        }.also { initJob = it }
+    }
+
+    /**
+     * Repeatedly runs [launchInit] on the project's coroutine scope, waiting for the given backoff before each
+     * attempt, until the returned job is cancelled or the project closes.
+     */
+    fun launchPeriodicInit(backoff: ReconnectBackoff): Job = projectScope.launch {
+        while (isActive) {
+            delay(backoff.nextDelayMs())
+            launchInit().join()
+        }
+    }
+
     suspend fun init(configInput: SourceMarkerConfig? = null) {
         log.info("Initializing SourceMarkerPlugin on project: $project")
         disposePlugin()
@@ -164,65 +222,98 @@ class SourceMarkerPlugin : SourceMarkerStartupActivity() {
         }
         val vertx = UserData.vertx(project, Vertx.vertx(options))
         vertx.eventBus().registerDefaultCodec(SourceStatus::class.java, LocalMessageCodec())
+        vertx.eventBus().registerDefaultCodec(LiveViewEvent::class.java, LocalMessageCodec())
+        vertx.eventBus().registerCodec(LocalReferenceCodec())
+        PluginMetrics.getInstance(project).install(vertx)
 
         LivePluginProjectLoader.projectOpened(project)
 
         val config = configInput ?: getConfig()
         addSppPluginConfigChangeListener()
 
-        connectionJob?.cancel()
-        connectionJob = null
+        //the connection belongs to the project, so closing the project also cancels an in-progress handshake
+        connectionJob = projectScope.launch(vertx.dispatcher()) {
+            val startup = StartupReport()
+            coroutineScope {
+                //local marker setup doesn't depend on the live platform, so it runs during the handshake
+                val markersReady = async {
+                    try {
+                        startup.phase("markers") { initMarker(vertx) }
+                    } catch (cancelled: CancellationException) {
+                        throw cancelled
+                    } catch (throwable: Throwable) {
+                        log.error("Unable to initialize marker", throwable)
+                    }
+                }
 
-        connectionJob = vertx.safeLaunch {
-            try {
-                initServices(vertx, config)
-                SourceStatusService.getInstance(project).start(config.serviceName)
-
-                if (!config.notifiedConnection) {
-                    val pluginName = message("plugin_name")
-                    Notifications.Bus.notify(
-                        Notification(
-                            message("plugin_name"), "Connection established",
-                            "You have successfully connected. $pluginName is now fully activated.",
-                            NotificationType.INFORMATION
-                        ),
-                        project
-                    )
-                    config.notifiedConnection = true
+                try {
+                    startup.phase("connect") { initServices(vertx, config, startup) }
+                    SourceStatusService.getInstance(project).start(config.serviceName)
+
+                    if (!config.notifiedConnection) {
+                        val pluginName = message("plugin_name")
+                        Notifications.Bus.notify(
+                            Notification(
+                                message("plugin_name"), "Connection established",
+                                "You have successfully connected. $pluginName is now fully activated.",
+                                NotificationType.INFORMATION
+                            ),
+                            project
+                        )
+                        config.notifiedConnection = true
+
+                        val projectSettings = PropertiesComponent.getInstance(project)
+                        projectSettings.setValue("sourcemarker_plugin_config", Json.encode(config))
+                    }
+                } catch (cancelled: CancellationException) {
+                    throw cancelled
+                } catch (throwable: Throwable) {
+                    SourceStatusService.getInstance(project).update(ConnectionError, throwable.message)
+                    log.warn("Connection failed", throwable)
+                    return@coroutineScope
+                }
 
-                    val projectSettings = PropertiesComponent.getInstance(project)
-                    projectSettings.setValue("sourcemarker_plugin_config", Json.encode(config))
+                //live plugins use both the marker and the live services
+                markersReady.await()
+                try {
+                    startup.phase("plugins") { loadLivePlugins() }
+                } catch (cancelled: CancellationException) {
+                    throw cancelled
+                } catch (throwable: Throwable) {
+                    log.error("Unable to load live plugins", throwable)
                 }
-            } catch (ignored: CancellationException) {
-            } catch (throwable: Throwable) {
-                SourceStatusService.getInstance(project).update(ConnectionError, throwable.message)
-                log.warn("Connection failed", throwable)
-                return@safeLaunch
             }
 
-            val pluginsPromise = Promise.promise<Nothing>()
-            ProgressManager.getInstance()
-                .run(object : Task.Backgroundable(project, "Loading Source++ plugins", false, ALWAYS_BACKGROUND) {
-                    override fun run(indicator: ProgressIndicator) {
-                        if (loadLivePluginsLock.tryLock()) {
-                            SourceStatusService.getInstance(project).onStatusChange {
-                                if (it == PluginsLoaded) {
-                                    initMarker(vertx)
-                                }
-                            }
+            log.info(startup.toString())
+            startup.publish(PluginMetrics.getInstance(project))
+        }
+    }
 
-                            log.info("Loading live plugins for project: $project")
-                            project.getUserData(LivePluginService.LIVE_PLUGIN_LOADER)!!.invoke()
-                            log.info("Loaded live plugins for project: $project")
-                            pluginsPromise.complete()
-                            loadLivePluginsLock.unlock()
-                        } else {
-                            log.warn("Ignoring extraneous live plugins load request for project: $project")
+    private suspend fun loadLivePlugins() {
+        val pluginsPromise = Promise.promise<Nothing>()
+        ProgressManager.getInstance()
+            .run(object : Task.Backgroundable(project, "Loading Source++ plugins", false, ALWAYS_BACKGROUND) {
+                override fun run(indicator: ProgressIndicator) {
+                    if (loadLivePluginsLock.tryLock()) {
+                        SourceStatusService.getInstance(project).onStatusChange {
+                            if (it == PluginsLoaded) {
+                                //force marker re-processing
+                                DaemonCodeAnalyzer.getInstance(project).restart()
+                            }
                         }
+
+                        log.info("Loading live plugins for project: $project")
+                        project.getUserData(LivePluginService.LIVE_PLUGIN_LOADER)!!.invoke()
+                        log.info("Loaded live plugins for project: $project")
+                        pluginsPromise.complete()
+                        loadLivePluginsLock.unlock()
+                    } else {
+                        log.warn("Ignoring extraneous live plugins load request for project: $project")
+                        pluginsPromise.complete()
                     }
-                })
-            pluginsPromise.future().await()
-        }
+                }
+            })
+        pluginsPromise.future().await()
     }
 
     private fun addSppPluginConfigChangeListener() {
@@ -239,7 +330,7 @@ class SourceMarkerPlugin : SourceMarkerStartupActivity() {
                         val localConfig = loadSppPluginFileConfiguration()
                         if (localConfig != null && localConfig.override) {
                             log.info("Local config updated. Reloading plugin.")
-                            safeRunBlocking { init(localConfig) }
+                            launchInit(localConfig)
                         }
                     }
                 }
@@ -331,79 +422,120 @@ class SourceMarkerPlugin : SourceMarkerStartupActivity() {
         return null
     }
 
-    private suspend fun discoverAvailableServices(vertx: Vertx, config: SourceMarkerConfig) {
+    private suspend fun discoverAvailableServices(
+        vertx: Vertx,
+        config: SourceMarkerConfig,
+        startup: StartupReport
+    ) = coroutineScope<Unit> {
         SourceStatusService.getInstance(project).update(Pending, "Discovering available services")
-        setupServiceDiscoveryBackend(vertx, config)
-
         val liveStatusManager = LiveStatusBarManagerImpl(project, vertx)
         project.putUserData(LiveStatusBarManager.KEY, liveStatusManager)
 
-        log.info("Discovering available services")
-        val availableRecords = discovery!!.getRecords { true }.await()
-        log.info("Discovered $availableRecords.size services")
-
-        //live service
-        if (availableRecords.any { it.name == SourceServices.LIVE_MANAGEMENT }) {
-            log.info("Live management available")
-
-            val liveManagementService = ServiceProxyBuilder(vertx)
-                .apply { config.accessToken?.let { setToken(it) } }
-                .setAddress(SourceServices.LIVE_MANAGEMENT)
-                .build(LiveManagementService::class.java)
-            UserData.liveManagementService(project, liveManagementService)
-
-            //todo: selfInfo listener to trigger on changes
-            log.info("Getting self info")
-            val selfInfo = liveManagementService.getSelf().await()
-            UserData.selfInfo(project, selfInfo)
-            log.info("Self info: $selfInfo")
-        } else {
-            log.warn("Live management unavailable")
+        val availableRecords = startup.phase("discovery") {
+            setupServiceDiscoveryBackend(vertx, config)
+
+            log.info("Discovering available services")
+            discovery!!.getRecords { true }.await()
         }
+        log.info("Discovered ${availableRecords.size} services")
 
-        //live instrument
-        if (availableRecords.any { it.name == SourceServices.LIVE_INSTRUMENT }) {
-            log.info("Live instruments available")
+        //each service only depends on the discovered records, except instrument events which need self info
+        val metrics = PluginMetrics.getInstance(project)
+        val selfInfoReady = async {
+            if (availableRecords.any { it.name == SourceServices.LIVE_MANAGEMENT }) {
+                startup.phase("management") { setupLiveManagement(vertx, config, metrics) }
+            } else {
+                log.warn("Live management unavailable")
+            }
+        }
 
-            val liveInstrument = ServiceProxyBuilder(vertx)
-                .apply { config.accessToken?.let { setToken(it) } }
-                .setAddress(SourceServices.LIVE_INSTRUMENT)
-                .build(LiveInstrumentService::class.java)
-            val instrumentService = UserData.liveInstrumentService(project, liveInstrument)
+        launch {
+            if (availableRecords.any { it.name == SourceServices.LIVE_INSTRUMENT }) {
+                selfInfoReady.await()
+                startup.phase("instruments") { setupLiveInstruments(vertx, config, metrics) }
+            } else {
+                log.warn("Live instruments unavailable")
+            }
+        }
 
-            project.invokeLater {
-                InstrumentEventWindowService.getInstance(project).makeOverviewTab()
+        launch {
+            if (availableRecords.any { it.name == SourceServices.LIVE_VIEW }) {
+                startup.phase("views") { setupLiveViews(vertx, config, metrics) }
+            } else {
+                log.warn("Live views unavailable")
             }
-            val eventListener = LiveInstrumentEventListener(instrumentService, project, config)
-            vertx.deployVerticle(eventListener).await()
-            SourceMarker.getInstance(project).addGlobalSourceMarkEventListener(eventListener)
-        } else {
-            log.warn("Live instruments unavailable")
         }
 
-        //live view
-        if (availableRecords.any { it.name == SourceServices.LIVE_VIEW }) {
-            log.info("Live views available")
-            val liveView = ServiceProxyBuilder(vertx)
-                .apply { config.accessToken?.let { setToken(it) } }
-                .setAddress(SourceServices.LIVE_VIEW)
-                .build(LiveViewService::class.java)
-            UserData.liveViewService(project, liveView)
-
-            val eventListener = LiveViewEventListener(project, config)
-            vertx.deployVerticle(eventListener).await()
-        } else {
-            log.warn("Live views unavailable")
+        launch {
+            val insightServiceAvailable = availableRecords.any { it.name == SourceServices.LIVE_INSIGHT }
+            if (insightServiceAvailable || availableRecords.any { it.name == SourceServices.LIVE_VIEW }) {
+                startup.phase("insights") {
+                    val insightManager = LiveInsightManager(insightServiceAvailable)
+                    vertx.deployVerticle(insightManager, DeploymentOptions().setWorker(true)).await()
+                    addGlobalListenerWithReplay(insightManager)
+                }
+            } else {
+                log.warn("Live insights unavailable")
+            }
         }
+    }
 
-        //live insight
-        val insightServiceAvailable = availableRecords.any { it.name == SourceServices.LIVE_INSIGHT }
-        if (insightServiceAvailable || availableRecords.any { it.name == SourceServices.LIVE_VIEW }) {
-            val insightManager = LiveInsightManager(insightServiceAvailable)
-            vertx.deployVerticle(insightManager, DeploymentOptions().setWorker(true)).await()
-            SourceMarker.getInstance(project).addGlobalSourceMarkEventListener(insightManager)
-        } else {
-            log.warn("Live insights unavailable")
+    private suspend fun setupLiveManagement(vertx: Vertx, config: SourceMarkerConfig, metrics: PluginMetrics) {
+        log.info("Live management available")
+        val liveManagementService = ServiceProxyBuilder(vertx)
+            .apply { config.accessToken?.let { setToken(it) } }
+            .setAddress(SourceServices.LIVE_MANAGEMENT)
+            .build(LiveManagementService::class.java)
+            .let { metrics.timed(LiveManagementService::class.java, it) }
+        UserData.liveManagementService(project, liveManagementService)
+
+        //todo: selfInfo listener to trigger on changes
+        log.info("Getting self info")
+        val selfInfo = liveManagementService.getSelf().await()
+        UserData.selfInfo(project, selfInfo)
+        log.info("Self info: $selfInfo")
+    }
+
+    private suspend fun setupLiveInstruments(vertx: Vertx, config: SourceMarkerConfig, metrics: PluginMetrics) {
+        log.info("Live instruments available")
+        val liveInstrument = ServiceProxyBuilder(vertx)
+            .apply { config.accessToken?.let { setToken(it) } }
+            .setAddress(SourceServices.LIVE_INSTRUMENT)
+            .build(LiveInstrumentService::class.java)
+            .let { metrics.timed(LiveInstrumentService::class.java, it) }
+        val instrumentService = UserData.liveInstrumentService(project, liveInstrument)
+
+        project.invokeLater {
+            InstrumentEventWindowService.getInstance(project).makeOverviewTab()
+        }
+        val eventListener = LiveInstrumentEventListener(instrumentService, project, config)
+        vertx.deployVerticle(eventListener).await()
+        addGlobalListenerWithReplay(eventListener)
+    }
+
+    private suspend fun setupLiveViews(vertx: Vertx, config: SourceMarkerConfig, metrics: PluginMetrics) {
+        log.info("Live views available")
+        val liveView = ServiceProxyBuilder(vertx)
+            .apply { config.accessToken?.let { setToken(it) } }
+            .setAddress(SourceServices.LIVE_VIEW)
+            .build(LiveViewService::class.java)
+            .let { metrics.timed(LiveViewService::class.java, it) }
+        UserData.liveViewService(project, liveView)
+
+        val eventListener = LiveViewEventListener(project, config)
+        vertx.deployVerticle(eventListener).await()
+    }
+
+    /**
+     * Adds the given global listener and replays [SourceMarkEventCode.MARK_ADDED] for the marks that already
+     * exist, as marker setup runs concurrently with the connection and may create marks before the listener is
+     * added.
+     */
+    private fun addGlobalListenerWithReplay(listener: SourceMarkEventListener) {
+        val sourceMarker = SourceMarker.getInstance(project)
+        sourceMarker.addGlobalSourceMarkEventListener(listener)
+        sourceMarker.getSourceMarks().forEach {
+            listener.handleEvent(SourceMarkEvent(it, SourceMarkEventCode.MARK_ADDED))
         }
     }
 
@@ -427,6 +559,8 @@ class SourceMarkerPlugin : SourceMarkerStartupActivity() {
 
     suspend fun disposePlugin() {
         log.info("Disposing Source++ plugin. Project: ${project.name}")
+        connectionJob?.cancelAndJoin()
+        connectionJob = null
         SourceMarker.getInstance(project).clearAvailableSourceFileMarkers()
         SourceMarker.getInstance(project).clearGlobalSourceMarkEventListeners()
 
@@ -437,29 +571,34 @@ class SourceMarkerPlugin : SourceMarkerStartupActivity() {
         discovery = null
 
         if (UserData.hasVertx(project)) {
+            PluginMetrics.getInstance(project).uninstall()
             UserData.vertx(project).close().await()
         }
         UserData.clear(project)
     }
 
-    private suspend fun initServices(vertx: Vertx, config: SourceMarkerConfig) {
+    private suspend fun initServices(vertx: Vertx, config: SourceMarkerConfig, startup: StartupReport) {
         SourceStatusService.getInstance(project).update(Pending, "Logging in")
 
         if (!config.serviceHost.isNullOrBlank()) {
-            connectToConfiguredService(vertx, config)
+            connectToConfiguredService(vertx, config, startup)
         } else {
             //try default local access
             try {
-                tryDefaultAccess(vertx, true, config)
+                tryDefaultAccess(vertx, true, config, startup)
             } catch (ignore: SSLHandshakeException) {
-                tryDefaultAccess(vertx, false, config)
+                tryDefaultAccess(vertx, false, config, startup)
             } catch (e: Exception) {
                 log.warn("Unable to find local live platform", e)
             }
         }
     }
 
-    private suspend fun connectToConfiguredService(vertx: Vertx, config: SourceMarkerConfig) {
+    private suspend fun connectToConfiguredService(
+        vertx: Vertx,
+        config: SourceMarkerConfig,
+        startup: StartupReport
+    ) {
         val certificatePins = mutableListOf<String>()
         certificatePins.addAll(config.certificatePins)
         val httpClientOptions = if (certificatePins.isNotEmpty()) {
@@ -481,6 +620,25 @@ class SourceMarkerPlugin : SourceMarkerStartupActivity() {
         }
 
         val tokenUri = "/api/new-token?authorization_code=" + config.authorizationCode
+        val resp = startup.phase("token") { requestToken(vertx, httpClientOptions, config, tokenUri) }
+        if (resp.statusCode() in 200..299) {
+            val body = resp.body().await().toString()
+            if (resp.statusCode() != 202) {
+                config.accessToken = body
+            }
+
+            discoverAvailableServices(vertx, config, startup)
+        } else {
+            error("Error getting service token: ${resp.statusCode()} ${resp.statusMessage()}")
+        }
+    }
+
+    private suspend fun requestToken(
+        vertx: Vertx,
+        httpClientOptions: HttpClientOptions,
+        config: SourceMarkerConfig,
+        tokenUri: String
+    ): HttpClientResponse {
         val req = try {
             vertx.createHttpClient(httpClientOptions).request(
                 RequestOptions()
@@ -506,32 +664,28 @@ class SourceMarkerPlugin : SourceMarkerStartupActivity() {
             }
         }
         req.end().await()
-        val resp = req.response().await()
-        if (resp.statusCode() in 200..299) {
-            val body = resp.body().await().toString()
-            if (resp.statusCode() != 202) {
-                config.accessToken = body
-            }
-
-            discoverAvailableServices(vertx, config)
-        } else {
-            error("Error getting service token: ${resp.statusCode()} ${resp.statusMessage()}")
-        }
+        return req.response().await()
     }
 
-    private suspend fun tryDefaultAccess(vertx: Vertx, ssl: Boolean, config: SourceMarkerConfig) {
+    private suspend fun tryDefaultAccess(
+        vertx: Vertx,
+        ssl: Boolean,
+        config: SourceMarkerConfig,
+        startup: StartupReport
+    ) {
         val defaultAuthorizationCode = "change-me"
         val tokenUri = "/api/new-token?authorization_code=$defaultAuthorizationCode"
-        val req = vertx.createHttpClient(HttpClientOptions().setSsl(ssl).setVerifyHost(false).setTrustAll(true))
-            .request(
-                RequestOptions()
-                    .setHost("localhost")
-                    .setPort(SourceMarkerConfig.DEFAULT_SERVICE_PORT)
-                    .setURI(tokenUri)
-            ).await()
-        req.end().await()
-
-        val resp = req.response().await()
+        val resp = startup.phase(if (ssl) "token-default-ssl" else "token-default") {
+            val req = vertx.createHttpClient(HttpClientOptions().setSsl(ssl).setVerifyHost(false).setTrustAll(true))
+                .request(
+                    RequestOptions()
+                        .setHost("localhost")
+                        .setPort(SourceMarkerConfig.DEFAULT_SERVICE_PORT)
+                        .setURI(tokenUri)
+                ).await()
+            req.end().await()
+            req.response().await()
+        }
         if (resp.statusCode() in 200..299) {
             if (resp.statusCode() != 202) {
                 val body = resp.body().await().toString()
@@ -549,7 +703,7 @@ class SourceMarkerPlugin : SourceMarkerStartupActivity() {
             val projectSettings = PropertiesComponent.getInstance(project)
             projectSettings.setValue("sourcemarker_plugin_config", Json.encode(config))
 
-            discoverAvailableServices(vertx, config)
+            discoverAvailableServices(vertx, config, startup)
 
             //auto-established notification
             Notifications.Bus.notify(
@@ -570,17 +724,20 @@ class SourceMarkerPlugin : SourceMarkerStartupActivity() {
         }
     }
 
-    private fun initMarker(vertx: Vertx) {
+    private suspend fun initMarker(vertx: Vertx) {
         log.info("Initializing marker")
-        val originalClassLoader = Thread.currentThread().contextClassLoader
-        try {
-            Thread.currentThread().contextClassLoader = javaClass.classLoader
-            ServiceLoader.load(LanguageProvider::class.java).forEach {
-                if (it.canSetup()) it.setup(project)
+        vertx.executeBlocking<Nothing>({
+            val originalClassLoader = Thread.currentThread().contextClassLoader
+            try {
+                Thread.currentThread().contextClassLoader = javaClass.classLoader
+                ServiceLoader.load(LanguageProvider::class.java).forEach {
+                    if (it.canSetup()) it.setup(project)
+                }
+            } finally {
+                Thread.currentThread().contextClassLoader = originalClassLoader
             }
-        } finally {
-            Thread.currentThread().contextClassLoader = originalClassLoader
-        }
+            it.complete()
+        }, false).await()
 
         vertx.deployVerticle(CodeChangeListener(project)).onFailure {
             log.error("Unable to deploy code change listener", it)
@@ -21,10 +21,10 @@ import com.intellij.openapi.diagnostic.logger
 import com.intellij.openapi.editor.Editor
 import com.intellij.openapi.fileEditor.FileEditorManager
 import com.intellij.openapi.project.Project
+import com.intellij.openapi.util.Disposer
 import io.vertx.core.Vertx
 import spp.jetbrains.UserData
 import spp.jetbrains.artifact.service.ArtifactScopeService
-import spp.jetbrains.command.util.CircularList
 import spp.jetbrains.icons.PluginIcons
 import spp.jetbrains.invokeLater
 import spp.jetbrains.marker.SourceMarkerKeys
@@ -40,9 +40,11 @@ import spp.jetbrains.marker.source.SourceFileMarker
 import spp.jetbrains.marker.source.mark.api.SourceMark
 import spp.jetbrains.marker.source.mark.api.component.api.config.SourceMarkComponentConfiguration
 import spp.jetbrains.marker.source.mark.api.component.swing.SwingSourceMarkComponentProvider
+import spp.jetbrains.marker.source.mark.api.event.SourceMarkEventCode
 import spp.jetbrains.marker.source.mark.inlay.InlayMark
 import spp.jetbrains.sourcemarker.SourceMarkerPlugin
 import spp.jetbrains.sourcemarker.command.status.ui.*
+import spp.jetbrains.view.LiveViewSubscriptionBroker
 import spp.protocol.instrument.*
 import spp.protocol.instrument.location.LiveSourceLocation
 import spp.protocol.instrument.meter.MeterType
@@ -55,8 +57,6 @@ import java.awt.BorderLayout
 import java.awt.Dimension
 import java.awt.GridBagConstraints
 import java.awt.GridBagLayout
-import java.util.concurrent.ConcurrentHashMap
-import java.util.concurrent.CopyOnWriteArrayList
 import javax.swing.JComponent
 import javax.swing.JPanel
 
@@ -69,8 +69,6 @@ import javax.swing.JPanel
 class LiveStatusBarManagerImpl(val project: Project, val vertx: Vertx) : LiveStatusBarManager {
 
     private val log = logger<LiveStatusBarManagerImpl>()
-    private val activeStatusBars = CopyOnWriteArrayList<LiveInstrument>()
-    private val logData = ConcurrentHashMap<String, List<*>>()
 
     /**
      * Invoked via control bar. Force visible.
@@ -326,18 +324,20 @@ class LiveStatusBarManagerImpl(val project: Project, val vertx: Vertx) : LiveSta
                 gutterMark.get().apply(true)
                 addStatusBar(gutterMark.get(), statusBar)
 
-                UserData.liveViewService(project)!!.addLiveView(
-                    LiveView(
-                        mutableSetOf(liveMeter.id!!),
-                        LiveViewConfig("LIVE_METER", listOf(liveMeter.id!!)),
-                        location = liveMeter.location.service
-                    )
-                ).onComplete {
-                    if (it.succeeded()) {
-                        gutterMark.get().putUserData(VIEW_SUBSCRIPTION_ID, it.result().subscriptionId)
-                    } else {
-                        log.error("Failed to add live view", it.cause())
-                    }
+                val meterView = LiveView(
+                    mutableSetOf(liveMeter.id!!),
+                    LiveViewConfig("LIVE_METER", listOf(liveMeter.id!!)),
+                    location = liveMeter.location.service
+                )
+                addMeterView(gutterMark.get(), meterView)
+
+                //re-add the view once the platform connection has been re-established
+                val viewDisposable = Disposer.newDisposable(project, "Live meter view: ${liveMeter.id}")
+                gutterMark.get().addEventListener {
+                    if (it.eventCode == SourceMarkEventCode.MARK_REMOVED) Disposer.dispose(viewDisposable)
+                }
+                LiveViewSubscriptionBroker.getInstance(project).addRestartHandler(viewDisposable) {
+                    addMeterView(gutterMark.get(), meterView)
                 }
             } else {
                 log.error("Could not create gutter mark for live meter")
@@ -345,6 +345,16 @@ class LiveStatusBarManagerImpl(val project: Project, val vertx: Vertx) : LiveSta
         }
     }
 
+    private fun addMeterView(gutterMark: SourceMark, meterView: LiveView) {
+        UserData.liveViewService(project)!!.addLiveView(meterView).onComplete {
+            if (it.succeeded()) {
+                gutterMark.putUserData(VIEW_SUBSCRIPTION_ID, it.result().subscriptionId)
+            } else {
+                log.error("Failed to add live view", it.cause())
+            }
+        }
+    }
+
     override fun addStatusBar(sourceMark: SourceMark, listener: LiveInstrumentListener) {
         if (sourceMark.getUserData(INSTRUMENT_EVENT_LISTENERS) == null) {
             sourceMark.putUserData(INSTRUMENT_EVENT_LISTENERS, mutableSetOf())
@@ -358,22 +368,4 @@ class LiveStatusBarManagerImpl(val project: Project, val vertx: Vertx) : LiveSta
         }
         sourceMark.getUserData(VIEW_EVENT_LISTENERS)!!.add(listener)
     }
-
-    override fun addActiveLiveInstrument(instrument: LiveInstrument) {
-        activeStatusBars.add(instrument)
-    }
-
-    override fun removeActiveLiveInstrument(instrument: LiveInstrument) {
-        activeStatusBars.remove(instrument)
-    }
-
-    override fun getLogData(inlayMark: InlayMark): List<*> {
-        val logId = inlayMark.getUserData(INSTRUMENT_ID)
-        return logData.getOrPut(logId) { CircularList<Any>(1000) }
-    }
-
-    override fun removeLogData(inlayMark: InlayMark) {
-        val logId = inlayMark.getUserData(INSTRUMENT_ID)
-        logData.remove(logId)
-    }
 }
@@ -43,7 +43,6 @@ import spp.jetbrains.marker.SourceMarkerKeys;
 import spp.jetbrains.marker.service.ArtifactConditionService;
 import spp.jetbrains.marker.source.mark.api.SourceMark;
 import spp.jetbrains.marker.source.mark.inlay.InlayMark;
-import spp.jetbrains.marker.plugin.LiveStatusBarManager;
 import spp.jetbrains.sourcemarker.command.status.ui.config.LiveBreakpointConfigurationPanel;
 import spp.jetbrains.sourcemarker.command.util.ExpressionUtils;
 import spp.jetbrains.sourcemarker.instrument.InstrumentEventWindowService;
@@ -92,7 +91,6 @@ public class BreakpointStatusBar extends JBPanel<BreakpointStatusBar> implements
 
     @Override
     public void onInstrumentRemovedEvent(@NotNull LiveInstrumentRemoved event) {
-        LiveStatusBarManager.getInstance(inlayMark.getProject()).removeActiveLiveInstrument(event.getInstrument());
         this.liveBreakpoint = null;
     }
 
@@ -341,7 +339,6 @@ public class BreakpointStatusBar extends JBPanel<BreakpointStatusBar> implements
             String instrumentId = Objects.requireNonNull(liveBreakpoint.getId());
             if (!InstrumentEventWindowService.getInstance(inlayMark.getProject()).isFinished(instrumentId)) {
                 UserData.liveInstrumentService(inlayMark.getProject()).removeLiveInstrument(instrumentId)
-                        .onSuccess(it -> LiveStatusBarManager.getInstance(inlayMark.getProject()).removeActiveLiveInstrument(liveBreakpoint))
                         .onFailure(Throwable::printStackTrace);
             }
         }
@@ -129,7 +129,6 @@ public class LiveMeterStatusPanel extends JBPanel<LiveMeterStatusPanel> implemen
                 UserData.liveInstrumentService(gutterMark.getProject()).removeLiveInstrument(liveMeter.getId()).onComplete(it -> {
                     if (it.succeeded()) {
                         gutterMark.dispose();
-                        LiveStatusBarManager.getInstance(gutterMark.getProject()).removeActiveLiveInstrument(liveMeter);
                     } else {
                         it.cause().printStackTrace();
                     }
@@ -42,6 +42,7 @@ import spp.jetbrains.sourcemarker.command.status.ui.config.LiveLogConfigurationP
 import spp.jetbrains.sourcemarker.command.util.AutocompleteField;
 import spp.jetbrains.sourcemarker.command.util.AutocompleteFieldRow;
 import spp.jetbrains.sourcemarker.instrument.InstrumentEventWindowService;
+import spp.jetbrains.sourcemarker.instrument.LiveInstrumentRegistry;
 import spp.jetbrains.instrument.log.VariableParser;
 import spp.jetbrains.state.LiveStateBar;
 import spp.protocol.artifact.log.Log;
@@ -180,11 +181,11 @@ public class LogStatusBar extends JBPanel<LogStatusBar> implements LiveStateBar,
     }
 
     private void initCommandModel() {
-        List logData = LiveStatusBarManager.getInstance(inlayMark.getProject()).getLogData(inlayMark);
-        if (logData.isEmpty()) {
+        LiveLogHit logHit = LiveInstrumentRegistry.getInstance(inlayMark.getProject())
+                .getLatestEvent(Objects.requireNonNull(liveLog.getId()), LiveLogHit.class);
+        if (logHit == null) {
             liveLogTextField.setPlaceHolderText(WAITING_FOR_LIVE_LOG_DATA);
         } else {
-            LiveLogHit logHit = (LiveLogHit) logData.get(0);
             Instant logTime = logHit.getOccurredAt();
             setLatestLog(logTime, logHit.getLogResult().getLogs().get(0));
         }
@@ -561,13 +562,8 @@ public class LogStatusBar extends JBPanel<LogStatusBar> implements LiveStateBar,
             latestTime = null;
             latestLog = null;
 
-            UserData.liveInstrumentService(inlayMark.getProject()).removeLiveInstrument(oldLiveLog.getId()).onComplete(it -> {
-                if (it.succeeded()) {
-                    LiveStatusBarManager.getInstance(inlayMark.getProject()).removeActiveLiveInstrument(oldLiveLog);
-                } else {
-                    it.cause().printStackTrace();
-                }
-            });
+            UserData.liveInstrumentService(inlayMark.getProject()).removeLiveInstrument(oldLiveLog.getId())
+                    .onFailure(Throwable::printStackTrace);
         }
 
         Pair<String, List<String>> resp = VariableParser.extractVariables(varPattern, liveLogTextField.getText());
@@ -625,7 +621,6 @@ public class LogStatusBar extends JBPanel<LogStatusBar> implements LiveStateBar,
             if (it.succeeded()) {
                 liveLog = (LiveLog) it.result();
                 inlayMark.putUserData(SourceMarkerKeys.getINSTRUMENT_ID(), it.result().getId());
-                LiveStatusBarManager.getInstance(inlayMark.getProject()).addActiveLiveInstrument(liveLog);
 
                 inlayMark.getUserData(SourceMarkerKeys.INSTANCE.getLOGGER_DETECTOR())
                         .addLiveLog(editor, inlayMark, finalLogPattern, sourceLocation.getLine());
@@ -646,11 +641,9 @@ public class LogStatusBar extends JBPanel<LogStatusBar> implements LiveStateBar,
         }
 
         if (liveLog != null) {
-            LiveStatusBarManager.getInstance(inlayMark.getProject()).removeLogData(inlayMark);
             String instrumentId = Objects.requireNonNull(liveLog.getId());
             if (!InstrumentEventWindowService.getInstance(inlayMark.getProject()).isFinished(instrumentId)) {
                 UserData.liveInstrumentService(inlayMark.getProject()).removeLiveInstrument(instrumentId)
-                        .onSuccess(it -> LiveStatusBarManager.getInstance(inlayMark.getProject()).removeActiveLiveInstrument(liveLog))
                         .onFailure(Throwable::printStackTrace);
             }
         }
@@ -364,7 +364,6 @@ public class MeterStatusBar extends JBPanel<MeterStatusBar> implements LiveState
         UserData.liveInstrumentService(inlayMark.getProject()).addLiveInstrument(instrument).onComplete(it -> {
             if (it.succeeded()) {
                 liveMeter = (LiveMeter) it.result();
-                LiveStatusBarManager.getInstance(inlayMark.getProject()).addActiveLiveInstrument(liveMeter);
 
                 ApplicationManager.getApplication().invokeLater(() -> {
                     inlayMark.dispose(); //dispose this bar
@@ -393,13 +392,8 @@ public class MeterStatusBar extends JBPanel<MeterStatusBar> implements LiveState
         if (groupedMarks != null) groupedMarks.forEach(SourceMark::dispose);
 
         if (liveMeter != null) {
-            UserData.liveInstrumentService(inlayMark.getProject()).removeLiveInstrument(liveMeter.getId()).onComplete(it -> {
-                if (it.succeeded()) {
-                    LiveStatusBarManager.getInstance(inlayMark.getProject()).removeActiveLiveInstrument(liveMeter);
-                } else {
-                    it.cause().printStackTrace();
-                }
-            });
+            UserData.liveInstrumentService(inlayMark.getProject()).removeLiveInstrument(liveMeter.getId())
+                    .onFailure(Throwable::printStackTrace);
         }
     }
 
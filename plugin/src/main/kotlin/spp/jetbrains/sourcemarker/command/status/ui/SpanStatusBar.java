@@ -36,7 +36,6 @@ import spp.jetbrains.marker.SourceMarkerKeys;
 import spp.jetbrains.marker.service.ArtifactConditionService;
 import spp.jetbrains.marker.source.mark.api.SourceMark;
 import spp.jetbrains.marker.source.mark.inlay.InlayMark;
-import spp.jetbrains.marker.plugin.LiveStatusBarManager;
 import spp.jetbrains.sourcemarker.command.status.ui.config.LiveMeterConfigurationPanel;
 import spp.jetbrains.sourcemarker.command.util.AutocompleteField;
 import spp.jetbrains.state.LiveStateBar;
@@ -273,7 +272,6 @@ public class SpanStatusBar extends JBPanel<SpanStatusBar> implements LiveStateBa
         UserData.liveInstrumentService(inlayMark.getProject()).addLiveInstrument(instrument).onComplete(it -> {
             if (it.succeeded()) {
                 liveSpan = (LiveSpan) it.result();
-                LiveStatusBarManager.getInstance(inlayMark.getProject()).addActiveLiveInstrument(liveSpan);
 
                 ApplicationManager.getApplication().invokeLater(() -> {
                     inlayMark.dispose(); //dispose this bar
@@ -298,13 +296,8 @@ public class SpanStatusBar extends JBPanel<SpanStatusBar> implements LiveStateBa
         if (groupedMarks != null) groupedMarks.forEach(SourceMark::dispose);
 
         if (liveSpan != null) {
-            UserData.liveInstrumentService(inlayMark.getProject()).removeLiveInstrument(liveSpan.getId()).onComplete(it -> {
-                if (it.succeeded()) {
-                    LiveStatusBarManager.getInstance(inlayMark.getProject()).removeActiveLiveInstrument(liveSpan);
-                } else {
-                    it.cause().printStackTrace();
-                }
-            });
+            UserData.liveInstrumentService(inlayMark.getProject()).removeLiveInstrument(liveSpan.getId())
+                    .onFailure(Throwable::printStackTrace);
         }
     }
 
@@ -35,6 +35,14 @@ data class SourceMarkerConfig(
     val portalConfig: PortalConfig = PortalConfig(),
     val commandConfig: Map<String, Map<String, Any>> = emptyMap(),
     var notifiedConnection: Boolean = false,
+    var instrumentHitSamplesPerSecond: Int = 10,
+    var instrumentEventHistoryEnabled: Boolean = true,
+    var maxInFlightRequests: Int = 64,
+    var requestTimeoutMs: Long = 30_000,
+    var frameCompressionEnabled: Boolean = true,
+    var frameCompressionThresholdBytes: Int = 8 * 1024,
+    var liveLogMaxScrollbackLines: Int = 5000,
+    var liveTraceMaxTraces: Int = 1000,
 ) {
     companion object {
         const val DEFAULT_SERVICE_PORT = 12800
@@ -50,9 +50,7 @@ class SourceMarkerConfigurable(val project: Project) : Configurable {
         form!!.applySourceMarkerConfig(updatedConfig)
 
         DumbService.getInstance(project).smartInvokeLater {
-            safeRunBlocking {
-                SourceMarkerPlugin.getInstance(project).init()
-            }
+            SourceMarkerPlugin.getInstance(project).launchInit()
         }
     }
 
@@ -0,0 +1,166 @@
+/*
+ * Source++, the continuous feedback platform for developers.
+ * Copyright (C) 2022-2024 CodeBrig, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package spp.jetbrains.sourcemarker.diagnostics
+
+import com.codahale.metrics.Counter
+import com.codahale.metrics.Gauge
+import com.codahale.metrics.Histogram
+import com.codahale.metrics.Meter
+import com.codahale.metrics.Metric
+import com.codahale.metrics.Timer
+import com.intellij.openapi.Disposable
+import com.intellij.openapi.application.ApplicationManager
+import com.intellij.openapi.project.Project
+import com.intellij.openapi.util.Disposer
+import com.intellij.openapi.wm.RegisterToolWindowTask
+import com.intellij.openapi.wm.ToolWindow
+import com.intellij.openapi.wm.ToolWindowManager
+import com.intellij.openapi.wm.ex.ToolWindowManagerListener
+import com.intellij.ui.components.JBScrollPane
+import com.intellij.ui.content.ContentFactory
+import com.intellij.ui.table.JBTable
+import com.intellij.util.Alarm
+import com.intellij.util.ui.ColumnInfo
+import com.intellij.util.ui.ListTableModel
+import spp.jetbrains.icons.PluginIcons
+
+/**
+ * Shows the [PluginMetrics] of the project in a table of rates and latency percentiles, refreshed while the tool
+ * window is visible. Durations are in milliseconds.
+ *
+ * @since 0.7.10
+ * @author [Brandon Fergerson](mailto:bfergerson@apache.org)
+ */
+class DiagnosticsWindowService(val project: Project) : Disposable {
+
+    companion object {
+        private const val REFRESH_INTERVAL_MS = 2000
+        private const val NANOS_PER_MILLI = 1_000_000.0
+
+        @JvmStatic
+        fun getInstance(project: Project): DiagnosticsWindowService {
+            return project.getService(DiagnosticsWindowService::class.java)
+        }
+    }
+
+    private val toolWindowId = "Source++ Diagnostics"
+    private val toolWindow: ToolWindow
+    private val refreshAlarm = Alarm(Alarm.ThreadToUse.SWING_THREAD, this)
+    private val model = ListTableModel<MetricRow>(
+        column("Metric") { it.name },
+        column("Type") { it.type },
+        column("Count") { it.count?.toString() },
+        column("Rate (1m/s)") { it.rate?.let { "%.2f".format(it) } },
+        column("Mean") { it.mean?.let { "%.2f".format(it) } },
+        column("p50") { it.p50?.let { "%.2f".format(it) } },
+        column("p95") { it.p95?.let { "%.2f".format(it) } },
+        column("p99") { it.p99?.let { "%.2f".format(it) } },
+        column("Max") { it.max?.let { "%.2f".format(it) } }
+    )
+
+    init {
+        val existingToolWindow = ToolWindowManager.getInstance(project).getToolWindow(toolWindowId)
+        if (existingToolWindow == null) {
+            toolWindow = ToolWindowManager.getInstance(project)
+                .registerToolWindow(RegisterToolWindowTask.closable(toolWindowId, PluginIcons.ToolWindow.chartArea))
+        } else {
+            toolWindow = existingToolWindow
+            toolWindow.isAvailable = true
+        }
+
+        val table = JBTable(model)
+        table.setShowColumns(true)
+        val contentFactory = ApplicationManager.getApplication().getService(ContentFactory::class.java)
+        val content = contentFactory.createContent(JBScrollPane(table), "Metrics", false)
+        content.isCloseable = false
+        toolWindow.contentManager.addContent(content)
+        toolWindow.setTitleActions(listOf(ExportDiagnosticsAction(this)))
+        Disposer.register(this, toolWindow.contentManager)
+
+        project.messageBus.connect(this).subscribe(ToolWindowManagerListener.TOPIC, object : ToolWindowManagerListener {
+            override fun toolWindowShown(shownToolWindow: ToolWindow) {
+                if (shownToolWindow.id == toolWindowId) refresh()
+            }
+        })
+    }
+
+    fun show() {
+        toolWindow.show()
+        refresh()
+    }
+
+    /**
+     * Updates the table and schedules the next refresh, but only while the tool window is visible. Refreshing resumes
+     * once the tool window is shown again.
+     */
+    private fun refresh() {
+        refreshAlarm.cancelAllRequests()
+        if (project.isDisposed || !toolWindow.isVisible) return
+
+        model.items = PluginMetrics.getInstance(project).registry.metrics.toSortedMap().map {
+            toRow(it.key, it.value)
+        }
+        refreshAlarm.addRequest({ refresh() }, REFRESH_INTERVAL_MS)
+    }
+
+    private fun toRow(name: String, metric: Metric): MetricRow {
+        return when (metric) {
+            is Timer -> {
+                val snapshot = metric.snapshot
+                MetricRow(
+                    name, "Timer", metric.count, metric.oneMinuteRate,
+                    snapshot.mean / NANOS_PER_MILLI, snapshot.median / NANOS_PER_MILLI,
+                    snapshot.get95thPercentile() / NANOS_PER_MILLI, snapshot.get99thPercentile() / NANOS_PER_MILLI,
+                    snapshot.max / NANOS_PER_MILLI
+                )
+            }
+
+            is Histogram -> {
+                val snapshot = metric.snapshot
+                MetricRow(
+                    name, "Histogram", metric.count, null, snapshot.mean, snapshot.median,
+                    snapshot.get95thPercentile(), snapshot.get99thPercentile(), snapshot.max.toDouble()
+                )
+            }
+
+            is Meter -> MetricRow(name, "Meter", metric.count, metric.oneMinuteRate)
+            is Counter -> MetricRow(name, "Counter", metric.count)
+            is Gauge<*> -> MetricRow(name, "Gauge", (metric.value as? Number)?.toLong())
+            else -> MetricRow(name, metric.javaClass.simpleName)
+        }
+    }
+
+    private fun column(name: String, value: (MetricRow) -> String?): ColumnInfo<MetricRow, String> {
+        return object : ColumnInfo<MetricRow, String>(name) {
+            override fun valueOf(item: MetricRow): String? = value(item)
+        }
+    }
+
+    override fun dispose() = Unit
+
+    private data class MetricRow(
+        val name: String,
+        val type: String,
+        val count: Long? = null,
+        val rate: Double? = null,
+        val mean: Double? = null,
+        val p50: Double? = null,
+        val p95: Double? = null,
+        val p99: Double? = null,
+        val max: Double? = null
+    )
+}
@@ -0,0 +1,53 @@
+/*
+ * Source++, the continuous feedback platform for developers.
+ * Copyright (C) 2022-2024 CodeBrig, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package spp.jetbrains.sourcemarker.diagnostics
+
+import com.intellij.icons.AllIcons
+import com.intellij.openapi.actionSystem.AnAction
+import com.intellij.openapi.actionSystem.AnActionEvent
+import com.intellij.openapi.diagnostic.logger
+import com.intellij.openapi.fileChooser.FileChooserFactory
+import com.intellij.openapi.fileChooser.FileSaverDescriptor
+import java.io.IOException
+
+/**
+ * Exports the project's [PluginMetrics] to a JSON file.
+ *
+ * @since 0.7.10
+ * @author [Brandon Fergerson](mailto:bfergerson@apache.org)
+ */
+class ExportDiagnosticsAction(val service: DiagnosticsWindowService) : AnAction(AllIcons.ToolbarDecorator.Export) {
+
+    private val log = logger<ExportDiagnosticsAction>()
+
+    init {
+        templatePresentation.text = "Export Diagnostics"
+    }
+
+    override fun actionPerformed(e: AnActionEvent) {
+        val descriptor = FileSaverDescriptor("Export Diagnostics", "Export plugin metrics as JSON", "json")
+        val target = FileChooserFactory.getInstance().createSaveFileDialog(descriptor, service.project)
+            .save("sourceplusplus-diagnostics.json") ?: return
+
+        val json = PluginMetrics.getInstance(service.project).toJson().encodePrettily()
+        try {
+            target.file.writeText(json)
+        } catch (ex: IOException) {
+            log.warn("Failed to export diagnostics", ex)
+        }
+    }
+}
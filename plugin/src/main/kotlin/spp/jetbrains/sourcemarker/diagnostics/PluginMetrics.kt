@@ -0,0 +1,200 @@
+/*
+ * Source++, the continuous feedback platform for developers.
+ * Copyright (C) 2022-2024 CodeBrig, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package spp.jetbrains.sourcemarker.diagnostics
+
+import com.codahale.metrics.Counter
+import com.codahale.metrics.Gauge
+import com.codahale.metrics.Histogram
+import com.codahale.metrics.Meter
+import com.codahale.metrics.Metered
+import com.codahale.metrics.MetricFilter
+import com.codahale.metrics.MetricRegistry
+import com.codahale.metrics.Sampling
+import com.codahale.metrics.SlidingTimeWindowArrayReservoir
+import com.codahale.metrics.Timer
+import com.intellij.openapi.project.Project
+import com.intellij.openapi.util.Key
+import io.vertx.core.Future
+import io.vertx.core.Handler
+import io.vertx.core.Vertx
+import io.vertx.core.eventbus.DeliveryContext
+import io.vertx.core.json.JsonObject
+import java.lang.reflect.InvocationTargetException
+import java.lang.reflect.Proxy
+import java.util.concurrent.ConcurrentHashMap
+import java.util.concurrent.TimeUnit
+
+/**
+ * Project-wide registry of the plugin's RPC and event bus metrics:
+ *
+ * - `service.<service>.<method>`: time until a service proxy call completes, as seen by its caller
+ * - `rpc.<address>.<action>`: time from the bridge receiving a service request until its reply
+ * - `bridge.*`: reply correlation table metrics, including the network and server `round-trip` time
+ * - `eventbus.<address>`: rate of messages sent or published to each address
+ * - `eventbus.loop-lag`: how late periodic timers fire, a measure of how backed up the event loop is
+ *
+ * @since 0.7.10
+ * @author [Brandon Fergerson](mailto:bfergerson@apache.org)
+ */
+class PluginMetrics {
+
+    companion object {
+        private const val MAX_ADDRESSES = 256
+        private const val LAG_PROBE_INTERVAL_MS = 1000L
+        private const val BRIDGE_PREFIX = "bridge"
+        private const val NANOS_PER_MILLI = 1_000_000.0
+        private val KEY = Key.create<PluginMetrics>("SPP_PLUGIN_METRICS")
+
+        @JvmStatic
+        @Synchronized
+        fun getInstance(project: Project): PluginMetrics {
+            if (project.getUserData(KEY) == null) {
+                project.putUserData(KEY, PluginMetrics())
+            }
+            return project.getUserData(KEY)!!
+        }
+
+        fun newTimer(): Timer = Timer(SlidingTimeWindowArrayReservoir(5, TimeUnit.MINUTES))
+    }
+
+    val registry = MetricRegistry()
+    private val addressMeters = ConcurrentHashMap<String, Meter>()
+    private val meterInterceptor = Handler<DeliveryContext<Any>> {
+        addressMeter(it.message().address()).mark()
+        it.next()
+    }
+    private var installedVertx: Vertx? = null
+    private var lagProbeTimerId = -1L
+
+    /**
+     * Meters the messages sent over the event bus of the given Vert.x instance and probes its event loop lag. Only
+     * one Vert.x instance is instrumented at a time; installing on another instance uninstalls the previous one.
+     */
+    @Synchronized
+    fun install(vertx: Vertx) {
+        if (installedVertx === vertx) return
+        uninstall()
+
+        vertx.eventBus().addOutboundInterceptor(meterInterceptor)
+        val loopLag = registry.histogram("eventbus.loop-lag")
+        var lastTick = System.nanoTime()
+        lagProbeTimerId = vertx.setPeriodic(LAG_PROBE_INTERVAL_MS) {
+            val now = System.nanoTime()
+            val lagMs = TimeUnit.NANOSECONDS.toMillis(now - lastTick) - LAG_PROBE_INTERVAL_MS
+            loopLag.update(lagMs.coerceAtLeast(0))
+            lastTick = now
+        }
+        installedVertx = vertx
+    }
+
+    @Synchronized
+    fun uninstall() {
+        val vertx = installedVertx ?: return
+        vertx.eventBus().removeOutboundInterceptor(meterInterceptor)
+        vertx.cancelTimer(lagProbeTimerId)
+        installedVertx = null
+    }
+
+    /**
+     * Replaces the bridge metrics with those of the current connection.
+     */
+    fun registerBridge(metrics: MetricRegistry) {
+        registry.removeMatching(MetricFilter.startsWith("$BRIDGE_PREFIX."))
+        registry.register(BRIDGE_PREFIX, metrics)
+    }
+
+    fun timer(name: String): Timer {
+        return registry.timer(name) { newTimer() }
+    }
+
+    /**
+     * Wraps a service proxy so that each call returning a [Future] is timed by `service.<service>.<method>`.
+     */
+    fun <T : Any> timed(serviceClass: Class<T>, service: T): T {
+        val proxy = Proxy.newProxyInstance(serviceClass.classLoader, arrayOf(serviceClass)) { _, method, args ->
+            val start = System.nanoTime()
+            val result = try {
+                method.invoke(service, *(args ?: emptyArray()))
+            } catch (ex: InvocationTargetException) {
+                throw ex.targetException
+            }
+            if (result is Future<*>) {
+                val name = "service.${serviceClass.simpleName}.${method.name}"
+                result.onComplete {
+                    timer(name).update(System.nanoTime() - start, TimeUnit.NANOSECONDS)
+                    if (it.failed()) registry.counter("$name.failures").inc()
+                }
+            }
+            result
+        }
+        return serviceClass.cast(proxy)
+    }
+
+    private fun addressMeter(address: String): Meter {
+        val key = when {
+            address.startsWith("__vertx.reply") -> "__vertx.reply"
+            address.startsWith("spp.reply.") -> "spp.reply"
+            else -> address
+        }
+        addressMeters[key]?.let { return it }
+        if (addressMeters.size >= MAX_ADDRESSES) {
+            return addressMeters.computeIfAbsent("other") { registry.meter("eventbus.other") }
+        }
+        return addressMeters.computeIfAbsent(key) { registry.meter("eventbus.$it") }
+    }
+
+    /**
+     * @return every metric as JSON, with durations in milliseconds
+     */
+    fun toJson(): JsonObject {
+        val json = JsonObject()
+        registry.metrics.toSortedMap().forEach { (name, metric) ->
+            val value = JsonObject()
+            when (metric) {
+                is Gauge<*> -> value.put("value", metric.value)
+                is Counter -> value.put("count", metric.count)
+                is Timer -> {
+                    putMetered(value, metric)
+                    putSampling(value, metric, NANOS_PER_MILLI)
+                }
+
+                is Meter -> putMetered(value, metric)
+                is Histogram -> {
+                    value.put("count", metric.count)
+                    putSampling(value, metric, 1.0)
+                }
+            }
+            json.put(name, value)
+        }
+        return json
+    }
+
+    private fun putMetered(json: JsonObject, metered: Metered) {
+        json.put("count", metered.count)
+            .put("meanRate", metered.meanRate)
+            .put("oneMinuteRate", metered.oneMinuteRate)
+    }
+
+    private fun putSampling(json: JsonObject, sampling: Sampling, divisor: Double) {
+        val snapshot = sampling.snapshot
+        json.put("mean", snapshot.mean / divisor)
+            .put("p50", snapshot.median / divisor)
+            .put("p95", snapshot.get95thPercentile() / divisor)
+            .put("p99", snapshot.get99thPercentile() / divisor)
+            .put("max", snapshot.max / divisor)
+    }
+}
@@ -0,0 +1,77 @@
+/*
+ * Source++, the continuous feedback platform for developers.
+ * Copyright (C) 2022-2024 CodeBrig, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package spp.jetbrains.sourcemarker.diagnostics
+
+import com.codahale.metrics.Gauge
+import com.codahale.metrics.MetricFilter
+import java.util.concurrent.ConcurrentLinkedQueue
+import java.util.concurrent.TimeUnit
+
+/**
+ * Records when each phase of a plugin startup began and how long it took. Phases may run concurrently, so the
+ * report lists each phase's offset from the start of startup alongside its duration.
+ *
+ * @since 0.7.10
+ * @author [Brandon Fergerson](mailto:bfergerson@apache.org)
+ */
+class StartupReport {
+
+    companion object {
+        private const val METRIC_PREFIX = "startup"
+    }
+
+    private val startedAt = System.nanoTime()
+    private val phases = ConcurrentLinkedQueue<Phase>()
+
+    suspend fun <T> phase(name: String, block: suspend () -> T): T {
+        val start = System.nanoTime()
+        var failed = true
+        try {
+            return block().also { failed = false }
+        } finally {
+            phases.add(Phase(name, start - startedAt, System.nanoTime() - start, failed))
+        }
+    }
+
+    /**
+     * Replaces the `startup.<phase>` gauges of the given metrics with this report's phase durations.
+     */
+    fun publish(metrics: PluginMetrics) {
+        metrics.registry.removeMatching(MetricFilter.startsWith("$METRIC_PREFIX."))
+        phases.forEach { phase ->
+            metrics.registry.register("$METRIC_PREFIX.${phase.name}", Gauge { phase.durationMs })
+        }
+        val totalMs = totalMs()
+        metrics.registry.register("$METRIC_PREFIX.total", Gauge { totalMs })
+    }
+
+    fun totalMs(): Long = phases.maxOfOrNull { TimeUnit.NANOSECONDS.toMillis(it.offsetNanos) + it.durationMs } ?: 0
+
+    override fun toString(): String = buildString {
+        append("Startup completed in ").append(totalMs()).append("ms")
+        phases.sortedBy { it.offsetNanos }.forEach {
+            append("\n  ").append(it.name.padEnd(24))
+            append(" +").append(TimeUnit.NANOSECONDS.toMillis(it.offsetNanos)).append("ms")
+            append(" took ").append(it.durationMs).append("ms")
+            if (it.failed) append(" (failed)")
+        }
+    }
+
+    private class Phase(val name: String, val offsetNanos: Long, durationNanos: Long, val failed: Boolean) {
+        val durationMs: Long = TimeUnit.NANOSECONDS.toMillis(durationNanos)
+    }
+}
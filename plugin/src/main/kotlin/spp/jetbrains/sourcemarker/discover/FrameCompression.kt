@@ -0,0 +1,163 @@
+/*
+ * Source++, the continuous feedback platform for developers.
+ * Copyright (C) 2022-2024 CodeBrig, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package spp.jetbrains.sourcemarker.discover
+
+import com.codahale.metrics.Counter
+import com.codahale.metrics.MetricRegistry
+import com.codahale.metrics.Timer
+import io.vertx.core.MultiMap
+import io.vertx.core.buffer.Buffer
+import io.vertx.core.json.Json
+import io.vertx.core.json.JsonObject
+import java.io.ByteArrayOutputStream
+import java.util.Base64
+import java.util.concurrent.TimeUnit
+import java.util.zip.DataFormatException
+import java.util.zip.Deflater
+import java.util.zip.Inflater
+
+/**
+ * Negotiated deflate compression of TCP bridge frame bodies. Outbound frames advertise support through the
+ * [ACCEPT_ENCODING] header, and bodies larger than [thresholdBytes] are only compressed once the peer has advertised
+ * support itself, so peers that don't understand compressed frames keep receiving plain JSON. A compressed body is
+ * sent as a Base64 string with the [CONTENT_ENCODING] header set to [DEFLATE]. Inbound bodies are rejected once they
+ * inflate beyond [maxInflatedBytes].
+ *
+ * @since 0.7.10
+ * @author [Brandon Fergerson](mailto:bfergerson@apache.org)
+ */
+class FrameCompression(
+    private val enabled: Boolean,
+    private val thresholdBytes: Int,
+    metrics: MetricRegistry,
+    private val maxInflatedBytes: Int = DEFAULT_MAX_INFLATED_BYTES
+) {
+
+    companion object {
+        const val ACCEPT_ENCODING = "accept-encoding"
+        const val CONTENT_ENCODING = "content-encoding"
+        const val DEFLATE = "deflate"
+        const val DEFAULT_THRESHOLD_BYTES = 8 * 1024
+        const val DEFAULT_MAX_INFLATED_BYTES = 32 * 1024 * 1024
+    }
+
+    @Volatile
+    var peerSupportsCompression = false
+        private set
+
+    private val uncompressedBytesOut: Counter = metrics.counter("compression.out.uncompressed-bytes")
+    private val compressedBytesOut: Counter = metrics.counter("compression.out.compressed-bytes")
+    private val uncompressedBytesIn: Counter = metrics.counter("compression.in.uncompressed-bytes")
+    private val compressedBytesIn: Counter = metrics.counter("compression.in.compressed-bytes")
+    private val compressTime: Timer = metrics.timer("compression.out.time")
+    private val decompressTime: Timer = metrics.timer("compression.in.time")
+
+    /**
+     * Adds the encoding headers to an outbound frame and compresses its body when negotiated and large enough.
+     *
+     * @return the JSON encoded body to send, or null if there is no body
+     */
+    fun encode(headers: JsonObject, body: Any?): Buffer? {
+        if (body == null) return null
+        if (!enabled) return Json.encodeToBuffer(body)
+        headers.put(ACCEPT_ENCODING, DEFLATE)
+        val raw = Json.encodeToBuffer(body)
+        if (!peerSupportsCompression || raw.length() < thresholdBytes) return raw
+
+        val start = System.nanoTime()
+        val bytes = raw.bytes
+        val deflater = Deflater(Deflater.BEST_SPEED)
+        val compressed = try {
+            deflater.setInput(bytes)
+            deflater.finish()
+            val out = ByteArrayOutputStream(bytes.size / 4)
+            val chunk = ByteArray(8192)
+            while (!deflater.finished()) {
+                out.write(chunk, 0, deflater.deflate(chunk))
+            }
+            out.toByteArray()
+        } finally {
+            deflater.end()
+        }
+        val encoded = Base64.getEncoder().encodeToString(compressed)
+        compressTime.update(System.nanoTime() - start, TimeUnit.NANOSECONDS)
+        if (encoded.length >= bytes.size) return raw
+
+        uncompressedBytesOut.inc(bytes.size.toLong())
+        compressedBytesOut.inc(encoded.length.toLong())
+        headers.put(CONTENT_ENCODING, DEFLATE)
+        return Json.encodeToBuffer(encoded)
+    }
+
+    /**
+     * Forgets whether the peer supports compression, e.g. once a new socket has been attached and the peer on the
+     * other end has yet to advertise support.
+     */
+    fun resetNegotiation() {
+        peerSupportsCompression = false
+    }
+
+    /**
+     * Records whether the peer supports compression from the headers of an inbound message.
+     *
+     * @return true if the message body is compressed and must be passed through [decode]
+     */
+    fun isCompressed(headers: MultiMap): Boolean {
+        if (enabled && !peerSupportsCompression && headers.get(ACCEPT_ENCODING)?.contains(DEFLATE) == true) {
+            peerSupportsCompression = true
+        }
+        return headers.get(CONTENT_ENCODING) == DEFLATE
+    }
+
+    /**
+     * Decompresses a body previously encoded by a peer's [encode].
+     *
+     * @throws IllegalArgumentException if the body is corrupt, truncated or inflates beyond [maxInflatedBytes]
+     */
+    fun decode(body: Any?): Any? {
+        val start = System.nanoTime()
+        require(body is String) { "Compressed frame body must be a string" }
+        val compressed = Base64.getDecoder().decode(body)
+        val inflater = Inflater()
+        val raw = try {
+            inflater.setInput(compressed)
+            val out = ByteArrayOutputStream((compressed.size * 4).coerceAtMost(maxInflatedBytes))
+            val chunk = ByteArray(8192)
+            while (!inflater.finished()) {
+                val count = try {
+                    inflater.inflate(chunk)
+                } catch (ex: DataFormatException) {
+                    throw IllegalArgumentException("Corrupt compressed frame", ex)
+                }
+                if (count == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    throw IllegalArgumentException("Truncated compressed frame")
+                }
+                if (out.size() + count > maxInflatedBytes) {
+                    throw IllegalArgumentException("Compressed frame inflates beyond $maxInflatedBytes bytes")
+                }
+                out.write(chunk, 0, count)
+            }
+            out.toByteArray()
+        } finally {
+            inflater.end()
+        }
+        decompressTime.update(System.nanoTime() - start, TimeUnit.NANOSECONDS)
+        compressedBytesIn.inc(body.length.toLong())
+        uncompressedBytesIn.inc(raw.size.toLong())
+        return Json.decodeValue(Buffer.buffer(raw))
+    }
+}
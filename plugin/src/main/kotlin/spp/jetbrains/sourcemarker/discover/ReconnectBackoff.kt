@@ -0,0 +1,50 @@
+/*
+ * Source++, the continuous feedback platform for developers.
+ * Copyright (C) 2022-2024 CodeBrig, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package spp.jetbrains.sourcemarker.discover
+
+import java.util.concurrent.ThreadLocalRandom
+
+/**
+ * Jittered exponential backoff for reconnection attempts. Each delay doubles up to [maxDelayMs], and the second
+ * half of each delay is randomized so that IDEs disconnected by the same platform restart don't retry in lockstep.
+ *
+ * @since 0.7.10
+ * @author [Brandon Fergerson](mailto:bfergerson@apache.org)
+ */
+class ReconnectBackoff(
+    private val initialDelayMs: Long = 500,
+    private val maxDelayMs: Long = 60_000
+) {
+
+    companion object {
+        private const val MAX_SHIFT = 20
+    }
+
+    var attempts = 0
+        private set
+
+    fun nextDelayMs(): Long {
+        val ceiling = (initialDelayMs shl attempts.coerceAtMost(MAX_SHIFT)).coerceAtMost(maxDelayMs)
+        attempts++
+        val half = ceiling / 2
+        return half + ThreadLocalRandom.current().nextLong(half + 1)
+    }
+
+    fun reset() {
+        attempts = 0
+    }
+}
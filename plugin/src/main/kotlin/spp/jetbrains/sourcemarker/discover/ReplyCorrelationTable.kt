@@ -0,0 +1,321 @@
+/*
+ * Source++, the continuous feedback platform for developers.
+ * Copyright (C) 2022-2024 CodeBrig, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package spp.jetbrains.sourcemarker.discover
+
+import com.codahale.metrics.Counter
+import com.codahale.metrics.Gauge
+import com.codahale.metrics.MetricRegistry
+import com.codahale.metrics.SlidingTimeWindowArrayReservoir
+import com.codahale.metrics.Timer
+import com.intellij.openapi.diagnostic.logger
+import io.vertx.core.Future
+import io.vertx.core.Handler
+import io.vertx.core.MultiMap
+import io.vertx.core.Promise
+import io.vertx.core.Vertx
+import io.vertx.core.buffer.Buffer
+import io.vertx.core.eventbus.DeliveryContext
+import io.vertx.core.eventbus.DeliveryOptions
+import io.vertx.core.eventbus.ReplyException
+import io.vertx.core.eventbus.ReplyFailure
+import io.vertx.core.json.JsonObject
+import io.vertx.core.net.NetSocket
+import io.vertx.ext.bridge.BridgeEventType
+import io.vertx.ext.eventbus.bridge.tcp.impl.protocol.FrameHelper
+import java.util.ArrayDeque
+import java.util.UUID
+import java.util.concurrent.ConcurrentHashMap
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.atomic.AtomicLong
+
+/**
+ * Correlates requests forwarded over the TCP bridge with their replies. Every request is given a reply address
+ * made of a shared prefix and a correlation id; replies to those addresses are intercepted by a single event bus
+ * interceptor and completed from the pending request table, so no consumer is registered per request. Requests
+ * without a reply by their deadline are failed and removed, and requests beyond [maxInFlight] wait in a queue
+ * until a reply frees a slot. Frame bodies pass through [compression] in both directions, including messages
+ * pushed by the peer to other addresses, which are re-dispatched with their body decompressed and their replies
+ * relayed back to the peer. Replies and messages which can't be decompressed are failed rather than dropped.
+ *
+ * @since 0.7.10
+ * @author [Brandon Fergerson](mailto:bfergerson@apache.org)
+ */
+class ReplyCorrelationTable(
+    private val vertx: Vertx,
+    private val maxInFlight: Int,
+    private val timeoutMs: Long,
+    compressionEnabled: Boolean,
+    compressionThresholdBytes: Int,
+    private val socketSupplier: () -> NetSocket?
+) {
+
+    companion object {
+        const val DEFAULT_MAX_IN_FLIGHT = 64
+        const val DEFAULT_TIMEOUT_MS = 30_000L
+        const val MAX_QUEUED = 1024
+
+        private const val SWEEP_INTERVAL_MS = 1000L
+        private val log = logger<ReplyCorrelationTable>()
+    }
+
+    private val replyAddressPrefix = "spp.reply.${UUID.randomUUID()}."
+    private val nextCorrelationId = AtomicLong()
+    private val pending = ConcurrentHashMap<String, PendingRequest>()
+    private val queued = ArrayDeque<PendingRequest>()
+
+    val metrics = MetricRegistry()
+    private val timeouts: Counter = metrics.counter("timeouts")
+    private val rejected: Counter = metrics.counter("rejected")
+    private val decodeFailures: Counter = metrics.counter("compression.in.failures")
+    private val roundTrip: Timer = metrics.register(
+        "round-trip", Timer(SlidingTimeWindowArrayReservoir(5, TimeUnit.MINUTES))
+    )
+    private val queueWait: Timer = metrics.register(
+        "queue-wait", Timer(SlidingTimeWindowArrayReservoir(5, TimeUnit.MINUTES))
+    )
+    private val compression = FrameCompression(compressionEnabled, compressionThresholdBytes, metrics)
+    private val interceptor = Handler<DeliveryContext<Any>> { intercept(it) }
+    private val sweepTimerId: Long
+
+    init {
+        require(maxInFlight > 0) { "Max in-flight requests must be positive" }
+        metrics.register("pending", Gauge { pending.size })
+        metrics.register("queued", Gauge { synchronized(queued) { queued.size } })
+
+        vertx.eventBus().addOutboundInterceptor(interceptor)
+        sweepTimerId = vertx.setPeriodic(SWEEP_INTERVAL_MS) { expireRequests() }
+    }
+
+    val pendingCount: Int
+        get() = pending.size
+
+    val timeoutCount: Long
+        get() = timeouts.count
+
+    /**
+     * Forwards the given message over the TCP bridge.
+     *
+     * @return a future completed with the body of the reply
+     */
+    fun request(address: String, headers: JsonObject, body: Any?): Future<Any?> {
+        val request = PendingRequest(nextCorrelationId.incrementAndGet().toString(), address, headers, body)
+        synchronized(queued) {
+            if (pending.size >= maxInFlight || queued.isNotEmpty()) {
+                if (queued.size >= MAX_QUEUED) {
+                    rejected.inc()
+                    return Future.failedFuture(
+                        ReplyException(ReplyFailure.RECIPIENT_FAILURE, "Too many pending requests to $address")
+                    )
+                }
+                queued.addLast(request)
+                return request.promise.future()
+            }
+            pending[request.correlationId] = request
+        }
+        send(request)
+        return request.promise.future()
+    }
+
+    /**
+     * Fails every pending and queued request, e.g. once the socket their replies would arrive on has closed.
+     */
+    fun failPending(reason: String) {
+        val requests = synchronized(queued) {
+            val requests = pending.values.toList() + queued
+            pending.clear()
+            queued.clear()
+            requests
+        }
+        requests.forEach { it.promise.tryFail(ReplyException(ReplyFailure.RECIPIENT_FAILURE, reason)) }
+    }
+
+    /**
+     * Restarts compression negotiation for a newly attached socket, as the peer on the other end may not support it.
+     */
+    fun socketAttached() {
+        compression.resetNegotiation()
+    }
+
+    /**
+     * Removes the reply interceptor and deadline sweep from the event bus and fails any remaining requests.
+     */
+    fun close() {
+        vertx.eventBus().removeOutboundInterceptor(interceptor)
+        vertx.cancelTimer(sweepTimerId)
+        failPending("Reply correlation table closed")
+    }
+
+    private fun intercept(context: DeliveryContext<Any>) {
+        val message = context.message()
+        val address = message.address()
+        val compressed = compression.isCompressed(message.headers())
+        if (address.startsWith(replyAddressPrefix)) {
+            val correlationId = address.substring(replyAddressPrefix.length)
+            if (compressed) {
+                val body = try {
+                    compression.decode(message.body())
+                } catch (ex: Exception) {
+                    decodeFailures.inc()
+                    log.warn("Failed to decompress reply from peer", ex)
+                    fail(correlationId, "Failed to decompress reply: ${ex.message}")
+                    return
+                }
+                complete(correlationId, body)
+            } else {
+                complete(correlationId, message.body())
+            }
+        } else if (compressed) {
+            redispatch(context)
+        } else {
+            context.next()
+        }
+    }
+
+    private fun send(request: PendingRequest) {
+        val socket = socketSupplier()
+        if (socket == null) {
+            pending.remove(request.correlationId)
+            request.promise.fail(ReplyException(ReplyFailure.NO_HANDLERS, "Socket is closed"))
+            sendQueued()
+            return
+        }
+
+        request.sentAt = System.nanoTime()
+        queueWait.update(request.sentAt - request.createdAt, TimeUnit.NANOSECONDS)
+        request.deadline = System.currentTimeMillis() + timeoutMs
+        val body = compression.encode(request.headers, request.body)
+        sendFrame(request.address, replyAddressPrefix + request.correlationId, request.headers, body, socket)
+    }
+
+    /**
+     * Writes a send frame the way [FrameHelper.sendFrame] does, but with the body already JSON encoded so it
+     * isn't serialized a second time.
+     */
+    private fun sendFrame(
+        address: String, replyAddress: String, headers: JsonObject, body: Buffer?, socket: NetSocket
+    ) {
+        val frame = JsonObject()
+            .put("type", BridgeEventType.SEND.name.lowercase())
+            .put("address", address)
+            .put("replyAddress", replyAddress)
+            .put("headers", headers)
+            .put("send", true)
+            .toBuffer()
+        val payload = if (body == null) frame else {
+            //splice the encoded body in before the closing brace of the frame
+            Buffer.buffer(frame.length() + body.length() + 9)
+                .appendBuffer(frame, 0, frame.length() - 1)
+                .appendString(",\"body\":")
+                .appendBuffer(body)
+                .appendString("}")
+        }
+        socket.write(Buffer.buffer(payload.length() + 4).appendInt(payload.length()).appendBuffer(payload))
+    }
+
+    private fun complete(correlationId: String, body: Any?) {
+        val request = pending.remove(correlationId)
+        if (request == null) {
+            log.debug("Ignoring late or unknown reply: $correlationId")
+            return
+        }
+
+        roundTrip.update(System.nanoTime() - request.sentAt, TimeUnit.NANOSECONDS)
+        request.promise.complete(body)
+        sendQueued()
+    }
+
+    private fun fail(correlationId: String, reason: String) {
+        val request = pending.remove(correlationId) ?: return
+        request.promise.fail(ReplyException(ReplyFailure.RECIPIENT_FAILURE, reason))
+        sendQueued()
+    }
+
+    /**
+     * Re-sends a compressed message pushed by the peer with its body decompressed. Sent messages expecting a reply
+     * are re-sent as requests, and their reply (or failure) is relayed to the original reply address.
+     */
+    private fun redispatch(context: DeliveryContext<Any>) {
+        val message = context.message()
+        val body = try {
+            compression.decode(message.body())
+        } catch (ex: Exception) {
+            decodeFailures.inc()
+            log.warn("Failed to decompress message to ${message.address()}", ex)
+            if (message.replyAddress() != null) {
+                message.fail(ReplyFailure.RECIPIENT_FAILURE.toInt(), "Failed to decompress message: ${ex.message}")
+            }
+            return
+        }
+
+        val headers = MultiMap.caseInsensitiveMultiMap().addAll(message.headers())
+        headers.remove(FrameCompression.CONTENT_ENCODING)
+        val options = DeliveryOptions().setHeaders(headers).setSendTimeout(timeoutMs)
+        if (!context.send()) {
+            vertx.eventBus().publish(message.address(), body, options)
+        } else if (message.replyAddress() == null) {
+            vertx.eventBus().send(message.address(), body, options)
+        } else {
+            vertx.eventBus().request<Any>(message.address(), body, options).onComplete {
+                if (it.succeeded()) {
+                    val reply = it.result()
+                    message.reply(reply.body(), DeliveryOptions().setHeaders(reply.headers()))
+                } else {
+                    val cause = it.cause()
+                    message.fail((cause as? ReplyException)?.failureCode() ?: -1, cause.message)
+                }
+            }
+        }
+    }
+
+    private fun expireRequests() {
+        val now = System.currentTimeMillis()
+        pending.values.filter { it.deadline in 1..now }.forEach {
+            if (pending.remove(it.correlationId, it)) {
+                timeouts.inc()
+                log.warn("Request to ${it.address} timed out after ${timeoutMs}ms")
+                it.promise.fail(ReplyException(ReplyFailure.TIMEOUT, "Timed out waiting for reply from ${it.address}"))
+                sendQueued()
+            }
+        }
+    }
+
+    private fun sendQueued() {
+        while (true) {
+            val request = synchronized(queued) {
+                if (pending.size >= maxInFlight) return
+                queued.pollFirst()?.also { pending[it.correlationId] = it }
+            } ?: return
+            send(request)
+        }
+    }
+
+    private class PendingRequest(
+        val correlationId: String,
+        val address: String,
+        val headers: JsonObject,
+        val body: Any?
+    ) {
+        val promise: Promise<Any?> = Promise.promise()
+        val createdAt = System.nanoTime()
+
+        @Volatile
+        var sentAt = 0L
+
+        @Volatile
+        var deadline = 0L
+    }
+}
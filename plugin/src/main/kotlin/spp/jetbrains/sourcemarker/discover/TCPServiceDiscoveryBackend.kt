@@ -23,7 +23,7 @@ import eu.geekplace.javapinning.JavaPinning
 import eu.geekplace.javapinning.pin.Pin
 import io.vertx.core.*
 import io.vertx.core.eventbus.DeliveryOptions
-import io.vertx.core.eventbus.MessageConsumer
+import io.vertx.core.eventbus.ReplyException
 import io.vertx.core.json.Json
 import io.vertx.core.json.JsonArray
 import io.vertx.core.json.JsonObject
@@ -36,13 +36,16 @@ import io.vertx.ext.eventbus.bridge.tcp.impl.protocol.FrameHelper
 import io.vertx.kotlin.coroutines.await
 import io.vertx.servicediscovery.Record
 import io.vertx.servicediscovery.spi.ServiceDiscoveryBackend
+import kotlinx.coroutines.delay
 import spp.jetbrains.safeLaunch
 import spp.jetbrains.sourcemarker.config.SourceMarkerConfig
 import spp.jetbrains.sourcemarker.config.getServicePortNormalized
 import spp.jetbrains.sourcemarker.config.isSsl
 import spp.jetbrains.sourcemarker.config.serviceHostNormalized
+import spp.jetbrains.sourcemarker.diagnostics.PluginMetrics
 import spp.jetbrains.status.SourceStatus.*
 import spp.jetbrains.status.SourceStatusService
+import spp.jetbrains.view.LiveViewSubscriptionBroker
 import spp.protocol.platform.PlatformAddress
 import spp.protocol.platform.status.InstanceConnection
 import spp.protocol.service.SourceServices.LIVE_INSTRUMENT
@@ -50,6 +53,8 @@ import spp.protocol.service.SourceServices.LIVE_MANAGEMENT
 import spp.protocol.service.SourceServices.LIVE_VIEW
 import spp.protocol.service.extend.TCPServiceSocket
 import java.util.*
+import java.util.concurrent.ConcurrentHashMap
+import java.util.concurrent.TimeUnit
 
 /**
  * todo: description.
@@ -60,27 +65,57 @@ import java.util.*
 @Suppress("MagicNumber")
 class TCPServiceDiscoveryBackend : ServiceDiscoveryBackend {
 
+    /**
+     * Connection states of the bridge socket.
+     */
+    enum class ConnectionState {
+        DISCONNECTED,
+        CONNECTING,
+        CONNECTED,
+        BACKING_OFF,
+        CLOSED
+    }
+
     companion object {
+        /**
+         * Local address published to once a lost connection has been restored, so that state held outside the
+         * bridge (e.g. active live instruments) can be reloaded.
+         */
+        const val RECONNECTED_ADDRESS = "spp.bridge.reconnected"
+
         private val log = logger<TCPServiceDiscoveryBackend>()
         private val projectMap = mutableMapOf<String, TCPServiceDiscoveryBackend>()
 
-        //todo: add register function and remove this
-        fun getSocket(project: Project): NetSocket? {
-            return projectMap[project.locationHash]?.socket
+        /**
+         * Registers to receive the messages the platform sends to the given address. Registrations are re-sent
+         * as a single batch whenever the connection is re-established.
+         */
+        fun register(project: Project, address: String) {
+            projectMap[project.locationHash]?.register(address)
         }
 
         suspend fun closeSocket(project: Project) {
-            projectMap[project.locationHash]?.socket?.close()?.await()
-            projectMap[project.locationHash]?.socket = null
+            val backend = projectMap[project.locationHash] ?: return
+            backend.transition(ConnectionState.CLOSED)
+            backend.socket?.close()?.await()
+            backend.socket = null
+            if (backend::replyTable.isInitialized) backend.replyTable.close()
         }
     }
 
+    @Volatile
+    var state = ConnectionState.DISCONNECTED
+        private set
     private var socket: NetSocket? = null
     private lateinit var vertx: Vertx
     private lateinit var client: NetClient
+    private lateinit var project: Project
     private lateinit var pluginConfig: SourceMarkerConfig
     private val setupPromise = Promise.promise<Void>()
     private val setupFuture = setupPromise.future()
+    private lateinit var replyTable: ReplyCorrelationTable
+    private val registeredAddresses = ConcurrentHashMap.newKeySet<String>()
+    private val backoff = ReconnectBackoff()
 
     override fun init(vertx: Vertx, config: JsonObject) {
         this.vertx = vertx
@@ -88,31 +123,36 @@ class TCPServiceDiscoveryBackend : ServiceDiscoveryBackend {
             config.getJsonObject("sourcemarker_plugin_config").toString(), SourceMarkerConfig::class.java
         )
         projectMap[config.getString("project_location_hash")] = this
+        replyTable = ReplyCorrelationTable(
+            vertx, pluginConfig.maxInFlightRequests, pluginConfig.requestTimeoutMs,
+            pluginConfig.frameCompressionEnabled, pluginConfig.frameCompressionThresholdBytes
+        ) { socket }
 
-        val serviceHost = pluginConfig.serviceHostNormalized
         val certificatePins = mutableListOf<String>()
         certificatePins.addAll(pluginConfig.certificatePins)
 
         vertx.safeLaunch {
-            setupServiceClient(certificatePins, serviceHost, config)
+            setupServiceClient(certificatePins, config)
         }
     }
 
-    private suspend fun setupServiceClient(certificatePins: List<String>, serviceHost: String, config: JsonObject) {
+    private suspend fun setupServiceClient(certificatePins: List<String>, config: JsonObject) {
         val project = ProjectManager.getInstance().openProjects.find {
             it.locationHash == config.getString("project_location_hash")
         }
         if (project != null) {
+            this.project = project
+            PluginMetrics.getInstance(project).registerBridge(replyTable.metrics)
             SourceStatusService.getInstance(project).update(Pending, "Connecting to server")
         } else {
             log.error("Failed to find project. Cannot setup service discovery client")
             return
         }
 
+        transition(ConnectionState.CONNECTING)
         try {
             client = if (certificatePins.isNotEmpty()) {
                 val options = NetClientOptions()
-                    .setReconnectAttempts(Int.MAX_VALUE).setReconnectInterval(5000)
                     .setSsl(pluginConfig.isSsl())
                     .setTrustOptions(
                         TrustOptions.wrap(
@@ -124,7 +164,6 @@ class TCPServiceDiscoveryBackend : ServiceDiscoveryBackend {
                 vertx.createNetClient(options)
             } else {
                 val options = NetClientOptions()
-                    .setReconnectAttempts(Int.MAX_VALUE).setReconnectInterval(5000)
                     .setSsl(pluginConfig.isSsl())
                     .apply {
                         if (!pluginConfig.verifyHost) {
@@ -133,76 +172,162 @@ class TCPServiceDiscoveryBackend : ServiceDiscoveryBackend {
                     }
                 vertx.createNetClient(options)
             }
-            socket = client.connect(pluginConfig.getServicePortNormalized(), serviceHost).await()
+            socket = connect()
         } catch (ex: Exception) {
             log.warn("Failed to connect to service discovery server", ex)
+            transition(ConnectionState.DISCONNECTED)
             setupPromise.fail(ex)
             return
         }
+        attachSocket(socket!!)
+
+        setupHandler(vertx, "get-records")
+        setupHandler(vertx, LIVE_MANAGEMENT)
+        setupHandler(vertx, LIVE_INSTRUMENT)
+        setupHandler(vertx, LIVE_VIEW)
+
+        sendConnection().onSuccess {
+            SourceStatusService.getInstance(project).update(Connected)
+            setupPromise.complete()
+        }.onFailure {
+            log.warn("Failed to connect to platform", it)
+            setupPromise.tryFail(it)
+        }
+    }
 
-        TCPServiceSocket(vertx, socket!!).exceptionHandler {
+    private suspend fun connect(): NetSocket {
+        return client.connect(pluginConfig.getServicePortNormalized(), pluginConfig.serviceHostNormalized).await()
+    }
+
+    private fun attachSocket(socket: NetSocket) {
+        replyTable.socketAttached()
+        TCPServiceSocket(vertx, socket).exceptionHandler {
             log.warn("Service discovery socket exception", it)
-            SourceStatusService.getInstance(project).update(ConnectionError, it.message)
         }.closeHandler {
+            if (state == ConnectionState.CLOSED) return@closeHandler
             log.warn("Service discovery socket closed")
-            SourceStatusService.getInstance(project).update(ConnectionError, "Service discovery socket closed")
+            if (this.socket === socket) this.socket = null
+            replyTable.failPending("Service discovery socket closed")
+            vertx.safeLaunch { reconnect() }
         }
+        transition(ConnectionState.CONNECTED)
+    }
 
-        vertx.executeBlocking {
-            it.complete(connectServices(project))
+    /**
+     * Re-establishes a lost connection with jittered exponential backoff, then restores the platform connection,
+     * registered addresses and live views in one batch.
+     */
+    private suspend fun reconnect() {
+        val outageStart = System.nanoTime()
+        backoff.reset()
+        var socket: NetSocket? = null
+        while (socket == null) {
+            if (state == ConnectionState.CLOSED || project.isDisposed) return
+
+            val delayMs = backoff.nextDelayMs()
+            transition(ConnectionState.BACKING_OFF)
+            SourceStatusService.getInstance(project).update(
+                Pending, "Connection lost. Reconnecting in ${delayMs}ms (attempt ${backoff.attempts})"
+            )
+            delay(delayMs)
+            if (state == ConnectionState.CLOSED) return
+
+            transition(ConnectionState.CONNECTING)
+            socket = try {
+                connect()
+            } catch (ex: Exception) {
+                log.warn("Failed to reconnect to service discovery server: ${ex.message}")
+                null
+            }
+        }
+        if (state == ConnectionState.CLOSED) {
+            socket.close()
+            return
         }
-    }
 
-    private fun connectServices(project: Project) {
-        setupHandler(vertx, "get-records")
-        setupHandler(vertx, LIVE_MANAGEMENT)
-        setupHandler(vertx, LIVE_INSTRUMENT)
-        setupHandler(vertx, LIVE_VIEW)
+        val outageMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - outageStart)
+        val recoveryStart = System.nanoTime()
+        this.socket = socket
+        attachSocket(socket)
+        val restoredViews = try {
+            sendConnection().await()
+            resubscribe().await()
+        } catch (ex: Exception) {
+            log.warn("Failed to restore connection to platform", ex)
+            socket.close()
+            return
+        }
+        vertx.eventBus().publish(RECONNECTED_ADDRESS, null)
+        val recoveryMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - recoveryStart)
+        replyTable.metrics.timer("bridge.outage").update(outageMs, TimeUnit.MILLISECONDS)
+        replyTable.metrics.timer("bridge.recovery").update(recoveryMs, TimeUnit.MILLISECONDS)
 
-        //setup connection
-        val replyAddress = UUID.randomUUID().toString()
-        val pc = InstanceConnection(UUID.randomUUID().toString(), System.currentTimeMillis())
-        val consumer: MessageConsumer<Boolean> = vertx.eventBus().localConsumer(replyAddress)
+        val message = "Connection restored after ${outageMs}ms outage. Recovery took ${recoveryMs}ms " +
+                "(${registeredAddresses.size} addresses, $restoredViews live views)"
+        val statusService = SourceStatusService.getInstance(project)
+        if (statusService.getCurrentService() != null) {
+            statusService.update(ServiceEstablished, message)
+        } else {
+            statusService.update(Connected, message)
+        }
+    }
 
-        val promise = Promise.promise<Void>()
-        consumer.handler {
+    private fun sendConnection(): Future<Void> {
+        val pc = InstanceConnection(UUID.randomUUID().toString(), System.currentTimeMillis())
+        return replyTable.request(PlatformAddress.MARKER_CONNECTED, authHeaders(), JsonObject.mapFrom(pc)).compose {
             //todo: handle false
-            if (it.body() == true) {
-                SourceStatusService.getInstance(project).update(Connected)
-
-                promise.complete()
-                consumer.unregister()
-                setupPromise.complete()
+            if (it == true) {
+                Future.succeededFuture<Void>()
+            } else {
+                Future.failedFuture<Void>("Platform refused connection")
             }
         }
-        val headers = JsonObject().apply { pluginConfig.accessToken?.let { put("auth-token", it) } }
+    }
+
+    private fun resubscribe(): Future<Int> {
+        val socket = socket ?: return Future.failedFuture("Socket is closed")
+        registeredAddresses.forEach { sendRegister(it, socket) }
+        return LiveViewSubscriptionBroker.getInstance(project).resubscribeAll()
+    }
+
+    private fun register(address: String) {
+        registeredAddresses.add(address)
+        socket?.let { sendRegister(address, it) }
+    }
+
+    private fun sendRegister(address: String, socket: NetSocket) {
         FrameHelper.sendFrame(
-            BridgeEventType.SEND.name.lowercase(),
-            PlatformAddress.MARKER_CONNECTED,
-            replyAddress, headers, true, JsonObject.mapFrom(pc), socket!!
+            BridgeEventType.REGISTER.name.lowercase(),
+            address, null, authHeaders(), null, null, socket
         )
     }
 
+    private fun authHeaders(): JsonObject {
+        return JsonObject().apply { pluginConfig.accessToken?.let { put("auth-token", it) } }
+    }
+
+    private fun transition(newState: ConnectionState) {
+        if (state == newState || state == ConnectionState.CLOSED) return
+        log.info("Service discovery connection changed from $state to $newState")
+        state = newState
+    }
+
     private fun setupHandler(vertx: Vertx, address: String) {
         vertx.eventBus().localConsumer<JsonObject>(address) { resp ->
-            val replyAddress = UUID.randomUUID().toString()
-            val tempConsumer = vertx.eventBus().localConsumer<Any>(replyAddress)
-            tempConsumer.handler {
-                resp.reply(it.body())
-                tempConsumer.unregister()
-            }
-
-            val socket = this.socket
-            if (socket == null) {
-                log.warn("Socket is closed. Cannot send response: ${resp.body()}")
-                return@localConsumer
-            }
+            val start = System.nanoTime()
+            val action = resp.headers().get("action") ?: "request"
+            val timer = PluginMetrics.getInstance(project).timer("rpc.$address.$action")
             val headers = JsonObject()
             resp.headers().entries().forEach { headers.put(it.key, it.value) }
-            FrameHelper.sendFrame(
-                BridgeEventType.SEND.name.lowercase(),
-                address, replyAddress, headers, true, resp.body(), socket
-            )
+            replyTable.request(address, headers, resp.body()).onComplete {
+                timer.update(System.nanoTime() - start, TimeUnit.NANOSECONDS)
+                if (it.succeeded()) {
+                    resp.reply(it.result())
+                } else {
+                    log.warn("Failed to forward request to $address", it.cause())
+                    resp.fail((it.cause() as? ReplyException)?.failureCode() ?: -1, it.cause().message)
+                }
+            }
         }
     }
 
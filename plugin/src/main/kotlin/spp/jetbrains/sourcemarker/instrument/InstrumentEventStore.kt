@@ -0,0 +1,566 @@
+/*
+ * Source++, the continuous feedback platform for developers.
+ * Copyright (C) 2022-2024 CodeBrig, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package spp.jetbrains.sourcemarker.instrument
+
+import com.intellij.openapi.Disposable
+import com.intellij.openapi.application.PathManager
+import com.intellij.openapi.diagnostic.logger
+import com.intellij.openapi.project.Project
+import com.intellij.openapi.util.Disposer
+import com.intellij.openapi.util.Key
+import com.intellij.util.concurrency.AppExecutorUtil
+import io.vertx.core.json.JsonObject
+import spp.protocol.instrument.event.LiveInstrumentEvent
+import spp.protocol.instrument.event.LiveInstrumentHit
+import java.io.ByteArrayOutputStream
+import java.io.DataInputStream
+import java.io.DataOutputStream
+import java.io.File
+import java.io.RandomAccessFile
+import java.nio.charset.StandardCharsets
+import java.nio.file.Path
+import java.time.Duration
+import java.time.Instant
+import java.util.concurrent.CompletableFuture
+import java.util.zip.Deflater
+import java.util.zip.Inflater
+
+/**
+ * Append-only local history of the live instrument events shown in the instrument event window. Events are kept in
+ * fixed-size segment files, each record holding a small binary header followed by the deflated event JSON. Only
+ * offsets are held in memory: a sparse time index per segment and the record positions of each instrument, so
+ * history can be paged from disk, or searched by time, without keeping the events on the heap. The oldest segments
+ * are deleted once the store grows beyond [maxTotalBytes] or they are older than [maxAge].
+ *
+ * Breakpoint hits are stored with their variables, so persistence can be turned off with [setPersistent], which
+ * also deletes the stored history.
+ *
+ * All file access happens on a single background thread, in the order events were appended.
+ *
+ * @since 0.7.10
+ * @author [Brandon Fergerson](mailto:bfergerson@apache.org)
+ */
+class InstrumentEventStore(
+    private val directory: File,
+    private val maxSegmentBytes: Long = DEFAULT_MAX_SEGMENT_BYTES,
+    private val maxTotalBytes: Long = DEFAULT_MAX_TOTAL_BYTES,
+    private val maxAge: Duration = DEFAULT_MAX_AGE
+) : Disposable {
+
+    companion object {
+        const val DEFAULT_MAX_SEGMENT_BYTES = 16L * 1024 * 1024
+        const val DEFAULT_MAX_TOTAL_BYTES = 256L * 1024 * 1024
+        val DEFAULT_MAX_AGE: Duration = Duration.ofDays(7)
+
+        private const val SEGMENT_SUFFIX = ".seg"
+        private const val TIME_INDEX_INTERVAL = 64
+
+        //record references pack the segment sequence and file offset into a single long
+        private const val OFFSET_BITS = 40
+        private const val OFFSET_MASK = (1L shl OFFSET_BITS) - 1
+        private const val HIT_FLAG = 1L shl 62
+        private const val MISSING_RECORD = -1L
+
+        private val log = logger<InstrumentEventStore>()
+        private val KEY = Key.create<InstrumentEventStore>("SPP_INSTRUMENT_EVENT_STORE")
+
+        @JvmStatic
+        @Synchronized
+        fun getInstance(project: Project): InstrumentEventStore {
+            if (project.getUserData(KEY) == null) {
+                val directory = Path.of(PathManager.getSystemPath(), "sourceplusplus", "instrument-events")
+                    .resolve(project.locationHash).toFile()
+                val store = InstrumentEventStore(directory)
+                Disposer.register(project, store)
+                project.putUserData(KEY, store)
+            }
+            return project.getUserData(KEY)!!
+        }
+    }
+
+    private val executor = AppExecutorUtil.createBoundedApplicationPoolExecutor("SPP Instrument Event Store", 1)
+    private val segments = ArrayDeque<Segment>()
+    private val instruments = HashMap<String, InstrumentIndex>()
+    private var writer: RandomAccessFile? = null
+    private val deflater = Deflater(Deflater.BEST_SPEED)
+    private val inflater = Inflater()
+
+    @Volatile
+    private var disposed = false
+
+    @Volatile
+    private var persistent = true
+
+    init {
+        executor.execute { load() }
+    }
+
+    /**
+     * Appends the given event to the store. Positions are assigned on the store's thread, after the history of
+     * previous sessions has been loaded.
+     *
+     * @return the position of the event within its instrument's history, or -1 if the event isn't stored
+     */
+    fun append(event: LiveInstrumentEvent): CompletableFuture<Long> {
+        val instrumentId = event.instrument.id ?: return CompletableFuture.completedFuture(-1)
+        if (!persistent) return CompletableFuture.completedFuture(-1)
+        return CompletableFuture.supplyAsync({ write(instrumentId, event) }, executor)
+    }
+
+    /**
+     * Completes once every event appended before this call has been written.
+     *
+     * @return the number of events appended for the given instrument, including those no longer retained
+     */
+    fun getEventCount(instrumentId: String): CompletableFuture<Long> {
+        return CompletableFuture.supplyAsync({ instruments[instrumentId]?.endPosition ?: 0L }, executor)
+    }
+
+    /**
+     * Reads up to [limit] of the given instrument's events positioned before [endPosition], newest first.
+     */
+    fun readEvents(instrumentId: String, endPosition: Long, limit: Int): CompletableFuture<Page> {
+        return CompletableFuture.supplyAsync({
+            val index = instruments[instrumentId] ?: return@supplyAsync Page(emptyList(), 0)
+            val end = minOf(endPosition, index.endPosition)
+            val start = maxOf(index.firstPosition, end - limit)
+            val events = (end - 1 downTo start).mapNotNull { readRecord(index.refAt(it)) }
+            Page(events, start)
+        }, executor)
+    }
+
+    /**
+     * Finds the position of the given instrument's first retained event which occurred at or after [time]. The
+     * segment time index narrows the search to a block of [TIME_INDEX_INTERVAL] records, so only the headers of
+     * the instrument's records within that block are read.
+     *
+     * @return the position, or the instrument's end position if no retained event occurred at or after [time]
+     */
+    fun findPosition(instrumentId: String, time: Instant): CompletableFuture<Long> {
+        return CompletableFuture.supplyAsync({
+            val index = instruments[instrumentId] ?: return@supplyAsync 0L
+            val millis = time.toEpochMilli()
+            val segment = segments.firstOrNull { it.maxTimestamp >= millis } ?: return@supplyAsync index.endPosition
+            var position = index.positionOf(toRef(segment.sequence, segment.findOffset(millis), false))
+            while (position < index.endPosition) {
+                val ref = index.refAt(position)
+                if (ref != MISSING_RECORD) {
+                    val refSegment = findSegment(sequenceOf(ref))
+                    if (refSegment != null && readTimestampAt(refSegment, ref and OFFSET_MASK) >= millis) break
+                }
+                position++
+            }
+            position
+        }, executor)
+    }
+
+    /**
+     * Reads the events needed to rebuild the overview of each retained instrument, most recently active first:
+     * every non-hit event and up to [maxHits] of the most recent hits.
+     */
+    fun readInstrumentHistories(maxInstruments: Int, maxHits: Int): CompletableFuture<List<InstrumentHistory>> {
+        return CompletableFuture.supplyAsync({
+            instruments.entries.sortedByDescending { it.value.lastRef() }.take(maxInstruments).map { (id, index) ->
+                var remainingHits = maxHits
+                val refs = (index.endPosition - 1 downTo index.firstPosition).map { index.refAt(it) }.filter {
+                    if (it == MISSING_RECORD) {
+                        false
+                    } else if (!isHit(it)) {
+                        true
+                    } else {
+                        remainingHits-- > 0
+                    }
+                }
+                InstrumentHistory(id, refs.reversed().mapNotNull { readRecord(it) }, index.hitCount)
+            }.filter { it.events.isNotEmpty() }
+        }, executor)
+    }
+
+    /**
+     * Turns persistence of new events on or off. Turning it off deletes the stored history.
+     */
+    fun setPersistent(persistent: Boolean) {
+        if (this.persistent == persistent) return
+        this.persistent = persistent
+        if (!persistent) clear()
+    }
+
+    /**
+     * Deletes all stored events.
+     */
+    fun clear() {
+        executor.execute {
+            closeFiles()
+            segments.forEach {
+                if (!it.file.delete()) {
+                    log.warn("Failed to delete instrument event segment: ${it.file}")
+                }
+            }
+            segments.clear()
+            instruments.clear()
+        }
+    }
+
+    private fun load() {
+        try {
+            directory.mkdirs()
+            val files = directory.listFiles { file -> file.name.endsWith(SEGMENT_SUFFIX) }
+                ?.sortedBy { it.name.removeSuffix(SEGMENT_SUFFIX).toLongOrNull() ?: -1 } ?: emptyList()
+            for (file in files) {
+                val sequence = file.name.removeSuffix(SEGMENT_SUFFIX).toLongOrNull() ?: continue
+                val segment = Segment(sequence, file)
+                segments.addLast(segment)
+                indexSegment(segment)
+            }
+            applyRetention()
+        } catch (e: Exception) {
+            log.warn("Failed to load instrument event history", e)
+        }
+    }
+
+    private fun indexSegment(segment: Segment) {
+        RandomAccessFile(segment.file, "r").use { raf ->
+            val length = raf.length()
+            var offset = 0L
+            while (offset + Int.SIZE_BYTES <= length) {
+                raf.seek(offset)
+                val recordLength = raf.readInt()
+                if (recordLength <= 0 || offset + Int.SIZE_BYTES + recordLength > length) break
+
+                val timestamp = raf.readLong()
+                val hit = raf.readBoolean()
+                val instrumentId = raf.readUTF()
+                segment.addRecord(timestamp, offset)
+                instruments.getOrPut(instrumentId) { InstrumentIndex() }.add(toRef(segment.sequence, offset, hit))
+                offset += Int.SIZE_BYTES + recordLength
+            }
+            //drop any partially written record
+            segment.size = offset
+        }
+    }
+
+    /**
+     * @return the position of the event within its instrument's history
+     */
+    private fun write(instrumentId: String, event: LiveInstrumentEvent): Long {
+        val index = instruments.getOrPut(instrumentId) { InstrumentIndex() }
+        val position = index.endPosition
+        if (disposed || !persistent) {
+            index.add(MISSING_RECORD)
+            return position
+        }
+
+        try {
+            val hit = event is LiveInstrumentHit
+            val timestamp = event.occurredAt.toEpochMilli()
+            val record = ByteArrayOutputStream()
+            DataOutputStream(record).use {
+                it.writeLong(timestamp)
+                it.writeBoolean(hit)
+                it.writeUTF(instrumentId)
+                it.write(deflate(event.toJson().encode().toByteArray(StandardCharsets.UTF_8)))
+            }
+
+            var segment = segments.lastOrNull()
+            if (segment == null || segment.size + record.size() > maxSegmentBytes) {
+                segment = rollSegment()
+            }
+            val writer = writer ?: openWriter(segment)
+            val offset = segment.size
+            writer.seek(offset)
+            writer.writeInt(record.size())
+            writer.write(record.toByteArray())
+            segment.size = offset + Int.SIZE_BYTES + record.size()
+            segment.addRecord(timestamp, offset)
+            index.add(toRef(segment.sequence, offset, hit))
+        } catch (e: Exception) {
+            log.warn("Failed to store instrument event", e)
+            index.add(MISSING_RECORD)
+        }
+        return position
+    }
+
+    private fun rollSegment(): Segment {
+        writer?.close()
+        writer = null
+        val sequence = (segments.lastOrNull()?.sequence ?: -1) + 1
+        val segment = Segment(sequence, File(directory, "%016d%s".format(sequence, SEGMENT_SUFFIX)))
+        segments.addLast(segment)
+        openWriter(segment)
+        applyRetention()
+        return segment
+    }
+
+    /**
+     * Opens the given segment, which must be the last, for appending. Any partially written record left behind by
+     * a previous session is truncated.
+     */
+    private fun openWriter(segment: Segment): RandomAccessFile {
+        directory.mkdirs()
+        val writer = RandomAccessFile(segment.file, "rw")
+        writer.setLength(segment.size)
+        this.writer = writer
+        return writer
+    }
+
+    private fun applyRetention() {
+        val minTimestamp = System.currentTimeMillis() - maxAge.toMillis()
+        var totalBytes = segments.sumOf { it.size }
+        var removed = false
+        while (segments.size > 1) {
+            val oldest = segments.first()
+            if (totalBytes <= maxTotalBytes && oldest.maxTimestamp >= minTimestamp) break
+
+            segments.removeFirst()
+            totalBytes -= oldest.size
+            oldest.closeReader()
+            if (!oldest.file.delete()) {
+                log.warn("Failed to delete instrument event segment: ${oldest.file}")
+            }
+            removed = true
+        }
+        if (!removed) return
+
+        //emptied indexes are kept so that the positions of the instrument's later events keep increasing
+        val minSequence = segments.first().sequence
+        instruments.values.forEach { it.trimBefore(minSequence) }
+    }
+
+    private fun readRecord(ref: Long): LiveInstrumentEvent? {
+        if (ref == MISSING_RECORD) return null
+        val segment = findSegment(sequenceOf(ref)) ?: return null
+        val payload = readPayloadAt(segment, ref and OFFSET_MASK) ?: return null
+        return decode(payload)
+    }
+
+    private fun readPayloadAt(segment: Segment, offset: Long): ByteArray? {
+        return try {
+            val raf = segment.reader()
+            raf.seek(offset)
+            val recordLength = raf.readInt()
+            val bytes = ByteArray(recordLength)
+            raf.readFully(bytes)
+
+            val input = DataInputStream(bytes.inputStream())
+            input.readLong()
+            input.readBoolean()
+            input.readUTF()
+            input.readBytes()
+        } catch (e: Exception) {
+            log.warn("Failed to read instrument event from ${segment.file}", e)
+            null
+        }
+    }
+
+    private fun readTimestampAt(segment: Segment, offset: Long): Long {
+        return try {
+            val raf = segment.reader()
+            raf.seek(offset + Int.SIZE_BYTES)
+            raf.readLong()
+        } catch (e: Exception) {
+            log.warn("Failed to read instrument event from ${segment.file}", e)
+            Long.MAX_VALUE
+        }
+    }
+
+    private fun decode(payload: ByteArray): LiveInstrumentEvent? {
+        return try {
+            LiveInstrumentEvent.fromJson(JsonObject(String(inflate(payload), StandardCharsets.UTF_8)))
+        } catch (e: Exception) {
+            log.warn("Failed to decode instrument event", e)
+            null
+        }
+    }
+
+    private fun findSegment(sequence: Long): Segment? {
+        val first = segments.firstOrNull() ?: return null
+        return segments.getOrNull((sequence - first.sequence).toInt())?.takeIf { it.sequence == sequence }
+    }
+
+    private fun deflate(bytes: ByteArray): ByteArray {
+        deflater.reset()
+        deflater.setInput(bytes)
+        deflater.finish()
+        val out = ByteArrayOutputStream(bytes.size / 2 + 16)
+        val buffer = ByteArray(4096)
+        while (!deflater.finished()) {
+            out.write(buffer, 0, deflater.deflate(buffer))
+        }
+        return out.toByteArray()
+    }
+
+    private fun inflate(bytes: ByteArray): ByteArray {
+        inflater.reset()
+        inflater.setInput(bytes)
+        val out = ByteArrayOutputStream(bytes.size * 4)
+        val buffer = ByteArray(4096)
+        while (!inflater.finished()) {
+            val count = inflater.inflate(buffer)
+            if (count == 0 && inflater.needsInput()) break
+            out.write(buffer, 0, count)
+        }
+        return out.toByteArray()
+    }
+
+    private fun toRef(sequence: Long, offset: Long, hit: Boolean): Long {
+        return (if (hit) HIT_FLAG else 0L) or (sequence shl OFFSET_BITS) or offset
+    }
+
+    private fun sequenceOf(ref: Long): Long = (ref and HIT_FLAG.inv()) ushr OFFSET_BITS
+
+    private fun isHit(ref: Long): Boolean = ref and HIT_FLAG != 0L
+
+    override fun dispose() {
+        disposed = true
+        executor.execute {
+            closeFiles()
+            deflater.end()
+            inflater.end()
+        }
+    }
+
+    private fun closeFiles() {
+        writer?.close()
+        writer = null
+        segments.forEach { it.closeReader() }
+    }
+
+    /**
+     * Events of a single instrument, newest first, along with the position of the oldest event in the page.
+     */
+    data class Page(val events: List<LiveInstrumentEvent>, val startPosition: Long)
+
+    /**
+     * The retained events needed to rebuild an instrument's overview.
+     *
+     * @param events the instrument's non-hit events and most recent hits, oldest first
+     * @param hitCount the number of retained hits of the instrument
+     */
+    data class InstrumentHistory(val instrumentId: String, val events: List<LiveInstrumentEvent>, val hitCount: Long)
+
+    private class Segment(val sequence: Long, val file: File) {
+
+        var size = file.length()
+        var maxTimestamp = Long.MIN_VALUE
+            private set
+        private var reader: RandomAccessFile? = null
+        private var recordCount = 0L
+        private var indexTimes = LongArray(16)
+        private var indexOffsets = LongArray(16)
+        private var indexSize = 0
+
+        fun addRecord(timestamp: Long, offset: Long) {
+            //timestamps are indexed by their running max so out-of-order events can't break the binary search
+            maxTimestamp = maxOf(maxTimestamp, timestamp)
+            if (recordCount++ % TIME_INDEX_INTERVAL == 0L) {
+                if (indexSize == indexTimes.size) {
+                    indexTimes = indexTimes.copyOf(indexSize * 2)
+                    indexOffsets = indexOffsets.copyOf(indexSize * 2)
+                }
+                indexTimes[indexSize] = maxTimestamp
+                indexOffsets[indexSize] = offset
+                indexSize++
+            }
+        }
+
+        /**
+         * @return the offset of the last indexed record that occurred before the given time
+         */
+        fun findOffset(millis: Long): Long {
+            var low = 0
+            var high = indexSize - 1
+            var result = 0L
+            while (low <= high) {
+                val mid = (low + high) ushr 1
+                if (indexTimes[mid] < millis) {
+                    result = indexOffsets[mid]
+                    low = mid + 1
+                } else {
+                    high = mid - 1
+                }
+            }
+            return result
+        }
+
+        fun reader(): RandomAccessFile {
+            return reader ?: RandomAccessFile(file, "r").also { reader = it }
+        }
+
+        fun closeReader() {
+            reader?.close()
+            reader = null
+        }
+    }
+
+    private class InstrumentIndex {
+
+        var firstPosition = 0L
+            private set
+        var hitCount = 0L
+            private set
+        private var refs = LongArray(16)
+        private var size = 0
+
+        val endPosition: Long
+            get() = firstPosition + size
+
+        fun add(ref: Long) {
+            if (size == refs.size) {
+                refs = refs.copyOf(size * 2)
+            }
+            refs[size++] = ref
+            if (ref != MISSING_RECORD && ref and HIT_FLAG != 0L) hitCount++
+        }
+
+        fun refAt(position: Long): Long = refs[(position - firstPosition).toInt()]
+
+        fun lastRef(): Long = if (size == 0) MISSING_RECORD else refs[size - 1] and HIT_FLAG.inv()
+
+        /**
+         * @return the position of the first record at or after the given reference, ignoring missing records
+         */
+        fun positionOf(ref: Long): Long {
+            var low = 0
+            var high = size
+            while (low < high) {
+                val mid = (low + high) ushr 1
+                //missing records take the place of the next stored record
+                var probe = mid
+                while (probe < high && refs[probe] == MISSING_RECORD) probe++
+                if (probe < high && refs[probe] and HIT_FLAG.inv() < ref) low = probe + 1 else high = mid
+            }
+            return firstPosition + low
+        }
+
+        /**
+         * Drops the references to records of segments older than the given sequence.
+         */
+        fun trimBefore(minSequence: Long) {
+            var trimmed = 0
+            while (trimmed < size) {
+                val ref = refs[trimmed]
+                if (ref != MISSING_RECORD && (ref and HIT_FLAG.inv()) ushr OFFSET_BITS >= minSequence) break
+                if (ref != MISSING_RECORD && ref and HIT_FLAG != 0L) hitCount--
+                trimmed++
+            }
+            if (trimmed == 0) return
+            refs.copyInto(refs, 0, trimmed, size)
+            size -= trimmed
+            firstPosition += trimmed
+        }
+    }
+}
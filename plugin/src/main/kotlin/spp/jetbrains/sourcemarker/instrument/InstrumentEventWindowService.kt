@@ -18,6 +18,7 @@ package spp.jetbrains.sourcemarker.instrument
 
 import com.intellij.openapi.Disposable
 import com.intellij.openapi.application.ApplicationManager
+import com.intellij.openapi.diagnostic.logger
 import com.intellij.openapi.project.Project
 import com.intellij.openapi.util.Disposer
 import com.intellij.openapi.wm.RegisterToolWindowTask
@@ -35,10 +36,13 @@ import spp.jetbrains.invokeLater
 import spp.jetbrains.marker.SourceMarker
 import spp.jetbrains.marker.SourceMarkerKeys
 import spp.jetbrains.marker.service.ArtifactNamingService
+import spp.jetbrains.sourcemarker.instrument.LiveInstrumentHitAggregator.HitSummary
 import spp.jetbrains.sourcemarker.instrument.breakpoint.ui.BreakpointHitTab
 import spp.jetbrains.sourcemarker.instrument.ui.InstrumentEventTab
 import spp.jetbrains.sourcemarker.instrument.ui.InstrumentOverviewTab
+import spp.jetbrains.sourcemarker.instrument.ui.action.ClearEventHistoryAction
 import spp.jetbrains.sourcemarker.instrument.ui.action.ClearInstrumentsAction
+import spp.jetbrains.sourcemarker.instrument.ui.action.GoToEventTimeAction
 import spp.jetbrains.sourcemarker.instrument.ui.action.RemoveInstrumentAction
 import spp.jetbrains.status.SourceStatusService
 import spp.protocol.artifact.exception.sourceAsLineNumber
@@ -56,6 +60,10 @@ class InstrumentEventWindowService(
 ) : Disposable, ContentManagerListener {
 
     companion object {
+        private const val MAX_OVERVIEWS = 1000
+        private const val RESTORED_HITS_PER_INSTRUMENT = 100
+        private val log = logger<InstrumentEventWindowService>()
+
         @JvmStatic
         fun getInstance(project: Project): InstrumentEventWindowService {
             return project.getService(InstrumentEventWindowService::class.java)
@@ -63,6 +71,8 @@ class InstrumentEventWindowService(
     }
 
     private val toolWindowId = "Live Instruments"
+    private val overviewsById = HashMap<String, InstrumentOverview>()
+    private val eventTabsById = HashMap<String, InstrumentEventTab>()
     private val contentFactory = ApplicationManager.getApplication().getService(ContentFactory::class.java)
     private var toolWindow: ToolWindow
     private var contentManager: ContentManager
@@ -82,6 +92,14 @@ class InstrumentEventWindowService(
                 else -> null
             }
         }
+    val selectedInstrumentOverviews: List<InstrumentOverview>
+        get() {
+            return when (val selectedTab = selectedTab) {
+                is InstrumentOverviewTab -> selectedTab.selectedInstrumentOverviews
+                is InstrumentEventTab -> listOf(selectedTab.overview)
+                else -> emptyList()
+            }
+        }
     val allOverviews: List<InstrumentOverview>
         get() {
             return overviewTab.model.items
@@ -119,8 +137,10 @@ class InstrumentEventWindowService(
 
         toolWindow.setTitleActions(
             listOf(
+                GoToEventTimeAction(this),
                 RemoveInstrumentAction(this),
-                ClearInstrumentsAction(this)
+                ClearInstrumentsAction(this),
+                ClearEventHistoryAction(this)
             )
         )
     }
@@ -135,11 +155,40 @@ class InstrumentEventWindowService(
     }
 
     fun makeOverviewTab() {
+        overviewsById.clear()
         overviewTab = InstrumentOverviewTab(project)
         val content = contentFactory.createContent(overviewTab.component, "Overview", true)
         content.setDisposer(overviewTab)
         content.isCloseable = false
         contentManager.addContent(content)
+        restoreOverviews(overviewTab)
+    }
+
+    /**
+     * Adds overviews for the instruments retained in the local event history which aren't already shown.
+     */
+    private fun restoreOverviews(tab: InstrumentOverviewTab) {
+        InstrumentEventStore.getInstance(project).readInstrumentHistories(MAX_OVERVIEWS, RESTORED_HITS_PER_INSTRUMENT)
+            .whenComplete { histories, error ->
+                if (error != null) {
+                    log.warn("Failed to restore instrument overviews", error)
+                    return@whenComplete
+                }
+
+                project.invokeLater {
+                    if (tab !== overviewTab) return@invokeLater
+                    histories.forEach { history ->
+                        if (overviewsById.containsKey(history.instrumentId)) return@forEach
+                        if (tab.model.rowCount >= MAX_OVERVIEWS) return@invokeLater
+
+                        val overview = InstrumentOverview(history.events.first())
+                        history.events.drop(1).forEach { overview.addEvent(it) }
+                        overview.hitCount = history.hitCount
+                        overviewsById[history.instrumentId] = overview
+                        tab.model.addRow(overview)
+                    }
+                }
+            }
     }
 
     fun selectInOverviewTab(instrumentId: String) {
@@ -154,6 +203,11 @@ class InstrumentEventWindowService(
         overviewTab.table.grabFocus()
     }
 
+    override fun contentRemoved(event: ContentManagerEvent) {
+        val eventTab = event.content.disposer as? InstrumentEventTab ?: return
+        eventTab.overview.instrumentId?.let { eventTabsById.remove(it, eventTab) }
+    }
+
     private fun hideWindows() {
         contentManager.contents.forEach { content ->
             contentManager.removeContent(content, true)
@@ -161,40 +215,47 @@ class InstrumentEventWindowService(
     }
 
     fun addInstrumentEvent(event: LiveInstrumentEvent) {
-        val existingOverview = overviewTab.model.items.find { it.instrumentId == event.instrument.id }
+        val instrumentId = event.instrument.id ?: return
+        InstrumentEventStore.getInstance(project).append(event)
+
+        val existingOverview = overviewsById[instrumentId]
         if (existingOverview != null) {
-            existingOverview.events.add(event)
+            existingOverview.addEvent(event)
             overviewTab.component.repaint()
         } else {
-            overviewTab.model.insertRow(0, InstrumentOverview(mutableListOf(event)))
-        }
+            if (overviewTab.model.rowCount >= MAX_OVERVIEWS) {
+                //evict the oldest overview, which is always the last row
+                val lastRow = overviewTab.model.rowCount - 1
+                overviewTab.model.getItem(lastRow).instrumentId?.let { overviewsById.remove(it) }
+                overviewTab.model.removeRow(lastRow)
+            }
 
-        val max = 1000
-        if (overviewTab.model.items.size > max) {
-            overviewTab.model.items.removeAt(0)
+            val overview = InstrumentOverview(event)
+            overviewsById[instrumentId] = overview
+            overviewTab.model.insertRow(0, overview)
         }
 
         //also add to events window (if open)
-        contentManager.contents.forEach {
-            if (it.disposer is InstrumentEventTab) {
-                val eventTab = it.disposer as InstrumentEventTab
-                if (eventTab.overview.instrumentId == event.instrument.id) {
-                    eventTab.model.insertRow(0, event)
-                    if (eventTab.model.items.size > max) {
-                        eventTab.model.items.removeAt(0)
-                    }
-                }
-            }
-        }
+        eventTabsById[instrumentId]?.addEvent(event)
+    }
+
+    /**
+     * Adds the sampled hits of the given summary and accounts for the hits that weren't sampled.
+     */
+    fun addHitSummary(summary: HitSummary) {
+        summary.samples.forEach { addInstrumentEvent(it) }
+
+        val overview = overviewsById[summary.instrumentId] ?: return
+        overview.hitCount += summary.skippedHits
+        overview.hitsPerSecond = summary.hitsPerSecond
+        overviewTab.component.repaint()
     }
 
     fun showInstrumentEvents(overview: InstrumentOverview) {
         //if already open, select it
-        val existingContent = contentManager.contents.find {
-            (it.disposer as? InstrumentEventTab)?.overview?.instrumentId == overview.instrumentId
-        }
-        if (existingContent != null) {
-            contentManager.setSelectedContent(existingContent, true)
+        val existingTab = overview.instrumentId?.let { eventTabsById[it] }
+        if (existingTab != null) {
+            contentManager.getContent(existingTab.component)?.let { contentManager.setSelectedContent(it, true) }
             return
         }
 
@@ -205,6 +266,7 @@ class InstrumentEventWindowService(
         )
         content.setDisposer(eventTab)
         content.isCloseable = true
+        overview.instrumentId?.let { eventTabsById[it] = eventTab }
         contentManager.addContent(content)
         contentManager.setSelectedContent(content)
 
@@ -217,7 +279,7 @@ class InstrumentEventWindowService(
     }
 
     fun showInstrumentEvents(instrumentId: String) {
-        val overview = overviewTab.model.items.find { it.instrumentId == instrumentId }
+        val overview = overviewsById[instrumentId]
         if (overview != null) {
             showInstrumentEvents(overview)
             toolWindow.show()
@@ -229,16 +291,18 @@ class InstrumentEventWindowService(
         breakpointHitTab = BreakpointHitTab(project, executionPointHighlighter)
 
         //grab first non-skywalking frame and add real variables from skywalking frame
-        val stackTrace = hit.stackTrace.copy(
-            elements = hit.stackTrace.elements.map { it.copy(variables = it.variables.toMutableList()) }.toMutableList()
-        )
+        //(frames are shared with the hit, so only the displayed first frame is copied)
+        val stackTrace = hit.stackTrace
         val filteredStackTrace = stackTrace.copy(
             elements = stackTrace.getElements(true).toMutableList()
         )
         var firstNonSkyWalkingFrame = filteredStackTrace.first()
         val firstFrame = stackTrace.first()
         if (firstFrame != firstNonSkyWalkingFrame) {
-            firstNonSkyWalkingFrame.variables.addAll(firstFrame.variables)
+            firstNonSkyWalkingFrame = firstNonSkyWalkingFrame.copy(
+                variables = (firstNonSkyWalkingFrame.variables + firstFrame.variables).toMutableList()
+            )
+            filteredStackTrace.elements[0] = firstNonSkyWalkingFrame
         }
 
         if (firstNonSkyWalkingFrame.source.contains("Unknown Source")) {
@@ -271,7 +335,7 @@ class InstrumentEventWindowService(
     }
 
     fun isFinished(id: String): Boolean {
-        return overviewTab.model.items.find { it.instrumentId == id }?.isFinished ?: false
+        return overviewsById[id]?.isFinished ?: false
     }
 
     override fun dispose() = Unit
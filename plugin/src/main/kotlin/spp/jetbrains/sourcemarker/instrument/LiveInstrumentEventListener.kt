@@ -19,13 +19,14 @@ package spp.jetbrains.sourcemarker.instrument
 import com.intellij.openapi.application.ApplicationManager
 import com.intellij.openapi.diagnostic.logger
 import com.intellij.openapi.project.Project
+import com.intellij.openapi.util.Disposer
 import com.intellij.psi.PsiDocumentManager
-import io.vertx.core.json.JsonObject
+import com.intellij.util.ui.update.MergingUpdateQueue
+import com.intellij.util.ui.update.Update
 import io.vertx.ext.auth.impl.jose.JWT
-import io.vertx.ext.bridge.BridgeEventType
-import io.vertx.ext.eventbus.bridge.tcp.impl.protocol.FrameHelper
 import io.vertx.kotlin.coroutines.CoroutineVerticle
 import io.vertx.kotlin.coroutines.await
+import spp.jetbrains.LocalReferenceCodec
 import spp.jetbrains.UserData
 import spp.jetbrains.artifact.service.ArtifactTypeService
 import spp.jetbrains.icons.PluginIcons
@@ -35,6 +36,7 @@ import spp.jetbrains.marker.SourceMarkerKeys
 import spp.jetbrains.marker.SourceMarkerKeys.INSTRUMENT_ID
 import spp.jetbrains.marker.service.ArtifactCreationService.createExpressionGutterMark
 import spp.jetbrains.marker.source.SourceFileMarker
+import spp.jetbrains.marker.source.mark.api.SourceMark
 import spp.jetbrains.marker.source.mark.api.event.SourceMarkEvent
 import spp.jetbrains.marker.source.mark.api.event.SourceMarkEventCode
 import spp.jetbrains.marker.source.mark.api.event.SourceMarkEventListener
@@ -52,7 +54,7 @@ import spp.protocol.service.SourceServices.Subscribe.toLiveInstrumentSubscriberA
 import spp.protocol.service.SourceServices.Subscribe.toLiveInstrumentSubscription
 import spp.protocol.service.listen.LiveInstrumentListener
 import spp.protocol.service.listen.addLiveInstrumentListener
-import java.util.concurrent.CopyOnWriteArrayList
+import java.util.concurrent.ConcurrentLinkedQueue
 
 /**
  * todo: description.
@@ -66,10 +68,25 @@ class LiveInstrumentEventListener(
     private val pluginConfig: SourceMarkerConfig
 ) : CoroutineVerticle(), LiveInstrumentListener, SourceMarkEventListener {
 
+    companion object {
+        private const val REMOVED_EVENTS_MERGE_MS = 50
+    }
+
     private val log = logger<LiveInstrumentEventListener>()
-    private val activeInstruments = CopyOnWriteArrayList<LiveInstrument>()
+    private val registry = LiveInstrumentRegistry.getInstance(project)
+    private val hitAggregator = LiveInstrumentHitAggregator(
+        project, pluginConfig.instrumentHitSamplesPerSecond.coerceAtLeast(1)
+    ) { onHitSummaries(it) }
+
+    //removals often arrive in bursts (e.g. bulk removal), so their mark updates are applied together
+    private val removedEvents = ConcurrentLinkedQueue<Pair<LiveInstrumentRemoved, List<SourceMark>>>()
+    private val removedEventsQueue = MergingUpdateQueue(
+        "SPP_INSTRUMENT_REMOVED", REMOVED_EVENTS_MERGE_MS, true, null, null
+    )
 
     override suspend fun start() {
+        InstrumentEventStore.getInstance(project).setPersistent(pluginConfig.instrumentEventHistoryEnabled)
+
         var developer = "system"
         if (pluginConfig.accessToken != null) {
             val json = JWT.parse(pluginConfig.accessToken)
@@ -78,21 +95,47 @@ class LiveInstrumentEventListener(
         vertx.addLiveInstrumentListener(developer, this).await()
 
         //register instrument event listener
-        FrameHelper.sendFrame(
-            BridgeEventType.REGISTER.name.lowercase(),
-            toLiveInstrumentSubscriberAddress(developer), null,
-            JsonObject().apply { pluginConfig.accessToken?.let { put("auth-token", it) } },
-            null, null, TCPServiceDiscoveryBackend.getSocket(project)
-        )
-
-        //fetch currently active live instruments
-        instrumentService.getLiveInstruments().onSuccess {
-            activeInstruments.addAllAbsent(it)
+        TCPServiceDiscoveryBackend.register(project, toLiveInstrumentSubscriberAddress(developer))
+
+        //fetch currently active live instruments, and again whenever the connection is restored
+        reloadInstruments()
+        vertx.eventBus().localConsumer<Any>(TCPServiceDiscoveryBackend.RECONNECTED_ADDRESS) {
+            reloadInstruments()
+        }
+    }
+
+    /**
+     * Syncs the registry and gutter marks with the platform's active instruments, which may have changed while
+     * the connection was down.
+     */
+    private fun reloadInstruments() {
+        instrumentService.getLiveInstruments().onSuccess { instruments ->
+            val activeIds = instruments.mapNotNull { it.id }.toSet()
+            val removed = registry.getActiveInstruments().filter { it.id !in activeIds }
+            removed.forEach { registry.removeInstrument(it) }
+            val added = instruments.filter { registry.addInstrument(it) }
+            if (removed.isEmpty() && added.isEmpty()) return@onSuccess
+
+            project.invokeLater {
+                removed.forEach { instrument ->
+                    SourceMarker.getInstance(project).findByInstrumentId(instrument.id!!)
+                        .filterIsInstance<GutterMark>().forEach { it.dispose() }
+                }
+                added.forEach {
+                    val fileMarker = SourceMarker.getInstance(project).getSourceFileMarker(it.location.source)
+                    if (fileMarker != null && (it is LiveLog || it is LiveBreakpoint)) addGutterMark(fileMarker, it)
+                }
+            }
         }.onFailure {
             log.error("Failed to get active instruments", it)
         }
     }
 
+    override suspend fun stop() {
+        Disposer.dispose(hitAggregator)
+        Disposer.dispose(removedEventsQueue)
+    }
+
     override fun handleEvent(event: SourceMarkEvent) {
         when (event.eventCode) {
             SourceMarkEventCode.MARK_ADDED -> {
@@ -120,14 +163,14 @@ class LiveInstrumentEventListener(
                         return@runReadAction
                     }
 
+                    val instruments = registry.getActiveInstruments(locationSource, startLine..endLine)
+                    if (instruments.isEmpty()) return@runReadAction
                     project.invokeLater {
-                        activeInstruments.forEach {
-                            if (locationSource == it.location.source && it.location.line in startLine..endLine) {
-                                when (it) {
-                                    is LiveLog -> addGutterMark(fileMarker, it)
-                                    is LiveBreakpoint -> addGutterMark(fileMarker, it)
-                                    else -> Unit
-                                }
+                        instruments.forEach {
+                            when (it) {
+                                is LiveLog -> addGutterMark(fileMarker, it)
+                                is LiveBreakpoint -> addGutterMark(fileMarker, it)
+                                else -> Unit
                             }
                         }
                     }
@@ -146,16 +189,21 @@ class LiveInstrumentEventListener(
             return //ignore breakpoints from other services
         }
 
-        vertx.eventBus().publish(
-            toLiveInstrumentSubscription(event.instrument.id!!),
-            event.toJson()
-        )
+        //json for existing subscribers (e.g. live plugins), objects for local consumers (if any)
+        val address = toLiveInstrumentSubscription(event.instrument.id!!)
+        vertx.eventBus().publish(address, event.toJson())
+        if (LocalReferenceCodec.hasLocalConsumers(address)) {
+            val localAddress = LocalReferenceCodec.localAddress(address)
+            vertx.eventBus().publish(localAddress, event, LocalReferenceCodec.DELIVERY_OPTIONS)
+        }
     }
 
     override fun onInstrumentAddedEvent(event: LiveInstrumentAdded) {
+        log.debug("Instrument added: $event")
+        registry.addInstrument(event.instrument)
+        registry.addEvent(event)
+
         project.invokeLater {
-            log.debug("Instrument added: $event")
-            activeInstruments.add(event.instrument)
             InstrumentEventWindowService.getInstance(project).addInstrumentEvent(event)
 
             val fileMarker = SourceMarker.getInstance(project).getSourceFileMarker(event.instrument.location.source)
@@ -204,14 +252,29 @@ class LiveInstrumentEventListener(
     }
 
     override fun onInstrumentRemovedEvent(event: LiveInstrumentRemoved) {
-        project.invokeLater {
-            log.debug("Instrument removed: $event")
-            activeInstruments.remove(event.instrument)
+        log.debug("Instrument removed: $event")
+        registry.removeInstrument(event.instrument)
+        registry.addEvent(event)
+
+        val sourceMarks = SourceMarker.getInstance(project).findByInstrumentId(event.instrument.id!!)
+        removedEvents.add(event to sourceMarks)
+        removedEventsQueue.queue(Update.create(removedEvents) { applyRemovedEvents() })
+    }
+
+    /**
+     * Applies the pending instrument removals, refreshing each affected file's marks once.
+     */
+    private fun applyRemovedEvents() {
+        if (project.isDisposed) return
+        val selfId = UserData.selfInfo(project)?.developer?.id
+        val refreshFileMarkers = mutableSetOf<SourceFileMarker>()
+        while (true) {
+            val (event, sourceMarks) = removedEvents.poll() ?: break
             InstrumentEventWindowService.getInstance(project).addInstrumentEvent(event)
 
-            SourceMarker.getInstance(project).findByInstrumentId(event.instrument.id!!).forEach {
+            sourceMarks.forEach {
                 if (it is GutterMark) {
-                    if (event.instrument.meta["created_by"] != UserData.selfInfo(project)?.developer?.id) {
+                    if (event.instrument.meta["created_by"] != selfId) {
                         //just remove foreign instrument icons
                         it.dispose()
                     } else if (event.instrument !is LiveBreakpoint) {
@@ -223,7 +286,7 @@ class LiveInstrumentEventListener(
                         } else {
                             it.configuration.icon = PluginIcons.Breakpoint.error
                         }
-                        it.sourceFileMarker.refresh()
+                        refreshFileMarkers.add(it.sourceFileMarker)
                     }
                 }
 
@@ -231,6 +294,7 @@ class LiveInstrumentEventListener(
                     ?.forEach { it.onInstrumentRemovedEvent(event) }
             }
         }
+        refreshFileMarkers.forEach { it.refresh() }
     }
 
     override fun onInstrumentHitEvent(event: LiveInstrumentHit) {
@@ -239,26 +303,30 @@ class LiveInstrumentEventListener(
             return //ignore breakpoints from other services
         }
 
-        project.invokeLater {
-            InstrumentEventWindowService.getInstance(project).addInstrumentEvent(event)
+        registry.addEvent(event)
+        hitAggregator.addHit(event)
+    }
 
-            if (event is LiveBreakpointHit) {
-                SourceMarker.getInstance(project).findByInstrumentId(event.instrument.id!!).forEach {
-                    it.getUserData(SourceMarkerKeys.INSTRUMENT_EVENT_LISTENERS)?.forEach {
-                        it.onBreakpointHitEvent(event)
-                    }
-                }
-            } else if (event is LiveLogHit) {
-                SourceMarker.getInstance(project).findByInstrumentId(event.instrument.id!!).forEach {
-                    it.getUserData(SourceMarkerKeys.INSTRUMENT_EVENT_LISTENERS)?.forEach {
-                        it.onLogHitEvent(event)
-                    }
+    private fun onHitSummaries(summaries: List<LiveInstrumentHitAggregator.HitSummary>) {
+        summaries.forEach { summary ->
+            InstrumentEventWindowService.getInstance(project).addHitSummary(summary)
+            if (summary.samples.isEmpty()) return@forEach
+
+            val listeners = SourceMarker.getInstance(project).findByInstrumentId(summary.instrumentId)
+                .flatMap { it.getUserData(SourceMarkerKeys.INSTRUMENT_EVENT_LISTENERS) ?: emptySet() }
+            summary.samples.forEach { hit ->
+                if (hit is LiveBreakpointHit) {
+                    listeners.forEach { it.onBreakpointHitEvent(hit) }
+                } else if (hit is LiveLogHit) {
+                    listeners.forEach { it.onLogHitEvent(hit) }
                 }
             }
         }
     }
 
     override fun onInstrumentAppliedEvent(event: LiveInstrumentApplied) {
+        registry.updateInstrument(event.instrument)
+        registry.addEvent(event)
         project.invokeLater {
             InstrumentEventWindowService.getInstance(project).addInstrumentEvent(event)
         }
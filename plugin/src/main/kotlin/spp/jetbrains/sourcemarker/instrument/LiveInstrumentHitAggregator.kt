@@ -0,0 +1,180 @@
+/*
+ * Source++, the continuous feedback platform for developers.
+ * Copyright (C) 2022-2024 CodeBrig, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package spp.jetbrains.sourcemarker.instrument
+
+import com.intellij.openapi.Disposable
+import com.intellij.openapi.project.Project
+import com.intellij.util.Alarm
+import spp.jetbrains.invokeLater
+import spp.protocol.instrument.event.LiveInstrumentHit
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.atomic.AtomicBoolean
+import kotlin.math.exp
+
+/**
+ * Aggregates live instrument hits so that hot instruments don't flood the UI with one update per hit. Every hit
+ * is counted, while only the first [samplesPerSecond] hits of each instrument per second are kept as full events.
+ * Pending summaries are delivered to [onSummaries] on the EDT at most once per [FLUSH_INTERVAL_MS].
+ *
+ * @since 0.7.10
+ * @author [Brandon Fergerson](mailto:bfergerson@apache.org)
+ */
+class LiveInstrumentHitAggregator(
+    private val project: Project,
+    samplesPerSecond: Int = DEFAULT_SAMPLES_PER_SECOND,
+    private val onSummaries: (List<HitSummary>) -> Unit
+) : Disposable {
+
+    companion object {
+        const val DEFAULT_SAMPLES_PER_SECOND = 10
+        const val FLUSH_INTERVAL_MS = 250
+
+        private val RATE_TIME_CONSTANT_NANOS = TimeUnit.SECONDS.toNanos(1).toDouble()
+        private const val MIN_HITS_PER_SECOND = 0.05
+    }
+
+    @Volatile
+    var samplesPerSecond: Int = samplesPerSecond
+        set(value) {
+            require(value > 0) { "Samples per second must be positive" }
+            field = value
+        }
+
+    private val stats = LinkedHashMap<String, HitStats>()
+    private val flushScheduled = AtomicBoolean(false)
+    private val flushAlarm = Alarm(Alarm.ThreadToUse.POOLED_THREAD, this)
+
+    init {
+        require(samplesPerSecond > 0) { "Samples per second must be positive" }
+    }
+
+    /**
+     * Records the given hit. May be called from any thread.
+     */
+    fun addHit(hit: LiveInstrumentHit) {
+        val instrumentId = hit.instrument.id ?: return
+        val now = System.nanoTime()
+        synchronized(stats) {
+            stats.getOrPut(instrumentId) { HitStats(instrumentId, now) }.addHit(hit, now)
+        }
+
+        if (flushScheduled.compareAndSet(false, true) && !flushAlarm.isDisposed) {
+            flushAlarm.addRequest({ flush() }, FLUSH_INTERVAL_MS)
+        }
+    }
+
+    private fun flush() {
+        flushScheduled.set(false)
+        val now = System.nanoTime()
+        val summaries = mutableListOf<HitSummary>()
+        synchronized(stats) {
+            val iterator = stats.values.iterator()
+            while (iterator.hasNext()) {
+                val instrumentStats = iterator.next()
+                instrumentStats.drain(now)?.let { summaries.add(it) }
+                if (instrumentStats.isIdle) iterator.remove()
+            }
+        }
+        if (summaries.isNotEmpty()) {
+            project.invokeLater { onSummaries(summaries) }
+        }
+
+        //keep flushing while hit rates decay to zero
+        if (summaries.any { it.hitsPerSecond > 0 } && flushScheduled.compareAndSet(false, true)
+            && !flushAlarm.isDisposed
+        ) {
+            flushAlarm.addRequest({ flush() }, FLUSH_INTERVAL_MS)
+        }
+    }
+
+    override fun dispose() {
+        synchronized(stats) { stats.clear() }
+    }
+
+    /**
+     * Hits of a single instrument received since the previous summary.
+     *
+     * @param hits the number of hits received since the previous summary
+     * @param skippedHits the number of hits since the previous summary that were not sampled
+     * @param hitsPerSecond the smoothed hit rate of the instrument
+     * @param samples the sampled hits since the previous summary, oldest first; ends with the latest hit, if any
+     */
+    data class HitSummary(
+        val instrumentId: String,
+        val hits: Long,
+        val skippedHits: Long,
+        val hitsPerSecond: Double,
+        val samples: List<LiveInstrumentHit>
+    ) {
+        val latestHit: LiveInstrumentHit?
+            get() = samples.lastOrNull()
+    }
+
+    private inner class HitStats(val instrumentId: String, private var lastDrained: Long) {
+
+        private var pendingHits = 0L
+        private var hitsPerSecond = 0.0
+        private var sampleSecond = 0L
+        private var sampledThisSecond = 0
+        private val samples = mutableListOf<LiveInstrumentHit>()
+        private var latestHit: LiveInstrumentHit? = null
+
+        val isIdle: Boolean
+            get() = pendingHits == 0L && hitsPerSecond == 0.0
+
+        fun addHit(hit: LiveInstrumentHit, now: Long) {
+            pendingHits++
+            latestHit = hit
+
+            val second = TimeUnit.NANOSECONDS.toSeconds(now)
+            if (second != sampleSecond) {
+                sampleSecond = second
+                sampledThisSecond = 0
+            }
+            if (sampledThisSecond < samplesPerSecond) {
+                sampledThisSecond++
+                samples.add(hit)
+            }
+        }
+
+        fun drain(now: Long): HitSummary? {
+            if (pendingHits == 0L && hitsPerSecond == 0.0) return null
+
+            //exponentially weighted by elapsed time so irregular flush intervals don't skew the rate
+            val elapsedNanos = (now - lastDrained).coerceAtLeast(1)
+            val currentRate = pendingHits * TimeUnit.SECONDS.toNanos(1).toDouble() / elapsedNanos
+            val weight = 1 - exp(-elapsedNanos / RATE_TIME_CONSTANT_NANOS)
+            hitsPerSecond += weight * (currentRate - hitsPerSecond)
+            if (pendingHits == 0L && hitsPerSecond < MIN_HITS_PER_SECOND) {
+                hitsPerSecond = 0.0
+            }
+            lastDrained = now
+
+            val latestHit = latestHit
+            if (latestHit != null && samples.lastOrNull() !== latestHit) {
+                samples.add(latestHit)
+            }
+            val summary = HitSummary(
+                instrumentId, pendingHits, pendingHits - samples.size, hitsPerSecond, samples.toList()
+            )
+            pendingHits = 0
+            samples.clear()
+            this.latestHit = null
+            return summary
+        }
+    }
+}
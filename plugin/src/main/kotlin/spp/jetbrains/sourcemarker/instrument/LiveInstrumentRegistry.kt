@@ -0,0 +1,173 @@
+/*
+ * Source++, the continuous feedback platform for developers.
+ * Copyright (C) 2022-2024 CodeBrig, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package spp.jetbrains.sourcemarker.instrument
+
+import com.intellij.openapi.project.Project
+import com.intellij.openapi.util.Key
+import spp.protocol.instrument.LiveInstrument
+import spp.protocol.instrument.event.LiveInstrumentEvent
+import java.util.concurrent.ConcurrentHashMap
+
+/**
+ * Holds the live instruments known to the project, keyed by instrument id and by source location, along with
+ * a bounded buffer of each instrument's most recent events. Lookups by location only visit the instruments
+ * of the requested source rather than every active instrument. The full event history is kept by the
+ * [InstrumentEventStore].
+ *
+ * @since 0.7.10
+ * @author [Brandon Fergerson](mailto:bfergerson@apache.org)
+ */
+class LiveInstrumentRegistry(
+    private val maxEventsPerInstrument: Int = 100,
+    private val maxInstruments: Int = 1000
+) {
+
+    companion object {
+        private val KEY = Key.create<LiveInstrumentRegistry>("SPP_LIVE_INSTRUMENT_REGISTRY")
+
+        @JvmStatic
+        @Synchronized
+        fun getInstance(project: Project): LiveInstrumentRegistry {
+            if (project.getUserData(KEY) == null) {
+                project.putUserData(KEY, LiveInstrumentRegistry())
+            }
+            return project.getUserData(KEY)!!
+        }
+    }
+
+    private val instruments = ConcurrentHashMap<String, InstrumentEntry>()
+    private val activeBySource = ConcurrentHashMap<String, MutableSet<String>>()
+
+    /**
+     * Registers the given instrument as active.
+     *
+     * @return false if the instrument was already active
+     */
+    fun addInstrument(instrument: LiveInstrument): Boolean {
+        val id = instrument.id ?: return false
+        val entry = getOrCreateEntry(id, instrument)
+        entry.instrument = instrument
+        if (entry.active) return false
+
+        entry.active = true
+        activeBySource.computeIfAbsent(instrument.location.source) { ConcurrentHashMap.newKeySet() }.add(id)
+        return true
+    }
+
+    /**
+     * Marks the given instrument as no longer active. It and its recent events are kept until evicted by newer
+     * instruments.
+     */
+    fun removeInstrument(instrument: LiveInstrument) {
+        val id = instrument.id ?: return
+        instruments[id]?.let {
+            it.active = false
+            it.lastUpdated = System.nanoTime()
+        }
+        activeBySource.computeIfPresent(instrument.location.source) { _, ids ->
+            ids.remove(id)
+            if (ids.isEmpty()) null else ids
+        }
+    }
+
+    fun getInstrument(instrumentId: String): LiveInstrument? = instruments[instrumentId]?.instrument
+
+    fun isActive(instrumentId: String): Boolean = instruments[instrumentId]?.active == true
+
+    fun getActiveInstruments(): List<LiveInstrument> {
+        return instruments.values.filter { it.active }.map { it.instrument }
+    }
+
+    /**
+     * @return the active instruments located in the given source within the given lines
+     */
+    fun getActiveInstruments(source: String, lines: IntRange): List<LiveInstrument> {
+        val ids = activeBySource[source] ?: return emptyList()
+        return ids.mapNotNull { instruments[it]?.instrument }.filter { it.location.line in lines }
+    }
+
+    /**
+     * Records the latest state of the given instrument, e.g. once it has been applied.
+     */
+    fun updateInstrument(instrument: LiveInstrument) {
+        val id = instrument.id ?: return
+        getOrCreateEntry(id, instrument).apply {
+            this.instrument = instrument
+            lastUpdated = System.nanoTime()
+        }
+    }
+
+    /**
+     * Records the given event in its instrument's recent event buffer.
+     */
+    fun addEvent(event: LiveInstrumentEvent) {
+        val id = event.instrument.id ?: return
+        getOrCreateEntry(id, event.instrument).addEvent(event)
+    }
+
+    /**
+     * @return the most recent events of the given instrument, oldest first
+     */
+    fun getRecentEvents(instrumentId: String): List<LiveInstrumentEvent> {
+        return instruments[instrumentId]?.getEvents() ?: emptyList()
+    }
+
+    /**
+     * @return the most recent event of the given type recorded for the given instrument
+     */
+    fun <T : LiveInstrumentEvent> getLatestEvent(instrumentId: String, type: Class<T>): T? {
+        return getRecentEvents(instrumentId).lastOrNull { type.isInstance(it) }?.let { type.cast(it) }
+    }
+
+    private fun getOrCreateEntry(id: String, instrument: LiveInstrument): InstrumentEntry {
+        instruments[id]?.let { return it }
+
+        val entry = instruments.computeIfAbsent(id) { InstrumentEntry(instrument) }
+        if (instruments.size > maxInstruments) {
+            evictInactive()
+        }
+        return entry
+    }
+
+    private fun evictInactive() {
+        val inactive = instruments.entries.filter { !it.value.active }
+            .sortedBy { it.value.lastUpdated }
+        val evictCount = (instruments.size - maxInstruments).coerceAtMost(inactive.size)
+        inactive.take(evictCount).forEach { instruments.remove(it.key, it.value) }
+    }
+
+    private inner class InstrumentEntry(@Volatile var instrument: LiveInstrument) {
+
+        @Volatile
+        var active = false
+        @Volatile
+        var lastUpdated = System.nanoTime()
+        private val events = ArrayDeque<LiveInstrumentEvent>()
+
+        @Synchronized
+        fun addEvent(event: LiveInstrumentEvent) {
+            events.addLast(event)
+            while (events.size > maxEventsPerInstrument) {
+                events.removeFirst()
+            }
+            lastUpdated = System.nanoTime()
+        }
+
+        @Synchronized
+        fun getEvents(): List<LiveInstrumentEvent> = events.toList()
+    }
+}
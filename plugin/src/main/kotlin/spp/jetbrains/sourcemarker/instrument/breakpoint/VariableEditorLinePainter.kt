@@ -19,12 +19,14 @@ package spp.jetbrains.sourcemarker.instrument.breakpoint
 import com.intellij.openapi.editor.EditorLinePainter
 import com.intellij.openapi.editor.LineExtensionInfo
 import com.intellij.openapi.editor.colors.EditorColorsManager
+import com.intellij.openapi.editor.colors.EditorColorsScheme
 import com.intellij.openapi.editor.markup.TextAttributes
 import com.intellij.openapi.project.Project
 import com.intellij.openapi.vfs.VirtualFile
 import com.intellij.ui.Gray
 import com.intellij.ui.JBColor
 import com.intellij.xdebugger.ui.DebuggerColors
+import spp.jetbrains.instrument.presentation.LiveVariableDecoder
 import spp.jetbrains.sourcemarker.instrument.InstrumentEventWindowService
 import spp.jetbrains.sourcemarker.instrument.breakpoint.model.ActiveStackTrace
 import spp.jetbrains.sourcemarker.instrument.breakpoint.ui.BreakpointHitTab
@@ -40,21 +42,41 @@ import java.awt.Font
  */
 class VariableEditorLinePainter : EditorLinePainter() {
 
+    @Volatile
+    private var cache: LineExtensionCache? = null
+
     override fun getLineExtensions(project: Project, file: VirtualFile, lineNumber: Int): List<LineExtensionInfo> {
-        val lineInfos = mutableListOf<LineExtensionInfo>()
         val selectedTab = InstrumentEventWindowService.getInstance(project).selectedTab
         if (selectedTab !is BreakpointHitTab) return emptyList()
 
-        val activeFrame = selectedTab.activeStack.currentFrame
-        if (activeFrame != null) {
-            val attributes = normalAttributes
-            activeFrame.variables.forEach {
-                if (it.lineNumber == lineNumber + 1) {
-                    lineInfos.add(LineExtensionInfo("  ${it.name} = ${it.value}", attributes))
+        val variablesByLine = selectedTab.activeStack.variablesByLine
+        if (variablesByLine.isEmpty()) return emptyList()
+
+        val scheme = EditorColorsManager.getInstance().globalScheme
+        var cache = cache
+        if (cache == null || cache.variablesByLine !== variablesByLine || cache.scheme !== scheme) {
+            cache = LineExtensionCache(variablesByLine, scheme)
+            this.cache = cache
+        }
+        return cache.lineExtensions[lineNumber] ?: emptyList()
+    }
+
+    /**
+     * Rendered line extensions of a single frame. Keyed by the identity of the frame's
+     * [ActiveStackTrace.variablesByLine] index, which is rebuilt whenever the current frame changes, and by the
+     * color scheme.
+     */
+    private class LineExtensionCache(
+        val variablesByLine: Map<Int, List<LiveVariable>>,
+        val scheme: EditorColorsScheme
+    ) {
+        val lineExtensions: Map<Int, List<LineExtensionInfo>> = normalAttributes.let { attributes ->
+            variablesByLine.mapValues { (_, variables) ->
+                variables.map {
+                    LineExtensionInfo("  ${it.name} = ${LiveVariableDecoder.toInlineText(it)}", attributes)
                 }
             }
         }
-        return lineInfos
     }
 
     companion object {
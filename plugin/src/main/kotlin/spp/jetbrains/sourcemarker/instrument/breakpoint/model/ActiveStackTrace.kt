@@ -18,6 +18,7 @@ package spp.jetbrains.sourcemarker.instrument.breakpoint.model
 
 import spp.protocol.artifact.exception.LiveStackTrace
 import spp.protocol.artifact.exception.LiveStackTraceElement
+import spp.protocol.instrument.variable.LiveVariable
 
 /**
  * The currently selected [LiveStackTrace].
@@ -25,8 +26,27 @@ import spp.protocol.artifact.exception.LiveStackTraceElement
  * @since 0.3.0
  * @author [Brandon Fergerson](mailto:bfergerson@apache.org)
  */
-data class ActiveStackTrace(
+class ActiveStackTrace(
     val stackTrace: LiveStackTrace,
-    var currentFrame: LiveStackTraceElement? = null,
+    currentFrame: LiveStackTraceElement? = null,
     var currentFrameIndex: Int = 0
-)
+) {
+
+    var currentFrame: LiveStackTraceElement? = currentFrame
+        set(value) {
+            field = value
+            variablesByLine = indexVariablesByLine(value)
+        }
+
+    /**
+     * The variables of the [currentFrame], keyed by zero-based line number. Rebuilt whenever the current frame
+     * changes so editor line painting doesn't need to scan the frame's variables.
+     */
+    var variablesByLine: Map<Int, List<LiveVariable>> = indexVariablesByLine(currentFrame)
+        private set
+
+    private fun indexVariablesByLine(frame: LiveStackTraceElement?): Map<Int, List<LiveVariable>> {
+        if (frame == null) return emptyMap()
+        return frame.variables.filter { it.lineNumber > 0 }.groupBy { it.lineNumber - 1 }
+    }
+}
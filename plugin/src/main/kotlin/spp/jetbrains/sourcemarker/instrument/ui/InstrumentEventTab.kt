@@ -17,6 +17,7 @@
 package spp.jetbrains.sourcemarker.instrument.ui
 
 import com.intellij.openapi.Disposable
+import com.intellij.openapi.diagnostic.logger
 import com.intellij.openapi.project.Project
 import com.intellij.ui.components.JBScrollPane
 import com.intellij.ui.table.JBTable
@@ -25,7 +26,9 @@ import spp.jetbrains.instrument.column.LiveInstrumentEventColumnInfo
 import spp.jetbrains.instrument.model.InstrumentOverview
 import spp.jetbrains.instrument.renderer.InstrumentTypeTableCellRenderer
 import spp.jetbrains.invokeLater
+import spp.jetbrains.sourcemarker.instrument.InstrumentEventStore
 import spp.jetbrains.sourcemarker.instrument.InstrumentEventWindowService
+import spp.jetbrains.sourcemarker.instrument.LiveInstrumentRegistry
 import spp.protocol.instrument.event.LiveBreakpointHit
 import spp.protocol.instrument.event.LiveInstrumentEvent
 import java.awt.BorderLayout
@@ -34,6 +37,7 @@ import java.awt.event.ActionEvent
 import java.awt.event.KeyEvent
 import java.awt.event.MouseAdapter
 import java.awt.event.MouseEvent
+import java.time.Instant
 import javax.swing.*
 
 /**
@@ -44,18 +48,33 @@ import javax.swing.*
  */
 class InstrumentEventTab(val project: Project, val overview: InstrumentOverview) : Disposable {
 
+    companion object {
+        private const val PAGE_SIZE = 200
+        private const val MAX_LIVE_ROWS = 1000
+        private val log = logger<InstrumentEventTab>()
+    }
+
     val model = ListTableModel<LiveInstrumentEvent>(
         arrayOf(
             LiveInstrumentEventColumnInfo("Occurred At"),
             LiveInstrumentEventColumnInfo("Event Type"),
             LiveInstrumentEventColumnInfo("Data")
         ),
-        ArrayList(), 0, SortOrder.DESCENDING
+        ArrayDeque(), 0, SortOrder.DESCENDING
     )
     private val table = JBTable(model)
+    private val scrollPane = JBScrollPane(table)
     val component = JPanel(BorderLayout()).apply {
-        add(JBScrollPane(table), BorderLayout.CENTER)
+        add(scrollPane, BorderLayout.CENTER)
     }
+    private val store = InstrumentEventStore.getInstance(project)
+    private val registry = LiveInstrumentRegistry.getInstance(project)
+
+    //history position of the oldest event shown; older events are paged in from the store on demand
+    private var oldestPosition = 0L
+    private var rowLimit = MAX_LIVE_ROWS
+    private var loading = true
+    private var disposed = false
 
     init {
         table.setShowColumns(true)
@@ -89,9 +108,134 @@ class InstrumentEventTab(val project: Project, val overview: InstrumentOverview)
                 }
             }
         })
+        scrollPane.verticalScrollBar.model.addChangeListener {
+            val scrollModel = scrollPane.verticalScrollBar.model
+            if (scrollModel.value + scrollModel.extent >= scrollModel.maximum - table.rowHeight * 10) {
+                loadOlderEvents()
+            }
+        }
 
-        overview.events.forEach { model.addRow(it) }
+        //events received after this tab opened are added as they arrive, so only earlier events are paged in
+        val instrumentId = overview.instrumentId
+        if (instrumentId == null) {
+            loading = false
+        } else {
+            val initialEvents = getDeliveredEvents(instrumentId)
+            store.getEventCount(instrumentId).whenComplete { count, error ->
+                project.invokeLater {
+                    loading = false
+                    if (disposed) return@invokeLater
+                    if (error != null || count == 0L) {
+                        error?.let { log.warn("Failed to read instrument event history", it) }
+                        model.addRows(initialEvents.asReversed())
+                        return@invokeLater
+                    }
+
+                    oldestPosition = count
+                    loadOlderEvents()
+                }
+            }
+        }
     }
 
-    override fun dispose() = Unit
+    /**
+     * Pages in the events back to the first event which occurred at or after the given time and selects it.
+     */
+    fun goToTime(time: Instant) {
+        val instrumentId = overview.instrumentId ?: return
+        if (loading) return
+
+        loading = true
+        store.findPosition(instrumentId, time).whenComplete { position, error ->
+            if (error != null) {
+                log.warn("Failed to find instrument event at $time", error)
+                project.invokeLater { loading = false }
+                return@whenComplete
+            }
+
+            project.invokeLater {
+                if (disposed) return@invokeLater
+                if (position >= oldestPosition) {
+                    loading = false
+                    selectEvent(position)
+                    return@invokeLater
+                }
+
+                store.readEvents(instrumentId, oldestPosition, (oldestPosition - position).toInt())
+                    .whenComplete { page, readError ->
+                        project.invokeLater {
+                            loading = false
+                            if (disposed) return@invokeLater
+                            if (readError != null) {
+                                log.warn("Failed to read instrument event history", readError)
+                                return@invokeLater
+                            }
+
+                            rowLimit += page.events.size
+                            model.addRows(page.events)
+                            if (page.events.isNotEmpty()) oldestPosition = page.startPosition
+                            selectEvent(position)
+                        }
+                    }
+            }
+        }
+    }
+
+    /**
+     * Selects the row of the event at the given history position, if shown.
+     */
+    private fun selectEvent(position: Long) {
+        val modelRow = model.rowCount - 1 - (position - oldestPosition).toInt()
+        if (modelRow !in 0 until model.rowCount) return
+        val viewRow = table.convertRowIndexToView(modelRow)
+        table.setRowSelectionInterval(viewRow, viewRow)
+        table.scrollRectToVisible(table.getCellRect(viewRow, 0, true))
+    }
+
+    /**
+     * @return the instrument's recent events which have already been delivered to the window, oldest first
+     */
+    private fun getDeliveredEvents(instrumentId: String): List<LiveInstrumentEvent> {
+        val lastDelivered = overview.lastEvent
+        return registry.getRecentEvents(instrumentId).filter { it.occurredAt <= lastDelivered }
+    }
+
+    private fun loadOlderEvents() {
+        val instrumentId = overview.instrumentId ?: return
+        if (loading || oldestPosition <= 0) return
+
+        loading = true
+        store.readEvents(instrumentId, oldestPosition, PAGE_SIZE).whenComplete { page, error ->
+            project.invokeLater {
+                loading = false
+                if (disposed) return@invokeLater
+                if (error != null) {
+                    log.warn("Failed to read instrument event history", error)
+                    if (model.rowCount == 0) model.addRows(getDeliveredEvents(instrumentId).asReversed())
+                    oldestPosition = 0
+                    return@invokeLater
+                }
+
+                rowLimit += page.events.size
+                model.addRows(page.events)
+                oldestPosition = if (page.events.isEmpty()) 0 else page.startPosition
+            }
+        }
+    }
+
+    /**
+     * Adds the given event as the newest row. Once more rows are shown than were paged in, the oldest row is
+     * evicted; it can be paged back in from the store.
+     */
+    fun addEvent(event: LiveInstrumentEvent) {
+        if (!loading && model.rowCount >= rowLimit) {
+            model.removeRow(model.rowCount - 1)
+            oldestPosition++
+        }
+        model.insertRow(0, event)
+    }
+
+    override fun dispose() {
+        disposed = true
+    }
 }
@@ -54,7 +54,7 @@ class InstrumentOverviewTab(val project: Project) : Disposable {
             InstrumentOverviewColumnInfo("Instrument Type"),
             InstrumentOverviewColumnInfo("Status")
         ),
-        ArrayList(), 0, SortOrder.DESCENDING
+        ArrayDeque(), 0, SortOrder.DESCENDING
     )
     val table = JBTable(model)
     val component = JPanel(BorderLayout()).apply {
@@ -66,10 +66,12 @@ class InstrumentOverviewTab(val project: Project) : Disposable {
             if (selectedRow == -1) return null
             return model.getItem(table.convertRowIndexToModel(selectedRow))
         }
+    val selectedInstrumentOverviews: List<InstrumentOverview>
+        get() = table.selectedRows.map { model.getItem(table.convertRowIndexToModel(it)) }
 
     init {
         table.setShowColumns(true)
-        table.selectionModel.selectionMode = ListSelectionModel.SINGLE_SELECTION
+        table.selectionModel.selectionMode = ListSelectionModel.MULTIPLE_INTERVAL_SELECTION
         table.setDefaultRenderer(
             InstrumentOverviewStatusTableCellRenderer::class.java,
             InstrumentOverviewStatusTableCellRenderer()
@@ -0,0 +1,50 @@
+/*
+ * Source++, the continuous feedback platform for developers.
+ * Copyright (C) 2022-2024 CodeBrig, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package spp.jetbrains.sourcemarker.instrument.ui.action
+
+import com.intellij.openapi.actionSystem.AnAction
+import com.intellij.openapi.actionSystem.AnActionEvent
+import com.intellij.openapi.ui.Messages
+import spp.jetbrains.icons.PluginIcons
+import spp.jetbrains.sourcemarker.instrument.InstrumentEventStore
+import spp.jetbrains.sourcemarker.instrument.InstrumentEventWindowService
+
+/**
+ * Deletes the locally stored history of live instrument events, after confirmation. Clearing live instruments
+ * on the platform keeps this history, so their events can still be looked back at.
+ *
+ * @since 0.7.10
+ * @author [Brandon Fergerson](mailto:bfergerson@apache.org)
+ */
+class ClearEventHistoryAction(val service: InstrumentEventWindowService) : AnAction(PluginIcons.trashCan) {
+
+    init {
+        templatePresentation.text = "Clear Event History"
+    }
+
+    override fun actionPerformed(e: AnActionEvent) {
+        val result = Messages.showYesNoDialog(
+            service.project,
+            "Delete the locally stored events of all live instruments?",
+            "Clear Event History",
+            Messages.getQuestionIcon()
+        )
+        if (result == Messages.YES) {
+            InstrumentEventStore.getInstance(service.project).clear()
+        }
+    }
+}
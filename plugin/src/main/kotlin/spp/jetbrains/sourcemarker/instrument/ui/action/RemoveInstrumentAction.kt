@@ -21,6 +21,7 @@ import com.intellij.openapi.actionSystem.AnActionEvent
 import com.intellij.openapi.diagnostic.logger
 import spp.jetbrains.UserData
 import spp.jetbrains.icons.PluginIcons
+import spp.jetbrains.instrument.LiveInstrumentBatch
 import spp.jetbrains.safeLaunch
 import spp.jetbrains.sourcemarker.instrument.InstrumentEventWindowService
 
@@ -51,19 +52,25 @@ class RemoveInstrumentAction(val service: InstrumentEventWindowService) : AnActi
                 return@safeLaunch
             }
 
-            val instrumentOverview = service.selectedInstrumentOverview
-            if (instrumentOverview == null) {
-                e.presentation.isEnabled = false
-            } else {
-                e.presentation.isEnabled = instrumentOverview.isRemovable(selfInfo.developer.id)
+            e.presentation.isEnabled = service.selectedInstrumentOverviews.any {
+                it.isRemovable(selfInfo.developer.id)
             }
         }
     }
 
     override fun actionPerformed(e: AnActionEvent) {
-        val instrumentId = service.selectedInstrumentOverview?.instrumentId ?: return
-        UserData.liveInstrumentService(service.project)?.removeLiveInstrument(instrumentId)?.onFailure {
-            log.error("Failed to remove live instrument", it)
+        val instrumentService = UserData.liveInstrumentService(service.project) ?: return
+        val selfId = UserData.selfInfo(service.project)?.developer?.id ?: return
+        val instrumentIds = service.selectedInstrumentOverviews
+            .filter { it.isRemovable(selfId) }
+            .mapNotNull { it.instrumentId }
+        if (instrumentIds.isEmpty()) return
+
+        //gutter marks are updated by the removed events of each instrument
+        LiveInstrumentBatch.removeLiveInstruments(instrumentService, instrumentIds).onSuccess { result ->
+            result.failed.forEach { (instrumentId, error) ->
+                log.error("Failed to remove live instrument: $instrumentId", error)
+            }
         }
     }
 }
@@ -23,13 +23,11 @@ import com.intellij.openapi.project.ProjectManager
 import com.intellij.openapi.util.Pair
 import io.vertx.kotlin.coroutines.await
 import kotlinx.coroutines.Job
-import kotlinx.coroutines.delay
-import kotlinx.coroutines.isActive
-import spp.jetbrains.ScopeExtensions.safeGlobalAsync
 import spp.jetbrains.ScopeExtensions.safeGlobalLaunch
 import spp.jetbrains.UserData
 import spp.jetbrains.safeLaunch
 import spp.jetbrains.sourcemarker.SourceMarkerPlugin
+import spp.jetbrains.sourcemarker.discover.ReconnectBackoff
 import spp.jetbrains.status.SourceStatus
 import spp.jetbrains.status.SourceStatus.*
 import spp.jetbrains.status.SourceStatusService
@@ -232,16 +230,21 @@ class SourceStatusServiceImpl(override val project: Project) : SourceStatusServi
         ConnectionError -> {
             SourceMarkerPlugin.getInstance(project).disposePlugin()
 
-            //start reconnection loop
+            //start reconnection loop, unless it's the loop's own attempt that failed
             synchronized(reconnectionLock) {
-                reconnectionJob = launchPeriodicInit(15_000, true)
+                if (reconnectionJob?.isActive != true) {
+                    reconnectionJob = SourceMarkerPlugin.getInstance(project)
+                        .launchPeriodicInit(ReconnectBackoff(5_000, 300_000))
+                }
             }
         }
 
         Enabled -> {
-            SourceMarkerPlugin.getInstance(project).init()
+            SourceMarkerPlugin.getInstance(project).launchInit()
         }
 
+        Pending -> Unit //reconnection attempt (if any) in progress
+
         Disabled -> {
             SourceMarkerPlugin.getInstance(project).disposePlugin()
             stopReconnectionLoop()
@@ -274,20 +277,4 @@ class SourceStatusServiceImpl(override val project: Project) : SourceStatusServi
             application.invokeLater(action)
         }
     }
-
-    private fun launchPeriodicInit(
-        repeatMillis: Long,
-        waitBefore: Boolean
-    ) = safeGlobalAsync {
-        while (isActive) {
-            if (waitBefore) delay(repeatMillis)
-            if (project.isDisposed) {
-                log.info("${project.name} is disposed, stopping reconnection loop")
-                break
-            } else {
-                SourceMarkerPlugin.getInstance(project).init()
-            }
-            if (!waitBefore) delay(repeatMillis)
-        }
-    }
 }
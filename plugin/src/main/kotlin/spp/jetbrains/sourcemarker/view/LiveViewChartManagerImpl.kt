@@ -219,7 +219,7 @@ class LiveViewChartManagerImpl(
                 MetricType.Endpoint_RespTime_AVG.asRealtime(),
                 MetricType.Endpoint_SLA.asRealtime(),
                 MetricType.Endpoint_CPM.asRealtime()
-            )
+            ), location = SourceStatusService.getCurrentService(project)
         )
         activityWindow.resume()
 
@@ -20,13 +20,13 @@ import com.intellij.openapi.diagnostic.logger
 import com.intellij.openapi.project.Project
 import io.vertx.core.json.JsonObject
 import io.vertx.ext.auth.impl.jose.JWT
-import io.vertx.ext.bridge.BridgeEventType
-import io.vertx.ext.eventbus.bridge.tcp.impl.protocol.FrameHelper
 import io.vertx.kotlin.coroutines.CoroutineVerticle
+import spp.jetbrains.LocalReferenceCodec
 import spp.jetbrains.marker.SourceMarker
 import spp.jetbrains.marker.SourceMarkerKeys
 import spp.jetbrains.sourcemarker.config.SourceMarkerConfig
 import spp.jetbrains.sourcemarker.discover.TCPServiceDiscoveryBackend
+import spp.jetbrains.view.LiveViewEventDemultiplexer
 import spp.protocol.service.SourceServices.Subscribe.toLiveViewSubscriberAddress
 import spp.protocol.service.SourceServices.Subscribe.toLiveViewSubscription
 import spp.protocol.view.LiveViewEvent
@@ -55,14 +55,16 @@ class LiveViewEventListener(
                 it.getUserData(SourceMarkerKeys.VIEW_EVENT_LISTENERS)?.forEach { it.accept(event) }
             }
 
-            vertx.eventBus().publish(toLiveViewSubscription(event.subscriptionId), it.body())
+            LiveViewEventDemultiplexer.getInstance(project).dispatch(event)
+
+            //json for existing subscribers (e.g. live plugins), objects for local consumers (if any)
+            val address = toLiveViewSubscription(event.subscriptionId)
+            vertx.eventBus().publish(address, it.body())
+            if (LocalReferenceCodec.hasLocalConsumers(address)) {
+                vertx.eventBus().publish(LocalReferenceCodec.localAddress(address), event)
+            }
         }
 
-        FrameHelper.sendFrame(
-            BridgeEventType.REGISTER.name.lowercase(),
-            toLiveViewSubscriberAddress(developer), null,
-            JsonObject().apply { pluginConfig.accessToken?.let { put("auth-token", it) } },
-            null, null, TCPServiceDiscoveryBackend.getSocket(project)
-        )
+        TCPServiceDiscoveryBackend.register(project, toLiveViewSubscriberAddress(developer))
     }
 }
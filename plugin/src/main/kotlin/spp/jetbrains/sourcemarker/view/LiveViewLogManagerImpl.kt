@@ -28,12 +28,11 @@ import com.intellij.ui.content.ContentFactory
 import com.intellij.ui.content.ContentManager
 import com.intellij.ui.content.ContentManagerEvent
 import com.intellij.ui.content.ContentManagerListener
-import io.vertx.core.eventbus.MessageConsumer
-import io.vertx.core.json.JsonObject
 import spp.jetbrains.UserData
 import spp.jetbrains.icons.PluginIcons
 import spp.jetbrains.invokeLater
 import spp.jetbrains.safeLaunch
+import spp.jetbrains.sourcemarker.SourceMarkerPlugin
 import spp.jetbrains.sourcemarker.view.action.ResumeViewAction
 import spp.jetbrains.sourcemarker.view.action.SetRefreshIntervalAction
 import spp.jetbrains.sourcemarker.view.action.StopViewAction
@@ -43,7 +42,6 @@ import spp.jetbrains.view.ResumableView
 import spp.jetbrains.view.manager.LiveViewLogManager
 import spp.jetbrains.view.window.LiveLogWindow
 import spp.protocol.platform.general.Service
-import spp.protocol.service.SourceServices.Subscribe.toLiveViewSubscriberAddress
 import spp.protocol.view.LiveView
 import spp.protocol.view.LiveViewConfig
 import spp.protocol.view.LiveViewEvent
@@ -149,7 +147,9 @@ class LiveViewLogManagerImpl(
             entityIds = mutableSetOf(service.name),
             viewConfig = LiveViewConfig("SERVICE_LOGS_WINDOW", listOf("service_logs"), 1000)
         )
-        val logWindow = LiveLogWindowImpl(project, viewService, liveView, { serviceLogsConsumerCreator(it) })
+        val logWindow = LiveLogWindowImpl(
+            project, viewService, liveView, maxScrollbackLines = getMaxScrollbackLines()
+        )
         val overviewContent = contentFactory.createContent(
             logWindow.component,
             "Service: ${service.name}",
@@ -160,17 +160,8 @@ class LiveViewLogManagerImpl(
         contentManager.addContent(overviewContent)
     }
 
-    private fun serviceLogsConsumerCreator(logWindow: LiveLogWindow): MessageConsumer<JsonObject> {
-        val vertx = UserData.vertx(project)
-        val developerId = UserData.developerId(project)
-        val consumer = vertx.eventBus().consumer<JsonObject>(toLiveViewSubscriberAddress(developerId))
-        consumer.handler {
-            val liveViewEvent = LiveViewEvent(it.body())
-            if (liveViewEvent.subscriptionId != logWindow.liveView.subscriptionId) return@handler
-
-            logWindow.handleEvent(liveViewEvent)
-        }
-        return consumer
+    private fun getMaxScrollbackLines(): Int {
+        return SourceMarkerPlugin.getInstance(project).getConfig().liveLogMaxScrollbackLines.coerceAtLeast(1)
     }
 
     private fun hideWindows() {
@@ -181,7 +172,7 @@ class LiveViewLogManagerImpl(
 
     override fun getOrCreateLogWindow(
         liveView: LiveView,
-        consumer: (LiveLogWindow) -> MessageConsumer<JsonObject>,
+        eventHandler: (LiveLogWindow, LiveViewEvent) -> Unit,
         title: String
     ): LiveLogWindow {
         val existingContent = contentManager.findContent(title)
@@ -199,7 +190,7 @@ class LiveViewLogManagerImpl(
         val viewService = UserData.liveViewService(project)
         require(viewService != null) { "LiveViewService not available" }
 
-        val logWindow = LiveLogWindowImpl(project, viewService, liveView, consumer)
+        val logWindow = LiveLogWindowImpl(project, viewService, liveView, eventHandler, getMaxScrollbackLines())
         logWindow.resume()
 
         project.invokeLater {
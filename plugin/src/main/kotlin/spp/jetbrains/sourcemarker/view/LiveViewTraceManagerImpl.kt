@@ -28,25 +28,25 @@ import com.intellij.ui.content.ContentFactory
 import com.intellij.ui.content.ContentManager
 import com.intellij.ui.content.ContentManagerEvent
 import com.intellij.ui.content.ContentManagerListener
-import io.vertx.core.eventbus.MessageConsumer
-import io.vertx.core.json.JsonObject
 import io.vertx.kotlin.coroutines.await
 import spp.jetbrains.UserData
 import spp.jetbrains.icons.PluginIcons
 import spp.jetbrains.invokeLater
 import spp.jetbrains.safeLaunch
+import spp.jetbrains.sourcemarker.SourceMarkerPlugin
 import spp.jetbrains.sourcemarker.view.action.ResumeViewAction
 import spp.jetbrains.sourcemarker.view.action.SetRefreshIntervalAction
 import spp.jetbrains.sourcemarker.view.action.StopViewAction
 import spp.jetbrains.sourcemarker.view.trace.TraceSpanSplitterPanel
 import spp.jetbrains.sourcemarker.view.window.LiveViewTraceWindowImpl
 import spp.jetbrains.status.SourceStatusService
+import spp.jetbrains.view.LiveViewEventData
 import spp.jetbrains.view.ResumableView
 import spp.jetbrains.view.manager.LiveViewTraceManager
+import spp.jetbrains.view.trace.TraceStackCache
 import spp.jetbrains.view.window.LiveTraceWindow
 import spp.protocol.artifact.trace.Trace
 import spp.protocol.platform.general.Service
-import spp.protocol.service.SourceServices.Subscribe.toLiveViewSubscriberAddress
 import spp.protocol.view.LiveView
 import spp.protocol.view.LiveViewConfig
 import spp.protocol.view.LiveViewEvent
@@ -152,7 +152,9 @@ class LiveViewTraceManagerImpl(
             entityIds = mutableSetOf(service.name),
             viewConfig = LiveViewConfig("SERVICE_TRACES_WINDOW", listOf("service_traces"), 1000)
         )
-        val traceWindow = LiveViewTraceWindowImpl(project, viewService, liveView, { serviceTracesConsumerCreator(it) })
+        val traceWindow = LiveViewTraceWindowImpl(project, viewService, liveView, { window, event ->
+            handleServiceTraceEvent(window, event)
+        }, getMaxTraces())
         val overviewContent = contentFactory.createContent(
             traceWindow.component,
             "Service: ${service.name}",
@@ -163,19 +165,12 @@ class LiveViewTraceManagerImpl(
         contentManager.addContent(overviewContent)
     }
 
-    private fun serviceTracesConsumerCreator(traceWindow: LiveTraceWindow): MessageConsumer<JsonObject> {
-        val vertx = UserData.vertx(project)
-        val developerId = UserData.developerId(project)
-        val consumer = vertx.eventBus().consumer<JsonObject>(toLiveViewSubscriberAddress(developerId))
-        consumer.handler {
-            val liveViewEvent = LiveViewEvent(it.body())
-            if (liveViewEvent.subscriptionId != traceWindow.liveView.subscriptionId) return@handler
+    private fun handleServiceTraceEvent(traceWindow: LiveTraceWindow, liveViewEvent: LiveViewEvent) {
+        traceWindow.addTrace(LiveViewEventData.trace(liveViewEvent))
+    }
 
-            val event = JsonObject(liveViewEvent.metricsData)
-            val trace = Trace(event.getJsonObject("trace"))
-            traceWindow.addTrace(trace)
-        }
-        return consumer
+    private fun getMaxTraces(): Int {
+        return SourceMarkerPlugin.getInstance(project).getConfig().liveTraceMaxTraces.coerceAtLeast(1)
     }
 
     private fun hideWindows() {
@@ -187,10 +182,11 @@ class LiveViewTraceManagerImpl(
     override fun showEndpointTraces(
         liveView: LiveView,
         endpointName: String,
-        consumer: (LiveTraceWindow) -> MessageConsumer<JsonObject>
+        eventHandler: (LiveTraceWindow, LiveViewEvent) -> Unit
     ) = project.invokeLater {
         val existingContent = contentManager.findContent(endpointName)
         if (existingContent != null) {
+            (existingContent.disposer as? LiveViewTraceWindowImpl)?.setMaxTraces(getMaxTraces())
             contentManager.setSelectedContent(existingContent)
             toolWindow.show()
             return@invokeLater
@@ -202,7 +198,7 @@ class LiveViewTraceManagerImpl(
             return@invokeLater
         }
 
-        val traceWindow = LiveViewTraceWindowImpl(project, viewService, liveView, consumer)
+        val traceWindow = LiveViewTraceWindowImpl(project, viewService, liveView, eventHandler, getMaxTraces())
         traceWindow.resume()
 
         val content = contentFactory.createContent(
@@ -227,16 +223,15 @@ class LiveViewTraceManagerImpl(
             return
         }
 
-        val viewService = UserData.liveViewService(project)
-        if (viewService == null) {
+        if (UserData.liveViewService(project) == null) {
             log.warn("LiveViewService not available for project: ${project.name}")
             return
         }
 
         UserData.vertx(project).safeLaunch {
-            val traceStack = viewService.getTraceStack(trace.traceIds.first()).await()
-            val traceSpans = traceStack?.traceSpans ?: return@safeLaunch
-            val traceWindow = TraceSpanSplitterPanel(project, traceSpans)
+            val spanIndex = TraceStackCache.getInstance(project).getTraceSpanIndex(trace.traceIds.first()).await()
+                ?: return@safeLaunch
+            val traceWindow = TraceSpanSplitterPanel(project, spanIndex)
 
             project.invokeLater {
                 val content = contentFactory.createContent(
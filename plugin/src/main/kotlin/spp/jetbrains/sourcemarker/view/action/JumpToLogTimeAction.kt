@@ -0,0 +1,74 @@
+/*
+ * Source++, the continuous feedback platform for developers.
+ * Copyright (C) 2022-2024 CodeBrig, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package spp.jetbrains.sourcemarker.view.action
+
+import com.intellij.openapi.actionSystem.AnAction
+import com.intellij.openapi.actionSystem.AnActionEvent
+import com.intellij.openapi.project.Project
+import com.intellij.openapi.ui.InputValidator
+import com.intellij.openapi.ui.Messages
+import spp.jetbrains.icons.PluginIcons
+import spp.jetbrains.sourcemarker.view.window.LiveLogWindowImpl
+import java.time.Instant
+import java.time.LocalDateTime
+import java.time.ZoneId
+import java.time.format.DateTimeFormatter
+import java.time.format.DateTimeParseException
+
+/**
+ * Replaces the log console contents with the logged history starting at a given time.
+ *
+ * @since 0.7.10
+ * @author [Brandon Fergerson](mailto:bfergerson@apache.org)
+ */
+class JumpToLogTimeAction(
+    private val project: Project,
+    private val logWindow: LiveLogWindowImpl
+) : AnAction(PluginIcons.clockRotateLeft) {
+
+    companion object {
+        private val formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss")
+    }
+
+    init {
+        templatePresentation.text = "Jump to Time"
+    }
+
+    override fun actionPerformed(e: AnActionEvent) {
+        val input = Messages.showInputDialog(
+            project,
+            "Logged at or after (yyyy-MM-dd HH:mm:ss):",
+            "Jump to Time",
+            null,
+            LocalDateTime.now().format(formatter),
+            object : InputValidator {
+                override fun checkInput(inputString: String?): Boolean = parse(inputString) != null
+                override fun canClose(inputString: String?): Boolean = checkInput(inputString)
+            }
+        ) ?: return
+        parse(input)?.let { logWindow.jumpToTime(it) }
+    }
+
+    private fun parse(input: String?): Instant? {
+        if (input.isNullOrBlank()) return null
+        return try {
+            LocalDateTime.parse(input.trim(), formatter).atZone(ZoneId.systemDefault()).toInstant()
+        } catch (ignore: DateTimeParseException) {
+            null
+        }
+    }
+}
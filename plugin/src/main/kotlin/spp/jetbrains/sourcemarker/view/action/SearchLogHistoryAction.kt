@@ -0,0 +1,47 @@
+/*
+ * Source++, the continuous feedback platform for developers.
+ * Copyright (C) 2022-2024 CodeBrig, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package spp.jetbrains.sourcemarker.view.action
+
+import com.intellij.icons.AllIcons
+import com.intellij.openapi.actionSystem.AnAction
+import com.intellij.openapi.actionSystem.AnActionEvent
+import com.intellij.openapi.project.Project
+import com.intellij.openapi.ui.Messages
+import spp.jetbrains.sourcemarker.view.window.LiveLogWindowImpl
+
+/**
+ * Replaces the log console contents with the logged history lines containing a given text, including lines no
+ * longer kept in the console.
+ *
+ * @since 0.7.10
+ * @author [Brandon Fergerson](mailto:bfergerson@apache.org)
+ */
+class SearchLogHistoryAction(
+    private val project: Project,
+    private val logWindow: LiveLogWindowImpl
+) : AnAction(AllIcons.Actions.Find) {
+
+    init {
+        templatePresentation.text = "Search History"
+    }
+
+    override fun actionPerformed(e: AnActionEvent) {
+        val query = Messages.showInputDialog(project, "Logged lines containing:", "Search History", null)
+        if (query.isNullOrBlank()) return
+        logWindow.showSearchResults(query)
+    }
+}
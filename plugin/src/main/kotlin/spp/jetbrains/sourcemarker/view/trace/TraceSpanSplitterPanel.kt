@@ -22,8 +22,8 @@ import com.intellij.openapi.util.Disposer
 import com.intellij.ui.OnePixelSplitter
 import spp.jetbrains.sourcemarker.view.trace.table.TraceSpanTable
 import spp.jetbrains.sourcemarker.view.trace.table.TraceSpanTreeTable
+import spp.jetbrains.view.trace.TraceSpanIndex
 import spp.jetbrains.view.trace.node.TraceSpanTreeNode
-import spp.protocol.artifact.trace.TraceSpan
 import javax.swing.tree.DefaultMutableTreeNode
 
 /**
@@ -32,14 +32,17 @@ import javax.swing.tree.DefaultMutableTreeNode
  * @since 0.7.6
  * @author [Brandon Fergerson](mailto:bfergerson@apache.org)
  */
-class TraceSpanSplitterPanel(project: Project, spans: List<TraceSpan>) : OnePixelSplitter(0.7f), Disposable {
+class TraceSpanSplitterPanel(
+    project: Project,
+    spanIndex: TraceSpanIndex
+) : OnePixelSplitter(0.7f), Disposable {
 
     init {
-        val spanTreeTable = TraceSpanTreeTable(project, spans)
+        val spanTreeTable = TraceSpanTreeTable(project, spanIndex)
         Disposer.register(this, spanTreeTable)
         firstComponent = spanTreeTable
 
-        val spanInfoTable = TraceSpanTable(spans.first())
+        val spanInfoTable = TraceSpanTable(spanIndex.spans.first())
         secondComponent = spanInfoTable.component
 
         spanTreeTable.tree.addTreeSelectionListener {
@@ -64,9 +64,8 @@ class SpanEventTableCellRenderer(private val model: LiveViewTraceModel) : JBLabe
             ColorUtil.withAlpha(DarculaColors.BLUE, 0.5)
         }
 
-        val traceStart = spanNode.traceStack.minOf { it.startTime.toEpochMilli() }
-        val traceEnd = spanNode.traceStack.maxOf { it.endTime.toEpochMilli() }
-        val traceDuration = traceEnd - traceStart
+        val traceStart = spanNode.spanIndex.traceStart
+        val traceDuration = spanNode.spanIndex.traceDuration
         val spanDuration = span.endTime.toEpochMilli() - span.startTime.toEpochMilli()
         val spanStart = span.startTime.toEpochMilli() - traceStart
         val spanPercent = spanDuration.toDouble() / traceDuration.toDouble()
@@ -24,8 +24,8 @@ import spp.jetbrains.sourcemarker.view.trace.LiveViewTraceModel
 import spp.jetbrains.sourcemarker.view.trace.LiveViewTraceRowSorter
 import spp.jetbrains.sourcemarker.view.trace.LiveViewTraceTreeStructure
 import spp.jetbrains.sourcemarker.view.trace.renderer.SpanEventTableCellRenderer
+import spp.jetbrains.view.trace.TraceSpanIndex
 import spp.jetbrains.view.trace.node.TraceRootTreeNode
-import spp.protocol.artifact.trace.TraceSpan
 import java.time.Duration
 import javax.swing.RowSorter
 import javax.swing.SortOrder
@@ -38,8 +38,8 @@ import javax.swing.SortOrder
  */
 class TraceSpanTreeTable(
     project: Project,
-    spans: List<TraceSpan>,
-    private val rootNode: TraceRootTreeNode = TraceRootTreeNode(project, spans),
+    spanIndex: TraceSpanIndex,
+    private val rootNode: TraceRootTreeNode = TraceRootTreeNode(project, spanIndex),
     model: LiveViewTraceModel = LiveViewTraceModel(project, LiveViewTraceTreeStructure(rootNode))
 ) : JBTreeTable(model), Disposable {
 
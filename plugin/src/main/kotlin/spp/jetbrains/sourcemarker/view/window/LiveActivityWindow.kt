@@ -17,17 +17,12 @@
 package spp.jetbrains.sourcemarker.view.window
 
 import com.intellij.openapi.project.Project
-import io.vertx.core.Vertx
-import io.vertx.core.eventbus.MessageConsumer
-import io.vertx.core.json.JsonObject
-import spp.jetbrains.UserData
 import spp.jetbrains.view.window.util.TabbedResumableView
 import spp.protocol.artifact.metrics.MetricType
+import spp.protocol.platform.general.Service
 import spp.protocol.service.LiveViewService
-import spp.protocol.service.SourceServices.Subscribe.toLiveViewSubscriberAddress
 import spp.protocol.view.LiveView
 import spp.protocol.view.LiveViewConfig
-import spp.protocol.view.LiveViewEvent
 
 /**
  * todo: description.
@@ -43,7 +38,8 @@ class LiveActivityWindow(
     private val scope: String,
     metrics: List<MetricType>,
     labels: List<String> = listOf(),
-    private var refreshRate: Int = -1
+    private var refreshRate: Int = -1,
+    location: Service? = null
 ) : TabbedResumableView() {
 
     private var initialFocus = true
@@ -51,18 +47,19 @@ class LiveActivityWindow(
         get() = refreshRate
 
     init {
-        val vertx = UserData.vertx(project)
         metrics.forEach {
+            //entities within a location are viewed by name, matching the views of the inlays and endpoints window
             val respTimeChart = LiveViewChartWindowImpl(
                 project, viewService, LiveView(
-                    entityIds = mutableSetOf(entityId),
+                    entityIds = mutableSetOf(if (location != null) entityName else entityId),
                     viewConfig = LiveViewConfig(
                         "${scope.uppercase()}_ACTIVITY_CHART",
                         listOf(it.metricId),
                         refreshRate
-                    )
-                ), entityName, labels
-            ) { consumerCreator(it, vertx) }
+                    ),
+                    location = location
+                ), entityName, labels, listOf(entityId)
+            )
             addTab("$scope ${it.simpleName}", respTimeChart, respTimeChart.component)
         }
     }
@@ -91,14 +88,4 @@ class LiveActivityWindow(
     }
 
     override fun supportsRealtime(): Boolean = scope != "Service"
-
-    private fun consumerCreator(window: LiveViewChartWindowImpl, vertx: Vertx): MessageConsumer<JsonObject> {
-        val developerId = UserData.developerId(window.project)
-        val consumer = vertx.eventBus().consumer<JsonObject>(toLiveViewSubscriberAddress(developerId))
-        return consumer.handler {
-            val liveViewEvent = LiveViewEvent(it.body())
-            if (window.liveView.subscriptionId != liveViewEvent.subscriptionId) return@handler
-            window.addMetric(liveViewEvent)
-        }
-    }
 }
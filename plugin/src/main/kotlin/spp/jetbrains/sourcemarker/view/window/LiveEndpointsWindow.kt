@@ -17,31 +17,27 @@
 package spp.jetbrains.sourcemarker.view.window
 
 import com.intellij.openapi.project.Project
+import com.intellij.openapi.util.Disposer
 import com.intellij.ui.components.JBScrollPane
 import com.intellij.ui.table.JBTable
 import com.intellij.util.ui.ListTableModel
-import io.vertx.core.Vertx
-import io.vertx.core.eventbus.MessageConsumer
-import io.vertx.core.json.JsonArray
-import io.vertx.core.json.JsonObject
 import io.vertx.kotlin.coroutines.await
 import spp.jetbrains.UserData
+import spp.jetbrains.invokeLater
 import spp.jetbrains.safeLaunch
 import spp.jetbrains.view.ResumableViewCollection
 import spp.jetbrains.view.column.ServiceEndpointColumnInfo
 import spp.jetbrains.view.manager.LiveViewChartManager
 import spp.jetbrains.view.model.ServiceEndpointRow
 import spp.jetbrains.view.window.renderer.EndpointAvailabilityTableCellRenderer
-import spp.jetbrains.view.window.util.EndpointRowView
+import spp.jetbrains.view.window.util.EndpointTableView
 import spp.protocol.artifact.metrics.MetricType.Companion.Endpoint_CPM
 import spp.protocol.artifact.metrics.MetricType.Companion.Endpoint_RespTime_AVG
 import spp.protocol.artifact.metrics.MetricType.Companion.Endpoint_SLA
 import spp.protocol.platform.general.Service
 import spp.protocol.service.LiveViewService
-import spp.protocol.service.SourceServices.Subscribe.toLiveViewSubscriberAddress
 import spp.protocol.view.LiveView
 import spp.protocol.view.LiveViewConfig
-import spp.protocol.view.LiveViewEvent
 import java.awt.BorderLayout
 import java.awt.event.MouseAdapter
 import java.awt.event.MouseEvent
@@ -91,64 +87,29 @@ class LiveEndpointsWindow(
         })
         component.add(JBScrollPane(table), "Center")
 
-        val vertx = UserData.vertx(project)
-        vertx.safeLaunch {
-            UserData.liveManagementService(project).getEndpoints(service, 1000, true).await().forEach {
-                val endpointRow = ServiceEndpointRow(it)
-                model.addRow(endpointRow)
-                addView(vertx, service, endpointRow)
-            }
-        }
-    }
-
-    private fun addView(vertx: Vertx, service: Service, endpoint: ServiceEndpointRow) {
         val listenMetrics = listOf(
             Endpoint_CPM.metricId,
             Endpoint_RespTime_AVG.metricId,
             Endpoint_SLA.metricId
         )
         val liveView = LiveView(
-            mutableSetOf(endpoint.endpoint.name),
+            mutableSetOf(),
             LiveViewConfig("LiveEndpointsWindow", listenMetrics, refreshInterval),
             location = service
         )
-        addView(EndpointRowView(project, viewService, liveView, endpoint, model) {
-            consumerCreator(vertx, it, endpoint)
-        })
-    }
-
-    private fun consumerCreator(
-        vertx: Vertx,
-        endpointRow: EndpointRowView,
-        endpoint: ServiceEndpointRow
-    ): MessageConsumer<JsonObject> {
-        val developerId = UserData.developerId(endpointRow.project)
-        val consumer = vertx.eventBus().consumer<JsonObject>(toLiveViewSubscriberAddress(developerId))
-        consumer.handler {
-            val viewEvent = LiveViewEvent(it.body())
-            if (viewEvent.subscriptionId != endpointRow.liveView.subscriptionId) return@handler
-
-            val metricArr = JsonArray(viewEvent.metricsData)
-            for (i in 0 until metricArr.size()) {
-                val metric = metricArr.getJsonObject(i)
-                val metricsName = metric.getJsonObject("meta").getString("metricsName")
-                when {
-                    Endpoint_CPM.equalsIgnoringRealtime(metricsName) -> {
-                        endpoint.cpm = metric.getInteger("value")
-                    }
-
-                    Endpoint_RespTime_AVG.equalsIgnoringRealtime(metricsName) -> {
-                        endpoint.respTimeAvg = metric.getInteger("value")
-                    }
+        val tableView = EndpointTableView(project, viewService, liveView, model)
+        addView(tableView)
+        Disposer.register(this, tableView)
 
-                    Endpoint_SLA.equalsIgnoringRealtime(metricsName) -> {
-                        endpoint.sla = metric.getInteger("value") / 100.0
-                    }
-                }
+        val vertx = UserData.vertx(project)
+        vertx.safeLaunch {
+            val endpointRows = UserData.liveManagementService(project).getEndpoints(service, 1000, true).await()
+                .map { ServiceEndpointRow(it) }
+            project.invokeLater {
+                tableView.setRows(endpointRows)
+                if (!initialFocus) resume()
             }
-            model.fireTableDataChanged()
         }
-        return consumer
     }
 
     override fun onFocused() {
@@ -165,7 +126,7 @@ class LiveEndpointsWindow(
                 Endpoint_RespTime_AVG.asRealtime().metricId,
                 Endpoint_SLA.asRealtime().metricId
             )
-            getViews().map { it as EndpointRowView }.forEach {
+            getViews().map { it as EndpointTableView }.forEach {
                 it.liveView = it.liveView.copy(viewConfig = it.liveView.viewConfig.copy(viewMetrics = listenMetrics))
             }
         } else {
@@ -174,7 +135,7 @@ class LiveEndpointsWindow(
                 Endpoint_RespTime_AVG.metricId,
                 Endpoint_SLA.metricId
             )
-            getViews().map { it as EndpointRowView }.forEach {
+            getViews().map { it as EndpointTableView }.forEach {
                 it.liveView = it.liveView.copy(viewConfig = it.liveView.viewConfig.copy(viewMetrics = listenMetrics))
             }
         }
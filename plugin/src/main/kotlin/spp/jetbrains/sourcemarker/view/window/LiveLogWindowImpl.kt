@@ -18,18 +18,30 @@ package spp.jetbrains.sourcemarker.view.window
 
 import com.intellij.execution.filters.TextConsoleBuilderFactory
 import com.intellij.execution.ui.ConsoleView
+import com.intellij.execution.ui.ConsoleViewContentType
+import com.intellij.openapi.actionSystem.ActionManager
 import com.intellij.openapi.actionSystem.DefaultActionGroup
 import com.intellij.openapi.application.ApplicationManager
 import com.intellij.openapi.diagnostic.logger
 import com.intellij.openapi.project.Project
 import com.intellij.openapi.util.Disposer
 import com.intellij.ui.components.JBPanel
-import io.vertx.core.eventbus.MessageConsumer
-import io.vertx.core.json.JsonObject
+import com.intellij.util.Alarm
+import spp.jetbrains.sourcemarker.view.action.JumpToLogTimeAction
+import spp.jetbrains.sourcemarker.view.action.SearchLogHistoryAction
+import spp.jetbrains.view.LiveViewEventDemultiplexer
+import spp.jetbrains.view.LiveViewSubscriptionBroker
+import spp.jetbrains.view.model.LogHistoryFile
+import spp.jetbrains.view.model.LogHistoryFile.LogLine
 import spp.jetbrains.view.window.LiveLogWindow
+import spp.jetbrains.view.window.LiveLogWindow.Companion.LIVE_OUTPUT_TYPE
 import spp.protocol.service.LiveViewService
 import spp.protocol.view.LiveView
+import spp.protocol.view.LiveViewEvent
 import java.awt.BorderLayout
+import java.time.Instant
+import java.util.concurrent.ConcurrentLinkedQueue
+import java.util.concurrent.atomic.AtomicBoolean
 import java.util.concurrent.atomic.AtomicReference
 
 /**
@@ -42,11 +54,18 @@ class LiveLogWindowImpl(
     private val project: Project,
     private val viewService: LiveViewService,
     override var liveView: LiveView,
-    private val consumerCreator: (LiveLogWindow) -> MessageConsumer<JsonObject>
+    private val eventHandler: (LiveLogWindow, LiveViewEvent) -> Unit = { window, event -> window.handleEvent(event) },
+    private val maxScrollbackLines: Int = DEFAULT_MAX_SCROLLBACK_LINES
 ) : LiveLogWindow {
 
+    companion object {
+        const val DEFAULT_MAX_SCROLLBACK_LINES = 5000
+        const val FRAME_INTERVAL_MS = 100
+        const val MAX_SEARCH_RESULTS = 1000
+    }
+
     private val log = logger<LiveLogWindowImpl>()
-    private var consumer: MessageConsumer<JsonObject>? = null
+    private var registration: LiveViewEventDemultiplexer.Registration? = null
     override val console: ConsoleView
     val component = JBPanel<Nothing>(BorderLayout()).apply { isFocusable = true }
     override var isRunning = false
@@ -54,10 +73,109 @@ class LiveLogWindowImpl(
     override val refreshInterval: Int
         get() = liveView.viewConfig.refreshRateLimit
     private var initialFocus = true
+    private val history = LogHistoryFile()
+    private val pendingLines = ConcurrentLinkedQueue<LogLine>()
+    private val flushScheduled = AtomicBoolean(false)
+    private val flushAlarm = Alarm(Alarm.ThreadToUse.POOLED_THREAD, this)
+    private var printedLines = 0
 
     init {
+        require(maxScrollbackLines > 0) { "maxScrollbackLines must be positive" }
         console = makeConsoleView(project)
         Disposer.register(this, console)
+        Disposer.register(this, history)
+        LiveViewSubscriptionBroker.getInstance(project).addRestartHandler(this) { restart() }
+    }
+
+    override fun printLog(timestamp: Instant, logLine: String, contentType: ConsoleViewContentType) {
+        pendingLines.add(LogLine(logLine.trimEnd('\n'), timestamp.toEpochMilli(), toTypeName(contentType)))
+        if (flushScheduled.compareAndSet(false, true) && !flushAlarm.isDisposed) {
+            flushAlarm.addRequest({ flush() }, FRAME_INTERVAL_MS)
+        }
+    }
+
+    /**
+     * Replaces the console contents with the logged history starting at the given time.
+     */
+    fun jumpToTime(time: Instant) = flushAlarm.addRequest({
+        synchronized(history) {
+            val lines = history.readFrom(time, maxScrollbackLines)
+            console.clear()
+            printLines(lines)
+            printedLines = lines.size
+        }
+    }, 0)
+
+    /**
+     * Searches the full log history, including lines no longer kept in the console.
+     */
+    fun searchHistory(query: String, limit: Int = MAX_SEARCH_RESULTS): List<LogLine> {
+        return history.search(query, limit)
+    }
+
+    /**
+     * Replaces the console contents with the logged history lines containing the given text. Lines logged
+     * afterwards continue to print below the results.
+     */
+    fun showSearchResults(query: String) = flushAlarm.addRequest({
+        synchronized(history) {
+            val lines = searchHistory(query)
+            console.clear()
+            console.print("Found ${lines.size} lines containing: $query\n", ConsoleViewContentType.SYSTEM_OUTPUT)
+            printLines(lines)
+            printedLines = lines.size + 1
+        }
+    }, 0)
+
+    private fun flush() {
+        flushScheduled.set(false)
+        val batch = mutableListOf<LogLine>()
+        while (true) {
+            batch.add(pendingLines.poll() ?: break)
+        }
+        if (batch.isEmpty()) return
+
+        synchronized(history) {
+            history.append(batch)
+            printedLines += batch.size
+            if (printedLines > maxScrollbackLines) {
+                //trim scrollback by reprinting the most recent half from history
+                val recentLines = history.readLast(maxScrollbackLines / 2)
+                console.clear()
+                printLines(recentLines)
+                printedLines = recentLines.size
+            } else {
+                printLines(batch)
+            }
+        }
+    }
+
+    /**
+     * Prints the given lines with one [ConsoleView.print] per run of lines sharing a content type.
+     */
+    private fun printLines(lines: List<LogLine>) {
+        var i = 0
+        while (i < lines.size) {
+            val contentType = lines[i].contentType
+            val text = StringBuilder()
+            while (i < lines.size && lines[i].contentType == contentType) {
+                text.append(lines[i].text).append('\n')
+                i++
+            }
+            console.print(text.toString(), fromTypeName(contentType))
+        }
+    }
+
+    private fun toTypeName(contentType: ConsoleViewContentType): String = when (contentType) {
+        LIVE_OUTPUT_TYPE -> "LIVE"
+        ConsoleViewContentType.ERROR_OUTPUT -> "ERROR"
+        else -> "NORMAL"
+    }
+
+    private fun fromTypeName(typeName: String): ConsoleViewContentType = when (typeName) {
+        "LIVE" -> LIVE_OUTPUT_TYPE
+        "ERROR" -> ConsoleViewContentType.ERROR_OUTPUT
+        else -> ConsoleViewContentType.NORMAL_OUTPUT
     }
 
     override fun onFocused() {
@@ -72,7 +190,9 @@ class LiveLogWindowImpl(
         isRunning = true
         viewService.addLiveView(liveView).onSuccess {
             liveView = it
-            consumer = consumerCreator.invoke(this)
+            registration = LiveViewEventDemultiplexer.getInstance(project).register(it.subscriptionId!!) { event ->
+                eventHandler.invoke(this, event)
+            }
         }.onFailure {
             log.error("Failed to resume live view", it)
         }
@@ -81,8 +201,8 @@ class LiveLogWindowImpl(
     override fun pause() {
         if (!isRunning) return
         isRunning = false
-        consumer?.unregister()
-        consumer = null
+        registration?.unregister()
+        registration = null
         liveView.subscriptionId?.let {
             if (project.isDisposed) {
                 return //no need to remove view
@@ -93,6 +213,23 @@ class LiveLogWindowImpl(
         }
     }
 
+    /**
+     * Re-adds this view once the platform connection has been re-established.
+     */
+    private fun restart() {
+        if (!isRunning) return
+        val previousSubscriptionId = liveView.subscriptionId
+        isRunning = false
+        registration?.unregister()
+        registration = null
+        resume()
+
+        //remove the previous view in case the server still holds it
+        previousSubscriptionId?.let {
+            viewService.removeLiveView(it).onFailure { log.debug("Previous live view already removed", it) }
+        }
+    }
+
     override fun setRefreshInterval(interval: Int) {
         pause()
         liveView = liveView.copy(viewConfig = liveView.viewConfig.copy(refreshRateLimit = interval))
@@ -106,6 +243,13 @@ class LiveLogWindowImpl(
             val toolbarActions = DefaultActionGroup()
             component.add(console.component, BorderLayout.CENTER)
             console.createConsoleActions().forEach { toolbarActions.add(it) }
+            toolbarActions.addSeparator()
+            toolbarActions.add(JumpToLogTimeAction(project, this))
+            toolbarActions.add(SearchLogHistoryAction(project, this))
+
+            val toolbar = ActionManager.getInstance().createActionToolbar("LiveLogWindow", toolbarActions, false)
+            toolbar.targetComponent = console.component
+            component.add(toolbar.component, BorderLayout.WEST)
             result.set(console)
         }
         return result.get()
@@ -16,17 +16,18 @@
  */
 package spp.jetbrains.sourcemarker.view.window
 
-import com.codahale.metrics.Histogram
-import com.codahale.metrics.SlidingWindowReservoir
 import com.intellij.openapi.diagnostic.logger
 import com.intellij.openapi.project.Project
 import com.intellij.ui.JBColor
 import com.intellij.ui.charts.*
-import io.vertx.core.eventbus.MessageConsumer
+import com.intellij.util.ui.update.MergingUpdateQueue
+import com.intellij.util.ui.update.Update
 import io.vertx.core.json.JsonObject
 import spp.jetbrains.PluginUI
-import spp.jetbrains.invokeLater
+import spp.jetbrains.view.HistoricalMetricsCache
+import spp.jetbrains.view.LiveViewSubscriptionBroker
 import spp.jetbrains.view.ResumableView
+import spp.jetbrains.view.model.TimeSeriesBuffer
 import spp.jetbrains.view.overlay.ValueDotPainter
 import spp.protocol.artifact.metrics.MetricStep
 import spp.protocol.artifact.metrics.MetricType
@@ -35,6 +36,7 @@ import spp.protocol.view.LiveView
 import spp.protocol.view.LiveViewEvent
 import java.awt.Graphics2D
 import java.awt.Insets
+import java.awt.event.HierarchyEvent
 import java.text.DecimalFormat
 import java.text.SimpleDateFormat
 import java.time.Instant
@@ -44,9 +46,9 @@ import javax.swing.JComponent
 import javax.swing.SwingConstants
 import kotlin.math.ceil
 
-//todo: MergingUpdateQueue that handles all the view updates atomically
 /**
- * Displays a visual chart graph of the metric values supplied via [LiveView].
+ * Displays a visual chart graph of the metric values supplied via [LiveView]. Live values are skipped while the
+ * chart isn't showing, and the gap is filled from the historical metrics once it is shown again.
  *
  * @since 0.7.6
  * @author [Brandon Fergerson](mailto:bfergerson@apache.org)
@@ -57,11 +59,11 @@ class LiveViewChartWindowImpl(
     var liveView: LiveView,
     private val entityName: String,
     private val labels: List<String>,
-    private val consumerCreator: (LiveViewChartWindowImpl) -> MessageConsumer<JsonObject>
+    private val historicalEntityIds: List<String> = liveView.entityIds.toList()
 ) : ResumableView {
 
     private val log = logger<LiveViewChartWindowImpl>()
-    private var consumer: MessageConsumer<JsonObject>? = null
+    private var subscription: LiveViewSubscriptionBroker.Handle? = null
     private var step = MetricStep.MINUTE
     private var reservoirSize = 5
     private val keepTimeSize: Long
@@ -70,9 +72,9 @@ class LiveViewChartWindowImpl(
     private val metricType = MetricType(liveView.viewConfig.viewMetrics.first())
     private var chartColor = defaultChartColor(metricType)
     private val timeFormat = SimpleDateFormat("h:mm a")
-    private var histogramSize = 1000 //todo: optimize
     override var isRunning: Boolean = false
-    private var histogram = Histogram(SlidingWindowReservoir(histogramSize))
+    private val series = TimeSeriesBuffer(MAX_POINTS)
+    private val updateQueue = MergingUpdateQueue("SPP_LIVE_VIEW_CHART", 100, true, null, this)
     private val chart = singleLineChart(metricType, chartColor)
     val component: JComponent
         get() = chart.component
@@ -80,14 +82,23 @@ class LiveViewChartWindowImpl(
         get() = liveView.viewConfig.refreshRateLimit
     private lateinit var hoverOverlay: ValueDotPainter
 
+    init {
+        chart.component.addHierarchyListener {
+            val showingChanged = it.changeFlags and HierarchyEvent.SHOWING_CHANGED.toLong() != 0L
+            if (showingChanged && chart.component.isShowing && isRunning) getHistoricalData()
+        }
+    }
+
     override fun resume() {
         if (isRunning) return
         isRunning = true
-        viewService.addLiveView(liveView).onSuccess {
-            liveView = it
-            consumer = consumerCreator.invoke(this)
-        }.onFailure {
-            log.error("Failed to resume live view", it)
+        val broker = LiveViewSubscriptionBroker.getInstance(project)
+        subscription = broker.subscribe(liveView, { chart.component.isShowing }) { addMetric(it) }.apply {
+            this.liveView.onSuccess {
+                liveView = it
+            }.onFailure {
+                log.error("Failed to resume live view", it)
+            }
         }
 
         getHistoricalData()
@@ -99,15 +110,15 @@ class LiveViewChartWindowImpl(
             .minusSeconds(60 + (getHistoricalMinutes() * 60).toLong())
         val step = step
 
-        viewService.getHistoricalMetrics(
-            liveView.entityIds.toList(),
+        HistoricalMetricsCache.getInstance(project).getHistoricalMetrics(
+            viewService,
+            historicalEntityIds,
             liveView.viewConfig.viewMetrics,
             step, start, stop, labels
         ).onSuccess {
-            for (i in 0 until it.data.size()) {
-                val stepBucket = step.bucketFormatter.format(start.plusSeconds((step.seconds * i).toLong())).toLong()
-                val metricData = it.data.getJsonObject(i)
-                addMetric(metricData.put("timeBucket", stepBucket))
+            it.forEach { metric ->
+                val stepBucket = step.bucketFormatter.format(metric.timeBucket).toLong()
+                addMetric(metric.data.put("timeBucket", stepBucket))
             }
         }.onFailure {
             log.error("Failed to get historical metrics", it)
@@ -117,22 +128,21 @@ class LiveViewChartWindowImpl(
     override fun pause() {
         if (!isRunning) return
         isRunning = false
-        consumer?.unregister()
-        consumer = null
-        liveView.subscriptionId?.let {
-            if (project.isDisposed) {
-                return //no need to remove view
-            }
-            viewService.removeLiveView(it).onFailure {
-                log.error("Failed to pause live view", it)
-            }
-        }
+        subscription?.release()
+        subscription = null
     }
 
     override fun setRefreshInterval(interval: Int) {
-        pause()
         liveView = liveView.copy(viewConfig = liveView.viewConfig.copy(refreshRateLimit = interval))
-        resume()
+        val subscription = subscription ?: return
+
+        //updated in place when this window is the only subscriber
+        subscription.update(liveView)
+        subscription.liveView.onSuccess {
+            liveView = it
+        }.onFailure {
+            log.error("Failed to update live view", it)
+        }
     }
 
     fun getHistoricalMinutes(): Int {
@@ -142,7 +152,7 @@ class LiveViewChartWindowImpl(
     fun setHistoricalMinutes(historicalMinutes: Int) {
         step = if (historicalMinutes >= 720) MetricStep.HOUR else MetricStep.MINUTE
         reservoirSize = historicalMinutes
-        histogram = Histogram(SlidingWindowReservoir(histogramSize))
+        synchronized(series) { series.clear() }
         chart.clear()
         xStepSize = (step.milliseconds).toLong() * reservoirSize
 
@@ -283,16 +293,40 @@ class LiveViewChartWindowImpl(
         addMetric(rawMetrics)
     }
 
-    private fun addMetric(rawMetrics: JsonObject) = project.invokeLater {
+    private fun addMetric(rawMetrics: JsonObject) {
         val metricValue = rawMetrics.getLong("value") ?: 0
-        histogram.update(metricValue)
+        var timeBucket = rawMetrics.getLong("currentTime")
+        if (timeBucket == null) {
+            val bucket = rawMetrics.getValue("timeBucket").toString()
+            val step = MetricStep.fromBucketFormat(bucket)
+            timeBucket = Instant.from(step.bucketFormatter.parse(bucket)).toEpochMilli()
+        }
+
+        synchronized(series) {
+            series.put(timeBucket, metricValue / metricType.unitConversion)
+            series.trimBefore(series.lastTime()!! - keepTimeSize)
+        }
+        updateQueue.queue(Update.create(this) { updateChart() })
+    }
+
+    private fun updateChart() {
+        val coordinates: List<Coordinates<Long, Double>>
+        val maxValue: Double
+        val latestTime: Long
+        synchronized(series) {
+            if (series.isEmpty()) return
+            val width = chart.component.width.takeIf { it > 0 } ?: MAX_POINTS
+            coordinates = series.downsample(width).map { Coordinates.of(series.timeAt(it), series.valueAt(it)) }
+            maxValue = series.maxValue()!! * metricType.unitConversion
+            latestTime = series.lastTime()!!
+        }
 
         if (metricType.requiresConversion) {
             chart.ranges.yMax = 100.0 //only for SLA
         } else {
-            val step = ceil((histogram.snapshot.max / 10.0) / 5.0) * 5
+            val step = ceil((maxValue / 10.0) / 5.0) * 5
             if (step >= 1) {
-                chart.ranges.yMax = histogram.snapshot.max.toDouble() * 1.01
+                chart.ranges.yMax = maxValue * 1.01
                 if (chart.ranges.yMax == 0.0) chart.ranges.yMax = 1.01
                 chart.grid.yLines = generator(step)
             } else {
@@ -301,32 +335,16 @@ class LiveViewChartWindowImpl(
             }
         }
 
-        var timeBucket = rawMetrics.getLong("currentTime")
-        if (timeBucket == null) {
-            val bucket = rawMetrics.getValue("timeBucket").toString()
-            val step = MetricStep.fromBucketFormat(bucket)
-            timeBucket = Instant.from(step.bucketFormatter.parse(bucket)).toEpochMilli()
-        }
-        val newCoordinates = Coordinates.of(timeBucket, metricValue / metricType.unitConversion)
-        val chartData = chart.datasets[0].data as MutableList<Coordinates<Long, Double>>
-        val existingCoordinatesIndex = chartData.indexOfFirst { it.x >= timeBucket }
-        if (existingCoordinatesIndex != -1) {
-            if (chartData[existingCoordinatesIndex].x == timeBucket) {
-                chartData[existingCoordinatesIndex] = newCoordinates
-            } else {
-                chartData.add(existingCoordinatesIndex, newCoordinates)
-            }
-        } else {
-            chartData.add(newCoordinates)
-        }
-
-        chart.ranges.xMax = timeBucket
-        chart.ranges.xMin = timeBucket - keepTimeSize
+        chart.datasets[0].data = coordinates
+        chart.ranges.xMax = latestTime
+        chart.ranges.xMin = latestTime - keepTimeSize
         chart.grid.xOrigin = chart.ranges.xMin - (keepTimeSize / 25)
         chart.update()
     }
 
     companion object {
+        private const val MAX_POINTS = 4096
+
         fun defaultChartColor(metricType: MetricType): JBColor {
             return if (metricType.metricId.contains("sla")) {
                 PluginUI.purple
@@ -18,26 +18,41 @@ package spp.jetbrains.sourcemarker.view.window
 
 import com.intellij.openapi.diagnostic.logger
 import com.intellij.openapi.project.Project
+import com.intellij.ui.DocumentAdapter
+import com.intellij.ui.SearchTextField
+import com.intellij.ui.components.JBCheckBox
+import com.intellij.ui.components.JBLabel
 import com.intellij.ui.components.JBScrollPane
 import com.intellij.ui.table.JBTable
+import com.intellij.util.Alarm
+import com.intellij.util.ui.JBUI
 import com.intellij.util.ui.ListTableModel
-import io.vertx.core.eventbus.MessageConsumer
-import io.vertx.core.json.JsonObject
-import spp.jetbrains.invokeLater
 import spp.jetbrains.sourcemarker.view.trace.column.TraceRowColumnInfo
+import spp.jetbrains.view.LiveViewEventDemultiplexer
+import spp.jetbrains.view.LiveViewSubscriptionBroker
 import spp.jetbrains.view.manager.LiveViewTraceManager
+import spp.jetbrains.view.model.BoundedEventBuffer
+import spp.jetbrains.view.trace.TraceStackCache
 import spp.jetbrains.view.trace.renderer.TraceDurationTableCellRenderer
 import spp.jetbrains.view.trace.renderer.TraceErrorTableCellRenderer
 import spp.jetbrains.view.window.LiveTraceWindow
 import spp.protocol.artifact.trace.Trace
 import spp.protocol.service.LiveViewService
 import spp.protocol.view.LiveView
+import spp.protocol.view.LiveViewEvent
 import java.awt.BorderLayout
 import java.awt.Point
 import java.awt.event.MouseAdapter
 import java.awt.event.MouseEvent
+import java.time.Instant
+import java.util.concurrent.atomic.AtomicBoolean
 import javax.swing.JPanel
+import javax.swing.RowFilter
 import javax.swing.SortOrder
+import javax.swing.event.DocumentEvent
+import javax.swing.table.TableModel
+import javax.swing.table.TableRowSorter
+import kotlin.math.abs
 
 /**
  * todo: description.
@@ -49,17 +64,30 @@ class LiveViewTraceWindowImpl(
     private val project: Project,
     private val viewService: LiveViewService,
     override var liveView: LiveView,
-    private val consumerCreator: (LiveTraceWindow) -> MessageConsumer<JsonObject>
+    private val eventHandler: (LiveTraceWindow, LiveViewEvent) -> Unit,
+    maxTraces: Int = DEFAULT_MAX_TRACES
 ) : LiveTraceWindow {
 
+    companion object {
+        const val DEFAULT_MAX_TRACES = 1000
+        const val FRAME_INTERVAL_MS = 100
+        const val PREFETCH_RADIUS = 5
+        const val RECENT_TRACE_MS = 10_000L
+    }
+
     private val log = logger<LiveViewTraceWindowImpl>()
-    private var consumer: MessageConsumer<JsonObject>? = null
+    private var registration: LiveViewEventDemultiplexer.Registration? = null
     override var isRunning = false
         private set
     override val refreshInterval: Int
         get() = liveView.viewConfig.refreshRateLimit
     private var initialFocus = true
+    private val traceBuffer = BoundedEventBuffer<Trace>(maxTraces)
+    private val flushScheduled = AtomicBoolean(false)
+    private val flushAlarm = Alarm(Alarm.ThreadToUse.SWING_THREAD, this)
 
+    //owned by the model; mutated directly so each frame fires a single insert event
+    private val rows = ArrayList<Trace>()
     private val model = ListTableModel<Trace>(
         arrayOf(
             TraceRowColumnInfo("Trace"),
@@ -67,13 +95,21 @@ class LiveViewTraceWindowImpl(
             TraceRowColumnInfo("Time"),
             TraceRowColumnInfo("Status")
         ),
-        ArrayList(), 2, SortOrder.DESCENDING
+        rows, 2, SortOrder.DESCENDING
     )
+    private val table = JBTable(model)
+    @Suppress("UNCHECKED_CAST")
+    private val sorter = table.rowSorter as TableRowSorter<TableModel>
+    private val searchField = SearchTextField(false)
+    private val errorsOnlyCheckBox = JBCheckBox("Errors only")
+    private val statusLabel = JBLabel().apply { border = JBUI.Borders.empty(2, 5) }
     val component: JPanel = JPanel(BorderLayout())
 
     init {
-        val table = JBTable(model)
         table.setShowColumns(true)
+
+        //keep the rows in the model's sort order (newest first by default) as traces are added and evicted
+        sorter.sortsOnUpdates = true
         table.setDefaultRenderer(TraceDurationTableCellRenderer::class.java, TraceDurationTableCellRenderer())
         table.setDefaultRenderer(TraceErrorTableCellRenderer::class.java, TraceErrorTableCellRenderer())
         table.addMouseListener(object : MouseAdapter() {
@@ -86,7 +122,32 @@ class LiveViewTraceWindowImpl(
                 }
             }
         })
-        component.add(JBScrollPane(table), "Center")
+        val scrollPane = JBScrollPane(table)
+        val filterPanel = JPanel(BorderLayout())
+        filterPanel.add(searchField, "Center")
+        filterPanel.add(errorsOnlyCheckBox, "East")
+        component.add(filterPanel, "North")
+        component.add(scrollPane, "Center")
+        component.add(statusLabel, "South")
+
+        searchField.addDocumentListener(object : DocumentAdapter() {
+            override fun textChanged(e: DocumentEvent) = applyFilterFields()
+        })
+        errorsOnlyCheckBox.addActionListener { applyFilterFields() }
+
+        //prefetch the trace stacks of the selected and visible rows, only once the user selects or scrolls
+        table.selectionModel.addListSelectionListener {
+            if (!it.valueIsAdjusting) prefetchTraceStacks(table)
+        }
+        var lastScrollValue = scrollPane.verticalScrollBar.value
+        scrollPane.verticalScrollBar.addAdjustmentListener {
+            if (!it.valueIsAdjusting && it.value != lastScrollValue) {
+                lastScrollValue = it.value
+                prefetchTraceStacks(table)
+            }
+        }
+        updateStatus()
+        LiveViewSubscriptionBroker.getInstance(project).addRestartHandler(this) { restart() }
 
         //default column widths
         table.columnModel.getColumn(2).maxWidth = 175
@@ -95,8 +156,94 @@ class LiveViewTraceWindowImpl(
         table.columnModel.getColumn(3).minWidth = 100
     }
 
-    override fun addTrace(trace: Trace) = project.invokeLater {
-        model.addRow(trace)
+    override fun addTrace(trace: Trace) {
+        //an updated trace makes any previously fetched stack stale
+        trace.traceIds.firstOrNull()?.let { TraceStackCache.getInstance(project).invalidate(it) }
+        traceBuffer.offer(trace)
+        if (flushScheduled.compareAndSet(false, true) && !flushAlarm.isDisposed) {
+            flushAlarm.addRequest({ flush() }, FRAME_INTERVAL_MS)
+        }
+    }
+
+    /**
+     * Only displays the retained traces which match the given filter.
+     */
+    fun setFilter(filter: (Trace) -> Boolean) {
+        sorter.rowFilter = object : RowFilter<TableModel, Int>() {
+            override fun include(entry: Entry<out TableModel, out Int>): Boolean = filter(rows[entry.identifier])
+        }
+        updateStatus()
+    }
+
+    /**
+     * Changes the number of retained traces. Traces over the new capacity are evicted with the next frame.
+     */
+    fun setMaxTraces(maxTraces: Int) {
+        traceBuffer.capacity = maxTraces
+    }
+
+    private fun applyFilterFields() {
+        val operationName = searchField.text.trim()
+        val errorsOnly = errorsOnlyCheckBox.isSelected
+        setFilter { trace ->
+            (!errorsOnly || trace.error == true) &&
+                    (operationName.isEmpty() || trace.operationNames.any { it.contains(operationName, true) })
+        }
+    }
+
+    private fun flush() {
+        flushScheduled.set(false)
+        val batch = traceBuffer.drain()
+
+        //evicted traces are always the oldest, which are at the start of the rows
+        val removeCount = batch.evicted.size
+        if (removeCount > 0) {
+            rows.subList(0, removeCount).clear()
+            model.fireTableRowsDeleted(0, removeCount - 1)
+        }
+
+        if (batch.added.isNotEmpty()) {
+            val firstRow = rows.size
+            rows.addAll(batch.added)
+            model.fireTableRowsInserted(firstRow, rows.size - 1)
+        }
+        updateStatus()
+    }
+
+    private fun prefetchTraceStacks(table: JBTable) {
+        if (table.rowCount == 0) return
+        val visibleRect = table.visibleRect
+        val firstVisible = table.rowAtPoint(visibleRect.location).coerceAtLeast(0)
+        val lastVisible = table.rowAtPoint(Point(0, visibleRect.y + visibleRect.height - 1))
+            .let { if (it == -1) table.rowCount - 1 else it }
+
+        val viewRows = mutableListOf<Int>()
+        val selected = table.selectedRow
+        if (selected >= 0) {
+            (selected - PREFETCH_RADIUS..selected + PREFETCH_RADIUS).sortedBy { abs(it - selected) }
+                .forEach { viewRows.add(it) }
+        }
+        (firstVisible..lastVisible).forEach { viewRows.add(it) }
+
+        //partial and recent traces may still be in progress, so their stacks aren't worth caching yet
+        val recentCutoff = Instant.now().minusMillis(RECENT_TRACE_MS)
+        val traceIds = viewRows.asSequence()
+            .filter { it in 0 until table.rowCount }
+            .distinct()
+            .mapNotNull { model.items.getOrNull(table.convertRowIndexToModel(it)) }
+            .filter { !it.partial && it.start.plusMillis(it.duration.toLong()).isBefore(recentCutoff) }
+            .mapNotNull { it.traceIds.firstOrNull() }
+            .toList()
+        TraceStackCache.getInstance(project).prefetch(traceIds)
+    }
+
+    private fun updateStatus() {
+        statusLabel.text = buildString {
+            append("Traces: ${rows.size}")
+            if (table.rowCount != rows.size) append(" | Matching: ${table.rowCount}")
+            append(" | Evicted: ${traceBuffer.getEvictedCount()}")
+            append(" | Dropped: ${traceBuffer.getDroppedCount()}")
+        }
     }
 
     override fun onFocused() {
@@ -111,7 +258,9 @@ class LiveViewTraceWindowImpl(
         isRunning = true
         viewService.addLiveView(liveView).onSuccess {
             liveView = it
-            consumer = consumerCreator.invoke(this)
+            registration = LiveViewEventDemultiplexer.getInstance(project).register(it.subscriptionId!!) { event ->
+                eventHandler.invoke(this, event)
+            }
         }.onFailure {
             log.error("Failed to resume live view", it)
         }
@@ -120,8 +269,8 @@ class LiveViewTraceWindowImpl(
     override fun pause() {
         if (!isRunning) return
         isRunning = false
-        consumer?.unregister()
-        consumer = null
+        registration?.unregister()
+        registration = null
         liveView.subscriptionId?.let {
             if (project.isDisposed) {
                 return //no need to remove view
@@ -132,6 +281,23 @@ class LiveViewTraceWindowImpl(
         }
     }
 
+    /**
+     * Re-adds this view once the platform connection has been re-established.
+     */
+    private fun restart() {
+        if (!isRunning) return
+        val previousSubscriptionId = liveView.subscriptionId
+        isRunning = false
+        registration?.unregister()
+        registration = null
+        resume()
+
+        //remove the previous view in case the server still holds it
+        previousSubscriptionId?.let {
+            viewService.removeLiveView(it).onFailure { log.debug("Previous live view already removed", it) }
+        }
+    }
+
     override fun setRefreshInterval(interval: Int) {
         pause()
         liveView = liveView.copy(viewConfig = liveView.viewConfig.copy(refreshRateLimit = interval))
@@ -146,5 +312,10 @@ class LiveViewTraceWindowImpl(
         } catch (e: Exception) {
             log.warn("Failed to dispose live view", e)
         }
+
+        //the view's traces are no longer displayed, so stop holding on to their stacks
+        val traceIds = traceBuffer.getRetained().mapNotNull { it.traceIds.firstOrNull() }
+        TraceStackCache.getInstance(project).invalidate(traceIds)
+        traceBuffer.clear()
     }
 }
@@ -0,0 +1,88 @@
+/*
+ * Source++, the continuous feedback platform for developers.
+ * Copyright (C) 2022-2024 CodeBrig, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package spp.jetbrains
+
+import io.vertx.core.Vertx
+import org.junit.jupiter.api.AfterEach
+import org.junit.jupiter.api.Assertions.assertFalse
+import org.junit.jupiter.api.Assertions.assertSame
+import org.junit.jupiter.api.Assertions.assertTrue
+import org.junit.jupiter.api.BeforeEach
+import org.junit.jupiter.api.Test
+import java.util.concurrent.CompletableFuture
+import java.util.concurrent.TimeUnit
+
+class LocalReferenceCodecTest {
+
+    companion object {
+        private const val COUNTED_ADDRESS = "local-reference-counted"
+        private const val REFERENCE_ADDRESS = "local-reference-delivery"
+        private const val TIMEOUT_MS = 5_000L
+    }
+
+    private lateinit var vertx: Vertx
+
+    @BeforeEach
+    fun setUp() {
+        vertx = Vertx.vertx()
+        vertx.eventBus().registerCodec(LocalReferenceCodec())
+    }
+
+    @AfterEach
+    fun tearDown() {
+        vertx.close().toCompletionStage().toCompletableFuture().get(10, TimeUnit.SECONDS)
+    }
+
+    @Test
+    fun consumersCounted() {
+        assertFalse(LocalReferenceCodec.hasLocalConsumers(COUNTED_ADDRESS))
+
+        val first = LocalReferenceCodec.localConsumer<Any>(vertx, COUNTED_ADDRESS) {}
+        val second = LocalReferenceCodec.localConsumer<Any>(vertx, COUNTED_ADDRESS) {}
+        assertTrue(LocalReferenceCodec.hasLocalConsumers(COUNTED_ADDRESS))
+
+        first.unregister().toCompletionStage().toCompletableFuture().get(10, TimeUnit.SECONDS)
+        first.unregister().toCompletionStage().toCompletableFuture().get(10, TimeUnit.SECONDS)
+        assertTrue(LocalReferenceCodec.hasLocalConsumers(COUNTED_ADDRESS))
+
+        second.unregister().toCompletionStage().toCompletableFuture().get(10, TimeUnit.SECONDS)
+        awaitNoConsumers()
+    }
+
+    @Test
+    fun objectsPassedByReference() {
+        val event = Any()
+        val received = CompletableFuture<Any>()
+        val consumer = LocalReferenceCodec.localConsumer<Any>(vertx, REFERENCE_ADDRESS) { received.complete(it.body()) }
+        try {
+            vertx.eventBus().publish(
+                LocalReferenceCodec.localAddress(REFERENCE_ADDRESS), event, LocalReferenceCodec.DELIVERY_OPTIONS
+            )
+            assertSame(event, received.get(10, TimeUnit.SECONDS))
+        } finally {
+            consumer.unregister()
+        }
+    }
+
+    private fun awaitNoConsumers() {
+        val deadline = System.currentTimeMillis() + TIMEOUT_MS
+        while (LocalReferenceCodec.hasLocalConsumers(COUNTED_ADDRESS) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10)
+        }
+        assertFalse(LocalReferenceCodec.hasLocalConsumers(COUNTED_ADDRESS))
+    }
+}
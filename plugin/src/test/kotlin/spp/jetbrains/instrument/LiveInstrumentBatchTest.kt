@@ -0,0 +1,106 @@
+/*
+ * Source++, the continuous feedback platform for developers.
+ * Copyright (C) 2022-2024 CodeBrig, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package spp.jetbrains.instrument
+
+import io.vertx.core.Future
+import io.vertx.core.Promise
+import org.junit.jupiter.api.Assertions.assertEquals
+import org.junit.jupiter.api.Assertions.assertThrows
+import org.junit.jupiter.api.Assertions.assertTrue
+import org.junit.jupiter.api.Test
+
+class LiveInstrumentBatchTest {
+
+    @Test
+    fun emptyBatch() {
+        val result = LiveInstrumentBatch.pipeline(emptyList<String>(), 4) { Future.succeededFuture(it) }
+
+        assertTrue(result.succeeded())
+        assertEquals(0, result.result().succeeded.size)
+        assertEquals(0, result.result().failed.size)
+    }
+
+    @Test
+    fun invalidMaxInFlight() {
+        assertThrows(IllegalArgumentException::class.java) {
+            LiveInstrumentBatch.pipeline(listOf("a"), 0) { Future.succeededFuture(it) }
+        }
+    }
+
+    @Test
+    fun limitsRequestsInFlight() {
+        val pending = mutableListOf<Promise<Int>>()
+        val result = LiveInstrumentBatch.pipeline((0 until 10).toList(), 3) { item ->
+            Promise.promise<Int>().also { pending.add(it) }.future().map { item * 2 }
+        }
+        assertEquals(3, pending.size)
+
+        //each completion sends exactly one more request
+        pending[0].complete(0)
+        assertEquals(4, pending.size)
+        pending[1].complete(0)
+        assertEquals(5, pending.size)
+
+        var index = 2
+        while (index < pending.size) {
+            pending[index++].complete(0)
+        }
+        assertEquals(10, pending.size)
+        assertTrue(result.succeeded())
+        assertEquals((0 until 10).map { it to it * 2 }, result.result().succeeded)
+    }
+
+    @Test
+    fun resultsInInputOrder() {
+        val pending = mutableMapOf<String, Promise<String>>()
+        val items = listOf("a", "b", "c", "d")
+        val result = LiveInstrumentBatch.pipeline(items, 4) { item ->
+            Promise.promise<String>().also { pending[item] = it }.future()
+        }
+
+        //complete out of order
+        listOf("d", "b", "a", "c").forEach { pending[it]!!.complete(it.uppercase()) }
+
+        assertEquals(items.map { it to it.uppercase() }, result.result().succeeded)
+    }
+
+    @Test
+    fun failuresAggregated() {
+        val result = LiveInstrumentBatch.pipeline(listOf(1, 2, 3, 4), 2) {
+            when (it) {
+                2 -> Future.failedFuture(IllegalStateException("failed: $it"))
+                3 -> throw IllegalArgumentException("thrown: $it")
+                else -> Future.succeededFuture(it)
+            }
+        }
+
+        assertTrue(result.succeeded())
+        assertEquals(listOf(1 to 1, 4 to 4), result.result().succeeded)
+        assertEquals(listOf(2, 3), result.result().failed.map { it.first })
+        assertEquals("failed: 2", result.result().failed[0].second.message)
+        assertEquals("thrown: 3", result.result().failed[1].second.message)
+    }
+
+    @Test
+    fun synchronousCompletionDoesNotRecurse() {
+        val items = (0 until 100_000).toList()
+        val result = LiveInstrumentBatch.pipeline(items, 1) { Future.succeededFuture(it) }
+
+        assertTrue(result.succeeded())
+        assertEquals(items.size, result.result().succeeded.size)
+    }
+}
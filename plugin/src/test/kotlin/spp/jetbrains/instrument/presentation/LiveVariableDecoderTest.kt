@@ -0,0 +1,114 @@
+/*
+ * Source++, the continuous feedback platform for developers.
+ * Copyright (C) 2022-2024 CodeBrig, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package spp.jetbrains.instrument.presentation
+
+import com.intellij.testFramework.fixtures.BasePlatformTestCase
+import com.intellij.ui.treeStructure.SimpleNode
+import io.vertx.core.json.JsonArray
+import io.vertx.core.json.JsonObject
+import spp.protocol.instrument.variable.LiveVariable
+
+class LiveVariableDecoderTest : BasePlatformTestCase() {
+
+    fun testChildrenDecodedOnceOnDemand() {
+        val variable = LiveVariable("list", childrenJson(3), liveClazz = "java.util.ArrayList")
+        assertEquals(3, LiveVariableDecoder.getChildCount(variable))
+
+        val child = LiveVariableDecoder.getChild(variable, 1) as LiveVariable
+        assertEquals("[1]", child.name)
+        assertEquals("value-1", child.value)
+        assertSame(child, LiveVariableDecoder.getChild(variable, 1))
+    }
+
+    fun testSkippedChild() {
+        val raw = JsonArray().add(JsonObject().put("@skip", "MAX_LENGTH_EXCEEDED").put("@size", 1000))
+        val variable = LiveVariable("list", raw)
+
+        val child = LiveVariableDecoder.getChild(variable, 0)
+        assertInstanceOf(child, Map::class.java)
+        assertEquals("MAX_LENGTH_EXCEEDED", (child as Map<*, *>)["@skip"])
+    }
+
+    fun testInlineText() {
+        val variable = LiveVariable("list", childrenJson(5), liveClazz = "java.util.ArrayList", liveIdentity = "42")
+        assertEquals(
+            "{ ArrayList@42 } [[0]=\"value-0\", [1]=\"value-1\", [2]=\"value-2\", …]",
+            LiveVariableDecoder.toInlineText(variable)
+        )
+        assertEquals("7", LiveVariableDecoder.toInlineText(LiveVariable("count", 7)))
+
+        val long = LiveVariableDecoder.toInlineText(LiveVariable("text", "x".repeat(500)))
+        assertTrue(long.length < 500)
+        assertTrue(long.endsWith("…"))
+    }
+
+    fun testSmallCollectionNotPaged() {
+        val created = mutableListOf<LiveVariable>()
+        val node = TestVariableNode(LiveVariable("list", childrenJson(LiveVariableDecoder.PAGE_SIZE)), created)
+
+        val children = node.children
+        assertEquals(LiveVariableDecoder.PAGE_SIZE, children.size)
+        assertTrue(children.all { it is TestVariableNode })
+        assertEquals(LiveVariableDecoder.PAGE_SIZE, created.size)
+    }
+
+    fun testLargeCollectionPaged() {
+        val created = mutableListOf<LiveVariable>()
+        val node = TestVariableNode(LiveVariable("list", childrenJson(250)), created)
+
+        val pages = node.children
+        assertEquals(3, pages.size)
+        assertTrue(pages.all { it is LiveVariablePageNode })
+        assertEmpty(created)
+
+        val lastPage = pages[2].children
+        assertEquals(50, lastPage.size)
+        assertEquals(50, created.size)
+        assertEquals("[200]", created.first().name)
+        assertEquals("[249]", created.last().name)
+        assertSame(lastPage, pages[2].children)
+        assertSame(pages, node.children)
+    }
+
+    private fun childrenJson(count: Int): JsonArray {
+        val children = JsonArray()
+        repeat(count) {
+            children.add(
+                JsonObject()
+                    .put("name", "[$it]")
+                    .put("value", "value-$it")
+                    .put("scope", "LOCAL_VARIABLE")
+                    .put("liveClazz", "java.lang.String")
+            )
+        }
+        return children
+    }
+
+    private class TestVariableNode(
+        variable: LiveVariable,
+        private val created: MutableList<LiveVariable>
+    ) : LiveVariableNode(variable, mutableMapOf()) {
+
+        override fun createVariableNode(
+            variable: LiveVariable,
+            nodeMap: MutableMap<String, Array<SimpleNode>>
+        ): SimpleNode {
+            created.add(variable)
+            return TestVariableNode(variable, created)
+        }
+    }
+}
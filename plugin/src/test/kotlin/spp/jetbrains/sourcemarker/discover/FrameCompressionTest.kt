@@ -0,0 +1,135 @@
+/*
+ * Source++, the continuous feedback platform for developers.
+ * Copyright (C) 2022-2024 CodeBrig, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package spp.jetbrains.sourcemarker.discover
+
+import com.codahale.metrics.MetricRegistry
+import io.vertx.core.MultiMap
+import io.vertx.core.json.Json
+import io.vertx.core.json.JsonObject
+import org.junit.jupiter.api.Assertions.assertEquals
+import org.junit.jupiter.api.Assertions.assertFalse
+import org.junit.jupiter.api.Assertions.assertNull
+import org.junit.jupiter.api.Assertions.assertThrows
+import org.junit.jupiter.api.Assertions.assertTrue
+import org.junit.jupiter.api.Test
+import java.util.Base64
+
+class FrameCompressionTest {
+
+    private val largeBody = JsonObject().put("data", "abcdefghij".repeat(2000))
+
+    @Test
+    fun roundTrip() {
+        val sender = negotiated(FrameCompression(true, 1024, MetricRegistry()))
+        val receiver = FrameCompression(true, 1024, MetricRegistry())
+
+        val headers = JsonObject()
+        val encoded = Json.decodeValue(sender.encode(headers, largeBody))
+        assertTrue(encoded is String)
+        assertEquals(FrameCompression.DEFLATE, headers.getString(FrameCompression.CONTENT_ENCODING))
+        assertTrue((encoded as String).length < largeBody.encode().length)
+
+        assertTrue(receiver.isCompressed(toMultiMap(headers)))
+        assertEquals(largeBody, receiver.decode(encoded))
+    }
+
+    @Test
+    fun notCompressedUntilNegotiated() {
+        val compression = FrameCompression(true, 1024, MetricRegistry())
+
+        val headers = JsonObject()
+        assertEquals(largeBody.toBuffer(), compression.encode(headers, largeBody))
+        assertEquals(FrameCompression.DEFLATE, headers.getString(FrameCompression.ACCEPT_ENCODING))
+        assertNull(headers.getString(FrameCompression.CONTENT_ENCODING))
+    }
+
+    @Test
+    fun negotiationReset() {
+        val compression = negotiated(FrameCompression(true, 1024, MetricRegistry()))
+        compression.resetNegotiation()
+        assertFalse(compression.peerSupportsCompression)
+
+        val headers = JsonObject()
+        assertEquals(largeBody.toBuffer(), compression.encode(headers, largeBody))
+        assertNull(headers.getString(FrameCompression.CONTENT_ENCODING))
+
+        negotiated(compression)
+        compression.encode(headers, largeBody)
+        assertEquals(FrameCompression.DEFLATE, headers.getString(FrameCompression.CONTENT_ENCODING))
+    }
+
+    @Test
+    fun smallBodyNotCompressed() {
+        val compression = negotiated(FrameCompression(true, 1024, MetricRegistry()))
+        val smallBody = JsonObject().put("data", "abc")
+
+        val headers = JsonObject()
+        assertEquals(smallBody.toBuffer(), compression.encode(headers, smallBody))
+        assertNull(headers.getString(FrameCompression.CONTENT_ENCODING))
+    }
+
+    @Test
+    fun disabled() {
+        val compression = negotiated(FrameCompression(false, 1024, MetricRegistry()))
+
+        val headers = JsonObject()
+        assertEquals(largeBody.toBuffer(), compression.encode(headers, largeBody))
+        assertTrue(headers.isEmpty)
+        assertFalse(compression.peerSupportsCompression)
+    }
+
+    @Test
+    fun corruptFrame() {
+        val compression = FrameCompression(true, 1024, MetricRegistry())
+        val corrupt = Base64.getEncoder().encodeToString("not deflated".toByteArray())
+
+        assertThrows(IllegalArgumentException::class.java) { compression.decode(corrupt) }
+        assertThrows(IllegalArgumentException::class.java) { compression.decode("%%% not base64 %%%") }
+        assertThrows(IllegalArgumentException::class.java) { compression.decode(JsonObject()) }
+    }
+
+    @Test
+    fun truncatedFrame() {
+        val sender = negotiated(FrameCompression(true, 1024, MetricRegistry()))
+        val encoded = Json.decodeValue(sender.encode(JsonObject(), largeBody)) as String
+        val compressed = Base64.getDecoder().decode(encoded)
+        val truncated = Base64.getEncoder().encodeToString(compressed.copyOf(compressed.size / 2))
+
+        val receiver = FrameCompression(true, 1024, MetricRegistry())
+        assertThrows(IllegalArgumentException::class.java) { receiver.decode(truncated) }
+    }
+
+    @Test
+    fun inflatedSizeLimit() {
+        val sender = negotiated(FrameCompression(true, 1024, MetricRegistry()))
+        val encoded = Json.decodeValue(sender.encode(JsonObject(), largeBody)) as String
+
+        val receiver = FrameCompression(true, 1024, MetricRegistry(), maxInflatedBytes = 4096)
+        assertThrows(IllegalArgumentException::class.java) { receiver.decode(encoded) }
+    }
+
+    private fun negotiated(compression: FrameCompression): FrameCompression {
+        compression.isCompressed(MultiMap.caseInsensitiveMultiMap().add(FrameCompression.ACCEPT_ENCODING, "deflate"))
+        return compression
+    }
+
+    private fun toMultiMap(headers: JsonObject): MultiMap {
+        val multiMap = MultiMap.caseInsensitiveMultiMap()
+        headers.forEach { multiMap.add(it.key, it.value.toString()) }
+        return multiMap
+    }
+}
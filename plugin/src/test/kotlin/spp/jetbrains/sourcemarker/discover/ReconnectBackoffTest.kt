@@ -0,0 +1,60 @@
+/*
+ * Source++, the continuous feedback platform for developers.
+ * Copyright (C) 2022-2024 CodeBrig, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package spp.jetbrains.sourcemarker.discover
+
+import org.junit.jupiter.api.Assertions.assertEquals
+import org.junit.jupiter.api.Assertions.assertTrue
+import org.junit.jupiter.api.Test
+
+class ReconnectBackoffTest {
+
+    @Test
+    fun delaysDoubleWithJitter() {
+        val backoff = ReconnectBackoff(1000, 60_000)
+        for (ceiling in listOf(1000L, 2000L, 4000L, 8000L)) {
+            val delay = backoff.nextDelayMs()
+            assertTrue(delay in ceiling / 2..ceiling, "Delay $delay outside ${ceiling / 2}..$ceiling")
+        }
+        assertEquals(4, backoff.attempts)
+    }
+
+    @Test
+    fun delaysCappedAtMax() {
+        val backoff = ReconnectBackoff(1000, 5000)
+        repeat(3) { backoff.nextDelayMs() }
+        repeat(97) {
+            assertTrue(backoff.nextDelayMs() in 2500L..5000L)
+        }
+        assertEquals(100, backoff.attempts)
+    }
+
+    @Test
+    fun jittered() {
+        val delays = (0 until 50).map { ReconnectBackoff(1000, 60_000).nextDelayMs() }.toSet()
+        assertTrue(delays.size > 1)
+    }
+
+    @Test
+    fun reset() {
+        val backoff = ReconnectBackoff(1000, 60_000)
+        repeat(10) { backoff.nextDelayMs() }
+        backoff.reset()
+
+        assertEquals(0, backoff.attempts)
+        assertTrue(backoff.nextDelayMs() <= 1000)
+    }
+}
@@ -0,0 +1,174 @@
+/*
+ * Source++, the continuous feedback platform for developers.
+ * Copyright (C) 2022-2024 CodeBrig, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package spp.jetbrains.sourcemarker.discover
+
+import io.vertx.core.Future
+import io.vertx.core.Vertx
+import io.vertx.core.eventbus.ReplyException
+import io.vertx.core.eventbus.ReplyFailure
+import io.vertx.core.json.JsonObject
+import io.vertx.core.net.NetServer
+import io.vertx.core.net.NetSocket
+import io.vertx.ext.eventbus.bridge.tcp.impl.protocol.FrameParser
+import org.junit.jupiter.api.AfterEach
+import org.junit.jupiter.api.Assertions.assertEquals
+import org.junit.jupiter.api.Assertions.assertFalse
+import org.junit.jupiter.api.Assertions.assertNull
+import org.junit.jupiter.api.Assertions.assertThrows
+import org.junit.jupiter.api.Assertions.assertTrue
+import org.junit.jupiter.api.BeforeEach
+import org.junit.jupiter.api.Test
+import java.util.concurrent.ExecutionException
+import java.util.concurrent.LinkedBlockingQueue
+import java.util.concurrent.TimeUnit
+
+class ReplyCorrelationTableTest {
+
+    private lateinit var vertx: Vertx
+    private lateinit var server: NetServer
+    private lateinit var socket: NetSocket
+    private val frames = LinkedBlockingQueue<JsonObject>()
+
+    @BeforeEach
+    fun setUp() {
+        vertx = Vertx.vertx()
+        server = vertx.createNetServer().connectHandler { serverSocket ->
+            val parser = FrameParser { if (it.succeeded()) frames.add(it.result()) }
+            serverSocket.handler(parser)
+        }
+        await(server.listen(0))
+        socket = await(vertx.createNetClient().connect(server.actualPort(), "localhost"))
+    }
+
+    @AfterEach
+    fun tearDown() {
+        await(vertx.close())
+    }
+
+    @Test
+    fun replyCompletesRequest() {
+        val table = ReplyCorrelationTable(vertx, 4, 30_000, false, 1024) { socket }
+        val reply = table.request("test-address", JsonObject(), JsonObject().put("value", 1))
+
+        val frame = nextFrame()
+        assertEquals("test-address", frame.getString("address"))
+        assertEquals(1, table.pendingCount)
+
+        vertx.eventBus().send(frame.getString("replyAddress"), "done")
+        assertEquals("done", await(reply))
+        assertEquals(0, table.pendingCount)
+        table.close()
+    }
+
+    @Test
+    fun requestsBeyondMaxInFlightQueued() {
+        val table = ReplyCorrelationTable(vertx, 1, 30_000, false, 1024) { socket }
+        val first = table.request("test-address", JsonObject(), "first")
+        val second = table.request("test-address", JsonObject(), "second")
+
+        val firstFrame = nextFrame()
+        assertEquals("first", firstFrame.getValue("body"))
+        assertNull(frames.poll(250, TimeUnit.MILLISECONDS))
+        assertEquals(1, table.pendingCount)
+
+        vertx.eventBus().send(firstFrame.getString("replyAddress"), 1)
+        assertEquals(1, await(first))
+
+        val secondFrame = nextFrame()
+        assertEquals("second", secondFrame.getValue("body"))
+        vertx.eventBus().send(secondFrame.getString("replyAddress"), 2)
+        assertEquals(2, await(second))
+        table.close()
+    }
+
+    @Test
+    fun expiredRequestFailedAndNextQueuedSent() {
+        val table = ReplyCorrelationTable(vertx, 1, 100, false, 1024) { socket }
+        val first = table.request("test-address", JsonObject(), "first")
+        val second = table.request("test-address", JsonObject(), "second")
+        nextFrame()
+
+        val failure = awaitFailure(first)
+        assertEquals(ReplyFailure.TIMEOUT, failure.failureType())
+        assertEquals(1L, table.timeoutCount)
+
+        //queued request is sent once the expired request frees its slot
+        assertEquals("second", nextFrame().getValue("body"))
+        assertEquals(ReplyFailure.TIMEOUT, awaitFailure(second).failureType())
+        assertEquals(0, table.pendingCount)
+        table.close()
+    }
+
+    @Test
+    fun lateReplyIgnored() {
+        val table = ReplyCorrelationTable(vertx, 1, 100, false, 1024) { socket }
+        val request = table.request("test-address", JsonObject(), "first")
+        val frame = nextFrame()
+        awaitFailure(request)
+
+        vertx.eventBus().send(frame.getString("replyAddress"), "late")
+        assertEquals(0, table.pendingCount)
+        assertTrue(request.failed())
+        table.close()
+    }
+
+    @Test
+    fun queueLimit() {
+        val table = ReplyCorrelationTable(vertx, 1, 30_000, false, 1024) { socket }
+        val requests = (0..ReplyCorrelationTable.MAX_QUEUED).map { table.request("test-address", JsonObject(), it) }
+        assertFalse(requests.any { it.isComplete })
+
+        val rejected = table.request("test-address", JsonObject(), "rejected")
+        assertTrue(rejected.failed())
+        assertEquals(ReplyFailure.RECIPIENT_FAILURE, (rejected.cause() as ReplyException).failureType())
+        assertTrue(rejected.cause().message!!.startsWith("Too many pending requests"))
+
+        table.close()
+        assertTrue(requests.all { it.failed() })
+    }
+
+    @Test
+    fun closedSocketFailsRequest() {
+        val table = ReplyCorrelationTable(vertx, 1, 30_000, false, 1024) { null }
+        val request = table.request("test-address", JsonObject(), "body")
+
+        assertTrue(request.failed())
+        assertEquals(ReplyFailure.NO_HANDLERS, (request.cause() as ReplyException).failureType())
+        assertEquals(0, table.pendingCount)
+        table.close()
+    }
+
+    @Test
+    fun invalidMaxInFlight() {
+        assertThrows(IllegalArgumentException::class.java) {
+            ReplyCorrelationTable(vertx, 0, 30_000, false, 1024) { socket }
+        }
+    }
+
+    private fun nextFrame(): JsonObject {
+        return frames.poll(5, TimeUnit.SECONDS) ?: throw AssertionError("No frame received")
+    }
+
+    private fun awaitFailure(future: Future<*>): ReplyException {
+        val error = assertThrows(ExecutionException::class.java) { await(future) }
+        return error.cause as ReplyException
+    }
+
+    private fun <T> await(future: Future<T>): T {
+        return future.toCompletionStage().toCompletableFuture().get(5, TimeUnit.SECONDS)
+    }
+}
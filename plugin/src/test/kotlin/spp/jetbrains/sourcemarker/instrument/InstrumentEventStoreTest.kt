@@ -0,0 +1,159 @@
+/*
+ * Source++, the continuous feedback platform for developers.
+ * Copyright (C) 2022-2024 CodeBrig, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package spp.jetbrains.sourcemarker.instrument
+
+import com.intellij.openapi.util.Disposer
+import com.intellij.openapi.util.io.FileUtil
+import com.intellij.testFramework.fixtures.BasePlatformTestCase
+import spp.jetbrains.sourcemarker.platform.SyntheticEvents
+import spp.protocol.instrument.event.LiveInstrumentEvent
+import java.io.File
+import java.time.Instant
+import java.util.concurrent.CompletableFuture
+import java.util.concurrent.TimeUnit
+
+class InstrumentEventStoreTest : BasePlatformTestCase() {
+
+    companion object {
+        private const val INSTRUMENT_ID = "test-log"
+        private const val OTHER_INSTRUMENT_ID = "other-log"
+    }
+
+    private lateinit var directory: File
+
+    override fun setUp() {
+        super.setUp()
+        directory = FileUtil.createTempDirectory("instrument-events", null)
+    }
+
+    fun testAppendAfterRestart() {
+        val firstSession = InstrumentEventStore(directory)
+        assertEquals(0L, await(firstSession.append(logHit(1))))
+        assertEquals(1, await(firstSession.readEvents(INSTRUMENT_ID, 1, 10)).events.size)
+        Disposer.dispose(firstSession)
+
+        //appended before the previous history has been loaded
+        val secondSession = InstrumentEventStore(directory)
+        try {
+            assertEquals(1L, await(secondSession.append(logHit(2))))
+
+            val page = await(secondSession.readEvents(INSTRUMENT_ID, 2, 10))
+            assertEquals(2, page.events.size)
+            assertEquals(0L, page.startPosition)
+            assertEquals(2L, await(secondSession.getEventCount(INSTRUMENT_ID)))
+        } finally {
+            Disposer.dispose(secondSession)
+        }
+    }
+
+    fun testEventCountIncludesPendingAppends() {
+        val store = InstrumentEventStore(directory)
+        try {
+            repeat(100) { store.append(logHit(it.toLong())) }
+            assertEquals(100L, await(store.getEventCount(INSTRUMENT_ID)))
+        } finally {
+            Disposer.dispose(store)
+        }
+    }
+
+    fun testClear() {
+        val store = InstrumentEventStore(directory)
+        try {
+            store.append(logHit(1))
+            store.append(logHit(2))
+            store.clear()
+            assertEquals(0L, await(store.getEventCount(INSTRUMENT_ID)))
+            assertEmpty(await(store.readEvents(INSTRUMENT_ID, 2, 10)).events)
+
+            store.append(logHit(3))
+            assertEquals(1, await(store.readEvents(INSTRUMENT_ID, 1, 10)).events.size)
+        } finally {
+            Disposer.dispose(store)
+        }
+    }
+
+    fun testNotPersistent() {
+        val store = InstrumentEventStore(directory)
+        try {
+            store.append(logHit(1))
+            store.setPersistent(false)
+            assertEquals(-1L, await(store.append(logHit(2))))
+            assertEquals(0L, await(store.getEventCount(INSTRUMENT_ID)))
+            assertEmpty(await(store.readInstrumentHistories(10, 10)))
+        } finally {
+            Disposer.dispose(store)
+        }
+        assertEmpty(directory.listFiles()!!.toList())
+    }
+
+    fun testFindPosition() {
+        val store = InstrumentEventStore(directory)
+        try {
+            appendTimedHits(store)
+            assertFindPosition(store)
+        } finally {
+            Disposer.dispose(store)
+        }
+    }
+
+    fun testFindPositionAfterRestart() {
+        val firstSession = InstrumentEventStore(directory)
+        appendTimedHits(firstSession)
+        await(firstSession.getEventCount(INSTRUMENT_ID))
+        Disposer.dispose(firstSession)
+
+        val secondSession = InstrumentEventStore(directory)
+        try {
+            assertFindPosition(secondSession)
+        } finally {
+            Disposer.dispose(secondSession)
+        }
+    }
+
+    /**
+     * Appends 200 hits one second apart, interleaved with the hits of another instrument.
+     */
+    private fun appendTimedHits(store: InstrumentEventStore) {
+        repeat(200) {
+            store.append(logHit(it.toLong(), Instant.ofEpochSecond(1_000L + it)))
+            store.append(logHit(it.toLong(), Instant.ofEpochSecond(1_000L + it), OTHER_INSTRUMENT_ID))
+        }
+    }
+
+    private fun assertFindPosition(store: InstrumentEventStore) {
+        assertEquals(0L, await(store.findPosition(INSTRUMENT_ID, Instant.ofEpochSecond(0))))
+        assertEquals(150L, await(store.findPosition(INSTRUMENT_ID, Instant.ofEpochSecond(1_150))))
+        assertEquals(151L, await(store.findPosition(INSTRUMENT_ID, Instant.ofEpochMilli(1_150_500))))
+        assertEquals(200L, await(store.findPosition(INSTRUMENT_ID, Instant.ofEpochSecond(2_000))))
+        assertEquals(0L, await(store.findPosition("unknown", Instant.ofEpochSecond(1_150))))
+
+        val page = await(store.readEvents(INSTRUMENT_ID, 151, 1))
+        assertEquals(Instant.ofEpochSecond(1_150), page.events.single().occurredAt)
+    }
+
+    private fun logHit(
+        seq: Long,
+        occurredAt: Instant? = null,
+        instrumentId: String = INSTRUMENT_ID
+    ): LiveInstrumentEvent {
+        val json = SyntheticEvents.logHit(instrumentId, "spp.test.Source", 10, seq)
+        occurredAt?.let { json.put("occurredAt", it.toString()) }
+        return LiveInstrumentEvent.fromJson(json)
+    }
+
+    private fun <T> await(future: CompletableFuture<T>): T = future.get(5, TimeUnit.SECONDS)
+}
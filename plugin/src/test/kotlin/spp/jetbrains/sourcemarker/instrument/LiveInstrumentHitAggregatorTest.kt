@@ -0,0 +1,91 @@
+/*
+ * Source++, the continuous feedback platform for developers.
+ * Copyright (C) 2022-2024 CodeBrig, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package spp.jetbrains.sourcemarker.instrument
+
+import com.intellij.openapi.util.Disposer
+import com.intellij.testFramework.PlatformTestUtil
+import com.intellij.testFramework.fixtures.BasePlatformTestCase
+import spp.jetbrains.sourcemarker.instrument.LiveInstrumentHitAggregator.HitSummary
+import spp.jetbrains.sourcemarker.platform.SyntheticEvents
+import spp.protocol.instrument.event.LiveInstrumentEvent
+import spp.protocol.instrument.event.LiveInstrumentHit
+
+class LiveInstrumentHitAggregatorTest : BasePlatformTestCase() {
+
+    companion object {
+        private const val TIMEOUT_MS = 5_000L
+    }
+
+    fun testHotInstrumentSampled() {
+        val summaries = mutableListOf<HitSummary>()
+        val aggregator = LiveInstrumentHitAggregator(project, 5) { summaries.addAll(it) }
+        try {
+            val hits = (1L..100L).map { breakpointHit("test-breakpoint", it) }
+            hits.forEach { aggregator.addHit(it) }
+            awaitHits(summaries, 100)
+
+            val received = summaries.filter { it.instrumentId == "test-breakpoint" }
+            assertEquals(100L, received.sumOf { it.hits })
+            assertTrue(received.sumOf { it.samples.size } < 100)
+            received.forEach { assertEquals(it.hits - it.samples.size, it.skippedHits) }
+            assertSame(hits.last(), received.last { it.hits > 0 }.latestHit)
+            assertTrue(received.first().hitsPerSecond > 0)
+        } finally {
+            Disposer.dispose(aggregator)
+        }
+    }
+
+    fun testInstrumentsSummarizedSeparately() {
+        val summaries = mutableListOf<HitSummary>()
+        val aggregator = LiveInstrumentHitAggregator(project) { summaries.addAll(it) }
+        try {
+            aggregator.addHit(breakpointHit("breakpoint-1", 1))
+            aggregator.addHit(breakpointHit("breakpoint-2", 2))
+            aggregator.addHit(breakpointHit("breakpoint-1", 3))
+            awaitHits(summaries, 3)
+
+            assertEquals(2L, summaries.filter { it.instrumentId == "breakpoint-1" }.sumOf { it.hits })
+            assertEquals(1L, summaries.filter { it.instrumentId == "breakpoint-2" }.sumOf { it.hits })
+            assertEquals(0L, summaries.sumOf { it.skippedHits })
+        } finally {
+            Disposer.dispose(aggregator)
+        }
+    }
+
+    fun testInvalidSamplesPerSecond() {
+        val aggregator = LiveInstrumentHitAggregator(project) {}
+        try {
+            assertThrows(IllegalArgumentException::class.java) { aggregator.samplesPerSecond = -1 }
+        } finally {
+            Disposer.dispose(aggregator)
+        }
+    }
+
+    private fun awaitHits(summaries: List<HitSummary>, hits: Long) {
+        val deadline = System.currentTimeMillis() + TIMEOUT_MS
+        while (summaries.sumOf { it.hits } < hits && System.currentTimeMillis() < deadline) {
+            PlatformTestUtil.dispatchAllEventsInIdeEventQueue()
+            Thread.sleep(10)
+        }
+        assertEquals(hits, summaries.sumOf { it.hits })
+    }
+
+    private fun breakpointHit(instrumentId: String, seq: Long): LiveInstrumentHit {
+        val json = SyntheticEvents.breakpointHit(instrumentId, "spp.test.Source", 10, seq, 1)
+        return LiveInstrumentEvent.fromJson(json) as LiveInstrumentHit
+    }
+}
@@ -0,0 +1,89 @@
+/*
+ * Source++, the continuous feedback platform for developers.
+ * Copyright (C) 2022-2024 CodeBrig, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package spp.jetbrains.sourcemarker.instrument
+
+import org.junit.jupiter.api.Assertions.assertEquals
+import org.junit.jupiter.api.Assertions.assertNull
+import org.junit.jupiter.api.Assertions.assertSame
+import org.junit.jupiter.api.Assertions.assertTrue
+import org.junit.jupiter.api.Test
+import spp.jetbrains.sourcemarker.platform.SyntheticEvents
+import spp.protocol.instrument.event.LiveBreakpointHit
+import spp.protocol.instrument.event.LiveInstrumentEvent
+import spp.protocol.instrument.event.LiveLogHit
+
+class LiveInstrumentRegistryTest {
+
+    @Test
+    fun recentEventsBounded() {
+        val registry = LiveInstrumentRegistry(maxEventsPerInstrument = 3)
+        val hits = (1L..5L).map { logHit("test-log", it) }
+        hits.forEach { registry.addEvent(it) }
+
+        assertEquals(hits.takeLast(3), registry.getRecentEvents("test-log"))
+    }
+
+    @Test
+    fun recentEventsPerInstrument() {
+        val registry = LiveInstrumentRegistry()
+        val logHit = logHit("test-log", 1)
+        val breakpointHit = breakpointHit("test-breakpoint", 2)
+        registry.addEvent(logHit)
+        registry.addEvent(breakpointHit)
+
+        assertEquals(listOf(logHit), registry.getRecentEvents("test-log"))
+        assertEquals(listOf(breakpointHit), registry.getRecentEvents("test-breakpoint"))
+        assertTrue(registry.getRecentEvents("unknown").isEmpty())
+    }
+
+    @Test
+    fun latestEventOfType() {
+        val registry = LiveInstrumentRegistry()
+        val first = logHit("test-log", 1)
+        val second = logHit("test-log", 2)
+        registry.addEvent(first)
+        registry.addEvent(second)
+
+        assertSame(second, registry.getLatestEvent("test-log", LiveLogHit::class.java))
+        assertNull(registry.getLatestEvent("test-log", LiveBreakpointHit::class.java))
+        assertNull(registry.getLatestEvent("unknown", LiveLogHit::class.java))
+    }
+
+    @Test
+    fun activeInstrumentsKeptOnEviction() {
+        val registry = LiveInstrumentRegistry(maxInstruments = 2)
+        val active = logHit("active-log", 1)
+        registry.addInstrument(active.instrument)
+        registry.addEvent(active)
+        registry.addEvent(logHit("inactive-log-1", 2))
+        registry.addEvent(logHit("inactive-log-2", 3))
+
+        assertEquals(listOf(active), registry.getRecentEvents("active-log"))
+        assertTrue(registry.getRecentEvents("inactive-log-1").isEmpty())
+        assertEquals(1, registry.getRecentEvents("inactive-log-2").size)
+    }
+
+    private fun logHit(instrumentId: String, seq: Long): LiveLogHit {
+        val json = SyntheticEvents.logHit(instrumentId, "spp.test.Source", 10, seq)
+        return LiveInstrumentEvent.fromJson(json) as LiveLogHit
+    }
+
+    private fun breakpointHit(instrumentId: String, seq: Long): LiveBreakpointHit {
+        val json = SyntheticEvents.breakpointHit(instrumentId, "spp.test.Source", 10, seq, 1)
+        return LiveInstrumentEvent.fromJson(json) as LiveBreakpointHit
+    }
+}
@@ -0,0 +1,214 @@
+/*
+ * Source++, the continuous feedback platform for developers.
+ * Copyright (C) 2022-2024 CodeBrig, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package spp.jetbrains.sourcemarker.platform
+
+import io.vertx.core.Future
+import io.vertx.core.Vertx
+import io.vertx.core.buffer.Buffer
+import io.vertx.core.eventbus.ReplyException
+import io.vertx.core.eventbus.ReplyFailure
+import io.vertx.core.json.JsonArray
+import io.vertx.core.json.JsonObject
+import io.vertx.core.net.NetServer
+import io.vertx.core.net.NetSocket
+import io.vertx.ext.eventbus.bridge.tcp.impl.protocol.FrameHelper
+import io.vertx.ext.eventbus.bridge.tcp.impl.protocol.FrameParser
+import io.vertx.servicediscovery.Record
+import spp.protocol.platform.PlatformAddress
+import spp.protocol.platform.general.Service
+import spp.protocol.service.SourceServices.LIVE_INSTRUMENT
+import spp.protocol.service.SourceServices.LIVE_MANAGEMENT
+import spp.protocol.service.SourceServices.LIVE_VIEW
+import java.util.*
+import java.util.concurrent.ConcurrentHashMap
+import java.util.concurrent.CopyOnWriteArrayList
+import java.util.concurrent.atomic.AtomicLong
+
+/**
+ * In-process stand-in for the Live Platform. Serves the token endpoint and the TCP event bus bridge on a single
+ * port, like the platform does, and answers the requests of the `LiveManagementService`, `LiveInstrumentService`
+ * and `LiveViewService` proxies by their `action` header. Replies default to minimal, empty results and can be
+ * replaced with [onRequest]. Events are pushed to the addresses the plugin registered for, either individually
+ * with [publish] or at a fixed rate with [generate].
+ *
+ * @since 0.7.10
+ * @author [Brandon Fergerson](mailto:bfergerson@apache.org)
+ */
+class FakeLivePlatform(
+    private val vertx: Vertx,
+    val developerId: String = "system",
+    val serviceName: String = "fake-service"
+) {
+
+    companion object {
+        private const val GENERATOR_TICK_MS = 10L
+        private const val TOKEN_RESPONSE = "HTTP/1.1 202 Accepted\r\nContent-Length: 0\r\nConnection: close\r\n\r\n"
+    }
+
+    private val connections = CopyOnWriteArrayList<Connection>()
+    private val handlers = ConcurrentHashMap<String, (JsonObject?) -> Any?>()
+    private val generatorTimers = CopyOnWriteArrayList<Long>()
+    private lateinit var server: NetServer
+    val publishedCount = AtomicLong()
+    val requestCount = AtomicLong()
+    val port: Int
+        get() = server.actualPort()
+
+    init {
+        handlers[PlatformAddress.MARKER_CONNECTED] = { true }
+        handlers["get-records"] = {
+            JsonArray(listOf(LIVE_MANAGEMENT, LIVE_INSTRUMENT, LIVE_VIEW).map { Record().setName(it).toJson() })
+        }
+
+        onRequest(LIVE_MANAGEMENT, "getSelf") {
+            JsonObject()
+                .put("developer", JsonObject().put("id", developerId))
+                .put("roles", JsonArray())
+                .put("permissions", JsonArray())
+                .put("access", JsonArray())
+        }
+        onRequest(LIVE_MANAGEMENT, "getServices") {
+            JsonArray().add(JsonObject.mapFrom(Service.fromName(serviceName)))
+        }
+
+        onRequest(LIVE_INSTRUMENT, "getLiveInstruments") { JsonArray() }
+        onRequest(LIVE_INSTRUMENT, "addLiveInstrument") {
+            it!!.getJsonObject("instrument").copy().put("id", UUID.randomUUID().toString())
+        }
+        onRequest(LIVE_INSTRUMENT, "removeLiveInstrument") { null }
+        onRequest(LIVE_INSTRUMENT, "clearLiveInstruments") { true }
+
+        onRequest(LIVE_VIEW, "addLiveView") {
+            it!!.getJsonObject("liveView").copy().put("subscriptionId", UUID.randomUUID().toString())
+        }
+        onRequest(LIVE_VIEW, "updateLiveView") {
+            it!!.getJsonObject("liveView").copy().put("subscriptionId", it.getString("id"))
+        }
+        onRequest(LIVE_VIEW, "removeLiveView") { null }
+    }
+
+    fun start(port: Int = 0): Future<FakeLivePlatform> {
+        server = vertx.createNetServer().connectHandler { accept(it) }
+        return server.listen(port).map { this }
+    }
+
+    fun stop(): Future<Void> {
+        stopGenerators()
+        return server.close()
+    }
+
+    /**
+     * Replies to the requests sent to [address] with the given service proxy [action] using [handler]. A handler
+     * may throw to reply with a failure.
+     */
+    fun onRequest(address: String, action: String, handler: (JsonObject?) -> Any?) {
+        handlers["$address#$action"] = handler
+    }
+
+    /**
+     * @return whether any connected plugin has registered for [address]
+     */
+    fun isRegistered(address: String): Boolean = connections.any { address in it.addresses }
+
+    /**
+     * Pushes [body] to every connection registered for [address].
+     */
+    fun publish(address: String, body: JsonObject) {
+        connections.forEach {
+            if (address in it.addresses) {
+                FrameHelper.sendFrame("message", address, null, null, false, body, it.socket)
+                publishedCount.incrementAndGet()
+            }
+        }
+    }
+
+    /**
+     * Publishes [eventsPerSecond] events to [address] until [stopGenerators] is called. Each event is created by
+     * [factory] with its sequence number and a key that cycles through [cardinality] distinct values.
+     */
+    fun generate(address: String, eventsPerSecond: Int, cardinality: Int, factory: (Long, Int) -> JsonObject) {
+        require(eventsPerSecond > 0 && cardinality > 0)
+        val sequence = AtomicLong()
+        var owed = 0.0
+        val timerId = vertx.setPeriodic(GENERATOR_TICK_MS) {
+            owed += eventsPerSecond * GENERATOR_TICK_MS / 1000.0
+            while (owed >= 1) {
+                owed--
+                val seq = sequence.getAndIncrement()
+                publish(address, factory(seq, (seq % cardinality).toInt()))
+            }
+        }
+        generatorTimers.add(timerId)
+    }
+
+    fun stopGenerators() {
+        generatorTimers.forEach { vertx.cancelTimer(it) }
+        generatorTimers.clear()
+    }
+
+    private fun accept(socket: NetSocket) {
+        val connection = Connection(socket)
+        val parser = FrameParser {
+            if (it.succeeded()) handleFrame(connection, it.result())
+        }
+        var sniffed = false
+        socket.handler {
+            if (!sniffed) {
+                sniffed = true
+                if (it.length() >= 4 && it.getString(0, 4) == "GET ") {
+                    //token request; accepted without issuing a token
+                    socket.write(Buffer.buffer(TOKEN_RESPONSE)).onComplete { socket.close() }
+                    return@handler
+                }
+                connections.add(connection)
+            }
+            parser.handle(it)
+        }
+        socket.closeHandler { connections.remove(connection) }
+    }
+
+    private fun handleFrame(connection: Connection, frame: JsonObject) {
+        val address = frame.getString("address")
+        when (frame.getString("type")) {
+            "register" -> connection.addresses.add(address)
+            "unregister" -> connection.addresses.remove(address)
+            "send", "publish" -> {
+                requestCount.incrementAndGet()
+                val replyAddress = frame.getString("replyAddress") ?: return
+                val action = frame.getJsonObject("headers")?.getString("action")
+                val handler = handlers["$address#$action"] ?: handlers[address]
+                if (handler == null) {
+                    val failure = ReplyException(ReplyFailure.RECIPIENT_FAILURE, "Unsupported: $address#$action")
+                    FrameHelper.sendErrFrame(address, replyAddress, failure, connection.socket)
+                    return
+                }
+
+                try {
+                    val reply = handler(frame.getValue("body") as? JsonObject)
+                    FrameHelper.sendFrame("message", replyAddress, null, null, true, reply, connection.socket)
+                } catch (ex: Exception) {
+                    val failure = ReplyException(ReplyFailure.RECIPIENT_FAILURE, ex.message)
+                    FrameHelper.sendErrFrame(address, replyAddress, failure, connection.socket)
+                }
+            }
+        }
+    }
+
+    private class Connection(val socket: NetSocket) {
+        val addresses: MutableSet<String> = ConcurrentHashMap.newKeySet()
+    }
+}
@@ -0,0 +1,162 @@
+/*
+ * Source++, the continuous feedback platform for developers.
+ * Copyright (C) 2022-2024 CodeBrig, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package spp.jetbrains.sourcemarker.platform
+
+import com.codahale.metrics.Histogram
+import com.codahale.metrics.UniformReservoir
+import com.intellij.openapi.application.ApplicationManager
+import com.intellij.openapi.project.Project
+import io.vertx.core.Vertx
+import io.vertx.core.eventbus.MessageConsumer
+import io.vertx.kotlin.coroutines.await
+import kotlinx.coroutines.delay
+import spp.jetbrains.LocalReferenceCodec
+import spp.jetbrains.UserData
+import spp.jetbrains.sourcemarker.SourceMarkerPlugin
+import spp.jetbrains.sourcemarker.config.SourceMarkerConfig
+import spp.jetbrains.status.SourceStatusService
+import spp.jetbrains.view.LiveViewEventData
+import spp.jetbrains.view.LiveViewEventDemultiplexer
+import spp.protocol.instrument.event.LiveInstrumentEvent
+import spp.protocol.service.SourceServices.Subscribe.toLiveInstrumentSubscription
+import java.util.concurrent.Executors
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.atomic.AtomicLong
+
+/**
+ * Drives [SourceMarkerPlugin] against a [FakeLivePlatform] and records the end-to-end latency of live view events,
+ * from being generated by the platform to being dispatched to their subscription, along with how long the EDT
+ * stalls while under load. Live instrument events are counted once they reach their instrument's subscription.
+ *
+ * @since 0.7.10
+ * @author [Brandon Fergerson](mailto:bfergerson@apache.org)
+ */
+class LivePlatformHarness(private val project: Project) {
+
+    companion object {
+        private const val EDT_PROBE_INTERVAL_MS = 20L
+        private const val POLL_INTERVAL_MS = 100L
+    }
+
+    private val platformVertx = Vertx.vertx()
+    val platform = FakeLivePlatform(platformVertx)
+    private val eventLatencyMicros = Histogram(UniformReservoir())
+    private val edtStallMicros = Histogram(UniformReservoir())
+    private val receivedCount = AtomicLong()
+    private val registrations = mutableListOf<LiveViewEventDemultiplexer.Registration>()
+    private val instrumentConsumers = mutableListOf<MessageConsumer<LiveInstrumentEvent>>()
+
+    suspend fun start(timeoutMs: Long = 30_000) {
+        platform.start().await()
+        SourceMarkerPlugin.getInstance(project).init(
+            SourceMarkerConfig(serviceHost = "http://localhost:${platform.port}")
+        )
+        awaitCondition(timeoutMs, "plugin to become ready") { SourceStatusService.getInstance(project).isReady() }
+    }
+
+    suspend fun awaitRegistration(address: String, timeoutMs: Long = 10_000) {
+        awaitCondition(timeoutMs, "registration of $address") { platform.isRegistered(address) }
+    }
+
+    /**
+     * Records the latency of every event dispatched to the given subscription.
+     */
+    fun measureViewLatency(subscriptionId: String) {
+        registrations.add(LiveViewEventDemultiplexer.getInstance(project).register(subscriptionId) {
+            val sentAt = LiveViewEventData.metricsObject(it).getLong("sentAt") ?: return@register
+            eventLatencyMicros.update(TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - sentAt))
+            receivedCount.incrementAndGet()
+        })
+    }
+
+    /**
+     * Counts every event delivered to the subscription of the given instrument.
+     */
+    fun measureInstrumentEvents(instrumentId: String) {
+        val address = toLiveInstrumentSubscription(instrumentId)
+        val vertx = UserData.vertx(project)
+        instrumentConsumers.add(LocalReferenceCodec.localConsumer<LiveInstrumentEvent>(vertx, address) {
+            receivedCount.incrementAndGet()
+        })
+    }
+
+    /**
+     * Applies [load] to the platform for [durationMs] while probing the EDT, then stops the generators and waits
+     * briefly for in-flight events to drain.
+     */
+    suspend fun run(durationMs: Long, load: FakeLivePlatform.() -> Unit): Report {
+        val publishedBefore = platform.publishedCount.get()
+        val receivedBefore = receivedCount.get()
+        val prober = Executors.newSingleThreadScheduledExecutor()
+        prober.scheduleAtFixedRate({
+            val enqueuedAt = System.nanoTime()
+            ApplicationManager.getApplication().invokeLater {
+                edtStallMicros.update(TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - enqueuedAt))
+            }
+        }, 0, EDT_PROBE_INTERVAL_MS, TimeUnit.MILLISECONDS)
+
+        try {
+            platform.load()
+            delay(durationMs)
+            platform.stopGenerators()
+            delay(durationMs / 10)
+        } finally {
+            prober.shutdownNow()
+        }
+
+        val latency = eventLatencyMicros.snapshot
+        val stalls = edtStallMicros.snapshot
+        return Report(
+            platform.publishedCount.get() - publishedBefore,
+            receivedCount.get() - receivedBefore,
+            latency.median / 1000.0,
+            latency.get99thPercentile() / 1000.0,
+            latency.max / 1000.0,
+            stalls.get99thPercentile() / 1000.0,
+            stalls.max / 1000.0
+        )
+    }
+
+    suspend fun stop() {
+        registrations.forEach { it.unregister() }
+        instrumentConsumers.forEach { it.unregister() }
+        SourceMarkerPlugin.getInstance(project).disposePlugin()
+        platform.stop().await()
+        platformVertx.close().await()
+    }
+
+    private suspend fun awaitCondition(timeoutMs: Long, description: String, condition: () -> Boolean) {
+        val deadline = System.currentTimeMillis() + timeoutMs
+        while (!condition()) {
+            check(System.currentTimeMillis() < deadline) { "Timed out waiting for $description" }
+            delay(POLL_INTERVAL_MS)
+        }
+    }
+
+    /**
+     * Results of a [run]. Durations are in milliseconds.
+     */
+    data class Report(
+        val published: Long,
+        val received: Long,
+        val latencyP50: Double,
+        val latencyP99: Double,
+        val latencyMax: Double,
+        val edtStallP99: Double,
+        val edtStallMax: Double
+    )
+}
@@ -0,0 +1,88 @@
+/*
+ * Source++, the continuous feedback platform for developers.
+ * Copyright (C) 2022-2024 CodeBrig, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package spp.jetbrains.sourcemarker.platform
+
+import com.intellij.openapi.diagnostic.logger
+import com.intellij.testFramework.fixtures.BasePlatformTestCase
+import kotlinx.coroutines.runBlocking
+import spp.protocol.service.SourceServices.Subscribe.toLiveInstrumentSubscriberAddress
+import spp.protocol.service.SourceServices.Subscribe.toLiveViewSubscriberAddress
+
+/**
+ * Load tests the live view and live instrument event paths against a [FakeLivePlatform]. These tests drive the whole
+ * plugin for several seconds, so they are excluded from `test` and run by the `harnessTest` task instead.
+ */
+class LivePlatformHarnessTest : BasePlatformTestCase() {
+
+    companion object {
+        private const val MAX_LATENCY_P99_MS = 500.0
+        private const val MAX_EDT_STALL_P99_MS = 250.0
+        private val log = logger<LivePlatformHarnessTest>()
+    }
+
+    override fun runInDispatchThread(): Boolean = false
+
+    fun testLiveEventLoad() {
+        val harness = LivePlatformHarness(project)
+        runBlocking {
+            harness.start()
+            try {
+                val viewAddress = toLiveViewSubscriberAddress(harness.platform.developerId)
+                val instrumentAddress = toLiveInstrumentSubscriberAddress(harness.platform.developerId)
+                harness.awaitRegistration(viewAddress)
+                harness.awaitRegistration(instrumentAddress)
+                harness.measureViewLatency("harness-logs")
+                harness.measureViewLatency("harness-traces")
+                harness.measureViewLatency("harness-metrics")
+                harness.measureInstrumentEvents("harness-breakpoint")
+                harness.measureInstrumentEvents("harness-log")
+
+                val report = harness.run(5_000) {
+                    generate(viewAddress, 1000, 100) { seq, key ->
+                        SyntheticEvents.liveViewEvent(
+                            "harness-logs", "entity-$key", "LOGS", SyntheticEvents.logData(seq, key)
+                        )
+                    }
+                    generate(viewAddress, 200, 20) { seq, key ->
+                        SyntheticEvents.liveViewEvent(
+                            "harness-traces", "endpoint-$key", "TRACES", SyntheticEvents.traceData(seq, key)
+                        )
+                    }
+                    generate(viewAddress, 500, 50) { seq, key ->
+                        SyntheticEvents.liveViewEvent(
+                            "harness-metrics", "endpoint-$key", "METRICS", SyntheticEvents.metricData(key, seq)
+                        )
+                    }
+                    generate(instrumentAddress, 100, 10) { seq, key ->
+                        SyntheticEvents.breakpointHit("harness-breakpoint", "synthetic.Breakpoint", key, seq, 10)
+                    }
+                    generate(instrumentAddress, 500, 10) { seq, key ->
+                        SyntheticEvents.logHit("harness-log", "synthetic.Log", key, seq)
+                    }
+                }
+                log.info("Live platform harness: $report")
+
+                assertTrue(report.published > 0)
+                assertEquals(report.published, report.received)
+                assertTrue("Event latency p99 ${report.latencyP99}ms", report.latencyP99 <= MAX_LATENCY_P99_MS)
+                assertTrue("EDT stall p99 ${report.edtStallP99}ms", report.edtStallP99 <= MAX_EDT_STALL_P99_MS)
+            } finally {
+                harness.stop()
+            }
+        }
+    }
+}
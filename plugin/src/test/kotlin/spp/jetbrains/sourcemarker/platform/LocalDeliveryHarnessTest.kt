@@ -0,0 +1,146 @@
+/*
+ * Source++, the continuous feedback platform for developers.
+ * Copyright (C) 2022-2024 CodeBrig, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package spp.jetbrains.sourcemarker.platform
+
+import com.intellij.openapi.diagnostic.logger
+import io.vertx.core.Vertx
+import io.vertx.core.json.JsonObject
+import org.junit.jupiter.api.AfterEach
+import org.junit.jupiter.api.Assertions.assertTrue
+import org.junit.jupiter.api.BeforeEach
+import org.junit.jupiter.api.Test
+import spp.jetbrains.LocalReferenceCodec
+import spp.protocol.instrument.event.LiveInstrumentEvent
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.TimeUnit
+
+/**
+ * Compares the local event bus throughput of instrument events published as JSON, which every consumer copies and
+ * decodes, with the same events passed by reference through [LocalReferenceCodec], and the cost of publishing to
+ * local addresses nobody consumes. Run by the `harnessTest` task.
+ */
+class LocalDeliveryHarnessTest {
+
+    companion object {
+        private const val EVENT_COUNT = 20_000
+        private const val CONSUMER_COUNT = 4
+        private val log = logger<LocalDeliveryHarnessTest>()
+    }
+
+    private lateinit var vertx: Vertx
+    private val events = (0 until 100).map {
+        SyntheticEvents.breakpointHit("harness-breakpoint", "synthetic.Breakpoint", 10, it.toLong(), 10)
+    }
+
+    @BeforeEach
+    fun setUp() {
+        vertx = Vertx.vertx()
+        vertx.eventBus().registerCodec(LocalReferenceCodec())
+    }
+
+    @AfterEach
+    fun tearDown() {
+        vertx.close().toCompletionStage().toCompletableFuture().get(10, TimeUnit.SECONDS)
+    }
+
+    @Test
+    fun referenceDeliveryThroughput() {
+        measure("warmup-json", "json") { address -> publishJson(address) }
+        measure("warmup-reference", "reference") { address -> publishReference(address) }
+
+        val jsonMs = measure("json", "json") { address -> publishJson(address) }
+        val referenceMs = measure("reference", "reference") { address -> publishReference(address) }
+        log.info(
+            "Delivered $EVENT_COUNT instrument events to $CONSUMER_COUNT consumers. " +
+                    "JSON: ${jsonMs}ms (${EVENT_COUNT * 1000L / jsonMs.coerceAtLeast(1)}/s), " +
+                    "reference: ${referenceMs}ms (${EVENT_COUNT * 1000L / referenceMs.coerceAtLeast(1)}/s)"
+        )
+        assertTrue(referenceMs <= jsonMs, "Reference delivery ($referenceMs ms) slower than JSON ($jsonMs ms)")
+    }
+
+    @Test
+    fun unconsumedLocalAddressSkipped() {
+        val address = "harness-subscription"
+        val localAddress = LocalReferenceCodec.localAddress(address)
+        val decoded = events.map { LiveInstrumentEvent.fromJson(it) }
+        val publish = { gated: Boolean ->
+            repeat(EVENT_COUNT) {
+                val event = decoded[it % decoded.size]
+                vertx.eventBus().publish(address, event.toJson())
+                if (!gated || LocalReferenceCodec.hasLocalConsumers(address)) {
+                    vertx.eventBus().publish(localAddress, event, LocalReferenceCodec.DELIVERY_OPTIONS)
+                }
+            }
+        }
+
+        val jsonConsumer = vertx.eventBus().localConsumer<JsonObject>(address) {}
+        try {
+            publish(false)
+            publish(true)
+            val alwaysMs = timeMs { publish(false) }
+            val gatedMs = timeMs { publish(true) }
+            log.info(
+                "Published $EVENT_COUNT instrument events without local consumers. " +
+                        "Always local: ${alwaysMs}ms (${EVENT_COUNT * 1000L / alwaysMs.coerceAtLeast(1)}/s), " +
+                        "only when consumed: ${gatedMs}ms (${EVENT_COUNT * 1000L / gatedMs.coerceAtLeast(1)}/s)"
+            )
+        } finally {
+            jsonConsumer.unregister()
+        }
+    }
+
+    private fun timeMs(block: () -> Unit): Long {
+        val start = System.nanoTime()
+        block()
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)
+    }
+
+    private fun publishJson(address: String) {
+        val decoded = events.map { LiveInstrumentEvent.fromJson(it) }
+        repeat(EVENT_COUNT) {
+            vertx.eventBus().publish(address, decoded[it % decoded.size].toJson())
+        }
+    }
+
+    private fun publishReference(address: String) {
+        val decoded = events.map { LiveInstrumentEvent.fromJson(it) }
+        repeat(EVENT_COUNT) {
+            vertx.eventBus().publish(address, decoded[it % decoded.size], LocalReferenceCodec.DELIVERY_OPTIONS)
+        }
+    }
+
+    private fun measure(address: String, mode: String, publish: (String) -> Unit): Long {
+        val received = CountDownLatch(EVENT_COUNT * CONSUMER_COUNT)
+        val consumers = (0 until CONSUMER_COUNT).map {
+            vertx.eventBus().localConsumer<Any>(address) { message ->
+                val event = if (mode == "json") {
+                    LiveInstrumentEvent.fromJson(message.body() as JsonObject)
+                } else {
+                    message.body() as LiveInstrumentEvent
+                }
+                if (event.instrument.id != null) received.countDown()
+            }
+        }
+
+        val start = System.nanoTime()
+        publish(address)
+        assertTrue(received.await(60, TimeUnit.SECONDS), "Timed out delivering $mode events")
+        val elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)
+        consumers.forEach { it.unregister() }
+        return elapsedMs
+    }
+}
@@ -0,0 +1,126 @@
+/*
+ * Source++, the continuous feedback platform for developers.
+ * Copyright (C) 2022-2024 CodeBrig, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package spp.jetbrains.sourcemarker.platform
+
+import io.vertx.core.json.JsonArray
+import io.vertx.core.json.JsonObject
+import spp.protocol.view.LiveViewConfig
+import java.time.Instant
+import java.time.ZoneOffset
+import java.time.format.DateTimeFormatter
+
+/**
+ * Builders for the JSON of synthetic platform events. Every live view event carries a `sentAt` [System.nanoTime]
+ * in its metrics data so that in-process consumers can measure end-to-end latency.
+ *
+ * @since 0.7.10
+ * @author [Brandon Fergerson](mailto:bfergerson@apache.org)
+ */
+object SyntheticEvents {
+
+    private val timeBucketFormat = DateTimeFormatter.ofPattern("yyyyMMddHHmm").withZone(ZoneOffset.UTC)
+
+    fun liveViewEvent(subscriptionId: String, entityId: String, viewName: String, metricsData: Any): JsonObject {
+        return JsonObject()
+            .put("subscriptionId", subscriptionId)
+            .put("entityId", entityId)
+            .put("timeBucket", timeBucketFormat.format(Instant.now()))
+            .put("viewConfig", JsonObject.mapFrom(LiveViewConfig(viewName, listOf(viewName))))
+            .put("metricsData", metricsData.toString())
+    }
+
+    fun logData(seq: Long, key: Int): JsonObject {
+        val log = JsonObject()
+            .put("timestamp", Instant.now().toString())
+            .put("content", "Synthetic log {} of pattern {}")
+            .put("level", if (seq % 10 == 0L) "WARN" else "INFO")
+            .put("logger", "spp.synthetic.Logger$key")
+            .put("thread", "synthetic-${key % 8}")
+            .put("arguments", JsonArray().add(seq.toString()).add(key.toString()))
+        return JsonObject().put("log", log).put("sentAt", System.nanoTime())
+    }
+
+    fun metricData(key: Int, value: Long): JsonObject {
+        return JsonObject()
+            .put("value", value)
+            .put("meta", JsonObject().put("metricsName", "endpoint_resp_time").put("entityName", "endpoint-$key"))
+            .put("sentAt", System.nanoTime())
+    }
+
+    fun traceData(seq: Long, key: Int, spanCount: Int = 5): JsonObject {
+        val start = Instant.now().minusMillis(seq % 1000)
+        val trace = JsonObject()
+            .put("key", "trace-$seq")
+            .put("operationNames", JsonArray().add("GET:/synthetic/$key"))
+            .put("duration", (seq % 1000).toInt())
+            .put("start", start.toString())
+            .put("error", seq % 25 == 0L)
+            .put("traceIds", JsonArray().add("synthetic-$seq"))
+            .put("partial", false)
+            .put("spanCount", spanCount)
+        return JsonObject().put("trace", trace).put("sentAt", System.nanoTime())
+    }
+
+    fun breakpointHit(instrumentId: String, source: String, line: Int, seq: Long, variableCount: Int): JsonObject {
+        val variables = JsonArray()
+        repeat(variableCount) {
+            variables.add(
+                JsonObject()
+                    .put("name", "var$it")
+                    .put("value", "value-$seq-$it")
+                    .put("lineNumber", line)
+                    .put("scope", "LOCAL_VARIABLE")
+                    .put("liveClazz", "java.lang.String")
+                    .put("liveIdentity", "$seq$it")
+            )
+        }
+        val frame = JsonObject()
+            .put("method", "synthetic.Breakpoint.hit()")
+            .put("source", "$source:$line")
+            .put("variables", variables)
+        val stackTrace = JsonObject()
+            .put("exceptionType", "n/a")
+            .put("message", "n/a")
+            .put("elements", JsonArray().add(frame))
+        return JsonObject()
+            .put("eventType", "BREAKPOINT_HIT")
+            .put("instrument", instrument(instrumentId, "BREAKPOINT", source, line))
+            .put("occurredAt", Instant.now().toString())
+            .put("serviceInstance", "synthetic-instance")
+            .put("service", "fake-service")
+            .put("stackTrace", stackTrace)
+    }
+
+    fun logHit(instrumentId: String, source: String, line: Int, seq: Long): JsonObject {
+        return JsonObject()
+            .put("eventType", "LOG_HIT")
+            .put("instrument", instrument(instrumentId, "LOG", source, line))
+            .put("occurredAt", Instant.now().toString())
+            .put("serviceInstance", "synthetic-instance")
+            .put("service", "fake-service")
+            .put("logResult", JsonObject().put("logs", JsonArray().add(logData(seq, line).getJsonObject("log"))))
+    }
+
+    private fun instrument(id: String, type: String, source: String, line: Int): JsonObject {
+        return JsonObject()
+            .put("id", id)
+            .put("type", type)
+            .put("location", JsonObject().put("source", source).put("line", line))
+            .put("hitLimit", -1)
+            .put("applyImmediately", true)
+    }
+}
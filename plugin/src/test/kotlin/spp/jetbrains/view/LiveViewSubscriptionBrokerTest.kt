@@ -0,0 +1,286 @@
+/*
+ * Source++, the continuous feedback platform for developers.
+ * Copyright (C) 2022-2024 CodeBrig, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package spp.jetbrains.view
+
+import com.intellij.testFramework.fixtures.BasePlatformTestCase
+import io.vertx.core.Future
+import io.vertx.core.Promise
+import io.vertx.core.json.JsonObject
+import spp.jetbrains.UserData
+import spp.jetbrains.sourcemarker.platform.SyntheticEvents
+import spp.protocol.artifact.metrics.MetricType
+import spp.protocol.platform.general.Service
+import spp.protocol.service.LiveViewService
+import spp.protocol.view.LiveView
+import spp.protocol.view.LiveViewConfig
+import spp.protocol.view.LiveViewEvent
+import java.lang.reflect.Proxy
+import java.util.UUID
+import java.util.concurrent.CopyOnWriteArrayList
+
+class LiveViewSubscriptionBrokerTest : BasePlatformTestCase() {
+
+    companion object {
+        private const val TIMEOUT_MS = 5_000L
+    }
+
+    private val service = Service.fromName("test-service")
+    private val respTime = MetricType.Endpoint_RespTime_AVG.asRealtime().metricId
+    private val added = CopyOnWriteArrayList<LiveView>()
+    private val updated = CopyOnWriteArrayList<LiveView>()
+    private val removed = CopyOnWriteArrayList<String>()
+    private var addResult: (LiveView) -> Future<LiveView> = {
+        Future.succeededFuture(it.copy(subscriptionId = UUID.randomUUID().toString()))
+    }
+    private var failUpdates = false
+
+    override fun setUp() {
+        super.setUp()
+        val viewService = Proxy.newProxyInstance(
+            LiveViewService::class.java.classLoader, arrayOf(LiveViewService::class.java)
+        ) { proxy, method, args ->
+            when (method.name) {
+                "addLiveView" -> (args[0] as LiveView).let {
+                    added.add(it)
+                    addResult(it)
+                }
+
+                "updateLiveView" -> (args[1] as LiveView).let {
+                    updated.add(it)
+                    if (failUpdates) Future.failedFuture(IllegalStateException("Update rejected"))
+                    else Future.succeededFuture(it)
+                }
+
+                "removeLiveView" -> {
+                    removed.add(args[0] as String)
+                    Future.succeededFuture<LiveView>()
+                }
+
+                "hashCode" -> System.identityHashCode(proxy)
+                "equals" -> proxy === args[0]
+                "toString" -> "FakeLiveViewService"
+                else -> throw UnsupportedOperationException(method.name)
+            }
+        } as LiveViewService
+        UserData.liveViewService(project, viewService)
+    }
+
+    override fun tearDown() {
+        try {
+            UserData.clear(project)
+        } finally {
+            super.tearDown()
+        }
+    }
+
+    fun testSameRateShared() {
+        val chartView = LiveView(
+            mutableSetOf("GET /users"),
+            LiveViewConfig("ENDPOINT_ACTIVITY_CHART", listOf(respTime), 1000),
+            location = service
+        )
+        val inlayView = LiveView(
+            mutableSetOf("GET /users"),
+            LiveViewConfig("FUNCTION_DURATION", listOf(respTime), 1000),
+            location = service
+        )
+
+        assertEquals(
+            LiveViewSubscriptionBroker.sharedKey(chartView),
+            LiveViewSubscriptionBroker.sharedKey(inlayView)
+        )
+    }
+
+    fun testRealtimeNotSharedWithOneSecond() {
+        val realtimeView = LiveView(
+            mutableSetOf("GET /users"),
+            LiveViewConfig("ENDPOINT_ACTIVITY_CHART", listOf(respTime), -1),
+            location = service
+        )
+        val oneSecondView = LiveView(
+            mutableSetOf("GET /users"),
+            LiveViewConfig("FUNCTION_DURATION", listOf(respTime), 1000),
+            location = service
+        )
+
+        assertFalse(
+            LiveViewSubscriptionBroker.sharedKey(realtimeView) == LiveViewSubscriptionBroker.sharedKey(oneSecondView)
+        )
+        assertEquals(-1, LiveViewSubscriptionBroker.sharedKey(realtimeView).viewConfig.refreshRateLimit)
+    }
+
+    fun testMetricOrderIgnored() {
+        val cpm = MetricType.Endpoint_CPM.metricId
+        val view1 = LiveView(mutableSetOf("GET /users"), LiveViewConfig("view1", listOf(respTime, cpm), 1000))
+        val view2 = LiveView(mutableSetOf("GET /users"), LiveViewConfig("view2", listOf(cpm, respTime), 1000))
+
+        assertEquals(LiveViewSubscriptionBroker.sharedKey(view1), LiveViewSubscriptionBroker.sharedKey(view2))
+    }
+
+    fun testDifferentRefreshRatesNotShared() {
+        val view1 = LiveView(mutableSetOf("GET /users"), LiveViewConfig("view", listOf(respTime), 1000))
+        val view2 = LiveView(mutableSetOf("GET /users"), LiveViewConfig("view", listOf(respTime), 5000))
+
+        assertFalse(LiveViewSubscriptionBroker.sharedKey(view1) == LiveViewSubscriptionBroker.sharedKey(view2))
+    }
+
+    fun testSubscriptionIdIgnored() {
+        val view = LiveView(mutableSetOf("GET /users"), LiveViewConfig("view", listOf(respTime), 1000))
+
+        assertEquals(
+            LiveViewSubscriptionBroker.sharedKey(view),
+            LiveViewSubscriptionBroker.sharedKey(view.copy(subscriptionId = "sub-1"))
+        )
+    }
+
+    fun testHandlesShareReference() {
+        val broker = LiveViewSubscriptionBroker(project, 60_000)
+        val handle1 = broker.subscribe(view("chart", 1000)) {}
+        val handle2 = broker.subscribe(view("inlay", 1000)) {}
+
+        assertEquals(1, added.size)
+        assertEquals(1, broker.getSubscriptionCount())
+        assertEquals(2, broker.getReferenceCount(view("chart", 1000)))
+        assertEquals(handle1.liveView.result().subscriptionId, handle2.liveView.result().subscriptionId)
+
+        handle1.release()
+        handle1.release()
+        assertEquals(1, broker.getReferenceCount(view("chart", 1000)))
+        assertEmpty(removed)
+        handle2.release()
+    }
+
+    fun testTeardownAfterGracePeriod() {
+        val broker = LiveViewSubscriptionBroker(project, 100)
+        val handle1 = broker.subscribe(view("chart", 1000)) {}
+        val handle2 = broker.subscribe(view("inlay", 1000)) {}
+        val subscriptionId = handle1.liveView.result().subscriptionId!!
+
+        handle1.release()
+        handle2.release()
+        assertEquals(1, broker.getSubscriptionCount())
+        awaitCondition { removed.contains(subscriptionId) }
+        assertEquals(0, broker.getSubscriptionCount())
+        assertFalse(LiveViewEventDemultiplexer.getInstance(project).isRegistered(subscriptionId))
+    }
+
+    fun testResubscribeWithinGracePeriod() {
+        val broker = LiveViewSubscriptionBroker(project, 200)
+        broker.subscribe(view("chart", 1000)) {}.release()
+        val handle = broker.subscribe(view("chart", 1000)) {}
+
+        Thread.sleep(400)
+        assertEquals(1, added.size)
+        assertEmpty(removed)
+        assertEquals(1, broker.getReferenceCount(view("chart", 1000)))
+        handle.release()
+    }
+
+    fun testPausedAndHiddenHandlesSkipped() {
+        val broker = LiveViewSubscriptionBroker(project, 60_000)
+        var visible = false
+        val hiddenEvents = mutableListOf<LiveViewEvent>()
+        val pausedEvents = mutableListOf<LiveViewEvent>()
+        val activeEvents = mutableListOf<LiveViewEvent>()
+        val hidden = broker.subscribe(view("chart", 1000), { visible }) { hiddenEvents.add(it) }
+        val paused = broker.subscribe(view("inlay", 1000)) { pausedEvents.add(it) }
+        val active = broker.subscribe(view("status", 1000)) { activeEvents.add(it) }
+        paused.paused = true
+
+        val subscriptionId = active.liveView.result().subscriptionId!!
+        dispatch(subscriptionId)
+        assertEmpty(hiddenEvents)
+        assertEmpty(pausedEvents)
+        assertEquals(1, activeEvents.size)
+
+        visible = true
+        paused.paused = false
+        dispatch(subscriptionId)
+        assertEquals(1, hiddenEvents.size)
+        assertEquals(1, pausedEvents.size)
+        assertEquals(2, activeEvents.size)
+
+        listOf(hidden, paused, active).forEach { it.release() }
+    }
+
+    fun testUpdateInPlace() {
+        val broker = LiveViewSubscriptionBroker(project, 60_000)
+        val handle = broker.subscribe(view("chart", 1000)) {}
+        val subscriptionId = handle.liveView.result().subscriptionId
+
+        handle.update(view("chart", -1))
+        assertEquals(1, added.size)
+        assertEquals(1, updated.size)
+        assertEquals(-1, updated.first().viewConfig.refreshRateLimit)
+        assertEquals(0, broker.getReferenceCount(view("chart", 1000)))
+        assertEquals(1, broker.getReferenceCount(view("chart", -1)))
+        assertEquals(subscriptionId, handle.liveView.result().subscriptionId)
+        assertEquals(-1, handle.liveView.result().viewConfig.refreshRateLimit)
+        handle.release()
+    }
+
+    fun testUpdateRolledBackOnFailure() {
+        val broker = LiveViewSubscriptionBroker(project, 60_000)
+        val handle = broker.subscribe(view("chart", 1000)) {}
+        val subscriptionId = handle.liveView.result().subscriptionId
+        failUpdates = true
+
+        handle.update(view("chart", 5000))
+        assertEquals(1, updated.size)
+        assertEquals(1, broker.getReferenceCount(view("chart", 1000)))
+        assertEquals(0, broker.getReferenceCount(view("chart", 5000)))
+        assertTrue(handle.liveView.succeeded())
+        assertEquals(subscriptionId, handle.liveView.result().subscriptionId)
+        assertEquals(1000, handle.liveView.result().viewConfig.refreshRateLimit)
+        assertEmpty(removed)
+        handle.release()
+    }
+
+    fun testReleasedBeforeAdded() {
+        val promise = Promise.promise<LiveView>()
+        addResult = { promise.future() }
+        val broker = LiveViewSubscriptionBroker(project, 0)
+        broker.subscribe(view("chart", 1000)) {}.release()
+        awaitCondition { broker.getSubscriptionCount() == 0 }
+
+        val subscriptionId = UUID.randomUUID().toString()
+        promise.complete(added.first().copy(subscriptionId = subscriptionId))
+        assertEquals(listOf(subscriptionId), removed)
+        assertFalse(LiveViewEventDemultiplexer.getInstance(project).isRegistered(subscriptionId))
+    }
+
+    private fun view(name: String, refreshRateLimit: Int): LiveView {
+        return LiveView(
+            mutableSetOf("GET /users"),
+            LiveViewConfig(name, listOf(respTime), refreshRateLimit),
+            location = service
+        )
+    }
+
+    private fun dispatch(subscriptionId: String) {
+        val json = SyntheticEvents.liveViewEvent(subscriptionId, "GET /users", respTime, JsonObject())
+        LiveViewEventDemultiplexer.getInstance(project).dispatch(LiveViewEvent(json))
+    }
+
+    private fun awaitCondition(condition: () -> Boolean) {
+        val deadline = System.currentTimeMillis() + TIMEOUT_MS
+        while (!condition() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10)
+        }
+        assertTrue(condition())
+    }
+}
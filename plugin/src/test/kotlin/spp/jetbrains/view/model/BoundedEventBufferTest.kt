@@ -0,0 +1,102 @@
+/*
+ * Source++, the continuous feedback platform for developers.
+ * Copyright (C) 2022-2024 CodeBrig, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package spp.jetbrains.view.model
+
+import org.junit.jupiter.api.Assertions.assertEquals
+import org.junit.jupiter.api.Assertions.assertFalse
+import org.junit.jupiter.api.Assertions.assertThrows
+import org.junit.jupiter.api.Assertions.assertTrue
+import org.junit.jupiter.api.Test
+
+class BoundedEventBufferTest {
+
+    @Test
+    fun drainMovesPendingToRetained() {
+        val buffer = BoundedEventBuffer<Int>(3)
+        assertFalse(buffer.hasPending())
+        buffer.offer(1)
+        buffer.offer(2)
+        assertTrue(buffer.hasPending())
+
+        val batch = buffer.drain()
+        assertEquals(listOf(1, 2), batch.added)
+        assertEquals(emptyList<Int>(), batch.evicted)
+        assertEquals(listOf(1, 2), buffer.getRetained())
+        assertFalse(buffer.hasPending())
+    }
+
+    @Test
+    fun evictsOldestRetained() {
+        val buffer = BoundedEventBuffer<Int>(3)
+        (1..3).forEach { buffer.offer(it) }
+        buffer.drain()
+        buffer.offer(4)
+        buffer.offer(5)
+
+        val batch = buffer.drain()
+        assertEquals(listOf(4, 5), batch.added)
+        assertEquals(listOf(1, 2), batch.evicted)
+        assertEquals(listOf(3, 4, 5), buffer.getRetained())
+        assertEquals(2, buffer.getEvictedCount())
+    }
+
+    @Test
+    fun dropsWhenPendingFull() {
+        val buffer = BoundedEventBuffer<Int>(2)
+        assertTrue(buffer.offer(1))
+        assertTrue(buffer.offer(2))
+        assertFalse(buffer.offer(3))
+        assertEquals(1, buffer.getDroppedCount())
+
+        assertEquals(listOf(1, 2), buffer.drain().added)
+        assertTrue(buffer.offer(3))
+    }
+
+    @Test
+    fun eventsAddedAndEvictedInSameFrameNotReported() {
+        val buffer = BoundedEventBuffer<String>(3)
+        buffer.offer("a")
+        buffer.drain()
+        buffer.offer("b")
+        buffer.offer("c")
+        buffer.capacity = 1
+
+        val batch = buffer.drain()
+        assertEquals(listOf("c"), batch.added)
+        assertEquals(listOf("a"), batch.evicted)
+        assertEquals(listOf("c"), buffer.getRetained())
+    }
+
+    @Test
+    fun clear() {
+        val buffer = BoundedEventBuffer<Int>(3)
+        buffer.offer(1)
+        buffer.drain()
+        buffer.offer(2)
+        buffer.clear()
+
+        assertFalse(buffer.hasPending())
+        assertEquals(0, buffer.retainedSize)
+        assertEquals(emptyList<Int>(), buffer.drain().added)
+    }
+
+    @Test
+    fun invalidCapacity() {
+        assertThrows(IllegalArgumentException::class.java) { BoundedEventBuffer<Int>(0) }
+        assertThrows(IllegalArgumentException::class.java) { BoundedEventBuffer<Int>(1).capacity = 0 }
+    }
+}
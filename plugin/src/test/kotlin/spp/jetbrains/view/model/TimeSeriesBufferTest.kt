@@ -0,0 +1,125 @@
+/*
+ * Source++, the continuous feedback platform for developers.
+ * Copyright (C) 2022-2024 CodeBrig, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package spp.jetbrains.view.model
+
+import org.junit.jupiter.api.Assertions.assertArrayEquals
+import org.junit.jupiter.api.Assertions.assertEquals
+import org.junit.jupiter.api.Assertions.assertFalse
+import org.junit.jupiter.api.Assertions.assertNull
+import org.junit.jupiter.api.Assertions.assertThrows
+import org.junit.jupiter.api.Assertions.assertTrue
+import org.junit.jupiter.api.Test
+
+class TimeSeriesBufferTest {
+
+    @Test
+    fun evictsOldestWhenFull() {
+        val buffer = TimeSeriesBuffer(3)
+        for (i in 1..5) {
+            buffer.put(i * 1000L, i.toDouble())
+        }
+
+        assertEquals(3, buffer.size)
+        assertEquals(3000L, buffer.firstTime())
+        assertEquals(5000L, buffer.lastTime())
+        assertEquals(5.0, buffer.maxValue())
+    }
+
+    @Test
+    fun outOfOrderPointsKeptSorted() {
+        val buffer = TimeSeriesBuffer(5)
+        buffer.put(1000L, 1.0)
+        buffer.put(3000L, 3.0)
+        buffer.put(2000L, 2.0)
+        buffer.put(3000L, 4.0)
+
+        assertEquals(3, buffer.size)
+        assertEquals(listOf(1000L, 2000L, 3000L), (0 until buffer.size).map { buffer.timeAt(it) })
+        assertEquals(listOf(1.0, 2.0, 4.0), (0 until buffer.size).map { buffer.valueAt(it) })
+    }
+
+    @Test
+    fun outOfOrderPointWhenFull() {
+        val buffer = TimeSeriesBuffer(3)
+        buffer.put(2000L, 2.0)
+        buffer.put(4000L, 4.0)
+        buffer.put(6000L, 6.0)
+
+        assertFalse(buffer.put(1000L, 1.0))
+        assertTrue(buffer.put(5000L, 5.0))
+        assertEquals(listOf(4000L, 5000L, 6000L), (0 until buffer.size).map { buffer.timeAt(it) })
+    }
+
+    @Test
+    fun trimBefore() {
+        val buffer = TimeSeriesBuffer(10)
+        for (i in 1..5) {
+            buffer.put(i * 1000L, i.toDouble())
+        }
+        buffer.trimBefore(3000L)
+
+        assertEquals(3, buffer.size)
+        assertEquals(3000L, buffer.firstTime())
+
+        buffer.trimBefore(10_000L)
+        assertTrue(buffer.isEmpty())
+        assertNull(buffer.lastTime())
+    }
+
+    @Test
+    fun downsampleReturnsAllIndexesWhenSmall() {
+        val buffer = TimeSeriesBuffer(10)
+        for (i in 0 until 4) {
+            buffer.put(i.toLong(), i.toDouble())
+        }
+
+        assertArrayEquals(intArrayOf(0, 1, 2, 3), buffer.downsample(10))
+        assertArrayEquals(intArrayOf(0, 1, 2, 3), buffer.downsample(2))
+    }
+
+    @Test
+    fun downsampleKeepsEndpointsAndPeaks() {
+        val buffer = TimeSeriesBuffer(1000)
+        for (i in 0 until 1000) {
+            buffer.put(i.toLong(), if (i == 500) 100.0 else 1.0)
+        }
+
+        val sampled = buffer.downsample(50)
+        assertEquals(50, sampled.size)
+        assertEquals(0, sampled.first())
+        assertEquals(999, sampled.last())
+        assertTrue(sampled.contains(500))
+        assertTrue((1 until sampled.size).all { sampled[it] > sampled[it - 1] })
+    }
+
+    @Test
+    fun downsampleAfterWrapAround() {
+        val buffer = TimeSeriesBuffer(100)
+        for (i in 0 until 250) {
+            buffer.put(i.toLong(), i.toDouble())
+        }
+
+        val sampled = buffer.downsample(10)
+        assertEquals(150L, buffer.timeAt(sampled.first()))
+        assertEquals(249L, buffer.timeAt(sampled.last()))
+    }
+
+    @Test
+    fun invalidCapacity() {
+        assertThrows(IllegalArgumentException::class.java) { TimeSeriesBuffer(1) }
+    }
+}
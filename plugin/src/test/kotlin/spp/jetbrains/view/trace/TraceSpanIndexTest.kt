@@ -0,0 +1,122 @@
+/*
+ * Source++, the continuous feedback platform for developers.
+ * Copyright (C) 2022-2024 CodeBrig, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package spp.jetbrains.view.trace
+
+import org.junit.jupiter.api.Assertions.assertEquals
+import org.junit.jupiter.api.Assertions.assertFalse
+import org.junit.jupiter.api.Assertions.assertTrue
+import org.junit.jupiter.api.Test
+import spp.protocol.artifact.trace.TraceSpan
+import spp.protocol.artifact.trace.TraceSpanRef
+import java.time.Instant
+
+class TraceSpanIndexTest {
+
+    @Test
+    fun childrenSortedByStartTime() {
+        val root = span("seg-1", 0, -1, 0, 100)
+        val late = span("seg-1", 1, 0, 50, 60)
+        val early = span("seg-1", 2, 0, 10, 20)
+        val index = TraceSpanIndex(listOf(root, late, early))
+
+        assertEquals(listOf(root), index.rootSpans)
+        assertEquals(listOf(early, late), index.getChildren(root))
+        assertTrue(index.hasChildren(root))
+        assertFalse(index.hasChildren(early))
+        assertEquals(emptyList<TraceSpan>(), index.getChildren(early))
+    }
+
+    @Test
+    fun crossProcessSpanParentedToReferencedSpan() {
+        val root = span("seg-1", 0, -1, 0, 100)
+        val exit = span("seg-1", 1, 0, 10, 90)
+        val remoteRoot = span("seg-2", 0, -1, 20, 150, TraceSpanRef("trace-1", "seg-1", 1, "CROSS_PROCESS"))
+        val remoteChild = span("seg-2", 1, 0, 30, 40)
+        val index = TraceSpanIndex(listOf(root, exit, remoteRoot, remoteChild))
+
+        assertEquals(listOf(root), index.rootSpans)
+        assertEquals(listOf(remoteRoot), index.getChildren(exit))
+        assertEquals(0, index.getDepth(root))
+        assertEquals(2, index.getDepth(remoteRoot))
+        assertEquals(3, index.getDepth(remoteChild))
+    }
+
+    @Test
+    fun crossProcessSpanWithMissingParentIsRoot() {
+        val remoteRoot = span("seg-2", 0, -1, 20, 150, TraceSpanRef("trace-1", "seg-1", 1, "CROSS_PROCESS"))
+        val index = TraceSpanIndex(listOf(remoteRoot))
+
+        assertEquals(listOf(remoteRoot), index.rootSpans)
+        assertEquals(0, index.getDepth(remoteRoot))
+    }
+
+    @Test
+    fun criticalPathIncludesDescendants() {
+        val root = span("seg-1", 0, -1, 0, 100)
+        val child = span("seg-1", 1, 0, 10, 50)
+        val grandchild = span("seg-1", 2, 1, 20, 180)
+        val index = TraceSpanIndex(listOf(root, child, grandchild))
+
+        assertEquals(180, index.getCriticalPathDuration(root))
+        assertEquals(170, index.getCriticalPathDuration(child))
+        assertEquals(160, index.getCriticalPathDuration(grandchild))
+        assertEquals(0, index.traceStart)
+        assertEquals(180, index.traceEnd)
+        assertEquals(180, index.traceDuration)
+    }
+
+    @Test
+    fun unreachableSpanHasNoDepth() {
+        val root = span("seg-1", 0, -1, 0, 100)
+        val orphan = span("seg-1", 5, 4, 10, 20)
+        val index = TraceSpanIndex(listOf(root, orphan))
+
+        assertEquals(-1, index.getDepth(orphan))
+        assertEquals(10, index.getCriticalPathDuration(orphan))
+    }
+
+    @Test
+    fun deepTrace() {
+        val spans = (0 until 10_000).map { span("seg-1", it, it - 1, it.toLong(), it + 1L) }
+        val index = TraceSpanIndex(spans)
+
+        assertEquals(9_999, index.getDepth(spans.last()))
+        assertEquals(10_000, index.getCriticalPathDuration(spans.first()))
+    }
+
+    private fun span(
+        segmentId: String,
+        spanId: Int,
+        parentSpanId: Int,
+        start: Long,
+        end: Long,
+        vararg refs: TraceSpanRef
+    ): TraceSpan {
+        return TraceSpan(
+            traceId = "trace-1",
+            segmentId = segmentId,
+            spanId = spanId,
+            parentSpanId = parentSpanId,
+            refs = refs.toList(),
+            serviceCode = "test-service",
+            startTime = Instant.ofEpochMilli(start),
+            endTime = Instant.ofEpochMilli(end),
+            type = "Local",
+            layer = "Unknown"
+        )
+    }
+}